@@ -0,0 +1,412 @@
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ClassInfo.Relation;
+import io.github.classgraph.ClassInfoList;
+import io.github.classgraph.ScanResult;
+import io.github.classgraph.viz.ClassGraphExport;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Measures the throughput (edges per second) and the peak heap use of exporting the dependency graph of a large
+ * number of classes, with each of the ClassGraphExport formats, and, as a baseline, with a CSV edge list written
+ * the way it had to be before ClassGraphExport existed: from ScanResult#getClassDependencyMap(), which builds a
+ * ClassInfoList for every class.
+ *
+ * The classes are generated into a jarfile as minimal classfiles, each of which depends on a few others, and are
+ * scanned once with ClassGraph#enableInterClassDependencies(). Each export writes to a sink that only counts what
+ * it is given, so that the cost of the sink itself is negligible. Before each export the heap is collected and the
+ * peak usage of each heap memory pool is reset, and after it the peaks are summed, so the peak heap reported is the
+ * most the heap held during the export, including garbage that had not yet been collected.
+ *
+ * The arms run in the same JVM, in rounds, and the order of the arms is rotated every round, so that JIT warmup and
+ * machine drift affect every arm equally. The first third of the rounds are JIT warmup, and are discarded. Each
+ * export also checks that it wrote every edge, and the CSV arms check that they wrote the same edges.
+ *
+ * Run with: java -cp <classgraph-classes> GraphExportBench.java <numRounds> [numClasses]
+ */
+public class GraphExportBench {
+    /** The offsets, from each class, of the classes it depends on. */
+    private static final int[] DEPENDENCY_OFFSETS = { 1, 7, 101, 4999 };
+
+    /** The relation that is exported. */
+    private static final Set<Relation> RELATIONS = EnumSet.of(Relation.DEPENDENCY);
+
+    /** The number of classes. */
+    private static int numClasses;
+
+    /** The scan of the classes. */
+    private static ScanResult scanResult;
+
+    /** The classes to export. */
+    private static ClassInfoList classes;
+
+    /** A checksum of the edges, independent of their order, to check the CSV arms against. */
+    private static long edgeChecksum;
+
+    /** An export of the graph in one format. */
+    @FunctionalInterface
+    private interface Export {
+        /**
+         * Export the graph.
+         *
+         * @param sink
+         *            the sink to export to
+         * @return the number of edges written
+         * @throws IOException
+         *             if the sink could not be written to
+         */
+        long run(CountingSink sink) throws IOException;
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args
+     *            the number of rounds, and optionally the number of classes
+     * @throws Exception
+     *             if the benchmark could not be run
+     */
+    public static void main(final String[] args) throws Exception {
+        final int numRounds = Integer.parseInt(args[0]);
+        numClasses = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        final Path jar = Files.createTempFile("graphexportbench", ".jar");
+        try {
+            writeJar(jar);
+            scanResult = new ClassGraph().overrideClasspath(jar.toString()).enableInterClassDependencies().scan();
+            classes = scanResult.getAllClasses();
+            final long numEdges = (long) numClasses * DEPENDENCY_OFFSETS.length;
+
+            final Map<String, Export> arms = new LinkedHashMap<>();
+            arms.put("csv via ClassInfoLists", GraphExportBench::csvViaClassInfoLists);
+            arms.put("csv                   ", sink -> {
+                ClassGraphExport.writeEdgeList(scanResult, classes, RELATIONS, ',', sink);
+                return checkCsv(sink);
+            });
+            arms.put("graphml               ", sink -> {
+                ClassGraphExport.writeGraphML(scanResult, classes, RELATIONS, sink);
+                return sink.edges;
+            });
+            arms.put("binary                ", sink -> {
+                ClassGraphExport.writeBinaryEdgeList(scanResult, classes, RELATIONS, sink.asOutputStream());
+                return numEdges;
+            });
+
+            final List<String> names = new ArrayList<>(arms.keySet());
+            final Map<String, List<Double>> times = new HashMap<>();
+            final Map<String, List<Double>> peaks = new HashMap<>();
+            final Map<String, Long> sizes = new HashMap<>();
+            for (int round = 0; round < numRounds; round++) {
+                for (int i = 0; i < names.size(); i++) {
+                    final String name = names.get((round + i) % names.size());
+                    final CountingSink sink = new CountingSink();
+                    final long baseline = resetPeakHeap();
+                    final long startTime = System.nanoTime();
+                    final long edges = arms.get(name).run(sink);
+                    final double elapsedMillis = (System.nanoTime() - startTime) / 1e6;
+                    final long peak = peakHeap() - baseline;
+                    if (edges != numEdges) {
+                        throw new IllegalStateException(
+                                name.trim() + " wrote " + edges + " edges, not " + numEdges);
+                    }
+                    if (round >= numRounds / 3) {
+                        times.computeIfAbsent(name, k -> new ArrayList<>()).add(elapsedMillis);
+                        peaks.computeIfAbsent(name, k -> new ArrayList<>()).add(peak / 1048576.0);
+                    }
+                    sizes.put(name, sink.size);
+                }
+            }
+            System.out.printf("corpus: %d classes, %d edges%n", numClasses, numEdges);
+            for (final String name : names) {
+                report(name, times.get(name), peaks.get(name), numEdges, sizes.get(name));
+            }
+        } finally {
+            if (scanResult != null) {
+                scanResult.close();
+            }
+            Files.delete(jar);
+        }
+    }
+
+    /**
+     * Write a CSV edge list the way it had to be before ClassGraphExport existed, from
+     * ScanResult#getClassDependencyMap(), numbering the classes in a map of its own.
+     *
+     * @param sink
+     *            the sink to write to
+     * @return the number of edges written
+     * @throws IOException
+     *             never, since the sink does not throw
+     */
+    private static long csvViaClassInfoLists(final CountingSink sink) throws IOException {
+        final Map<ClassInfo, Integer> ids = new HashMap<>();
+        for (final ClassInfo ci : classes) {
+            ids.put(ci, ids.size());
+        }
+        final StringBuilder buf = new StringBuilder();
+        buf.append("source,target,relation\n");
+        for (final Map.Entry<ClassInfo, ClassInfoList> ent : scanResult.getClassDependencyMap().entrySet()) {
+            final Integer sourceId = ids.get(ent.getKey());
+            for (final ClassInfo target : ent.getValue()) {
+                final Integer targetId = ids.get(target);
+                if (sourceId != null && targetId != null) {
+                    buf.append(sourceId).append(',').append(targetId).append(",DEPENDENCY\n");
+                }
+            }
+            if (buf.length() >= 64 * 1024) {
+                sink.append(buf);
+                buf.setLength(0);
+            }
+        }
+        sink.append(buf);
+        return checkCsv(sink);
+    }
+
+    /**
+     * Check that a CSV arm wrote the same edges as the first CSV arm that ran.
+     *
+     * @param sink
+     *            the sink the arm wrote to
+     * @return the number of edges written
+     */
+    private static long checkCsv(final CountingSink sink) {
+        if (edgeChecksum == 0) {
+            edgeChecksum = sink.lineChecksum;
+        } else if (edgeChecksum != sink.lineChecksum) {
+            throw new IllegalStateException("CSV arms wrote different edges");
+        }
+        return sink.edges;
+    }
+
+    /**
+     * Collect the heap, and reset the peak usage of the heap memory pools.
+     *
+     * @return the heap in use after collection, in bytes
+     */
+    private static long resetPeakHeap() {
+        System.gc();
+        long used = 0;
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Sum the peak usage of the heap memory pools since they were last reset.
+     *
+     * @return the peak heap in use, in bytes
+     */
+    private static long peakHeap() {
+        long peak = 0;
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * A sink that discards what is written to it, counting the characters or bytes and the lines or elements that
+     * hold an edge, and summing a hash of each edge line, so that two edge lists can be compared regardless of
+     * their order.
+     */
+    private static final class CountingSink implements Appendable {
+        /** The start of a GraphML edge line. */
+        private static final String EDGE_ELEMENT = "    <edge ";
+
+        /** The number of characters or bytes written. */
+        long size;
+
+        /** The number of edges written. */
+        long edges;
+
+        /** The sum of the hashes of the lines written. */
+        long lineChecksum;
+
+        /** The hash of the line being written, computed as String#hashCode() would. */
+        private int lineHash;
+
+        /** The length of the line being written. */
+        private int lineLength;
+
+        /** Whether the line being written is an edge. */
+        private boolean lineIsEdge;
+
+        @Override
+        public Appendable append(final CharSequence csq) {
+            return append(csq, 0, csq.length());
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq, final int start, final int end) {
+            for (int i = start; i < end; i++) {
+                append(csq.charAt(i));
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(final char c) {
+            size++;
+            if (c != '\n') {
+                // A CSV edge line starts with a digit; a GraphML edge line with an indented "<edge "
+                lineHash = 31 * lineHash + c;
+                lineLength++;
+                lineIsEdge |= lineLength == 1 && Character.isDigit(c)
+                        || lineLength == EDGE_ELEMENT.length() && lineHash == EDGE_ELEMENT.hashCode();
+            } else {
+                if (lineIsEdge) {
+                    edges++;
+                    lineChecksum += lineHash;
+                }
+                lineHash = 0;
+                lineLength = 0;
+                lineIsEdge = false;
+            }
+            return this;
+        }
+
+        /**
+         * Returns an output stream that counts the bytes written to it into this sink.
+         *
+         * @return the output stream
+         */
+        OutputStream asOutputStream() {
+            return new OutputStream() {
+                @Override
+                public void write(final int b) {
+                    size++;
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) {
+                    size += len;
+                }
+            };
+        }
+    }
+
+    /**
+     * Write the jarfile of classes.
+     *
+     * @param jar
+     *            the jarfile to write
+     * @throws IOException
+     *             if the jarfile could not be written
+     */
+    private static void writeJar(final Path jar) throws IOException {
+        try (OutputStream fileOut = Files.newOutputStream(jar);
+                ZipOutputStream zipOut = new ZipOutputStream(fileOut)) {
+            for (int i = 0; i < numClasses; i++) {
+                zipOut.putNextEntry(new ZipEntry("big/C" + i + ".class"));
+                zipOut.write(classfile(i));
+                zipOut.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Make a minimal classfile, for a public class that extends Object, has no members, and has a constant pool
+     * entry for each class it depends on.
+     *
+     * @param index
+     *            the index of the class
+     * @return the classfile
+     * @throws IOException
+     *             never, since the classfile is written to memory
+     */
+    private static byte[] classfile(final int index) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0); // minor version
+            out.writeShort(61); // major version (Java 17)
+            out.writeShort(2 * (2 + DEPENDENCY_OFFSETS.length) + 1); // constant pool count
+            writeClassConstant(out, 1, "big/C" + index);
+            writeClassConstant(out, 3, "java/lang/Object");
+            for (int i = 0; i < DEPENDENCY_OFFSETS.length; i++) {
+                writeClassConstant(out, 5 + 2 * i, "big/C" + (index + DEPENDENCY_OFFSETS[i]) % numClasses);
+            }
+            out.writeShort(0x0021); // ACC_PUBLIC | ACC_SUPER
+            out.writeShort(2); // this class
+            out.writeShort(4); // superclass
+            out.writeShort(0); // interfaces
+            out.writeShort(0); // fields
+            out.writeShort(0); // methods
+            out.writeShort(0); // attributes
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Write a UTF-8 constant pool entry holding a class name, followed by a class constant pool entry that refers
+     * to it.
+     *
+     * @param out
+     *            the classfile being written
+     * @param utf8Index
+     *            the constant pool index of the UTF-8 entry
+     * @param internalName
+     *            the internal name of the class
+     * @throws IOException
+     *             never, since the classfile is written to memory
+     */
+    private static void writeClassConstant(final DataOutputStream out, final int utf8Index,
+            final String internalName) throws IOException {
+        out.writeByte(1);
+        out.writeUTF(internalName);
+        out.writeByte(7);
+        out.writeShort(utf8Index);
+    }
+
+    /**
+     * Print the minimum, median and maximum of the given times, the median throughput, the median peak heap, and
+     * the size of the output.
+     *
+     * @param label
+     *            the label to print before the times
+     * @param times
+     *            the times, in milliseconds
+     * @param peaks
+     *            the peak heap use, in MiB
+     * @param numEdges
+     *            the number of edges exported
+     * @param size
+     *            the size of the output, in characters or bytes
+     */
+    private static void report(final String label, final List<Double> times, final List<Double> peaks,
+            final long numEdges, final long size) {
+        final List<Double> sorted = new ArrayList<>(times);
+        Collections.sort(sorted);
+        final List<Double> sortedPeaks = new ArrayList<>(peaks);
+        Collections.sort(sortedPeaks);
+        final double median = sorted.get(sorted.size() / 2);
+        System.out.printf(
+                "  %s n=%2d  min=%.0f  median=%.0f  max=%.0f ms  %.1f M edges/s  peak heap %.0f MiB"
+                        + "  output %.1f M%n",
+                label, sorted.size(), sorted.get(0), median, sorted.get(sorted.size() - 1),
+                numEdges / median / 1000.0, sortedPeaks.get(sortedPeaks.size() / 2), size / 1e6);
+    }
+}
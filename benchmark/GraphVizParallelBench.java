@@ -0,0 +1,206 @@
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfoList;
+import io.github.classgraph.ScanResult;
+import io.github.classgraph.viz.GraphVizDotFile;
+import io.github.classgraph.viz.GraphVizDotFileOptions;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Measures the time to write the inter-class dependency graph of a large number of classes with
+ * GraphVizDotFile#writeFromInterClassDependencies, with the nodes and edges generated on different numbers of
+ * threads (GraphVizDotFileOptions#setParallelism(int)).
+ *
+ * The classes are generated into a jarfile as minimal classfiles, each of which depends on a few others, and are
+ * scanned once with ClassGraph#enableInterClassDependencies(). The graph is written to a sink that only hashes what
+ * it is given, so that every arm can be checked to have written exactly the same graph.
+ *
+ * The arms run in the same JVM, in rounds, and the order of the arms is rotated every round, so that JIT warmup and
+ * machine drift affect every arm equally. The first third of the rounds are JIT warmup, and are discarded.
+ *
+ * Run with: java -cp <classgraph-classes> GraphVizParallelBench.java <numRounds> [numClasses] [threads,...]
+ */
+public class GraphVizParallelBench {
+    /** The offsets, from each class, of the classes it depends on. */
+    private static final int[] DEPENDENCY_OFFSETS = { 1, 7, 101, 4999 };
+
+    /** The number of classes. */
+    private static int numClasses;
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args
+     *            the number of rounds, and optionally the number of classes and a comma-separated list of thread
+     *            counts
+     * @throws Exception
+     *             if the benchmark could not be run
+     */
+    public static void main(final String[] args) throws Exception {
+        final int numRounds = Integer.parseInt(args[0]);
+        numClasses = args.length > 1 ? Integer.parseInt(args[1]) : 60_000;
+        final List<Integer> threadCounts = new ArrayList<>();
+        for (final String threads : (args.length > 2 ? args[2] : "1,4,16").split(",")) {
+            threadCounts.add(Integer.parseInt(threads));
+        }
+        final Path jar = Files.createTempFile("graphvizparallelbench", ".jar");
+        try {
+            writeJar(jar);
+            try (ScanResult scanResult = new ClassGraph().overrideClasspath(jar.toString())
+                    .enableInterClassDependencies().scan()) {
+                final ClassInfoList classes = scanResult.getAllClasses();
+                final Map<Integer, List<Double>> times = new HashMap<>();
+                Long graphHash = null;
+                for (int round = 0; round < numRounds; round++) {
+                    for (int i = 0; i < threadCounts.size(); i++) {
+                        final int threads = threadCounts.get((round + i) % threadCounts.size());
+                        final HashingSink sink = new HashingSink();
+                        final long startTime = System.nanoTime();
+                        GraphVizDotFile.writeFromInterClassDependenciesTo(scanResult, classes, sink,
+                                new GraphVizDotFileOptions().setParallelism(threads));
+                        final double elapsedMillis = (System.nanoTime() - startTime) / 1e6;
+                        if (graphHash == null) {
+                            graphHash = sink.hash;
+                        } else if (graphHash != sink.hash) {
+                            throw new IllegalStateException(threads + " threads wrote a different graph");
+                        }
+                        if (round >= numRounds / 3) {
+                            times.computeIfAbsent(threads, k -> new ArrayList<>()).add(elapsedMillis);
+                        }
+                    }
+                }
+                System.out.printf("corpus: %d classes, %d edges, %d processors%n", numClasses,
+                        (long) numClasses * DEPENDENCY_OFFSETS.length, Runtime.getRuntime().availableProcessors());
+                for (final int threads : threadCounts) {
+                    report(String.format("%2d threads", threads), times.get(threads));
+                }
+            }
+        } finally {
+            Files.delete(jar);
+        }
+    }
+
+    /** A sink that discards what is written to it, hashing it. */
+    private static final class HashingSink implements Appendable {
+        /** The hash of the characters written, computed as String#hashCode() would, but over a long. */
+        long hash;
+
+        @Override
+        public Appendable append(final CharSequence csq) {
+            return append(csq, 0, csq.length());
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq, final int start, final int end) {
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + csq.charAt(i);
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(final char c) {
+            hash = 31 * hash + c;
+            return this;
+        }
+    }
+
+    /**
+     * Write the jarfile of classes.
+     *
+     * @param jar
+     *            the jarfile to write
+     * @throws IOException
+     *             if the jarfile could not be written
+     */
+    private static void writeJar(final Path jar) throws IOException {
+        try (OutputStream fileOut = Files.newOutputStream(jar);
+                ZipOutputStream zipOut = new ZipOutputStream(fileOut)) {
+            for (int i = 0; i < numClasses; i++) {
+                zipOut.putNextEntry(new ZipEntry("big/C" + i + ".class"));
+                zipOut.write(classfile(i));
+                zipOut.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Make a minimal classfile, for a public class that extends Object, has no members, and has a constant pool
+     * entry for each class it depends on.
+     *
+     * @param index
+     *            the index of the class
+     * @return the classfile
+     * @throws IOException
+     *             never, since the classfile is written to memory
+     */
+    private static byte[] classfile(final int index) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0); // minor version
+            out.writeShort(61); // major version (Java 17)
+            out.writeShort(2 * (2 + DEPENDENCY_OFFSETS.length) + 1); // constant pool count
+            writeClassConstant(out, 1, "big/C" + index);
+            writeClassConstant(out, 3, "java/lang/Object");
+            for (int i = 0; i < DEPENDENCY_OFFSETS.length; i++) {
+                writeClassConstant(out, 5 + 2 * i, "big/C" + (index + DEPENDENCY_OFFSETS[i]) % numClasses);
+            }
+            out.writeShort(0x0021); // ACC_PUBLIC | ACC_SUPER
+            out.writeShort(2); // this class
+            out.writeShort(4); // superclass
+            out.writeShort(0); // interfaces
+            out.writeShort(0); // fields
+            out.writeShort(0); // methods
+            out.writeShort(0); // attributes
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Write a UTF-8 constant pool entry holding a class name, followed by a class constant pool entry that refers
+     * to it.
+     *
+     * @param out
+     *            the classfile being written
+     * @param utf8Index
+     *            the constant pool index of the UTF-8 entry
+     * @param internalName
+     *            the internal name of the class
+     * @throws IOException
+     *             never, since the classfile is written to memory
+     */
+    private static void writeClassConstant(final DataOutputStream out, final int utf8Index,
+            final String internalName) throws IOException {
+        out.writeByte(1);
+        out.writeUTF(internalName);
+        out.writeByte(7);
+        out.writeShort(utf8Index);
+    }
+
+    /**
+     * Print the minimum, median and maximum of the given times.
+     *
+     * @param label
+     *            the label to print before the times
+     * @param times
+     *            the times, in milliseconds
+     */
+    private static void report(final String label, final List<Double> times) {
+        final List<Double> sorted = new ArrayList<>(times);
+        Collections.sort(sorted);
+        System.out.printf("  %s n=%2d  min=%.0f  median=%.0f  max=%.0f ms%n", label, sorted.size(), sorted.get(0),
+                sorted.get(sorted.size() / 2), sorted.get(sorted.size() - 1));
+    }
+}
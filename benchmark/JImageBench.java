@@ -0,0 +1,114 @@
+import io.github.classgraph.vfs.Vfs;
+import io.github.classgraph.vfs.VfsSpec;
+import java.lang.module.ModuleFinder;
+import java.lang.module.ModuleReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures the time to list and read every resource of the modules of the running JDK through the jrt: filesystem,
+ * and straight from the JDK's module image with VfsSpec#enableJImageReader().
+ *
+ * Each run opens a new Vfs, so that each arm opens its modules (or the module image) afresh, lists every module,
+ * and loads every resource of it. Both arms run in the same JVM, alternating, and the order within each pair is
+ * swapped every other pair, so that JIT warmup and machine drift affect the two arms equally. The first third of
+ * the pairs are JIT warmup, and are discarded. Each run also checks that both arms read the same number of
+ * resources and bytes.
+ *
+ * Run with: java -cp <classgraph-vfs-classes>:<classgraph-base-classes> JImageBench.java <numPairs> [module...]
+ */
+public class JImageBench {
+    /** The modules to read. */
+    private static final List<ModuleReference> moduleReferences = new ArrayList<>();
+
+    /** The number of resources and bytes read by the first run, to check the other runs against. */
+    private static long[] expectedTotals;
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args
+     *            the number of pairs of runs, and optionally the names of the modules to read (every system module
+     *            by default)
+     * @throws Exception
+     *             if the benchmark could not be run
+     */
+    public static void main(final String[] args) throws Exception {
+        final int numPairs = Integer.parseInt(args[0]);
+        if (args.length > 1) {
+            for (int i = 1; i < args.length; i++) {
+                moduleReferences.add(ModuleFinder.ofSystem().find(args[i]).orElseThrow());
+            }
+        } else {
+            moduleReferences.addAll(ModuleFinder.ofSystem().findAll());
+        }
+
+        final List<Double> jrt = new ArrayList<>();
+        final List<Double> jimage = new ArrayList<>();
+        for (int i = 0; i < numPairs; i++) {
+            if (i % 2 == 0) {
+                jrt.add(read(false));
+                jimage.add(read(true));
+            } else {
+                jimage.add(read(true));
+                jrt.add(read(false));
+            }
+        }
+        final int firstSteadyPair = numPairs / 3;
+        System.out.printf("%d modules, %d resources, %.0f MB%n", moduleReferences.size(), expectedTotals[0],
+                expectedTotals[1] / 1e6);
+        report("jrt   ", jrt.subList(firstSteadyPair, numPairs));
+        report("jimage", jimage.subList(firstSteadyPair, numPairs));
+    }
+
+    /**
+     * List and read every resource of the modules.
+     *
+     * @param jimageReader
+     *            whether to read the module image directly
+     * @return how many milliseconds it took
+     * @throws Exception
+     *             if a module could not be read
+     */
+    private static double read(final boolean jimageReader) throws Exception {
+        final long startTime = System.nanoTime();
+        long numResources = 0L;
+        long numBytes = 0L;
+        final VfsSpec vfsSpec = new VfsSpec();
+        if (jimageReader) {
+            vfsSpec.enableJImageReader();
+        }
+        try (Vfs vfs = new Vfs(vfsSpec)) {
+            for (final ModuleReference moduleReference : moduleReferences) {
+                for (final var entry : vfs.open(moduleReference).getEntries()) {
+                    numBytes += entry.load().length;
+                    numResources++;
+                }
+            }
+        }
+        final double elapsedMillis = (System.nanoTime() - startTime) / 1e6;
+        final long[] totals = { numResources, numBytes };
+        if (expectedTotals == null) {
+            expectedTotals = totals;
+        } else if (expectedTotals[0] != numResources || expectedTotals[1] != numBytes) {
+            throw new IllegalStateException("jimageReader=" + jimageReader + " read different resources");
+        }
+        return elapsedMillis;
+    }
+
+    /**
+     * Print the minimum, median and maximum of the given times.
+     *
+     * @param label
+     *            the label to print before the times
+     * @param times
+     *            the times, in milliseconds
+     */
+    private static void report(final String label, final List<Double> times) {
+        final List<Double> sorted = new ArrayList<>(times);
+        Collections.sort(sorted);
+        System.out.printf("  %s n=%2d  min=%.0f  median=%.0f  max=%.0f ms%n", label, sorted.size(), sorted.get(0),
+                sorted.get(sorted.size() / 2), sorted.get(sorted.size() - 1));
+    }
+}
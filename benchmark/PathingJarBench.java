@@ -0,0 +1,184 @@
+import io.github.classgraph.classpath.Classpath;
+import io.github.classgraph.classpath.ClasspathFinder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+
+/**
+ * Measures the time ClasspathFinder#find takes to expand a synthetic 3-level tree of pathing jars (jarfiles whose
+ * manifests' Class-Path attributes name more jarfiles), reading the manifests one at a time with find(), and in
+ * parallel with find(ExecutorService, int).
+ *
+ * The tree is a root pathing jar that names <fanout> pathing jars, each of which names <fanout> leaf jars, each of
+ * which holds <entriesPerLeaf> entries, so that there is a central directory to read. Every other leaf is named by
+ * two pathing jars. The tree is written to a fresh temporary directory.
+ *
+ * Both arms run in the same JVM, alternating, and the order within each pair is swapped every other pair, so that
+ * JIT warmup and machine drift affect the two arms equally. The first third of the pairs are JIT warmup, and are
+ * discarded. Each run also checks that both arms found the same classpath, in the same order.
+ *
+ * Run with: java -cp <classgraph-base, -vfs and -classpath classes> PathingJarBench.java <fanout> <entriesPerLeaf>
+ * <numPairs> <numThreads>
+ */
+public class PathingJarBench {
+    /** The root pathing jar. */
+    private static Path root;
+
+    /** The executor for the parallel arm. */
+    private static ExecutorService executorService;
+
+    /** The number of threads of the executor. */
+    private static int numThreads;
+
+    /** The classpath found by the first run, to check the other runs against. */
+    private static List<String> locations;
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args
+     *            the fanout, the number of entries per leaf jar, the number of pairs of runs, and the number of
+     *            threads for the parallel arm
+     * @throws Exception
+     *             if the benchmark could not be run
+     */
+    public static void main(final String[] args) throws Exception {
+        final int fanout = Integer.parseInt(args[0]);
+        final int entriesPerLeaf = Integer.parseInt(args[1]);
+        final int numPairs = Integer.parseInt(args[2]);
+        numThreads = Integer.parseInt(args[3]);
+        final Path dir = Files.createTempDirectory("pathing-jars");
+        root = writeTree(dir, fanout, entriesPerLeaf);
+        executorService = Executors.newFixedThreadPool(numThreads);
+        try {
+            final List<Double> sequential = new ArrayList<>();
+            final List<Double> parallel = new ArrayList<>();
+            for (int i = 0; i < numPairs; i++) {
+                if (i % 2 == 0) {
+                    sequential.add(find(false));
+                    parallel.add(find(true));
+                } else {
+                    parallel.add(find(true));
+                    sequential.add(find(false));
+                }
+            }
+            final int firstSteadyPair = numPairs / 3;
+            System.out.printf("tree: fanout %d, %d entries per leaf, %d classpath elements; %d threads, %d CPUs%n",
+                    fanout, entriesPerLeaf, locations.size(), numThreads,
+                    Runtime.getRuntime().availableProcessors());
+            report("sequential", sequential.subList(firstSteadyPair, numPairs));
+            report("parallel  ", parallel.subList(firstSteadyPair, numPairs));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Write the tree of pathing jars.
+     *
+     * @param dir
+     *            the directory to write the jarfiles to
+     * @param fanout
+     *            the number of jarfiles each pathing jar names
+     * @param entriesPerLeaf
+     *            the number of entries in each leaf jar
+     * @return the root pathing jar
+     * @throws IOException
+     *             if a jarfile could not be written
+     */
+    private static Path writeTree(final Path dir, final int fanout, final int entriesPerLeaf) throws IOException {
+        final List<String> pathingJarNames = new ArrayList<>();
+        for (int i = 0; i < fanout; i++) {
+            final List<String> leafNames = new ArrayList<>();
+            for (int j = 0; j < fanout; j++) {
+                final String leafName = j % 2 == 0 ? "leaf-" + i + "-" + j + ".jar"
+                        : "shared-leaf-" + i / 2 + "-" + j + ".jar";
+                if (!Files.exists(dir.resolve(leafName))) {
+                    writeJar(dir.resolve(leafName), null, entriesPerLeaf);
+                }
+                leafNames.add(leafName);
+            }
+            final String pathingJarName = "pathing-" + i + ".jar";
+            writeJar(dir.resolve(pathingJarName), String.join(" ", leafNames), 0);
+            pathingJarNames.add(pathingJarName);
+        }
+        final Path rootJar = dir.resolve("root.jar");
+        writeJar(rootJar, String.join(" ", pathingJarNames), 0);
+        return rootJar;
+    }
+
+    /**
+     * Write a jarfile.
+     *
+     * @param jarFile
+     *            the jarfile to write
+     * @param classPath
+     *            the value of the Class-Path manifest attribute, or null for none
+     * @param numEntries
+     *            the number of (empty) class entries to write
+     * @throws IOException
+     *             if the jarfile could not be written
+     */
+    private static void writeJar(final Path jarFile, final String classPath, final int numEntries)
+            throws IOException {
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (classPath != null) {
+            manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, classPath);
+        }
+        try (JarOutputStream jarOutputStream = new JarOutputStream(Files.newOutputStream(jarFile), manifest)) {
+            for (int i = 0; i < numEntries; i++) {
+                jarOutputStream.putNextEntry(new ZipEntry("pkg" + i % 10 + "/Class" + i + ".class"));
+                jarOutputStream.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Expand the tree once.
+     *
+     * @param parallel
+     *            whether to read the manifests in parallel
+     * @return how many milliseconds it took to find the classpath
+     */
+    private static double find(final boolean parallel) {
+        final long startTime = System.nanoTime();
+        final ClasspathFinder classpathFinder = new ClasspathFinder().disableModuleScanning()
+                .overrideClasspath((Object) root.toFile());
+        try (Classpath classpath = parallel ? classpathFinder.find(executorService, numThreads)
+                : classpathFinder.find()) {
+            final double elapsedMillis = (System.nanoTime() - startTime) / 1e6;
+            final List<String> found = classpath.getLocations();
+            if (locations == null) {
+                locations = found;
+            } else if (!locations.equals(found)) {
+                throw new IllegalStateException("parallel=" + parallel + " found a different classpath");
+            }
+            return elapsedMillis;
+        }
+    }
+
+    /**
+     * Print the minimum, median and maximum of the given times.
+     *
+     * @param label
+     *            the label to print before the times
+     * @param times
+     *            the times, in milliseconds
+     */
+    private static void report(final String label, final List<Double> times) {
+        final List<Double> sorted = new ArrayList<>(times);
+        Collections.sort(sorted);
+        System.out.printf("  %s n=%2d  min=%.1f  median=%.1f  max=%.1f ms%n", label, sorted.size(), sorted.get(0),
+                sorted.get(sorted.size() / 2), sorted.get(sorted.size() - 1));
+    }
+}
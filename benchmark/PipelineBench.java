@@ -0,0 +1,110 @@
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ScanResult;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the time to ScanResult with and without ClassGraph#enablePipelinedScanning(), which starts parsing the
+ * classfiles of each classpath element as soon as the paths of it and of every earlier classpath element have been
+ * scanned, rather than once the paths of every classpath element have been scanned.
+ *
+ * Both arms run in the same JVM, alternating, and the order within each pair is swapped every other pair, so that
+ * JIT warmup and machine drift affect the two arms equally. The first third of the pairs are JIT warmup, and are
+ * discarded. Each scan also checks that both arms found the same classes.
+ *
+ * Run with: java -cp <classgraph-classes> PipelineBench.java <jar-dir> <numPairs> [numThreads]
+ */
+public class PipelineBench {
+    /** The classpath to scan: every jar in the directory named by the first argument. */
+    private static String classpath;
+
+    /** The number of worker threads, or 0 for ClassGraph's default. */
+    private static int numThreads;
+
+    /** The names of the classes found by the first scan, to check the other scans against. */
+    private static List<String> classNames;
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args
+     *            the jar directory, the number of pairs of runs, and optionally the number of worker threads
+     * @throws Exception
+     *             if the benchmark could not be run
+     */
+    public static void main(final String[] args) throws Exception {
+        final List<Path> jars;
+        try (var files = Files.list(Path.of(args[0]))) {
+            jars = files.filter(f -> f.toString().endsWith(".jar")).sorted().collect(Collectors.toList());
+        }
+        classpath = jars.stream().map(Path::toString).collect(Collectors.joining(File.pathSeparator));
+        long corpusBytes = 0L;
+        for (final Path jar : jars) {
+            corpusBytes += Files.size(jar);
+        }
+        final int numPairs = Integer.parseInt(args[1]);
+        numThreads = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+
+        final List<Double> phased = new ArrayList<>();
+        final List<Double> pipelined = new ArrayList<>();
+        for (int i = 0; i < numPairs; i++) {
+            if (i % 2 == 0) {
+                phased.add(scan(false));
+                pipelined.add(scan(true));
+            } else {
+                pipelined.add(scan(true));
+                phased.add(scan(false));
+            }
+        }
+        final int firstSteadyPair = numPairs / 3;
+        System.out.printf("corpus: %d jars, %.0f MB, %d classes; %s threads%n", jars.size(), corpusBytes / 1e6,
+                classNames.size(), numThreads == 0 ? "default" : Integer.toString(numThreads));
+        report("phased   ", phased.subList(firstSteadyPair, numPairs));
+        report("pipelined", pipelined.subList(firstSteadyPair, numPairs));
+    }
+
+    /**
+     * Run one scan.
+     *
+     * @param pipelined
+     *            whether to enable pipelined scanning
+     * @return how many milliseconds the scan took to produce a ScanResult
+     */
+    private static double scan(final boolean pipelined) {
+        final long startTime = System.nanoTime();
+        final ClassGraph classGraph = new ClassGraph().overrideClasspath(classpath).enableAllInfo();
+        if (pipelined) {
+            classGraph.enablePipelinedScanning();
+        }
+        try (ScanResult scanResult = numThreads == 0 ? classGraph.scan() : classGraph.scan(numThreads)) {
+            final double elapsedMillis = (System.nanoTime() - startTime) / 1e6;
+            final List<String> names = scanResult.getAllClasses().getNames();
+            if (classNames == null) {
+                classNames = names;
+            } else if (!classNames.equals(names)) {
+                throw new IllegalStateException("pipelined=" + pipelined + " found different classes");
+            }
+            return elapsedMillis;
+        }
+    }
+
+    /**
+     * Print the minimum, median and maximum of the given times.
+     *
+     * @param label
+     *            the label to print before the times
+     * @param times
+     *            the times, in milliseconds
+     */
+    private static void report(final String label, final List<Double> times) {
+        final List<Double> sorted = new ArrayList<>(times);
+        Collections.sort(sorted);
+        System.out.printf("  %s n=%2d  min=%.0f  median=%.0f  max=%.0f ms%n", label, sorted.size(), sorted.get(0),
+                sorted.get(sorted.size() / 2), sorted.get(sorted.size() - 1));
+    }
+}
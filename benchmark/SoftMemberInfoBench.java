@@ -0,0 +1,161 @@
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.FieldInfo;
+import io.github.classgraph.MethodInfo;
+import io.github.classgraph.ScanResult;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures how much of the heap a ScanResult with field and method info holds, with the fields and methods of each
+ * class strongly referenced (the default) and softly referenced (ClassGraph#enableSoftReferencedMemberInfo()), and
+ * how long it takes to visit every field and method of every class afterwards, which for the soft arm means reading
+ * every classfile again.
+ *
+ * The corpus is the java.* and javax.* packages of the system modules of the running JDK, scanned with
+ * ClassGraph#enableAllInfo(). The JVM must be run with -XX:SoftRefLRUPolicyMSPerMB=0, so that every garbage
+ * collection clears the soft references that are not in use -- this stands in for the heap running short, without
+ * making the benchmark depend on the size of the heap. The heap is measured after System.gc(), once the scan has
+ * completed, and again after every member has been visited (by which time the soft arm has let go of them again).
+ *
+ * Both arms run in the same JVM, alternating, and the order within each pair is swapped every other pair, so that
+ * JIT warmup and machine drift affect the two arms equally. The first third of the pairs are JIT warmup, and are
+ * discarded. Each visit also checks that both arms found the same fields and methods.
+ *
+ * Run with: java -XX:SoftRefLRUPolicyMSPerMB=0 -cp <classgraph-classes> SoftMemberInfoBench.java <numPairs>
+ */
+public class SoftMemberInfoBench {
+    /** A hash of the fields and methods found by the first visit, to check the other visits against. */
+    private static long membersHash;
+
+    /** Whether {@link #membersHash} has been set. */
+    private static boolean membersHashSet;
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args
+     *            the number of pairs of runs
+     * @throws Exception
+     *             if the benchmark could not be run
+     */
+    public static void main(final String[] args) throws Exception {
+        final int numPairs = Integer.parseInt(args[0]);
+        final List<double[]> strong = new ArrayList<>();
+        final List<double[]> soft = new ArrayList<>();
+        for (int i = 0; i < numPairs; i++) {
+            if (i % 2 == 0) {
+                strong.add(run(false));
+                soft.add(run(true));
+            } else {
+                soft.add(run(true));
+                strong.add(run(false));
+            }
+        }
+        final int firstSteadyPair = numPairs / 3;
+        reportArm("strong", strong.subList(firstSteadyPair, numPairs));
+        reportArm("soft  ", soft.subList(firstSteadyPair, numPairs));
+    }
+
+    /**
+     * Print the results of one arm.
+     *
+     * @param label
+     *            the label of the arm
+     * @param results
+     *            the results of each run of the arm
+     */
+    private static void reportArm(final String label, final List<double[]> results) {
+        report(label + " retained after scan (MiB) ", column(results, 0), "%.1f");
+        report(label + " visit all members (ms)    ", column(results, 1), "%.0f");
+        report(label + " retained after visit (MiB)", column(results, 2), "%.1f");
+    }
+
+    /**
+     * Run one scan, measure the heap it retains, then visit every field and method.
+     *
+     * @param softReferencedMemberInfo
+     *            whether to only softly reference fields and methods
+     * @return the heap retained after the scan in MiB, the time to visit every member in milliseconds, and the heap
+     *         retained after the visit in MiB
+     */
+    private static double[] run(final boolean softReferencedMemberInfo) {
+        final ClassGraph classGraph = new ClassGraph().enableSystemJarsAndModules().acceptPackages("java", "javax")
+                .enableAllInfo();
+        if (softReferencedMemberInfo) {
+            classGraph.enableSoftReferencedMemberInfo();
+        }
+        final long baseline = usedHeap();
+        try (ScanResult scanResult = classGraph.scan()) {
+            final double retainedAfterScan = (usedHeap() - baseline) / 1048576.0;
+            final long startTime = System.nanoTime();
+            long hash = 0;
+            for (final ClassInfo classInfo : scanResult.getAllClasses()) {
+                for (final FieldInfo fieldInfo : classInfo.getDeclaredFieldInfo()) {
+                    hash = hash * 31 + fieldInfo.getTypeSignatureOrTypeDescriptorString().hashCode();
+                }
+                for (final MethodInfo methodInfo : classInfo.getDeclaredMethodAndConstructorInfo()) {
+                    hash = hash * 31 + methodInfo.getTypeSignatureOrTypeDescriptorString().hashCode();
+                    hash = hash * 31 + methodInfo.getAllAnnotationInfo().size();
+                }
+            }
+            final double visitMillis = (System.nanoTime() - startTime) / 1e6;
+            if (!membersHashSet) {
+                membersHash = hash;
+                membersHashSet = true;
+            } else if (membersHash != hash) {
+                throw new IllegalStateException(
+                        "softReferencedMemberInfo=" + softReferencedMemberInfo + " found different members");
+            }
+            final double retainedAfterVisit = (usedHeap() - baseline) / 1048576.0;
+            return new double[] { retainedAfterScan, visitMillis, retainedAfterVisit };
+        }
+    }
+
+    /**
+     * Measure how much of the heap is in use, once whatever can be collected has been.
+     *
+     * @return the number of bytes of the heap in use
+     */
+    private static long usedHeap() {
+        System.gc();
+        System.gc();
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Get one column of the results.
+     *
+     * @param results
+     *            the results of each run
+     * @param index
+     *            the index of the column
+     * @return the column
+     */
+    private static List<Double> column(final List<double[]> results, final int index) {
+        final List<Double> column = new ArrayList<>();
+        for (final double[] result : results) {
+            column.add(result[index]);
+        }
+        return column;
+    }
+
+    /**
+     * Print the minimum, median and maximum of the given values.
+     *
+     * @param label
+     *            the label to print before the values
+     * @param values
+     *            the values
+     * @param format
+     *            the format of each value
+     */
+    private static void report(final String label, final List<Double> values, final String format) {
+        final List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        System.out.printf("  %s n=%2d  min=" + format + "  median=" + format + "  max=" + format + "%n", label,
+                sorted.size(), sorted.get(0), sorted.get(sorted.size() / 2), sorted.get(sorted.size() - 1));
+    }
+}
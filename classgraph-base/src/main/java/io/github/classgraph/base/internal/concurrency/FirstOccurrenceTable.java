@@ -0,0 +1,162 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph.base.internal.concurrency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-capacity, lock-free table from 64-bit key hashes to the position of the first occurrence of the key, for
+ * finding which of many occurrences of the same key (e.g. the same relative path in many classpath elements) comes
+ * first, when the occurrences are visited by several threads in no particular order. Each occurrence is added with
+ * its position in the total order, and the table keeps the smallest position added for each hash.
+ *
+ * <p>
+ * Two different keys can have the same hash, so a caller that needs exact answers has to check that the key at the
+ * position returned by {@link #getFirstPosition(long)} is the key it looked up, and resolve any mismatch itself.
+ *
+ * <p>
+ * Lookups must only be made once every {@link #add(long, long)} call has completed (and happened-before the lookup,
+ * e.g. by joining the threads that made the calls).
+ */
+public final class FirstOccurrenceTable {
+    /** The key hash that marks an empty slot. {@link #hash(String)} never returns this value. */
+    private static final long EMPTY = 0L;
+
+    /** The key hashes, or {@link #EMPTY} for an empty slot. */
+    private final AtomicLongArray keyHashes;
+
+    /** The smallest position added for the key hash in the same slot, plus one, or 0 if none has been added yet. */
+    private final AtomicLongArray firstPositionsPlusOne;
+
+    /** The capacity minus one, for masking a hash to a slot index. */
+    private final int slotMask;
+
+    /**
+     * Constructor.
+     *
+     * @param maxNumKeys
+     *            the maximum number of distinct key hashes that will be added. The number of occurrences is an
+     *            upper bound for this.
+     */
+    public FirstOccurrenceTable(final int maxNumKeys) {
+        // Keep the load factor at or below 0.5, so that probe sequences stay short
+        var capacity = 16;
+        while (capacity < maxNumKeys * 2L) {
+            if (capacity >= 1 << 30) {
+                throw new IllegalArgumentException("Too many keys: " + maxNumKeys);
+            }
+            capacity <<= 1;
+        }
+        this.keyHashes = new AtomicLongArray(capacity);
+        this.firstPositionsPlusOne = new AtomicLongArray(capacity);
+        this.slotMask = capacity - 1;
+    }
+
+    /**
+     * Get a 64-bit hash of a string, for use as a key hash. A 64-bit hash makes it very unlikely that two different
+     * strings in the same table have the same hash, even for millions of strings, unlike {@link String#hashCode()}.
+     *
+     * @param str
+     *            the string
+     * @return the hash, which is never zero.
+     */
+    public static long hash(final String str) {
+        // FNV-1a over the chars of the string
+        var hash = 0xcbf29ce484222325L;
+        for (var i = 0; i < str.length(); i++) {
+            hash ^= str.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        // Finalizer from MurmurHash3, so that the low bits used to pick a slot depend on every char
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == EMPTY ? 1L : hash;
+    }
+
+    /**
+     * Add an occurrence of a key.
+     *
+     * @param keyHash
+     *            the hash of the key, from {@link #hash(String)}
+     * @param position
+     *            the position of the occurrence in the total order of occurrences, which must be non-negative and
+     *            less than {@link Long#MAX_VALUE}
+     * @throws IllegalStateException
+     *             if more distinct key hashes were added than the capacity the table was constructed with.
+     */
+    public void add(final long keyHash, final long position) {
+        var slot = (int) keyHash & slotMask;
+        for (var numProbes = 0; numProbes <= slotMask; numProbes++) {
+            var slotKeyHash = keyHashes.get(slot);
+            if (slotKeyHash == EMPTY && !keyHashes.compareAndSet(slot, EMPTY, keyHash)) {
+                // Another thread claimed the slot first, possibly for the same key hash
+                slotKeyHash = keyHashes.get(slot);
+            } else if (slotKeyHash == EMPTY) {
+                slotKeyHash = keyHash;
+            }
+            if (slotKeyHash == keyHash) {
+                final var positionPlusOne = position + 1;
+                long firstPositionPlusOne;
+                do {
+                    firstPositionPlusOne = firstPositionsPlusOne.get(slot);
+                    if (firstPositionPlusOne != 0 && firstPositionPlusOne <= positionPlusOne) {
+                        return;
+                    }
+                } while (!firstPositionsPlusOne.compareAndSet(slot, firstPositionPlusOne, positionPlusOne));
+                return;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+        throw new IllegalStateException("Table is full");
+    }
+
+    /**
+     * Get the position of the first occurrence of a key.
+     *
+     * @param keyHash
+     *            the hash of the key, from {@link #hash(String)}
+     * @return the smallest position that was added for the key hash, or -1 if the key hash was never added.
+     */
+    public long getFirstPosition(final long keyHash) {
+        var slot = (int) keyHash & slotMask;
+        for (var numProbes = 0; numProbes <= slotMask; numProbes++) {
+            final var slotKeyHash = keyHashes.get(slot);
+            if (slotKeyHash == keyHash) {
+                return firstPositionsPlusOne.get(slot) - 1;
+            } else if (slotKeyHash == EMPTY) {
+                return -1L;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+        return -1L;
+    }
+}
@@ -33,6 +33,7 @@ import io.github.classgraph.base.internal.path.PathSyntax;
 import io.github.classgraph.base.internal.utils.CollectionUtils;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -346,6 +347,18 @@ public abstract class AcceptReject {
             return isAccepted || matchesPatternList(str, acceptPatterns);
         }
 
+        /**
+         * Get the accepted prefixes, for a caller that can look for each of them directly, rather than testing
+         * every string it comes across against the accept criteria.
+         *
+         * @return the accepted prefixes, or null if the accept is empty, or if it contains a glob, so that the
+         *         prefixes it accepts cannot be listed.
+         */
+        public @Nullable Set<String> getLiteralAccept() {
+            return acceptPrefixesSet == null || acceptGlobs != null ? null
+                    : Collections.unmodifiableSet(acceptPrefixesSet);
+        }
+
         /**
          * Prefix-of-prefix is invalid -- throws {@link IllegalArgumentException}.
          *
@@ -496,6 +509,17 @@ public abstract class AcceptReject {
             }
         }
 
+        /**
+         * Get the accepted strings, for a caller that can look for each of them directly, rather than testing every
+         * string it comes across against the accept criteria.
+         *
+         * @return the accepted strings, or null if the accept is empty, or if it contains a glob or ignores case,
+         *         so that the strings it accepts cannot be listed.
+         */
+        public @Nullable Set<String> getLiteralAccept() {
+            return accept == null || acceptGlobs != null || ignoreCase ? null : Collections.unmodifiableSet(accept);
+        }
+
         /**
          * Add to the reject.
          *
@@ -0,0 +1,177 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph.base.internal.path;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A process-wide cache of the real paths of files and directories, so that the same path does not have to be
+ * resolved by {@link Path#toRealPath(java.nio.file.LinkOption...)} again and again, in one scan and across scans.
+ * Resolving a real path takes a system call for each component of the path, whereas checking that a cached real
+ * path is still valid takes one or two {@code stat} calls.
+ *
+ * <p>
+ * A real path is only cached for a file whose {@link BasicFileAttributes#fileKey()} is known (on Linux and macOS,
+ * the device and inode number of the file), since the file key is what tells whether a path still names the same
+ * file. A cached real path is used only if the path and the real path both still name a file with the same file key
+ * and the same last modified time as when the real path was resolved. Otherwise (e.g. if a symlink was repointed,
+ * or a jar was replaced by writing a new file and renaming it over the old one), the real path is resolved again.
+ * On a platform that has no file keys (Windows), every lookup resolves the real path.
+ *
+ * <p>
+ * Only paths of the default filesystem are cached.
+ */
+public final class FileIdentityCache {
+    /** The cache that is shared by every scan. */
+    private static final FileIdentityCache SHARED = new FileIdentityCache();
+
+    /** The maximum number of paths to cache before the cache is cleared. */
+    private static final int MAX_NUM_ENTRIES = 1 << 16;
+
+    /** A map from an absolute path to its real path, and the identity of the file when it was resolved. */
+    private final ConcurrentHashMap<Path, RealPath> realPaths = new ConcurrentHashMap<>();
+
+    /**
+     * The real path of a path, and the identity of the file that it named when it was resolved.
+     *
+     * @param realPath
+     *            the real path.
+     * @param fileKey
+     *            the file key of the file.
+     * @param lastModifiedTime
+     *            the last modified time of the file.
+     */
+    private record RealPath(Path realPath, Object fileKey, FileTime lastModifiedTime) {
+        /**
+         * Check whether the given attributes are those of the file that the real path was resolved for.
+         *
+         * @param attributes
+         *            the attributes of a file.
+         * @return true if the file has the same file key and the same last modified time.
+         */
+        boolean isSameFile(final BasicFileAttributes attributes) {
+            return fileKey.equals(attributes.fileKey()) && lastModifiedTime.equals(attributes.lastModifiedTime());
+        }
+    }
+
+    /**
+     * Constructor.
+     */
+    public FileIdentityCache() {
+        // Empty
+    }
+
+    /**
+     * Get the cache that is shared by every scan.
+     *
+     * @return the shared cache.
+     */
+    public static FileIdentityCache shared() {
+        return SHARED;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the real path of a path, as {@link Path#toRealPath(java.nio.file.LinkOption...)} does, using the cached
+     * real path if the path still names the same file as when it was cached.
+     *
+     * @param path
+     *            the path.
+     * @return the real path.
+     * @throws IOException
+     *             if the file does not exist (as {@link java.nio.file.NoSuchFileException}), or its real path could
+     *             not be resolved.
+     */
+    public Path toRealPath(final Path path) throws IOException {
+        if (path.getFileSystem() != FileSystems.getDefault()) {
+            return path.toRealPath();
+        }
+        final var absolutePath = path.toAbsolutePath();
+        // Read the attributes before resolving the real path, so that if the file is replaced in between, the
+        // cached attributes are those of the old file, and the next lookup resolves the real path again
+        final var attributes = Files.readAttributes(absolutePath, BasicFileAttributes.class);
+        final var cached = realPaths.get(absolutePath);
+        if (cached != null && cached.isSameFile(attributes) && isSameFile(cached, absolutePath)) {
+            return cached.realPath();
+        }
+        final var realPath = absolutePath.toRealPath();
+        final var fileKey = attributes.fileKey();
+        if (fileKey != null) {
+            if (realPaths.size() >= MAX_NUM_ENTRIES) {
+                realPaths.clear();
+            }
+            realPaths.put(absolutePath, new RealPath(realPath, fileKey, attributes.lastModifiedTime()));
+        }
+        return realPath;
+    }
+
+    /**
+     * Check that the cached real path itself still names the file that it was resolved for. (The path it was
+     * resolved from naming the same file is not enough, since the file may have been moved, and the path may reach
+     * it through a symlink that was repointed at its new location.)
+     *
+     * @param cached
+     *            the cached real path.
+     * @param absolutePath
+     *            the path it was resolved from, whose attributes have already been checked.
+     * @return true if the real path still names the same file.
+     */
+    private static boolean isSameFile(final RealPath cached, final Path absolutePath) {
+        if (cached.realPath().equals(absolutePath)) {
+            return true;
+        }
+        try {
+            return cached.isSameFile(Files.readAttributes(cached.realPath(), BasicFileAttributes.class));
+        } catch (final IOException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Forget the cached real path of a path, so that the next lookup resolves it again.
+     *
+     * @param path
+     *            the path.
+     */
+    public void invalidate(final Path path) {
+        realPaths.remove(path.toAbsolutePath());
+    }
+
+    /** Forget every cached real path. */
+    public void invalidateAll() {
+        realPaths.clear();
+    }
+}
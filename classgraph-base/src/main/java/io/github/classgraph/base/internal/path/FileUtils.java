@@ -360,6 +360,10 @@ public final class FileUtils {
      * {@code C:\Users\runneradmin}.)
      *
      * <p>
+     * Real paths are looked up through {@link FileIdentityCache#shared()}, so a path that was already canonicalized
+     * (in this scan or an earlier one) is not resolved again unless the file it names has changed.
+     *
+     * <p>
      * {@link Path#toRealPath(java.nio.file.LinkOption...)} requires the file to exist, so for a path that does not
      * exist, the closest ancestor directory that does exist is canonicalized, and the rest of the path is appended
      * to it. Only the part of the path that exists can be resolved, so the result is the best that can be done: the
@@ -380,8 +384,9 @@ public final class FileUtils {
      *             if the path could not be canonicalized.
      */
     public static Path canonicalize(final Path path) throws IOException {
+        final var fileIdentityCache = FileIdentityCache.shared();
         try {
-            return path.toRealPath();
+            return fileIdentityCache.toRealPath(path);
         } catch (final IOException | RuntimeException e) {
             // The path does not exist -- canonicalize the closest ancestor directory that does exist, then append
             // the rest of the path to it. The path is deliberately not normalized before the ancestors are walked,
@@ -389,7 +394,8 @@ public final class FileUtils {
             final var absolutePath = path.toAbsolutePath();
             for (var ancestor = absolutePath.getParent(); ancestor != null; ancestor = ancestor.getParent()) {
                 try {
-                    return ancestor.toRealPath().resolve(ancestor.relativize(absolutePath)).normalize();
+                    return fileIdentityCache.toRealPath(ancestor).resolve(ancestor.relativize(absolutePath))
+                            .normalize();
                 } catch (final IOException | RuntimeException e2) {
                     // This ancestor does not exist either -- try the next one up
                 }
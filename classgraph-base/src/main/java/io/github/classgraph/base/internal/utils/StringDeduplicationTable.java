@@ -0,0 +1,295 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph.base.internal.utils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A table of the strings decoded from the modified UTF8 bytes of classfile constant pool entries, so that each
+ * distinct string is only decoded and held once, however many classfiles and scans it is read from.
+ *
+ * <p>
+ * The table is looked up by the bytes the string is encoded as, so a string that is already in the table is found
+ * without decoding it, and without allocating anything. Lookups take no lock: each bucket of the table is an
+ * immutable chain of entries, and a new entry is added to the head of its chain with a compare-and-set. The strings
+ * are only weakly held, so a string that is no longer referenced from anywhere else (for example once every
+ * {@code ScanResult} it was read into has been closed) can still be garbage collected.
+ *
+ * <p>
+ * The table is a cache, and is allowed to lose entries: an entry added while the table is being resized may not be
+ * carried over to the resized table, in which case the next lookup of the same bytes decodes the string again. Two
+ * equal strings may then be held rather than one, but a lookup always returns the string the bytes decode to.
+ */
+public final class StringDeduplicationTable {
+    /** The table that is shared by every scan that deduplicates strings across scans. */
+    private static final StringDeduplicationTable SHARED = new StringDeduplicationTable();
+
+    /** The initial number of buckets. Must be a power of two. */
+    private static final int INITIAL_NUM_BUCKETS = 1 << 12;
+
+    /** The maximum number of buckets. */
+    private static final int MAX_NUM_BUCKETS = 1 << 30;
+
+    /** The bit set in {@link Entry#flags} if '/' was replaced with '.' in the string. */
+    private static final int REPLACE_SLASH_WITH_DOT = 1;
+
+    /** The bit set in {@link Entry#flags} if the prefix "L" and the suffix ";" were removed from the string. */
+    private static final int STRIP_L_SEMICOLON = 2;
+
+    /** The buckets. Replaced with a larger array when the table is resized. */
+    private volatile AtomicReferenceArray<@Nullable Entry> buckets = new AtomicReferenceArray<>(
+            INITIAL_NUM_BUCKETS);
+
+    /** The number of entries that have been added to {@link #buckets} since it was last rebuilt. */
+    private final AtomicInteger numEntries = new AtomicInteger();
+
+    /**
+     * An entry in the table, holding the string weakly, and the bytes it was decoded from strongly.
+     */
+    private static final class Entry extends WeakReference<String> {
+        /** The hash of {@link #key} and {@link #flags}. */
+        final int hash;
+
+        /** The transformations that were applied to the string after it was decoded. */
+        final int flags;
+
+        /** The modified UTF8 bytes the string was decoded from. */
+        final byte[] key;
+
+        /**
+         * The next entry in the same bucket. Only written before the entry is published to the table by a
+         * compare-and-set, which makes the write visible to every thread that reads the entry from the table.
+         */
+        @Nullable
+        Entry next;
+
+        /**
+         * Constructor.
+         *
+         * @param str
+         *            the string.
+         * @param hash
+         *            the hash of the key and the flags.
+         * @param flags
+         *            the transformations that were applied to the string after it was decoded.
+         * @param key
+         *            the modified UTF8 bytes the string was decoded from.
+         */
+        Entry(final String str, final int hash, final int flags, final byte[] key) {
+            super(str);
+            this.hash = hash;
+            this.flags = flags;
+            this.key = key;
+        }
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Constructor.
+     */
+    public StringDeduplicationTable() {
+        // Empty
+    }
+
+    /**
+     * Get the table that is shared by every scan that deduplicates strings across scans.
+     *
+     * @return the shared table.
+     */
+    public static StringDeduplicationTable shared() {
+        return SHARED;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the string that a range of modified UTF8 bytes decodes to, optionally replacing '/' with '.' and removing
+     * the prefix "L" and the suffix ";", as {@link StringUtils#normalizeTypeDescriptor(String, boolean, boolean)}
+     * does. If the same bytes were already decoded the same way, the string that was decoded then is returned,
+     * without decoding the bytes again.
+     *
+     * @param arr
+     *            the array holding the bytes.
+     * @param startOffset
+     *            the offset of the first byte.
+     * @param numBytes
+     *            the number of bytes.
+     * @param replaceSlashWithDot
+     *            if true, replace '/' with '.' in the string.
+     * @param stripLSemicolon
+     *            if true, remove the prefix "L" and the suffix ";" from the string.
+     * @return the string.
+     * @throws IllegalArgumentException
+     *             if the bytes are not valid modified UTF8, or if stripLSemicolon is true and the string does not
+     *             start with "L" and end with ";".
+     */
+    public String get(final byte[] arr, final int startOffset, final int numBytes,
+            final boolean replaceSlashWithDot, final boolean stripLSemicolon) throws IllegalArgumentException {
+        if (startOffset < 0 || numBytes < 0 || numBytes > arr.length - startOffset) {
+            throw new IllegalArgumentException("offset or numBytes out of range");
+        }
+        final var endOffset = startOffset + numBytes;
+        final var flags = (replaceSlashWithDot ? REPLACE_SLASH_WITH_DOT : 0)
+                | (stripLSemicolon ? STRIP_L_SEMICOLON : 0);
+        final var hash = hash(arr, startOffset, endOffset, flags);
+        final var table = buckets;
+        final var bucketIdx = hash & (table.length() - 1);
+        var head = table.get(bucketIdx);
+        final var found = find(head, null, arr, startOffset, endOffset, hash, flags);
+        if (found != null) {
+            return found;
+        }
+
+        // Not found -- decode the bytes, and add the string to the head of the bucket's chain
+        final var str = StringUtils.readStringModifiedUtf8(arr, startOffset, numBytes, replaceSlashWithDot,
+                stripLSemicolon);
+        final var entry = new Entry(str, hash, flags, Arrays.copyOfRange(arr, startOffset, endOffset));
+        for (;;) {
+            entry.next = head;
+            if (table.compareAndSet(bucketIdx, head, entry)) {
+                break;
+            }
+            // Another thread added to the chain first -- check only the entries it added, in case one of them is
+            // the same string
+            final var prevHead = head;
+            head = table.get(bucketIdx);
+            final var foundByOtherThread = find(head, prevHead, arr, startOffset, endOffset, hash, flags);
+            if (foundByOtherThread != null) {
+                return foundByOtherThread;
+            }
+        }
+        if (numEntries.incrementAndGet() > table.length() - (table.length() >>> 2)) {
+            rebuild(table);
+        }
+        return str;
+    }
+
+    /**
+     * Find the string for a range of bytes in a chain of entries.
+     *
+     * @param head
+     *            the first entry of the chain to search.
+     * @param stopAt
+     *            the entry to stop searching at (exclusive), or null to search to the end of the chain.
+     * @param arr
+     *            the array holding the bytes.
+     * @param startOffset
+     *            the offset of the first byte.
+     * @param endOffset
+     *            the offset after the last byte.
+     * @param hash
+     *            the hash of the bytes and the flags.
+     * @param flags
+     *            the transformations applied to the string after it was decoded.
+     * @return the string, or null if it was not found, or if it has been garbage collected.
+     */
+    private static @Nullable String find(final @Nullable Entry head, final @Nullable Entry stopAt, final byte[] arr,
+            final int startOffset, final int endOffset, final int hash, final int flags) {
+        for (var entry = head; entry != null && entry != stopAt; entry = entry.next) {
+            if (entry.hash == hash && entry.flags == flags
+                    && Arrays.equals(entry.key, 0, entry.key.length, arr, startOffset, endOffset)) {
+                final var str = entry.get();
+                if (str != null) {
+                    return str;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Hash a range of bytes together with the transformations applied to the string they decode to.
+     *
+     * @param arr
+     *            the array holding the bytes.
+     * @param startOffset
+     *            the offset of the first byte.
+     * @param endOffset
+     *            the offset after the last byte.
+     * @param flags
+     *            the transformations applied to the string after it was decoded.
+     * @return the hash.
+     */
+    private static int hash(final byte[] arr, final int startOffset, final int endOffset, final int flags) {
+        var hash = flags;
+        for (var i = startOffset; i < endOffset; i++) {
+            hash = 31 * hash + arr[i];
+        }
+        // Spread the high bits into the low bits, which are the ones used to pick a bucket
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Rebuild the table once it has filled up, dropping the entries whose strings have been garbage collected, and
+     * doubling the number of buckets if the entries that are left would still fill more than half of it.
+     *
+     * @param table
+     *            the buckets that filled up.
+     */
+    private synchronized void rebuild(final AtomicReferenceArray<@Nullable Entry> table) {
+        if (buckets != table) {
+            // Another thread already rebuilt the table
+            return;
+        }
+        // Collect the entries whose strings are still held
+        final var live = new ArrayList<Entry>();
+        for (var i = 0; i < table.length(); i++) {
+            for (var entry = table.get(i); entry != null; entry = entry.next) {
+                if (entry.get() != null) {
+                    live.add(entry);
+                }
+            }
+        }
+        final var numBuckets = live.size() > table.length() >>> 1 && table.length() < MAX_NUM_BUCKETS
+                ? table.length() << 1
+                : table.length();
+        // Copy the entries rather than relinking them, since other threads may still be walking the old chains
+        final var newTable = new AtomicReferenceArray<@Nullable Entry>(numBuckets);
+        var numCopied = 0;
+        for (final Entry entry : live) {
+            final var str = entry.get();
+            if (str != null) {
+                final var copy = new Entry(str, entry.hash, entry.flags, entry.key);
+                final var bucketIdx = entry.hash & (numBuckets - 1);
+                copy.next = newTable.get(bucketIdx);
+                newTable.set(bucketIdx, copy);
+                numCopied++;
+            }
+        }
+        numEntries.set(numCopied);
+        buckets = newTable;
+    }
+}
@@ -28,6 +28,8 @@
  */
 package io.github.classgraph.base.internal.utils;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * String utilities.
  */
@@ -159,15 +161,19 @@ public final class StringUtils {
         if (startOffset < 0 || numBytes < 0 || numBytes > arr.length - startOffset) {
             throw new IllegalArgumentException("offset or numBytes out of range");
         }
-        final var chars = new char[numBytes];
         var byteIdx = 0;
+        while (byteIdx < numBytes && arr[startOffset + byteIdx] >= 0) {
+            byteIdx++;
+        }
+        if (byteIdx == numBytes) {
+            // All ASCII, which is the encoding of nearly every string in a classfile. ASCII is a subset of Latin-1,
+            // so the bytes can be copied straight into a compact String, without going through a char array.
+            return new String(arr, startOffset, numBytes, StandardCharsets.ISO_8859_1);
+        }
+        final var chars = new char[numBytes];
         var charIdx = 0;
-        for (; byteIdx < numBytes; byteIdx++) {
-            final var c = arr[startOffset + byteIdx] & 0xff;
-            if (c > 127) {
-                break;
-            }
-            chars[charIdx++] = (char) c;
+        for (; charIdx < byteIdx; charIdx++) {
+            chars[charIdx] = (char) arr[startOffset + charIdx];
         }
         while (byteIdx < numBytes) {
             final var c = arr[startOffset + byteIdx] & 0xff;
@@ -207,6 +213,66 @@ public final class StringUtils {
         return charIdx == numBytes ? new String(chars) : new String(chars, 0, charIdx);
     }
 
+    /**
+     * Reads the "modified UTF8" format defined in the Java classfile spec, and turns the string into the form a
+     * user would write, as {@link #normalizeTypeDescriptor(String, boolean, boolean)} does. If the bytes are all
+     * ASCII, the result is built in one pass straight from the bytes, without building the string as it is in the
+     * classfile first.
+     *
+     * @param arr
+     *            the array to read the string from
+     * @param startOffset
+     *            The start offset of the string within the array.
+     * @param numBytes
+     *            The number of bytes of the UTF8 encoding of the string.
+     * @param replaceSlashWithDot
+     *            If true, replace '/' with '.'.
+     * @param stripLSemicolon
+     *            If true, strip the prefix "L" and the suffix ";".
+     * @return The string.
+     * @throws IllegalArgumentException
+     *             If the string could not be parsed, or if stripLSemicolon is true and the string does not start
+     *             with "L" and end with ";".
+     */
+    public static String readStringModifiedUtf8(final byte[] arr, final int startOffset, final int numBytes,
+            final boolean replaceSlashWithDot, final boolean stripLSemicolon) throws IllegalArgumentException {
+        if (startOffset < 0 || numBytes < 0 || numBytes > arr.length - startOffset) {
+            throw new IllegalArgumentException("offset or numBytes out of range");
+        }
+        var start = startOffset;
+        var end = startOffset + numBytes;
+        if (stripLSemicolon) {
+            if (numBytes < 2 || arr[start] != 'L' || arr[end - 1] != ';') {
+                // Let the general case throw the exception, with the decoded string in its message
+                return normalizeTypeDescriptor(readStringModifiedUtf8(arr, startOffset, numBytes),
+                        replaceSlashWithDot, stripLSemicolon);
+            }
+            start++;
+            end--;
+        }
+        if (!replaceSlashWithDot) {
+            for (var i = start; i < end; i++) {
+                if (arr[i] < 0) {
+                    // Not ASCII -- fall back to decoding the full modified UTF8 format
+                    return normalizeTypeDescriptor(readStringModifiedUtf8(arr, startOffset, numBytes),
+                            /* replaceSlashWithDot = */ false, stripLSemicolon);
+                }
+            }
+            return new String(arr, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+        // Check for non-ASCII bytes and replace '/' with '.' in the same pass
+        final var replaced = new byte[end - start];
+        for (var i = start; i < end; i++) {
+            final var b = arr[i];
+            if (b < 0) {
+                return normalizeTypeDescriptor(readStringModifiedUtf8(arr, startOffset, numBytes),
+                        /* replaceSlashWithDot = */ true, stripLSemicolon);
+            }
+            replaced[i - start] = b == '/' ? (byte) '.' : b;
+        }
+        return new String(replaced, StandardCharsets.ISO_8859_1);
+    }
+
     /**
      * Turn a type descriptor read from a classfile into the form a user would write, by optionally replacing '/'
      * with '.', and optionally removing the prefix "L" and the suffix ";".
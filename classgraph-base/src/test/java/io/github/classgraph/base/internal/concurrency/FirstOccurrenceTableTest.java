@@ -0,0 +1,109 @@
+package io.github.classgraph.base.internal.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link FirstOccurrenceTable}, which ClassGraph uses to find the first occurrence of each relative path in
+ * the classpath while the classpath elements are visited in parallel.
+ */
+public class FirstOccurrenceTableTest {
+    /** The smallest position added for a key is kept, whatever order the occurrences are added in. */
+    @Test
+    public void keepsTheSmallestPosition() {
+        final var table = new FirstOccurrenceTable(2);
+        final var a = FirstOccurrenceTable.hash("a/A.class");
+        final var b = FirstOccurrenceTable.hash("b/B.class");
+        table.add(a, 7);
+        table.add(b, 3);
+        table.add(a, 2);
+        table.add(a, 5);
+        assertThat(table.getFirstPosition(a)).isEqualTo(2);
+        assertThat(table.getFirstPosition(b)).isEqualTo(3);
+        assertThat(table.getFirstPosition(FirstOccurrenceTable.hash("c/C.class"))).isEqualTo(-1);
+    }
+
+    /** Position 0 is a valid position, not confused with an empty slot. */
+    @Test
+    public void positionZeroIsKept() {
+        final var table = new FirstOccurrenceTable(1);
+        final var a = FirstOccurrenceTable.hash("a");
+        table.add(a, 4);
+        table.add(a, 0);
+        table.add(a, 1);
+        assertThat(table.getFirstPosition(a)).isEqualTo(0);
+    }
+
+    /** The hash of a string is never the value that marks an empty slot, and different strings differ. */
+    @Test
+    public void hashesAreNonZeroAndDistinct() {
+        final Set<Long> hashes = new HashSet<>();
+        for (var i = 0; i < 100_000; i++) {
+            final var hash = FirstOccurrenceTable.hash("pkg" + i / 100 + "/Class" + i + ".class");
+            assertThat(hash).isNotZero();
+            hashes.add(hash);
+        }
+        assertThat(hashes).hasSize(100_000);
+        assertThat(FirstOccurrenceTable.hash("")).isNotZero();
+    }
+
+    /** Adding more distinct keys than the table was sized for fails rather than looping forever. */
+    @Test
+    public void overfullTableThrows() {
+        final var table = new FirstOccurrenceTable(1);
+        assertThatThrownBy(() -> {
+            for (var i = 0; i < 17; i++) {
+                table.add(FirstOccurrenceTable.hash(Integer.toString(i)), i);
+            }
+        }).isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Threads racing to add occurrences of the same keys, each in a different order, still leave the smallest
+     * position for each key.
+     *
+     * @throws InterruptedException
+     *             if interrupted.
+     */
+    @Test
+    public void concurrentAddsKeepTheSmallestPosition() throws InterruptedException {
+        final var numKeys = 10_000;
+        final var numThreads = 4;
+        final var table = new FirstOccurrenceTable(numKeys);
+        final var start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (var t = 0; t < numThreads; t++) {
+            final var threadIdx = t;
+            final var thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                for (var i = 0; i < numKeys; i++) {
+                    // Thread t adds position (key * numThreads + t), so thread 0 has the first occurrence
+                    final var key = (threadIdx % 2 == 0) ? i : numKeys - 1 - i;
+                    table.add(FirstOccurrenceTable.hash("key" + key), (long) key * numThreads + threadIdx);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        for (var i = 0; i < numKeys; i++) {
+            assertThat(table.getFirstPosition(FirstOccurrenceTable.hash("key" + i)))
+                    .isEqualTo((long) i * numThreads);
+        }
+    }
+}
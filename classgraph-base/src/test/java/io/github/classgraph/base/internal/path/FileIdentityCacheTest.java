@@ -0,0 +1,157 @@
+package io.github.classgraph.base.internal.path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.abort;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link FileIdentityCache}, which remembers the real paths of files across scans. A cached real path must
+ * never be returned once the path it was resolved from names a different file, or the file has moved.
+ */
+public class FileIdentityCacheTest {
+    /** The content of the test files. */
+    private static final byte[] CONTENT = "content".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Create a symlink, or skip the test if the filesystem does not allow it (creating a symlink needs a privilege
+     * that is not granted by default on Windows).
+     *
+     * @param link
+     *            the symlink to create
+     * @param target
+     *            the target of the symlink
+     * @return the symlink
+     */
+    private static Path createSymbolicLinkOrSkip(final Path link, final Path target) {
+        try {
+            return Files.createSymbolicLink(link, target);
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            abort("Symlinks cannot be created: " + e);
+            return link;
+        }
+    }
+
+    /**
+     * The real path of a symlink is the path of its target, however many times it is looked up.
+     *
+     * @param tempDir
+     *            a temporary directory
+     * @throws IOException
+     *             if the files could not be written
+     */
+    @Test
+    public void realPathIsTheSameEachTime(@TempDir final Path tempDir) throws IOException {
+        final var cache = new FileIdentityCache();
+        final var target = Files.write(tempDir.resolve("target.jar"), CONTENT);
+        final var link = createSymbolicLinkOrSkip(tempDir.resolve("link.jar"), target);
+        final var expected = target.toRealPath();
+        assertThat(cache.toRealPath(link)).isEqualTo(expected);
+        assertThat(cache.toRealPath(link)).isEqualTo(expected);
+        assertThat(cache.toRealPath(target)).isEqualTo(expected);
+    }
+
+    /**
+     * A symlink that is repointed at a different file is resolved again.
+     *
+     * @param tempDir
+     *            a temporary directory
+     * @throws IOException
+     *             if the files could not be written
+     */
+    @Test
+    public void repointedSymlinkIsResolvedAgain(@TempDir final Path tempDir) throws IOException {
+        final var cache = new FileIdentityCache();
+        final var first = Files.write(tempDir.resolve("first.jar"), CONTENT);
+        final var second = Files.write(tempDir.resolve("second.jar"), CONTENT);
+        final var link = createSymbolicLinkOrSkip(tempDir.resolve("link.jar"), first);
+        assertThat(cache.toRealPath(link)).isEqualTo(first.toRealPath());
+        Files.delete(link);
+        Files.createSymbolicLink(link, second);
+        assertThat(cache.toRealPath(link)).isEqualTo(second.toRealPath());
+    }
+
+    /**
+     * A file that is moved, and reached through a symlink that is repointed at its new location, is resolved again,
+     * even though it is still the same file with the same last modified time.
+     *
+     * @param tempDir
+     *            a temporary directory
+     * @throws IOException
+     *             if the files could not be written
+     */
+    @Test
+    public void movedFileIsResolvedAgain(@TempDir final Path tempDir) throws IOException {
+        final var cache = new FileIdentityCache();
+        final var oldDir = Files.createDirectories(tempDir.resolve("old"));
+        final var newDir = Files.createDirectories(tempDir.resolve("new"));
+        final var file = Files.write(oldDir.resolve("lib.jar"), CONTENT);
+        final var link = createSymbolicLinkOrSkip(tempDir.resolve("link.jar"), file);
+        assertThat(cache.toRealPath(link)).isEqualTo(file.toRealPath());
+        final var movedFile = Files.move(file, newDir.resolve("lib.jar"), StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(link);
+        Files.createSymbolicLink(link, movedFile);
+        assertThat(cache.toRealPath(link)).isEqualTo(movedFile.toRealPath());
+    }
+
+    /**
+     * A path that does not exist throws {@link NoSuchFileException}, as {@link Path#toRealPath} does, and is not
+     * remembered as missing.
+     *
+     * @param tempDir
+     *            a temporary directory
+     * @throws IOException
+     *             if the file could not be written
+     */
+    @Test
+    public void missingFileIsNotCached(@TempDir final Path tempDir) throws IOException {
+        final var cache = new FileIdentityCache();
+        final var path = tempDir.resolve("later.jar");
+        assertThatThrownBy(() -> cache.toRealPath(path)).isInstanceOf(NoSuchFileException.class);
+        Files.write(path, CONTENT);
+        assertThat(cache.toRealPath(path)).isEqualTo(path.toRealPath());
+    }
+
+    /**
+     * A path whose real path changes without the file it names changing, which the cache cannot see, is resolved
+     * again once it is invalidated, or once every path is.
+     *
+     * @param tempDir
+     *            a temporary directory
+     * @throws IOException
+     *             if the files could not be written
+     */
+    @Test
+    public void invalidatedPathIsResolvedAgain(@TempDir final Path tempDir) throws IOException {
+        final var cache = new FileIdentityCache();
+        final var dirA = Files.createDirectories(tempDir.resolve("a"));
+        final var dirB = Files.createDirectories(tempDir.resolve("b"));
+        final var fileA = Files.write(dirA.resolve("lib.jar"), CONTENT);
+        final var fileB = Files.createLink(dirB.resolve("lib.jar"), fileA);
+        final var dirLink = createSymbolicLinkOrSkip(tempDir.resolve("dir"), dirA);
+        final var path = dirLink.resolve("lib.jar");
+        final var relativePath = Path.of("").toAbsolutePath().relativize(path);
+        assertThat(cache.toRealPath(path)).isEqualTo(fileA.toRealPath());
+        assertThat(cache.toRealPath(relativePath)).isEqualTo(fileA.toRealPath());
+
+        // Both hard links name the same file, with the same last modified time, so repointing the directory
+        // symlink from one to the other leaves the cached real path looking valid
+        Files.delete(dirLink);
+        Files.createSymbolicLink(dirLink, dirB);
+        assertThat(cache.toRealPath(path)).isEqualTo(fileA.toRealPath());
+
+        cache.invalidate(path);
+        assertThat(cache.toRealPath(path)).isEqualTo(fileB.toRealPath());
+        cache.invalidateAll();
+        assertThat(cache.toRealPath(relativePath)).isEqualTo(fileB.toRealPath());
+    }
+}
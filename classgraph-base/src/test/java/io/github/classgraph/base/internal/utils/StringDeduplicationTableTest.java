@@ -0,0 +1,104 @@
+package io.github.classgraph.base.internal.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link StringDeduplicationTable}. */
+public class StringDeduplicationTableTest {
+    /**
+     * Look up the whole of a string's ASCII bytes in a table.
+     *
+     * @param table
+     *            The table.
+     * @param str
+     *            The string.
+     * @param replaceSlashWithDot
+     *            Whether to replace '/' with '.'.
+     * @param stripLSemicolon
+     *            Whether to strip the prefix "L" and the suffix ";".
+     * @return The string from the table.
+     */
+    private static String get(final StringDeduplicationTable table, final String str,
+            final boolean replaceSlashWithDot, final boolean stripLSemicolon) {
+        final var arr = str.getBytes(StandardCharsets.US_ASCII);
+        return table.get(arr, 0, arr.length, replaceSlashWithDot, stripLSemicolon);
+    }
+
+    /** Looking up the same bytes twice returns the same string, even when the bytes are in a different array. */
+    @Test
+    public void sameBytesReturnSameString() {
+        final var table = new StringDeduplicationTable();
+        final var first = get(table, "java/lang/String", false, false);
+        assertThat(first).isEqualTo("java/lang/String");
+        final var arr = "xxjava/lang/Stringyy".getBytes(StandardCharsets.US_ASCII);
+        assertThat(table.get(arr, 2, 16, false, false)).isSameAs(first);
+    }
+
+    /** The same bytes decoded in different ways are different entries. */
+    @Test
+    public void transformationsAreKeptApart() {
+        final var table = new StringDeduplicationTable();
+        assertThat(get(table, "Lcom/xyz/Widget;", false, false)).isEqualTo("Lcom/xyz/Widget;");
+        assertThat(get(table, "Lcom/xyz/Widget;", true, false)).isEqualTo("Lcom.xyz.Widget;");
+        assertThat(get(table, "Lcom/xyz/Widget;", true, true)).isEqualTo("com.xyz.Widget");
+        assertThat(get(table, "Lcom/xyz/Widget;", true, true)).isSameAs(get(table, "Lcom/xyz/Widget;", true, true));
+    }
+
+    /** Non-ASCII modified UTF8 is decoded, and invalid bytes are rejected as they are by {@link StringUtils}. */
+    @Test
+    public void modifiedUtf8IsDecoded() {
+        final var table = new StringDeduplicationTable();
+        final var arr = new byte[] { 'a', (byte) 0xc3, (byte) 0xa9, (byte) 0xc0, (byte) 0x80 };
+        assertThat(table.get(arr, 0, arr.length, false, false)).isEqualTo("aé\0");
+        assertThatThrownBy(() -> table.get(new byte[] { (byte) 0xff }, 0, 1, false, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> get(table, "NotADescriptor", false, true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> table.get(arr, 3, 3, false, false)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** The table keeps returning the right strings, and keeps deduplicating them, as it grows. */
+    @Test
+    public void tableGrows() {
+        final var table = new StringDeduplicationTable();
+        final var strs = new ArrayList<String>();
+        for (var i = 0; i < 50_000; i++) {
+            strs.add(get(table, "pkg/Class" + i, false, false));
+        }
+        for (var i = 0; i < 50_000; i++) {
+            assertThat(get(table, "pkg/Class" + i, false, false)).isSameAs(strs.get(i));
+        }
+    }
+
+    /** Threads that look up the same bytes at the same time get the right string. */
+    @Test
+    public void concurrentLookups() throws InterruptedException {
+        final var table = new StringDeduplicationTable();
+        final var errors = new ConcurrentLinkedQueue<Throwable>();
+        final var threads = new ArrayList<Thread>();
+        for (var t = 0; t < 4; t++) {
+            final var thread = new Thread(() -> {
+                try {
+                    for (var i = 0; i < 20_000; i++) {
+                        final var str = "a/b/C" + (i % 5000);
+                        assertThat(get(table, str, true, false)).isEqualTo(str.replace('/', '.'));
+                    }
+                } catch (final Throwable e) {
+                    errors.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(errors).isEmpty();
+    }
+}
@@ -193,6 +193,37 @@ public class StringUtilsTest {
                 .hasMessage("Expected string to start with 'L' and end with ';', got \"\"");
     }
 
+    /**
+     * Reading and normalizing a type descriptor in one step gives the same result as reading it and then
+     * normalizing it, for ASCII strings, which take the fast path, and for other strings, which do not.
+     */
+    @Test
+    public void aTypeDescriptorIsReadAndNormalizedInOneStep() {
+        final var ascii = "xLjava/lang/String;y".getBytes(StandardCharsets.UTF_8);
+        assertThat(StringUtils.readStringModifiedUtf8(ascii, 1, 18, true, true)).isEqualTo("java.lang.String");
+        assertThat(StringUtils.readStringModifiedUtf8(ascii, 1, 18, true, false)).isEqualTo("Ljava.lang.String;");
+        assertThat(StringUtils.readStringModifiedUtf8(ascii, 1, 18, false, true)).isEqualTo("java/lang/String");
+        assertThat(StringUtils.readStringModifiedUtf8(ascii, 1, 18, false, false)).isEqualTo("Ljava/lang/String;");
+        final var nonAscii = bytes('L', 'p', '/', 0xc3, 0xa9, '/', 'X', ';');
+        assertThat(StringUtils.readStringModifiedUtf8(nonAscii, 0, nonAscii.length, true, true)).isEqualTo("p.é.X");
+        assertThat(StringUtils.readStringModifiedUtf8(nonAscii, 0, nonAscii.length, false, false))
+                .isEqualTo("Lp/é/X;");
+        assertThat(StringUtils.readStringModifiedUtf8(bytes('L', ';'), 0, 2, true, true)).isEmpty();
+    }
+
+    /** Reading a string that is not a type descriptor as one fails as normalizing it does. */
+    @Test
+    public void aStringThatIsNotATypeDescriptorIsRejectedWhenRead() {
+        final var arr = "java/lang/String".getBytes(StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> StringUtils.readStringModifiedUtf8(arr, 0, arr.length, true, true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expected string to start with 'L' and end with ';', got \"java.lang.String\"");
+        assertThatThrownBy(() -> StringUtils.readStringModifiedUtf8(bytes('L', 0xff, ';'), 0, 3, true, true))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Bad modified UTF8");
+        assertThatThrownBy(() -> StringUtils.readStringModifiedUtf8(arr, 4, arr.length, true, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     /** Elements are joined by the separator, and null elements are written as "null" rather than throwing. */
     @Test
     public void elementsAreJoinedBySeparator() {
@@ -31,6 +31,7 @@ package io.github.classgraph.classpath;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import io.github.classgraph.base.LogNode;
 import io.github.classgraph.base.internal.concurrency.InterruptionChecker;
@@ -41,6 +42,7 @@ import io.github.classgraph.classpath.internal.ClassLoaderProbe;
 import io.github.classgraph.classpath.internal.ClasspathSpec;
 import io.github.classgraph.vfs.Vfs;
 import io.github.classgraph.vfs.VfsSpec;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Finds the classpath and the module path of the running JVM: where its classes and resources would be loaded from,
@@ -374,6 +376,25 @@ public final class ClasspathFinder {
      *             if the thread was interrupted while the jarfiles were being read.
      */
     public Classpath find() {
+        return find(/* executorService = */ null, /* numParallelTasks = */ 1);
+    }
+
+    /**
+     * Find the classpath elements and the modules, as {@link #find()} does, but read the manifests and lib dirs of
+     * the jarfiles on the classpath in parallel. This is faster when the classpath holds many jarfiles that declare
+     * other jarfiles, e.g. "pathing jars" whose manifests' {@code Class-Path} attributes list the rest of the
+     * classpath. The returned classpath is in the same order as the one returned by {@link #find()}.
+     *
+     * @param executorService
+     *            the executor to read the jarfiles with, or null to read them one at a time, on the calling thread.
+     * @param numParallelTasks
+     *            the maximum number of jarfiles to read at once, which should be no more than the number of threads
+     *            of the executor.
+     * @return the classpath.
+     * @throws IllegalStateException
+     *             if the thread was interrupted while the jarfiles were being read.
+     */
+    public Classpath find(final @Nullable ExecutorService executorService, final int numParallelTasks) {
         final var log = verbose ? new LogNode() : null;
         try {
             final var classLoaderProbe = new ClassLoaderProbe(classpathSpec, classLoaderAndModuleLayerSpec, log);
@@ -392,7 +413,8 @@ public final class ClasspathFinder {
             final var vfs = new Vfs(vfsSpec, new InterruptionChecker());
             var classpath = (Classpath) null;
             try {
-                final var expandedEntries = TransitiveClasspath.expand(classLoaderEntries, vfs, vfsSpec, log);
+                final var expandedEntries = TransitiveClasspath.expand(classLoaderEntries, vfs, vfsSpec,
+                        executorService, numParallelTasks, log);
                 classpath = new Classpath(expandedEntries, classLoaderProbe, classpathSpec.modulePathInfo, vfs);
                 return classpath;
             } finally {
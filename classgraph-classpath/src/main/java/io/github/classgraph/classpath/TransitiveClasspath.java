@@ -32,7 +32,15 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import io.github.classgraph.base.LogNode;
 import io.github.classgraph.base.internal.path.PathSyntax;
@@ -50,6 +58,12 @@ import org.jspecify.annotations.Nullable;
  * The expanded classpath is in the order a classloader would search it: each classpath element is followed by the
  * elements it declares, depth first. A classpath element that is reached more than once is listed only at the first
  * position it is reached at, which is the position that decides which copy of a duplicated class is loaded.
+ *
+ * <p>
+ * If an executor is given, the manifests and lib dirs are first read in parallel, breadth first, so that a wide
+ * tree of "pathing jars" (jarfiles that hold nothing but a {@code Class-Path} manifest entry) is not read one
+ * jarfile at a time. The classpath is then expanded depth first from what was read, so its order is the same either
+ * way.
  */
 final class TransitiveClasspath {
     /** Opens the classpath elements, so that their manifests and their lib dirs can be read. */
@@ -67,6 +81,42 @@ final class TransitiveClasspath {
     /** The expanded classpath. */
     private final List<ClasspathEntry> expanded = new ArrayList<>();
 
+    /** The classpath elements declared by each classpath element, if they were read ahead in parallel. */
+    private final Map<DeclaringElement, DeclaredEntries> readAhead = new ConcurrentHashMap<>();
+
+    /**
+     * What the classpath elements that a classpath element declares depend on: its location, and the lib dirs to
+     * look for jarfiles in.
+     *
+     * @param location
+     *            the location of the classpath element.
+     * @param libDirPrefixes
+     *            the lib dirs of the classpath element.
+     */
+    private record DeclaringElement(String location, List<String> libDirPrefixes) {
+        /**
+         * Get the declaring element of a classpath element.
+         *
+         * @param entry
+         *            the classpath element.
+         * @return the declaring element.
+         */
+        static DeclaringElement of(final ClasspathEntry entry) {
+            return new DeclaringElement(entry.getLocation(), entry.getLibDirPrefixes());
+        }
+    }
+
+    /**
+     * The classpath elements that a classpath element declares.
+     *
+     * @param canonicalPath
+     *            the canonical path of the classpath element, or the empty string if it could not be read.
+     * @param childEntries
+     *            the classpath elements it declares.
+     */
+    private record DeclaredEntries(String canonicalPath, List<ClasspathExpander.ChildEntry> childEntries) {
+    }
+
     /**
      * Constructor.
      *
@@ -93,6 +143,11 @@ final class TransitiveClasspath {
      *            opens the classpath elements, so that their manifests and their lib dirs can be read.
      * @param vfsSpec
      *            the settings that govern how the jarfiles are read.
+     * @param executorService
+     *            the executor to read the manifests and lib dirs of the classpath elements in parallel with, or
+     *            null to read them one at a time, on the calling thread.
+     * @param numParallelTasks
+     *            the maximum number of classpath elements to read at once.
      * @param log
      *            the log node, or null to skip logging.
      * @return the expanded classpath.
@@ -100,14 +155,80 @@ final class TransitiveClasspath {
      *             if the thread was interrupted.
      */
     static List<ClasspathEntry> expand(final List<ClasspathEntry> entries, final Vfs vfs, final VfsSpec vfsSpec,
+            final @Nullable ExecutorService executorService, final int numParallelTasks,
             final @Nullable LogNode log) {
         final var classpath = new TransitiveClasspath(vfs, vfsSpec, log);
+        if (executorService != null && numParallelTasks > 1) {
+            classpath.readAhead(entries, executorService, numParallelTasks);
+        }
         for (final ClasspathEntry entry : entries) {
             classpath.addRec(entry);
         }
         return classpath.expanded;
     }
 
+    /**
+     * Read the manifests and lib dirs of every classpath element that can be reached from the given classpath
+     * elements, in parallel, one level of the tree of declared classpath elements at a time, so that
+     * {@link #addRec(ClasspathEntry)} then finds what each classpath element declares in {@link #readAhead}. The
+     * order of the expanded classpath is still decided by {@link #addRec(ClasspathEntry)} alone, so it does not
+     * depend on the order in which the classpath elements were read.
+     *
+     * @param entries
+     *            the classpath elements that the classloaders declared.
+     * @param executorService
+     *            the executor to read the classpath elements with.
+     * @param numParallelTasks
+     *            the maximum number of classpath elements to read at once.
+     * @throws IllegalStateException
+     *             if the thread was interrupted.
+     */
+    private void readAhead(final List<ClasspathEntry> entries, final ExecutorService executorService,
+            final int numParallelTasks) {
+        // The declaring elements that have been scheduled to be read, so that each is read only once, however many
+        // classpath elements declare it
+        final Set<DeclaringElement> scheduled = ConcurrentHashMap.newKeySet();
+        List<ClasspathEntry> level = new ArrayList<>();
+        for (final ClasspathEntry entry : entries) {
+            if (scheduled.add(DeclaringElement.of(entry))) {
+                level.add(entry);
+            }
+        }
+        while (!level.isEmpty()) {
+            final Queue<ClasspathEntry> toRead = new ConcurrentLinkedQueue<>(level);
+            final Queue<ClasspathEntry> nextLevel = new ConcurrentLinkedQueue<>();
+            final List<Callable<@Nullable Void>> tasks = new ArrayList<>();
+            for (var i = Math.min(numParallelTasks, level.size()); i > 0; --i) {
+                tasks.add(() -> {
+                    for (var entry = toRead.poll(); entry != null; entry = toRead.poll()) {
+                        final var declaredEntries = read(entry);
+                        readAhead.put(DeclaringElement.of(entry), declaredEntries);
+                        for (final ClasspathEntry child : children(entry, declaredEntries, /* log = */ null)) {
+                            if (scheduled.add(DeclaringElement.of(child))) {
+                                nextLevel.add(child);
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            try {
+                for (final Future<@Nullable Void> future : executorService.invokeAll(tasks)) {
+                    future.get();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading the jarfiles on the classpath", e);
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof final RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Could not read the jarfiles on the classpath", e.getCause());
+            }
+            level = new ArrayList<>(nextLevel);
+        }
+    }
+
     /**
      * Add a classpath element, then add the classpath elements it declares, and so on.
      *
@@ -120,43 +241,61 @@ final class TransitiveClasspath {
             return;
         }
         expanded.add(entry);
-        for (final ClasspathEntry child : children(entry)) {
+        final var declaredEntries = readAhead.get(DeclaringElement.of(entry));
+        for (final ClasspathEntry child : children(entry, declaredEntries == null ? read(entry) : declaredEntries,
+                log)) {
             addRec(child);
         }
     }
 
     /**
-     * Find the classpath elements that a classpath element declares.
+     * Read the classpath elements that a classpath element declares.
      *
      * @param entry
      *            the classpath element.
-     * @return the classpath elements it declares, in the order they must be added to the classpath.
+     * @return the classpath elements it declares.
+     * @throws IllegalStateException
+     *             if the thread was interrupted.
      */
-    private List<ClasspathEntry> children(final ClasspathEntry entry) {
-        final var location = entry.getLocation();
-        final List<ClasspathExpander.ChildEntry> childEntries;
-        final String canonicalPath;
+    private DeclaredEntries read(final ClasspathEntry entry) {
         try {
             // The classpath element is opened in the form the classloader named it with, so that a child of it is
             // resolved in the filesystem that it lives in. The root is not closed here, because the virtual
             // filesystem owns it, and hands the same root back to whoever reads the classpath element next.
             final var root = entry.open(vfs);
-            canonicalPath = root.getPath();
-            childEntries = ClasspathExpander.childEntries(root, entry.getLibDirPrefixes(),
-                    vfsSpec.isNestedJarsEnabled(), log);
+            return new DeclaredEntries(root.getPath(), ClasspathExpander.childEntries(root,
+                    entry.getLibDirPrefixes(), vfsSpec.isNestedJarsEnabled(), log));
         } catch (final IOException | IllegalArgumentException e) {
             if (Thread.currentThread().isInterrupted()) {
                 throw new IllegalStateException("Interrupted while reading the jarfiles on the classpath", e);
             }
             if (log != null) {
                 // A classpath element does not have to exist, and does not have to be a jarfile or a directory
-                log.log("Could not read " + location + " : " + (e.getCause() == null ? e : e.getCause()));
+                log.log("Could not read " + entry.getLocation() + " : "
+                        + (e.getCause() == null ? e : e.getCause()));
             }
-            return List.of();
+            return new DeclaredEntries("", List.of());
         }
-        final List<ClasspathEntry> children = new ArrayList<>(childEntries.size());
-        for (final var childEntry : childEntries) {
-            final var childLocation = spelledAsReached(childEntry.location(), canonicalPath, location);
+    }
+
+    /**
+     * Find the classpath elements that a classpath element declares.
+     *
+     * @param entry
+     *            the classpath element.
+     * @param declaredEntries
+     *            the classpath elements it declares, as read by {@link #read(ClasspathEntry)}.
+     * @param log
+     *            the log node to log each classpath element it declares to, or null to skip logging.
+     * @return the classpath elements it declares, in the order they must be added to the classpath.
+     */
+    private static List<ClasspathEntry> children(final ClasspathEntry entry, final DeclaredEntries declaredEntries,
+            final @Nullable LogNode log) {
+        final var location = entry.getLocation();
+        final List<ClasspathEntry> children = new ArrayList<>(declaredEntries.childEntries().size());
+        for (final var childEntry : declaredEntries.childEntries()) {
+            final var childLocation = spelledAsReached(childEntry.location(), declaredEntries.canonicalPath(),
+                    location);
             if (log != null) {
                 log.log(childEntry.origin().getLogMessage() + ": " + childLocation);
             }
@@ -29,14 +29,18 @@
 package io.github.classgraph.classpath.internal;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
 
 import io.github.classgraph.base.LogNode;
 import io.github.classgraph.base.internal.path.FastPathResolver;
 import io.github.classgraph.base.internal.path.FileUtils;
 import io.github.classgraph.base.internal.path.PathList;
 import io.github.classgraph.base.internal.utils.VersionFinder;
+import io.github.classgraph.classpath.ClassLoaderHandler;
 import io.github.classgraph.classpath.internal.classloaderhandler.ClassLoaderHandlerRegistry.ClassLoaderHandlerRegistryEntry;
 import io.github.classgraph.classpath.internal.classloaderhandler.ClassLoaderHandlerRegistry;
 import org.jspecify.annotations.Nullable;
@@ -232,11 +236,8 @@ public class ClassLoaderProbe {
         final var scanSystemModules = classpathSpec.enableSystemJarsAndModules
                 || !classpathSpec.moduleAcceptReject.acceptIsEmpty();
 
-        // Only instantiate a module finder if requested
-        moduleFinder = scanTargets.scanNonSystemModules() || scanSystemModules
-                ? new ModuleFinder(CallStackReader.getClassContext(), classpathSpec, classLoaderAndModuleLayerSpec,
-                        scanTargets.scanNonSystemModules(), scanSystemModules, classLoaderProbeLog)
-                : null;
+        final var listModules = scanTargets.scanNonSystemModules() || scanSystemModules;
+        final var callStack = listModules ? CallStackReader.getClassContext() : null;
 
         classpathOrder = new ClasspathOrderBuilder(classpathSpec);
 
@@ -249,17 +250,44 @@ public class ClassLoaderProbe {
                 : classLoaderFinder.getContextClassLoaders();
         final var defaultClassLoader = contextClassLoaders.length > 0 ? contextClassLoaders[0] : null;
 
+        // Reuse the classpath found by an earlier scan with the same classloaders and settings, if there was one
+        final var cacheKey = classpathSpec.enableClasspathCache
+                ? newCacheKey(classpathSpec, classLoaderAndModuleLayerSpec, scanTargets, scanSystemModules,
+                        contextClassLoaders, callStack)
+                : null;
+        final var cachedProbe = cacheKey == null ? null : ClassLoaderProbeCache.shared().get(cacheKey);
+        final var cachedClassLoaderOrder = cachedProbe == null ? null
+                : cachedProbe.getClassLoaderOrderRespectingParentDelegation();
+        if (cachedProbe != null && cachedClassLoaderOrder != null) {
+            if (classLoaderProbeLog != null) {
+                classLoaderProbeLog.log("Reusing the classpath found by an earlier scan with the same classloaders "
+                        + "and settings");
+            }
+            moduleFinder = cachedProbe.moduleFinder();
+            classpathOrder.addEntries(cachedProbe.order());
+            classLoaderOrderRespectingParentDelegation = cachedClassLoaderOrder;
+            return;
+        }
+
+        // Only instantiate a module finder if requested
+        moduleFinder = callStack != null
+                ? new ModuleFinder(callStack, classpathSpec, classLoaderAndModuleLayerSpec,
+                        scanTargets.scanNonSystemModules(), scanSystemModules, classLoaderProbeLog)
+                : null;
+
         final var overrideClasspath = classpathSpec.overrideClasspath;
+        final ClassLoader[] classLoaderOrder;
         if (overrideClasspath != null) {
             addOverriddenClasspathEntries(overrideClasspath, classpathSpec, classLoaderAndModuleLayerSpec,
                     defaultClassLoader, classLoaderProbeLog);
-            classLoaderOrderRespectingParentDelegation = contextClassLoaders;
+            classLoaderOrder = contextClassLoaders;
         } else {
             // Need to record the classloader delegation order, in particular to respect parent-last delegation
             // order, since this is not the default (issue #267).
-            classLoaderOrderRespectingParentDelegation = addClassLoaderClasspathEntries(classpathSpec,
-                    classLoaderAndModuleLayerSpec, contextClassLoaders, classLoaderProbeLog);
+            classLoaderOrder = addClassLoaderClasspathEntries(classpathSpec, classLoaderAndModuleLayerSpec,
+                    contextClassLoaders, classLoaderProbeLog);
         }
+        classLoaderOrderRespectingParentDelegation = classLoaderOrder;
 
         // Only scan java.class.path if parent classloaders are not ignored, classloaders are not overridden, and
         // the classpath is not overridden, unless only module scanning was enabled, and an unnamed module layer was
@@ -271,6 +299,81 @@ public class ClassLoaderProbe {
                 || (moduleFinder != null && moduleFinder.forceScanJavaClassPath())) {
             addJavaClassPathEntries(classpathSpec, defaultClassLoader, classLoaderProbeLog);
         }
+
+        if (cacheKey != null) {
+            ClassLoaderProbeCache.shared().put(cacheKey, classpathOrder.getOrder(), moduleFinder, classLoaderOrder);
+        }
+    }
+
+    /**
+     * Create the key that the classpath found by this probe is cached under in {@link ClassLoaderProbeCache}: the
+     * classloaders that are probed, the module layers whose modules are listed, and every setting that the
+     * classpath depends on.
+     *
+     * @param classpathSpec
+     *            the {@link ClasspathSpec}
+     * @param classLoaderAndModuleLayerSpec
+     *            the classloaders and module layers the caller asked to be scanned
+     * @param scanTargets
+     *            what has to be scanned
+     * @param scanSystemModules
+     *            whether system modules are going to be scanned
+     * @param contextClassLoaders
+     *            the environment classloaders, which are used unless the classloaders were overridden
+     * @param callStack
+     *            the call stack, if modules are going to be listed, otherwise null
+     * @return the key, or null if the classpath cannot be cached, because it was overridden (finding an overridden
+     *         classpath is cheap anyway), or because classpath element filters were added (filters cannot be
+     *         compared with each other).
+     */
+    private static ClassLoaderProbeCache.@Nullable Key newCacheKey(final ClasspathSpec classpathSpec,
+            final ClassLoaderAndModuleLayerSpec classLoaderAndModuleLayerSpec, final ScanTargets scanTargets,
+            final boolean scanSystemModules, final ClassLoader[] contextClassLoaders,
+            final Class<?> @Nullable [] callStack) {
+        final var overrideClassLoaders = classLoaderAndModuleLayerSpec.overrideClassLoaders;
+        final var classLoaders = overrideClassLoaders != null ? overrideClassLoaders.toArray(ClassLoader[]::new)
+                : contextClassLoaders;
+        if (classpathSpec.overrideClasspath != null || classpathSpec.classpathElementPathFilters != null
+                || classpathSpec.classpathElementURLFilters != null || classLoaders.length == 0) {
+            return null;
+        }
+
+        // The module layers are the layers of the classes on the call stack, unless they were overridden, plus any
+        // added layers. Whether any class on the call stack is in an unnamed module decides whether java.class.path
+        // has to be scanned to find the unnamed modules.
+        final Set<ModuleLayer> moduleLayers = new LinkedHashSet<>();
+        var callStackHasUnnamedModule = false;
+        if (callStack != null) {
+            if (classLoaderAndModuleLayerSpec.overrideModuleLayers != null) {
+                moduleLayers.addAll(classLoaderAndModuleLayerSpec.overrideModuleLayers);
+            } else {
+                for (final Class<?> stackFrameClass : callStack) {
+                    final var layer = stackFrameClass.getModule().getLayer();
+                    if (layer != null) {
+                        moduleLayers.add(layer);
+                    } else {
+                        callStackHasUnnamedModule = true;
+                    }
+                }
+            }
+            if (classLoaderAndModuleLayerSpec.addedModuleLayers != null) {
+                moduleLayers.addAll(classLoaderAndModuleLayerSpec.addedModuleLayers);
+            }
+        }
+
+        // A ClassLoaderHandler is compared by its class, since a new instance is usually registered for each scan
+        final List<String> classLoaderHandlerClassNames = new ArrayList<>();
+        for (final ClassLoaderHandler classLoaderHandler : classpathSpec.classLoaderHandlers) {
+            classLoaderHandlerClassNames.add(classLoaderHandler.getClass().getName());
+        }
+        final var allowedURLSchemes = classpathSpec.allowedURLSchemes;
+        return new ClassLoaderProbeCache.Key(classLoaders, new ArrayList<>(moduleLayers),
+                List.of(scanTargets.scanNonSystemModules(), scanTargets.forceScanJavaClassPath(), scanSystemModules,
+                        callStackHasUnnamedModule, classpathSpec.ignoreParentClassLoaders,
+                        classpathSpec.ignoreParentModuleLayers, classpathSpec.moduleAcceptReject.toString(),
+                        String.valueOf(allowedURLSchemes == null ? null : new TreeSet<>(allowedURLSchemes)),
+                        classLoaderHandlerClassNames,
+                        String.valueOf(VersionFinder.getProperty("java.class.path"))));
     }
 
     // -------------------------------------------------------------------------------------------------------------
@@ -0,0 +1,334 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph.classpath.internal;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A process-wide cache of the classpath orders found by {@link ClassLoaderProbe}, so that repeated scans with the
+ * same classloaders and the same settings do not have to ask every classloader for its classpath, walk the module
+ * layers, and resolve every classpath element again.
+ *
+ * <p>
+ * The classloaders and module layers that a classpath order was found from are only weakly referenced, so that the
+ * cache does not keep a classloader alive: when a classloader is garbage collected, the classpath orders found from
+ * it are dropped. Otherwise, a cached classpath order is used for as long as the classloaders, the module layers
+ * and the settings that were used to find it are unchanged. A classloader whose classpath changes (e.g. a
+ * {@link java.net.URLClassLoader} that a URL is added to), or a jarfile or directory that is created or deleted
+ * after the classpath order was cached, is not noticed, so {@link #invalidate(ClassLoader)} or
+ * {@link #invalidateAll()} has to be called when that happens.
+ */
+public final class ClassLoaderProbeCache {
+    /** The cache that is shared by every scan. */
+    private static final ClassLoaderProbeCache SHARED = new ClassLoaderProbeCache();
+
+    /**
+     * The maximum number of classpath orders to cache for the same first classloader, i.e. for different settings,
+     * before the oldest one is dropped.
+     */
+    private static final int MAX_NUM_ENTRIES_PER_CLASS_LOADER = 8;
+
+    /** A map from the first classloader of each key to the classpath orders found for that key. */
+    private final Map<ClassLoader, List<CachedProbe>> cachedProbes = new WeakHashMap<>();
+
+    /**
+     * What a classpath order is cached under: the classloaders it was found from, the module layers whose modules
+     * were listed, and the settings that the result depends on.
+     */
+    static final class Key {
+        /** The classloaders, in the order they were probed. */
+        private final List<WeakReference<ClassLoader>> classLoaders;
+
+        /** The module layers. */
+        private final List<WeakReference<ModuleLayer>> moduleLayers;
+
+        /** The settings, as values that can be compared by {@link Object#equals(Object)}. */
+        private final List<Object> settings;
+
+        /**
+         * Constructor.
+         *
+         * @param classLoaders
+         *            the classloaders, in the order they were probed. Must not be empty.
+         * @param moduleLayers
+         *            the module layers.
+         * @param settings
+         *            the settings, as values that can be compared by {@link Object#equals(Object)}.
+         */
+        Key(final ClassLoader[] classLoaders, final List<ModuleLayer> moduleLayers, final List<Object> settings) {
+            this.classLoaders = new ArrayList<>(classLoaders.length);
+            for (final ClassLoader classLoader : classLoaders) {
+                this.classLoaders.add(new WeakReference<>(classLoader));
+            }
+            this.moduleLayers = new ArrayList<>(moduleLayers.size());
+            for (final ModuleLayer moduleLayer : moduleLayers) {
+                this.moduleLayers.add(new WeakReference<>(moduleLayer));
+            }
+            this.settings = List.copyOf(settings);
+        }
+
+        /**
+         * Get the first classloader.
+         *
+         * @return the first classloader, or null if it has been garbage collected.
+         */
+        @Nullable
+        ClassLoader getFirstClassLoader() {
+            return classLoaders.get(0).get();
+        }
+
+        /**
+         * Check whether a classloader is one of the classloaders of this key.
+         *
+         * @param classLoader
+         *            the classloader.
+         * @return true if the classloader is one of the classloaders of this key.
+         */
+        boolean refersTo(final ClassLoader classLoader) {
+            for (final WeakReference<ClassLoader> ref : classLoaders) {
+                if (ref.refersTo(classLoader)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Check whether any of the classloaders or module layers of this key has been garbage collected.
+         *
+         * @return true if any of the classloaders or module layers has been garbage collected.
+         */
+        boolean isCleared() {
+            for (final WeakReference<ClassLoader> ref : classLoaders) {
+                if (ref.get() == null) {
+                    return true;
+                }
+            }
+            for (final WeakReference<ModuleLayer> ref : moduleLayers) {
+                if (ref.get() == null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Check whether this key is the same as another key, i.e. whether it has the same classloaders and module
+         * layers (by identity), in the same order, and equal settings. A key whose classloaders or module layers
+         * have been garbage collected is not the same as any other key.
+         *
+         * @param other
+         *            the other key.
+         * @return true if the keys are the same.
+         */
+        boolean isSameAs(final Key other) {
+            return settings.equals(other.settings) && isSame(classLoaders, other.classLoaders)
+                    && isSame(moduleLayers, other.moduleLayers);
+        }
+
+        /**
+         * Check whether two lists of weak references refer to the same objects, in the same order.
+         *
+         * @param <T>
+         *            the type of the referents.
+         * @param refs
+         *            the weak references.
+         * @param otherRefs
+         *            the other weak references.
+         * @return true if each pair of weak references refers to the same object, and that object has not been
+         *         garbage collected.
+         */
+        private static <T> boolean isSame(final List<WeakReference<T>> refs,
+                final List<WeakReference<T>> otherRefs) {
+            if (refs.size() != otherRefs.size()) {
+                return false;
+            }
+            for (var i = 0; i < refs.size(); i++) {
+                final var referent = refs.get(i).get();
+                if (referent == null || !otherRefs.get(i).refersTo(referent)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A classpath order found by {@link ClassLoaderProbe}, and the other results of probing the classloaders.
+     *
+     * @param key
+     *            the key the classpath order is cached under.
+     * @param order
+     *            the classpath order. {@link ClasspathOrderBuilder.Entry} holds only the string form of the
+     *            classloader a classpath element was obtained from, so the classpath order does not keep a
+     *            classloader alive.
+     * @param moduleFinder
+     *            the {@link ModuleFinder}, or null if modules were not listed.
+     * @param classLoaderOrderRespectingParentDelegation
+     *            the classloaders in delegation order.
+     */
+    record CachedProbe(Key key, List<ClasspathOrderBuilder.Entry> order, @Nullable ModuleFinder moduleFinder,
+            List<WeakReference<ClassLoader>> classLoaderOrderRespectingParentDelegation) {
+        /**
+         * Get the classloaders in delegation order.
+         *
+         * @return the classloaders in delegation order, or null if any of them has been garbage collected.
+         */
+        ClassLoader @Nullable [] getClassLoaderOrderRespectingParentDelegation() {
+            final var classLoaders = new ClassLoader[classLoaderOrderRespectingParentDelegation.size()];
+            for (var i = 0; i < classLoaders.length; i++) {
+                final var classLoader = classLoaderOrderRespectingParentDelegation.get(i).get();
+                if (classLoader == null) {
+                    return null;
+                }
+                classLoaders[i] = classLoader;
+            }
+            return classLoaders;
+        }
+    }
+
+    /**
+     * Constructor.
+     */
+    public ClassLoaderProbeCache() {
+        // Empty
+    }
+
+    /**
+     * Get the cache that is shared by every scan.
+     *
+     * @return the shared cache.
+     */
+    public static ClassLoaderProbeCache shared() {
+        return SHARED;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the cached classpath order for a key.
+     *
+     * @param key
+     *            the key.
+     * @return the cached classpath order, or null if none is cached under the key.
+     */
+    synchronized @Nullable CachedProbe get(final Key key) {
+        final var firstClassLoader = key.getFirstClassLoader();
+        final var cachedProbesForClassLoader = firstClassLoader == null ? null : cachedProbes.get(firstClassLoader);
+        if (cachedProbesForClassLoader != null) {
+            for (final CachedProbe cachedProbe : cachedProbesForClassLoader) {
+                if (cachedProbe.key().isSameAs(key)) {
+                    return cachedProbe;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cache a classpath order under a key.
+     *
+     * @param key
+     *            the key.
+     * @param order
+     *            the classpath order.
+     * @param moduleFinder
+     *            the {@link ModuleFinder}, or null if modules were not listed.
+     * @param classLoaderOrderRespectingParentDelegation
+     *            the classloaders in delegation order.
+     */
+    synchronized void put(final Key key, final List<ClasspathOrderBuilder.Entry> order,
+            final @Nullable ModuleFinder moduleFinder,
+            final ClassLoader[] classLoaderOrderRespectingParentDelegation) {
+        final var firstClassLoader = key.getFirstClassLoader();
+        if (firstClassLoader == null) {
+            return;
+        }
+        final List<WeakReference<ClassLoader>> classLoaderOrder = new ArrayList<>(
+                classLoaderOrderRespectingParentDelegation.length);
+        for (final ClassLoader classLoader : classLoaderOrderRespectingParentDelegation) {
+            classLoaderOrder.add(new WeakReference<>(classLoader));
+        }
+        final var cachedProbesForClassLoader = cachedProbes.computeIfAbsent(firstClassLoader,
+                k -> new ArrayList<>(2));
+        // Replace any earlier classpath order for the same key, and drop the classpath orders whose classloaders or
+        // module layers have been garbage collected
+        cachedProbesForClassLoader
+                .removeIf(cachedProbe -> cachedProbe.key().isCleared() || cachedProbe.key().isSameAs(key));
+        if (cachedProbesForClassLoader.size() >= MAX_NUM_ENTRIES_PER_CLASS_LOADER) {
+            cachedProbesForClassLoader.remove(0);
+        }
+        cachedProbesForClassLoader
+                .add(new CachedProbe(key, List.copyOf(order), moduleFinder, List.copyOf(classLoaderOrder)));
+    }
+
+    /**
+     * Drop the cached classpath orders that were found from a classloader, so that the next scan that uses the
+     * classloader asks it for its classpath again. Call this when the classpath of the classloader changes.
+     *
+     * @param classLoader
+     *            the classloader.
+     */
+    public synchronized void invalidate(final ClassLoader classLoader) {
+        for (final Iterator<List<CachedProbe>> iter = cachedProbes.values().iterator(); iter.hasNext();) {
+            final var cachedProbesForClassLoader = iter.next();
+            cachedProbesForClassLoader.removeIf(cachedProbe -> cachedProbe.key().refersTo(classLoader));
+            if (cachedProbesForClassLoader.isEmpty()) {
+                iter.remove();
+            }
+        }
+    }
+
+    /**
+     * Drop all cached classpath orders, so that the next scan finds the classpath again.
+     */
+    public synchronized void invalidateAll() {
+        cachedProbes.clear();
+    }
+
+    /**
+     * Get the number of cached classpath orders.
+     *
+     * @return the number of cached classpath orders.
+     */
+    public synchronized int size() {
+        var size = 0;
+        for (final List<CachedProbe> cachedProbesForClassLoader : cachedProbes.values()) {
+            size += cachedProbesForClassLoader.size();
+        }
+        return size;
+    }
+}
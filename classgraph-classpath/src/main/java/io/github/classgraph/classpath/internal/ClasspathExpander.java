@@ -41,6 +41,7 @@ import io.github.classgraph.base.LogNode;
 import io.github.classgraph.base.internal.path.FastPathResolver;
 import io.github.classgraph.base.internal.path.FileUtils;
 import io.github.classgraph.base.internal.path.PathSyntax;
+import io.github.classgraph.vfs.ArchiveProbe;
 import io.github.classgraph.vfs.VfsEntry;
 import io.github.classgraph.vfs.VfsRoot;
 import org.jspecify.annotations.Nullable;
@@ -162,6 +163,32 @@ public final class ClasspathExpander {
         return childEntries;
     }
 
+    /**
+     * Check, from a probe of a jarfile that has not been opened, whether {@link #childEntries} could find any child
+     * classpath entries in it once it is opened. A false positive only costs the caller the open it was hoping to
+     * avoid, so a lib dir that holds any file at all counts, whether or not the file is a jarfile.
+     *
+     * @param probe
+     *            the probe of the jarfile, which was asked for the entry name prefixes in {@code libDirPrefixes}.
+     * @param libDirPrefixes
+     *            the lib dirs to look in, each ending in a slash.
+     * @param enableNestedJars
+     *            whether jarfiles nested inside other jarfiles are read.
+     * @return true if the jarfile may declare child classpath entries.
+     */
+    public static boolean mayHaveChildEntries(final ArchiveProbe probe, final List<String> libDirPrefixes,
+            final boolean enableNestedJars) {
+        if (enableNestedJars) {
+            for (final String libDirPrefix : libDirPrefixes) {
+                if (probe.entryNamePrefixesFound().contains(libDirPrefix)) {
+                    return true;
+                }
+            }
+        }
+        return probe.getManifestEntry(CLASS_PATH_KEY) != null
+                || probe.getManifestEntry(BUNDLE_CLASS_PATH_KEY) != null;
+    }
+
     /**
      * Add the jarfiles in the automatic lib dirs, since not all classloaders list them as classpath elements.
      *
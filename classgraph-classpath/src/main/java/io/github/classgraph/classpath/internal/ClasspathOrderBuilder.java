@@ -50,6 +50,7 @@ import java.util.regex.Pattern;
 
 import io.github.classgraph.base.ClassGraphLog;
 import io.github.classgraph.base.internal.path.FastPathResolver;
+import io.github.classgraph.base.internal.path.FileIdentityCache;
 import io.github.classgraph.base.internal.path.FileUtils;
 import io.github.classgraph.base.internal.path.PathList;
 import io.github.classgraph.base.internal.path.PathSyntax;
@@ -216,6 +217,20 @@ public class ClasspathOrderBuilder implements ClasspathOrder {
         return classpathEntryUniqueLocations;
     }
 
+    /**
+     * Add classpath entries that were found earlier, by an earlier scan, without resolving or filtering them again.
+     *
+     * @param entries
+     *            the classpath entries.
+     */
+    void addEntries(final List<Entry> entries) {
+        for (final Entry entry : entries) {
+            if (classpathEntryUniqueLocations.add(entry.location)) {
+                order.add(entry);
+            }
+        }
+    }
+
     /**
      * Set the automatic package root prefixes to record for subsequently-added classpath entries. Called before and
      * after invoking the {@code findClasspathOrder} method of a {@code ClassLoaderHandler}, so that each classpath
@@ -349,7 +364,7 @@ public class ClasspathOrderBuilder implements ClasspathOrder {
         }
         final Path canonicalPath;
         try {
-            canonicalPath = path.toRealPath();
+            canonicalPath = FileIdentityCache.shared().toRealPath(path);
         } catch (final NoSuchFileException e) {
             // The filesystem says the classpath element is not there
             if (log != null) {
@@ -122,6 +122,12 @@ public class ClasspathSpec {
      */
     public boolean ignoreParentModuleLayers;
 
+    /**
+     * If true, reuse the classpath found by an earlier scan with the same classloaders and the same settings,
+     * rather than asking each classloader for its classpath again. See {@link ClassLoaderProbeCache}.
+     */
+    public boolean enableClasspathCache;
+
     /** Commandline module path parameters. */
     public ModulePathInfo modulePathInfo = new ModulePathInfo();
 
@@ -11,8 +11,10 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executors;
 import java.util.jar.Attributes;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
@@ -295,6 +297,45 @@ public class ClasspathFinderTest {
         }
     }
 
+    /**
+     * Reading the manifests in parallel gives the same classpath, in the same order, as reading them one at a time,
+     * for a tree of pathing jars in which some jarfiles are named more than once, and two jarfiles name each other.
+     */
+    @Test
+    public void manifestsReadInParallelGiveTheSameClasspath(@TempDir final Path tempDir) throws IOException {
+        final List<String> pathingJarNames = new ArrayList<>();
+        for (var i = 0; i < 8; i++) {
+            final List<String> leafNames = new ArrayList<>();
+            for (var j = 0; j < 8; j++) {
+                // Every other leaf is shared by two pathing jars
+                final var leafName = j % 2 == 0 ? "leaf-" + i + "-" + j + ".jar"
+                        : "shared-leaf-" + i / 2 + "-" + j + ".jar";
+                writeJarWithManifest(tempDir.resolve(leafName));
+                leafNames.add(leafName);
+            }
+            // Each pathing jar also names the next one, and the last names the first
+            leafNames.add("pathing-" + (i + 1) % 8 + ".jar");
+            final var pathingJarName = "pathing-" + i + ".jar";
+            writeJarWithManifest(tempDir.resolve(pathingJarName), "Class-Path", String.join(" ", leafNames));
+            pathingJarNames.add(pathingJarName);
+        }
+        final var root = writeJarWithManifest(tempDir.resolve("root.jar"), "Class-Path",
+                String.join(" ", pathingJarNames));
+        final var other = writeJarWithManifest(tempDir.resolve("other.jar"));
+
+        final var executorService = Executors.newFixedThreadPool(4);
+        try (var classpath = new ClasspathFinder().overrideClasspath(root, other).find();
+                var parallelClasspath = new ClasspathFinder().overrideClasspath(root, other).find(executorService,
+                        4)) {
+            // 8 pathing jars, 4 leaves of each pathing jar's own, 4 leaves shared by each pair of pathing jars, the
+            // root and the other jar
+            assertThat(classpath.getLocations()).hasSize(8 + 8 * 4 + 4 * 4 + 2).doesNotHaveDuplicates();
+            assertThat(parallelClasspath.getLocations()).containsExactlyElementsOf(classpath.getLocations());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     /**
      * The classpath elements named by an OSGi bundle jar's {@code Bundle-ClassPath} manifest entry are part of the
      * classpath. Those paths are relative to the root of the bundle jar, so they are reported in the nested form.
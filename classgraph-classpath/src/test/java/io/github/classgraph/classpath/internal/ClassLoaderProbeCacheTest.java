@@ -0,0 +1,111 @@
+package io.github.classgraph.classpath.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that {@link ClassLoaderProbe} reuses the classpath cached in {@link ClassLoaderProbeCache} when
+ * {@link ClasspathSpec#enableClasspathCache} is set, and that the cache can be invalidated.
+ */
+public class ClassLoaderProbeCacheTest {
+    /** A {@link URLClassLoader} whose classpath can be added to. */
+    private static class MutableURLClassLoader extends URLClassLoader {
+        /**
+         * Constructor.
+         *
+         * @param url
+         *            the first classpath URL.
+         */
+        MutableURLClassLoader(final URL url) {
+            super(new URL[] { url }, null);
+        }
+
+        @Override
+        public void addURL(final URL url) {
+            super.addURL(url);
+        }
+    }
+
+    /**
+     * Find the classpath of a classloader.
+     *
+     * @param classLoader
+     *            the classloader.
+     * @param enableClasspathCache
+     *            whether to use the classpath cache.
+     * @return the resolved paths of the classpath elements.
+     */
+    private static Set<Path> probe(final ClassLoader classLoader, final boolean enableClasspathCache) {
+        final var classpathSpec = new ClasspathSpec();
+        classpathSpec.enableClasspathCache = enableClasspathCache;
+        final var classLoaderAndModuleLayerSpec = new ClassLoaderAndModuleLayerSpec();
+        classLoaderAndModuleLayerSpec.overrideClassLoaders(classLoader);
+        final var classLoaderProbe = new ClassLoaderProbe(classpathSpec, classLoaderAndModuleLayerSpec, null);
+        assertThat(classLoaderProbe.getClassLoaderOrderRespectingParentDelegation()).containsExactly(classLoader);
+        final Set<Path> paths = new TreeSet<>();
+        for (final String path : classLoaderProbe.getClasspathOrder().getClasspathEntryUniqueLocations()) {
+            paths.add(Path.of(path));
+        }
+        return paths;
+    }
+
+    /**
+     * A change to the classpath of a classloader is not seen until the cache is invalidated for that classloader.
+     *
+     * @param tmpDir
+     *            a temporary directory for the classpath elements.
+     * @throws Exception
+     *             if the classpath elements could not be created.
+     */
+    @Test
+    public void cachedClasspathIsReusedUntilInvalidated(@TempDir final Path tmpDir) throws Exception {
+        final var dirA = Files.createDirectories(tmpDir.resolve("a")).toRealPath();
+        final var dirB = Files.createDirectories(tmpDir.resolve("b")).toRealPath();
+        try (var classLoader = new MutableURLClassLoader(dirA.toUri().toURL())) {
+            assertThat(probe(classLoader, true)).containsExactly(dirA);
+
+            classLoader.addURL(dirB.toUri().toURL());
+            assertThat(probe(classLoader, true)).containsExactly(dirA);
+            // A scan that does not use the cache sees the change
+            assertThat(probe(classLoader, false)).containsExactly(dirA, dirB);
+
+            ClassLoaderProbeCache.shared().invalidate(classLoader);
+            assertThat(probe(classLoader, true)).containsExactly(dirA, dirB);
+
+            ClassLoaderProbeCache.shared().invalidate(classLoader);
+        }
+    }
+
+    /**
+     * The cache does not keep a classloader alive.
+     *
+     * @param tmpDir
+     *            a temporary directory for the classpath element.
+     * @throws Exception
+     *             if the classpath element could not be created.
+     */
+    @Test
+    public void cacheDoesNotKeepClassLoaderAlive(@TempDir final Path tmpDir) throws Exception {
+        final var dir = tmpDir.toRealPath();
+        var classLoader = new MutableURLClassLoader(dir.toUri().toURL());
+        assertThat(probe(classLoader, true)).containsExactly(dir);
+        final var classLoaderRef = new WeakReference<>(classLoader);
+        classLoader.close();
+        classLoader = null;
+        for (var i = 0; i < 50 && classLoaderRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(classLoaderRef.get()).isNull();
+    }
+}
@@ -32,6 +32,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.HashSet;
 import java.util.Set;
@@ -158,6 +159,22 @@ final class ArchiveEntry extends VfsEntry {
         }
     }
 
+    @Override
+    SeekableByteChannel newByteChannel() throws IOException {
+        getRoot().checkNotClosed(getPath());
+        final var slice = zipEntry.getSlice();
+        if (!slice.isDeflatedZipEntry) {
+            return new EntryByteChannel.Stored(slice);
+        }
+        if (zipEntry.uncompressedSize < 0L) {
+            // The size of the channel has to be known up front, and only inflating the whole entry can tell it
+            return super.newByteChannel();
+        }
+        final var vfs = getRoot().getVfs();
+        return new EntryByteChannel.Inflating(slice::open, zipEntry.uncompressedSize, vfs.session(), getPath(),
+                vfs.log());
+    }
+
     @Override
     public byte[] load() throws IOException {
         getRoot().checkNotClosed(getPath());
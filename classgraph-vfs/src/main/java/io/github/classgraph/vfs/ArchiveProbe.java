@@ -0,0 +1,90 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph.vfs;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * What {@link Vfs#probe(String, java.util.Collection, java.util.Collection)} found in the central directory of a
+ * jarfile, without the jarfile having been opened: its manifest, and which of the entry names and entry name
+ * prefixes it was asked about it holds.
+ *
+ * <p>
+ * Entry names are matched as they are stored, before any {@code "META-INF/versions/<version>/"} prefix is stripped,
+ * so an entry that only a multi-release jar (see {@link #isMultiRelease()}) holds under a versioned name is not
+ * reported under its unversioned name. An entry is reported if the central directory names it, even if it would be
+ * skipped by {@link Vfs#open(String)} because it is encrypted or otherwise unreadable, so the names found are never
+ * fewer than the names a full open would find.
+ *
+ * <p>
+ * A probe that is answered from a cached summary of the jarfile (see {@link VfsSpec#enableArchiveSummaryCache()})
+ * can also report, rarely, an entry name or a prefix that the jarfile does not hold, and reports a prefix that does
+ * not end in {@code '/'} as found whatever the jarfile holds. Only a name or a prefix that is not found can be
+ * relied on.
+ *
+ * @param manifest
+ *            the main section of the manifest file, keyed case-insensitively by attribute name, or null if the
+ *            jarfile has no manifest file
+ * @param entryNamesFound
+ *            the entry names asked about that name a file entry of the jarfile
+ * @param entryNamePrefixesFound
+ *            the entry name prefixes asked about that begin the name of at least one file entry of the jarfile
+ */
+public record ArchiveProbe(@Nullable Map<String, String> manifest, Set<String> entryNamesFound,
+        Set<String> entryNamePrefixesFound) {
+
+    /** The {@code "Multi-Release"} manifest key. */
+    private static final String MULTI_RELEASE_KEY = "Multi-Release";
+
+    /**
+     * Returns the value of one attribute of the jarfile's manifest file.
+     *
+     * @param key
+     *            the name of the attribute, e.g. {@code "Class-Path"}. Manifest attribute names are case
+     *            insensitive.
+     * @return the value of the attribute, or null if the jarfile has no manifest file, or its manifest does not
+     *         declare that attribute.
+     */
+    public @Nullable String getManifestEntry(final String key) {
+        return manifest == null ? null : manifest.get(key);
+    }
+
+    /**
+     * Check whether the jarfile is a multi-release jar, whose entries under {@code "META-INF/versions/<version>/"}
+     * are reported by {@link Vfs#open(String)} under their unversioned names.
+     *
+     * @return true if the manifest declares {@code "Multi-Release: true"}.
+     */
+    public boolean isMultiRelease() {
+        return "true".equalsIgnoreCase(getManifestEntry(MULTI_RELEASE_KEY));
+    }
+}
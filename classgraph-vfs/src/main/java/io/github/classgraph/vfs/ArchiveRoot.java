@@ -52,6 +52,9 @@ final class ArchiveRoot extends VfsRoot {
     /** The package root within the jarfile, or the empty string if the whole jarfile is the package root. */
     private final String packageRoot;
 
+    /** The package root with a trailing {@code '/'}, or the empty string if the package root is empty. */
+    private final String packageRootPrefix;
+
     /** The entries under the package root, in the order they appear in the jarfile's central directory. */
     private final List<VfsEntry> entries;
 
@@ -76,7 +79,7 @@ final class ArchiveRoot extends VfsRoot {
         this.logicalZipFile = logicalZipFile;
         this.packageRoot = packageRoot;
 
-        final var packageRootPrefix = packageRoot.isEmpty() ? "" : packageRoot + "/";
+        this.packageRootPrefix = packageRoot.isEmpty() ? "" : packageRoot + "/";
         final List<VfsEntry> entriesTmp = new ArrayList<>(logicalZipFile.entries.size());
         final Map<String, VfsEntry> entriesByNameTmp = new LinkedHashMap<>();
         for (final var zipEntry : logicalZipFile.entries) {
@@ -177,4 +180,9 @@ final class ArchiveRoot extends VfsRoot {
     VfsEntry getEntryImpl(final String name) {
         return entriesByName.get(name);
     }
+
+    @Override
+    boolean mayContainImpl(final String name) {
+        return name.isEmpty() || logicalZipFile.getEntryNameFilter().mightContain(packageRootPrefix + name);
+    }
 }
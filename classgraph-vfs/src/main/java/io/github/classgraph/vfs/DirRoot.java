@@ -44,6 +44,7 @@ import java.util.Set;
 
 import io.github.classgraph.base.LogNode;
 import io.github.classgraph.base.internal.path.FastPathResolver;
+import io.github.classgraph.base.internal.path.FileIdentityCache;
 import io.github.classgraph.base.internal.path.FileUtils;
 import io.github.classgraph.base.internal.path.URLPaths;
 import io.github.classgraph.base.internal.utils.CollectionUtils;
@@ -180,7 +181,7 @@ final class DirRoot extends VfsRoot {
         }
         final Path canonicalDir;
         try {
-            canonicalDir = currDir.toRealPath();
+            canonicalDir = FileIdentityCache.shared().toRealPath(currDir);
         } catch (final IOException | SecurityException e) {
             // A directory that cannot be resolved is skipped, rather than aborting the whole listing
             if (log != null) {
@@ -0,0 +1,501 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph.vfs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.github.classgraph.base.LogNode;
+import io.github.classgraph.vfs.internal.VfsSession;
+import io.github.classgraph.vfs.internal.slice.ArraySlice;
+import io.github.classgraph.vfs.internal.slice.FileSlice;
+import io.github.classgraph.vfs.internal.slice.Slice;
+import io.github.classgraph.vfs.internal.slice.reader.RandomAccessReader;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A read-only {@link SeekableByteChannel} over the content of one {@link VfsEntry}, as handed out by
+ * {@link VfsFileSystemProvider#newByteChannel}. The subclasses differ in how they reach the content:
+ * {@link Buffered} reads the whole entry up front, {@link Stored} reads an uncompressed zip entry in place, and
+ * {@link Inflating} inflates a compressed zip entry as far as the reads reach into it.
+ *
+ * <p>
+ * The read position is allowed to be beyond the end of the content, where reads return end-of-file.
+ */
+abstract class EntryByteChannel implements SeekableByteChannel {
+    /** The read position. */
+    private long position;
+
+    /** Whether this channel is still open. */
+    private final AtomicBoolean open = new AtomicBoolean(true);
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Read bytes of the content.
+     *
+     * @param pos
+     *            the position to read from, which is less than {@link #size()}.
+     * @param dst
+     *            the buffer to read into, which has space remaining.
+     * @return the number of bytes read, or -1 if the content ended before its size.
+     * @throws IOException
+     *             if the content could not be read.
+     */
+    abstract int readAt(long pos, ByteBuffer dst) throws IOException;
+
+    /**
+     * Release what this channel holds. Called once, by the first {@link #close()}.
+     *
+     * @throws IOException
+     *             if the release failed.
+     */
+    abstract void release() throws IOException;
+
+    /**
+     * Check that this channel is still open.
+     *
+     * @throws ClosedChannelException
+     *             if it is not.
+     */
+    final void checkOpen() throws ClosedChannelException {
+        if (!open.get()) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    /**
+     * Read bytes of content that a {@link RandomAccessReader} reads in place.
+     *
+     * @param reader
+     *            the reader of the content.
+     * @param length
+     *            the length of the content.
+     * @param pos
+     *            the position to read from, which is less than {@code length}.
+     * @param dst
+     *            the buffer to read into, which has space remaining.
+     * @return the number of bytes read, or -1 if the content ended before its length.
+     * @throws IOException
+     *             if the content could not be read.
+     */
+    static int readAt(final RandomAccessReader reader, final long length, final long pos, final ByteBuffer dst)
+            throws IOException {
+        final var numBytes = (int) Math.min(dst.remaining(), length - pos);
+        final int numBytesRead;
+        if (dst.hasArray()) {
+            numBytesRead = reader.read(pos, dst.array(), dst.arrayOffset() + dst.position(), numBytes);
+        } else {
+            final var bytes = new byte[numBytes];
+            numBytesRead = reader.read(pos, bytes, 0, numBytes);
+            if (numBytesRead > 0) {
+                dst.put(dst.position(), bytes, 0, numBytesRead);
+            }
+        }
+        if (numBytesRead > 0) {
+            dst.position(dst.position() + numBytesRead);
+        }
+        return numBytesRead;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public final synchronized int read(final ByteBuffer dst) throws IOException {
+        checkOpen();
+        if (position >= size()) {
+            return -1;
+        }
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+        final var numBytes = readAt(position, dst);
+        if (numBytes > 0) {
+            position += numBytes;
+        }
+        return numBytes;
+    }
+
+    @Override
+    public final int write(final ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public final synchronized long position() throws IOException {
+        checkOpen();
+        return position;
+    }
+
+    @Override
+    public final synchronized SeekableByteChannel position(final long newPosition) throws IOException {
+        checkOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Negative position: " + newPosition);
+        }
+        // Seeking beyond the end is allowed, the position reads back as the one that was asked for, and reads
+        // there return -1
+        position = newPosition;
+        return this;
+    }
+
+    @Override
+    public final SeekableByteChannel truncate(final long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public final boolean isOpen() {
+        return open.get();
+    }
+
+    @Override
+    public final void close() throws IOException {
+        if (open.getAndSet(false)) {
+            release();
+        }
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /** A channel over the whole content of an entry, read into a {@link CloseableByteBuffer} up front. */
+    static final class Buffered extends EntryByteChannel {
+        /** The content of the entry, closed when this channel is closed. */
+        private final CloseableByteBuffer content;
+
+        /** The content of the entry, starting at index 0. */
+        private final ByteBuffer buffer;
+
+        /**
+         * Constructor.
+         *
+         * @param content
+         *            the content of the entry, which this channel takes ownership of.
+         * @throws IOException
+         *             if the content could not be read.
+         */
+        Buffered(final CloseableByteBuffer content) throws IOException {
+            this.content = content;
+            final var byteBuffer = content.getByteBuffer();
+            if (byteBuffer == null) {
+                content.close();
+                throw new IOException("Could not read entry content");
+            }
+            // Slice rather than duplicate, so that the content starts at index 0 whatever position the buffer
+            // arrived at, which is what the absolute indexing in readAt() and size() assumes
+            this.buffer = byteBuffer.slice();
+        }
+
+        @Override
+        int readAt(final long pos, final ByteBuffer dst) throws IOException {
+            final var numBytes = (int) Math.min(dst.remaining(), buffer.limit() - pos);
+            final var slice = buffer.slice((int) pos, numBytes);
+            try {
+                dst.put(slice);
+            } catch (final IllegalStateException e) {
+                // The buffer aliases a memory mapping that was unmapped by closing the Vfs while this read was
+                // in flight -- fail the same documented way as a read through a closed FileChannel
+                throw new IOException("Cannot read a file that has been unmapped by closing the Vfs", e);
+            }
+            return numBytes;
+        }
+
+        @Override
+        public long size() throws IOException {
+            checkOpen();
+            return buffer.limit();
+        }
+
+        @Override
+        void release() {
+            content.close();
+        }
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A channel over an uncompressed zip entry, which reads each range it is asked for straight from the
+     * {@link Slice} of the entry, so that opening the channel reads nothing, and a seek costs nothing.
+     */
+    static final class Stored extends EntryByteChannel {
+        /** The reader of the slice of the entry. */
+        private final RandomAccessReader reader;
+
+        /** The length of the entry. */
+        private final long length;
+
+        /** Releases the view of the memory mapping of the slice, if it is memory-mapped. */
+        private final Runnable releaseMappingView;
+
+        /**
+         * Constructor.
+         *
+         * @param slice
+         *            the slice of the entry, which must not be a deflated zip entry.
+         * @throws IOException
+         *             if the slice has been closed.
+         */
+        Stored(final Slice slice) throws IOException {
+            // Hold the mapping open while the channel is open, as VfsEntry#read does for the buffer it hands out
+            // #939
+            this.releaseMappingView = slice.acquireMappingView();
+            try {
+                this.reader = slice.randomAccessReader();
+            } catch (final IOException | RuntimeException | Error e) {
+                releaseMappingView.run();
+                throw e;
+            }
+            this.length = slice.sliceLength;
+        }
+
+        @Override
+        int readAt(final long pos, final ByteBuffer dst) throws IOException {
+            return readAt(reader, length, pos, dst);
+        }
+
+        @Override
+        public long size() throws IOException {
+            checkOpen();
+            return length;
+        }
+
+        @Override
+        void release() {
+            releaseMappingView.run();
+        }
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /** Opens the inflated content of a zip entry, from its start. */
+    @FunctionalInterface
+    interface ContentOpener {
+        /**
+         * Open the content.
+         *
+         * @return the content, as a stream.
+         * @throws IOException
+         *             if the content could not be opened.
+         */
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * A channel over a compressed zip entry, which inflates the entry only as far as the reads reach into it,
+     * rather than inflating the whole entry when the channel is opened.
+     *
+     * <p>
+     * The most recently inflated chunk of the content is kept, so that reads that move back and forth within a
+     * chunk, such as reading a header and then the fields it points to, are served without inflating anything
+     * again. A seek forward inflates and discards the content up to the new position. A deflate stream cannot be
+     * resumed from the middle with {@link java.util.zip.Inflater} (a deflate block need not start on a byte
+     * boundary), so the first seek back before the kept chunk inflates the whole entry once more, into RAM or, if
+     * it is larger than {@link VfsSpec#getMaxBufferedJarRAMSize()}, into a temporary file, as a nested jarfile is,
+     * and every read from then on is served from that copy. A caller that reads the central directory at the end of
+     * a large nested archive and then seeks back to each entry therefore inflates the archive at most twice, rather
+     * than once per entry.
+     */
+    static final class Inflating extends EntryByteChannel {
+        /** The size of the chunk of inflated content that is kept. */
+        static final int CHUNK_SIZE = 64 * 1024;
+
+        /** Opens the inflated content of the entry. */
+        private final ContentOpener opener;
+
+        /** The length of the entry, once inflated. */
+        private final long length;
+
+        /** The session that owns the inflated copy of the entry. */
+        private final VfsSession session;
+
+        /** The name to base the name of a temporary file holding the inflated copy of the entry on. */
+        private final String tempFileBaseName;
+
+        /** The log node, or null to skip logging. */
+        private final @Nullable LogNode log;
+
+        /** The content being inflated, or null if it has not been opened yet, or has been inflated in full. */
+        private @Nullable InputStream in;
+
+        /** The most recently inflated chunk of the content. */
+        private final byte[] chunk;
+
+        /** The position within the content of the start of {@link #chunk}. */
+        private long chunkStart;
+
+        /** The number of bytes of {@link #chunk} that hold content. */
+        private int chunkLength;
+
+        /** The inflated copy of the entry, once a seek went back before the kept chunk, else null. */
+        private @Nullable Slice inflatedCopy;
+
+        /** The reader of {@link #inflatedCopy}. */
+        private @Nullable RandomAccessReader inflatedCopyReader;
+
+        /** The number of bytes that have been inflated, for testing. */
+        long numBytesInflated;
+
+        /**
+         * Constructor.
+         *
+         * @param opener
+         *            opens the inflated content of the entry.
+         * @param length
+         *            the length of the entry, once inflated.
+         * @param session
+         *            the session that owns the inflated copy of the entry, if one is made.
+         * @param tempFileBaseName
+         *            the name to base the name of a temporary file holding the inflated copy of the entry on.
+         * @param log
+         *            the log node, or null to skip logging.
+         */
+        Inflating(final ContentOpener opener, final long length, final VfsSession session,
+                final String tempFileBaseName, final @Nullable LogNode log) {
+            this.opener = opener;
+            this.length = length;
+            this.session = session;
+            this.tempFileBaseName = tempFileBaseName;
+            this.log = log;
+            this.chunk = new byte[(int) Math.min(CHUNK_SIZE, Math.max(length, 1L))];
+        }
+
+        /**
+         * Move the kept chunk to the one that holds a position, inflating the content up to there.
+         *
+         * @param pos
+         *            the position, which is not before the kept chunk.
+         * @return true if the chunk now holds the position, or false if the content ended before it.
+         * @throws IOException
+         *             if the content could not be inflated.
+         */
+        private boolean moveChunkTo(final long pos) throws IOException {
+            var stream = in;
+            if (stream == null) {
+                stream = opener.open();
+                in = stream;
+                chunkStart = 0L;
+                chunkLength = 0;
+            }
+            while (pos >= chunkStart + chunkLength) {
+                chunkStart += chunkLength;
+                chunkLength = stream.readNBytes(chunk, 0, chunk.length);
+                numBytesInflated += chunkLength;
+                if (chunkLength == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Inflate the whole entry into a copy, in RAM or in a temporary file, that every read is served from from
+         * now on, and stop inflating the entry as the reads reach into it.
+         *
+         * @return the reader of the copy.
+         * @throws IOException
+         *             if the content could not be inflated, or the copy could not be written.
+         */
+        private RandomAccessReader inflateCopy() throws IOException {
+            final var stream = in;
+            in = null;
+            if (stream != null) {
+                stream.close();
+            }
+            final Slice copy;
+            try (var inflating = opener.open()) {
+                copy = Slice.fromInputStream(inflating, tempFileBaseName, length, session, log);
+            }
+            numBytesInflated += copy.sliceLength;
+            inflatedCopy = copy;
+            final var reader = copy.randomAccessReader();
+            inflatedCopyReader = reader;
+            return reader;
+        }
+
+        @Override
+        int readAt(final long pos, final ByteBuffer dst) throws IOException {
+            var reader = inflatedCopyReader;
+            if (reader == null && in != null && pos < chunkStart) {
+                reader = inflateCopy();
+            }
+            if (reader != null) {
+                // The copy may hold more than the declared length, if the entry inflates to more than that, but
+                // the declared length bounds the content either way
+                return readAt(reader, length, pos, dst);
+            }
+            if ((in == null || pos >= chunkStart + chunkLength) && !moveChunkTo(pos)) {
+                return -1;
+            }
+            final var offsetInChunk = (int) (pos - chunkStart);
+            // The declared length bounds the content, even if the entry inflates to more than that
+            final var numBytes = (int) Math.min(Math.min(dst.remaining(), chunkLength - offsetInChunk),
+                    length - pos);
+            dst.put(chunk, offsetInChunk, numBytes);
+            return numBytes;
+        }
+
+        @Override
+        public long size() throws IOException {
+            checkOpen();
+            return length;
+        }
+
+        @Override
+        synchronized void release() throws IOException {
+            final var stream = in;
+            final var copy = inflatedCopy;
+            in = null;
+            inflatedCopy = null;
+            inflatedCopyReader = null;
+            try {
+                if (stream != null) {
+                    stream.close();
+                }
+            } finally {
+                if (copy != null) {
+                    // A copy in RAM no longer counts as buffered once it is released, and a copy in a temporary
+                    // file is deleted now rather than when the session is closed, so that backward seeks over many
+                    // entries do not leave a temporary file behind for each of them
+                    copy.close();
+                    if (copy instanceof ArraySlice) {
+                        session.removeBufferedArchiveBytes(copy.sliceLength);
+                    } else if (copy instanceof final FileSlice fileSlice) {
+                        session.removeTempFile(fileSlice.file);
+                    }
+                }
+            }
+        }
+    }
+}
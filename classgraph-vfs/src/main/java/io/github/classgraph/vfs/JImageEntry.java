@@ -0,0 +1,151 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph.vfs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+
+import io.github.classgraph.base.internal.path.URLPaths;
+import io.github.classgraph.vfs.internal.jimage.JImageFile;
+
+/**
+ * One resource of a module of the running JDK, read straight from the JDK's module image. Its content is a slice of
+ * the image file, unless it is stored compressed, in which case it is read through the {@code jrt:} filesystem, as
+ * a {@link ModuleEntry} would read it.
+ */
+final class JImageEntry extends VfsEntry {
+    /** The location of the resource within the module image. */
+    private final JImageFile.Location location;
+
+    /**
+     * Constructor.
+     *
+     * @param root
+     *            the module this entry was read from.
+     * @param location
+     *            the location of the resource within the module image.
+     */
+    JImageEntry(final JImageModuleRoot root, final JImageFile.Location location) {
+        super(root);
+        this.location = location;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public JImageModuleRoot getRoot() {
+        return (JImageModuleRoot) super.getRoot();
+    }
+
+    @Override
+    public String getName() {
+        return location.name();
+    }
+
+    @Override
+    public String getPath() {
+        return getRoot().getPath() + "/" + location.name();
+    }
+
+    @Override
+    public URI getURI() {
+        try {
+            // The same URI that the jrt: filesystem's ModuleReader gives for the resource
+            return new URI("jrt:/" + getRoot().getPath() + "/" + URLPaths.encodePath(location.name()));
+        } catch (final URISyntaxException e) {
+            throw new IllegalStateException("Could not form URI for " + getPath() + " : " + e, e);
+        }
+    }
+
+    @Override
+    public long getLength() {
+        return location.uncompressedSize();
+    }
+
+    @Override
+    public long getCompressedSize() {
+        return location.isCompressed() ? location.compressedSize() : location.uncompressedSize();
+    }
+
+    @Override
+    public long getLastModifiedMillis() {
+        // The module image does not record the modification time of a resource
+        return 0L;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get an entry that reads this resource through the {@code jrt:} filesystem, for a resource that is stored
+     * compressed.
+     *
+     * @return the entry.
+     */
+    private ModuleEntry fallbackEntry() {
+        return new ModuleEntry(getRoot().fallbackRoot(), location.name());
+    }
+
+    @Override
+    public InputStream open() throws IOException {
+        getRoot().checkNotClosed(getPath());
+        if (location.isCompressed()) {
+            return fallbackEntry().open();
+        }
+        return getRoot().jimageFile().slice(location).open();
+    }
+
+    @Override
+    public CloseableByteBuffer read() throws IOException {
+        getRoot().checkNotClosed(getPath());
+        if (location.isCompressed()) {
+            return fallbackEntry().read();
+        }
+        // As with ArchiveEntry, the buffer may be a view of the mapping of the image file, which has to be held
+        // open until the caller closes the wrapper
+        final var slice = getRoot().jimageFile().slice(location);
+        final var releaseMappingView = slice.acquireMappingView();
+        try {
+            return new CloseableByteBuffer(slice.read(), releaseMappingView);
+        } catch (final IOException | RuntimeException | Error e) {
+            releaseMappingView.run();
+            throw e;
+        }
+    }
+
+    @Override
+    public byte[] load() throws IOException {
+        getRoot().checkNotClosed(getPath());
+        if (location.isCompressed()) {
+            return fallbackEntry().load();
+        }
+        return getRoot().jimageFile().slice(location).load();
+    }
+}
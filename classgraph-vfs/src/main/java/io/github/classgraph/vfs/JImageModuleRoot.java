@@ -0,0 +1,181 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph.vfs;
+
+import java.lang.module.ModuleReference;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.github.classgraph.base.LogNode;
+import io.github.classgraph.vfs.internal.jimage.JImageFile;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A module of the running JDK, read straight from the JDK's module image rather than through the {@code jrt:}
+ * filesystem (see {@link VfsSpec#enableJImageReader()}). Listing the module and looking up a resource read the
+ * index of the image, which is held on the heap, and reading a resource hands out a slice of the image file,
+ * without a {@link java.lang.module.ModuleReader} being checked out or a buffer being copied.
+ *
+ * <p>
+ * A resource that is stored compressed in the image (by {@code jlink --compress}) cannot be read as a slice, so it
+ * is read through a {@link ModuleRoot} for the same module instead.
+ */
+final class JImageModuleRoot extends VfsRoot {
+    /** The module. */
+    private final ModuleReference moduleReference;
+
+    /** The module image that the module is read from. */
+    private final JImageFile jimageFile;
+
+    /** The root that reads the module through the {@code jrt:} filesystem, for any resource that is compressed. */
+    private final ModuleRoot fallbackRoot;
+
+    /** The entries of the module, or null until {@link #getEntries()} is first called. */
+    private volatile @Nullable List<VfsEntry> entries;
+
+    /**
+     * Constructor.
+     *
+     * @param vfs
+     *            the {@link Vfs} that opened this root.
+     * @param moduleReference
+     *            the module.
+     * @param jimageFile
+     *            the module image that the module is read from.
+     */
+    JImageModuleRoot(final Vfs vfs, final ModuleReference moduleReference, final JImageFile jimageFile) {
+        super(vfs);
+        this.moduleReference = moduleReference;
+        this.jimageFile = jimageFile;
+        this.fallbackRoot = new ModuleRoot(vfs, moduleReference);
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public Kind getKind() {
+        return Kind.MODULE;
+    }
+
+    @Override
+    public String getPath() {
+        return moduleReference.descriptor().name();
+    }
+
+    @Override
+    public URI getURI() {
+        return fallbackRoot.getURI();
+    }
+
+    @Override
+    public ModuleReference getModuleReference() {
+        return moduleReference;
+    }
+
+    @Override
+    public String getModuleName() {
+        return moduleReference.descriptor().name();
+    }
+
+    /**
+     * Get the module image that the module is read from.
+     *
+     * @return the module image.
+     */
+    JImageFile jimageFile() {
+        return jimageFile;
+    }
+
+    /**
+     * Get the root that reads the module through the {@code jrt:} filesystem.
+     *
+     * @return the root.
+     */
+    ModuleRoot fallbackRoot() {
+        return fallbackRoot;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    @Override
+    void walkImpl(final VfsVisitor visitor, final @Nullable LogNode log) {
+        // As with ModuleRoot, the list that a walk makes is not cached, since a walk only passes over it once
+        final var entriesCurr = entries;
+        walkEntryList(entriesCurr == null ? listEntries(log) : entriesCurr, visitor);
+    }
+
+    @Override
+    List<VfsEntry> getEntriesImpl() {
+        var entriesCurr = entries;
+        if (entriesCurr == null) {
+            entriesCurr = listEntries(getVfs().log());
+            // Two threads racing here each list the module, and both get an equivalent list back, which is harmless
+            entries = entriesCurr;
+        }
+        return entriesCurr;
+    }
+
+    /**
+     * List the entries of the module from the index of the module image.
+     *
+     * @param log
+     *            the log node, or null to not log.
+     * @return the entries, sorted by name.
+     */
+    private List<VfsEntry> listEntries(final @Nullable LogNode log) {
+        final var locations = jimageFile.list(getPath());
+        final List<VfsEntry> entriesTmp = new ArrayList<>(locations.size());
+        for (final var location : locations) {
+            entriesTmp.add(new JImageEntry(this, location));
+        }
+        if (log != null) {
+            log.log("Listed " + entriesTmp.size() + " resources of module " + getPath() + " from "
+                    + jimageFile.getFile());
+        }
+        return Collections.unmodifiableList(entriesTmp);
+    }
+
+    @Override
+    boolean searchesForACaseFoldedManifest() {
+        // The names in the module image are exact, and a module of the JDK carries no manifest (see ModuleRoot)
+        return false;
+    }
+
+    @Override
+    @Nullable
+    VfsEntry getEntryImpl(final String name) {
+        if (name.isEmpty()) {
+            return null;
+        }
+        final var location = jimageFile.find(getPath(), name);
+        return location == null ? null : new JImageEntry(this, location);
+    }
+}
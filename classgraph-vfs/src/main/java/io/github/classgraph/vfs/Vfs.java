@@ -35,15 +35,18 @@ import java.io.InputStream;
 import java.lang.module.ModuleReference;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -56,6 +59,7 @@ import io.github.classgraph.base.internal.path.FastPathResolver;
 import io.github.classgraph.base.internal.path.PathSyntax;
 import io.github.classgraph.base.internal.utils.Assert;
 import io.github.classgraph.vfs.internal.VfsSession;
+import io.github.classgraph.vfs.internal.jimage.JImageFile;
 import io.github.classgraph.vfs.internal.zip.NestedJarHandler;
 import org.jspecify.annotations.Nullable;
 
@@ -118,6 +122,15 @@ public final class Vfs implements AutoCloseable, Iterable<VfsRoot> {
     /** The roots that have been opened from a {@link ModuleReference}, keyed by that module. */
     private final Map<ModuleReference, VfsRoot> rootsByModule = new ConcurrentHashMap<>();
 
+    /**
+     * The module image of the running JDK, once {@link #jimageFile()} has opened it, or null if it has not been
+     * opened, or could not be read.
+     */
+    private @Nullable JImageFile jimageFile;
+
+    /** True once {@link #jimageFile()} has tried to open the module image, whether or not that succeeded. */
+    private boolean jimageFileOpenAttempted;
+
     /** The log node that {@link #verbose()} turns on, or null if not logging. */
     private volatile @Nullable LogNode log;
 
@@ -259,6 +272,54 @@ public final class Vfs implements AutoCloseable, Iterable<VfsRoot> {
         return cachedRoot;
     }
 
+    /**
+     * Probe a jarfile named by a path for its manifest, and for which of some entry names and entry name prefixes
+     * it holds, without opening it. Only the records of the jarfile's central directory are scanned, and only the
+     * manifest is read, so this is much cheaper than {@link #open(String)} for a large jarfile, for a caller that
+     * may find from the result that the jarfile does not need to be opened at all.
+     *
+     * <p>
+     * Only a jarfile in the local filesystem that is not nested within another jarfile can be probed. A probed
+     * jarfile is not opened: a later {@link #open(String)} of the same path reads its central directory in full.
+     * With {@link VfsSpec#enableArchiveSummaryCache()}, a jarfile that was opened before, by this or any other
+     * {@link Vfs}, and has not changed since, is probed without being read at all.
+     *
+     * @param path
+     *            the path of the jarfile.
+     * @param entryNames
+     *            the entry names to look for.
+     * @param entryNamePrefixes
+     *            the entry name prefixes to look for.
+     * @param logNode
+     *            the log node to log to, or null to not log.
+     * @return what was found, or null if the path cannot be probed -- it names a directory or a nested or remote
+     *         jarfile, or an entry name or entry name prefix is not ASCII -- and has to be opened instead.
+     * @throws IOException
+     *             if the jarfile could not be read, or if this {@link Vfs} has been closed.
+     */
+    public @Nullable ArchiveProbe probe(final String path, final Collection<String> entryNames,
+            final Collection<String> entryNamePrefixes, final @Nullable LogNode logNode) throws IOException {
+        Assert.notNull(path, "path");
+        Assert.notNull(entryNames, "entryNames");
+        Assert.notNull(entryNamePrefixes, "entryNamePrefixes");
+        checkNotClosed(path);
+        for (final var names : List.of(entryNames, entryNamePrefixes)) {
+            for (final String name : names) {
+                if (!StandardCharsets.US_ASCII.newEncoder().canEncode(name)) {
+                    return null;
+                }
+            }
+        }
+        final var resolvedPath = FastPathResolver.resolve(path);
+        try {
+            return nestedJarHandler.probeTopLevelJar(resolvedPath, entryNames, entryNamePrefixes,
+                    logNode == null ? null : logNode.log("Probing " + path));
+        } catch (final InterruptedException e) {
+            session.interruptionChecker().interrupt();
+            throw new IOException("Interrupted while probing " + resolvedPath, e);
+        }
+    }
+
     /**
      * Return the root that is already open at the path a root that has just been opened reports itself at, if there
      * is one. A root is named by the canonical path of the directory or jarfile that backs it, which is not always
@@ -512,7 +573,42 @@ public final class Vfs implements AutoCloseable, Iterable<VfsRoot> {
         if (alreadyOpened != null) {
             return alreadyOpened;
         }
-        return cacheRoot(rootsByModule, moduleReference, new ModuleRoot(this, moduleReference), moduleName);
+        final VfsRoot root;
+        final var location = moduleReference.location().orElse(null);
+        final var image = location != null && "jrt".equals(location.getScheme())
+                && session.vfsSpec.isJImageReaderEnabled() ? jimageFile() : null;
+        // Only read a module from the image if the image holds it, which it will unless the JDK was patched after
+        // the image was built
+        if (image != null && image.find(moduleName, "module-info.class") != null) {
+            root = new JImageModuleRoot(this, moduleReference, image);
+        } else {
+            root = new ModuleRoot(this, moduleReference);
+        }
+        return cacheRoot(rootsByModule, moduleReference, root, moduleName);
+    }
+
+    /**
+     * Open the module image of the running JDK, the first time a module is opened with
+     * {@link VfsSpec#enableJImageReader()} set. The image is opened once, and is closed when this {@link Vfs} is
+     * closed.
+     *
+     * @return the module image, or null if it is missing, or could not be read, in which case the modules of the
+     *         JDK are read through the {@code jrt:} filesystem.
+     */
+    private synchronized @Nullable JImageFile jimageFile() {
+        if (!jimageFileOpenAttempted) {
+            jimageFileOpenAttempted = true;
+            final var file = new File(System.getProperty("java.home"), "lib" + File.separator + "modules");
+            try {
+                jimageFile = file.isFile() ? JImageFile.open(file, session, log) : null;
+            } catch (final IOException | SecurityException e) {
+                if (log != null) {
+                    log.log("Could not open the JDK module image " + file
+                            + ", so the jrt filesystem will be used instead : " + e);
+                }
+            }
+        }
+        return jimageFile;
     }
 
     /**
@@ -711,6 +807,18 @@ public final class Vfs implements AutoCloseable, Iterable<VfsRoot> {
         return !session.isClosed() && session.hasTempFiles();
     }
 
+    /**
+     * Get the largest number of bytes that archives read through this {@link Vfs} took up in RAM at any one time. A
+     * nested jarfile that is compressed, or a jarfile read from a stream, is buffered in RAM unless it is longer
+     * than {@link VfsSpec#getMaxBufferedJarRAMSize()}, in which case it is extracted to a temporary file instead,
+     * and does not count towards this. Still valid after this {@link Vfs} has been closed.
+     *
+     * @return the peak number of bytes of archives buffered in RAM.
+     */
+    public long getPeakBufferedArchiveBytes() {
+        return session.getPeakBufferedArchiveBytes();
+    }
+
     /**
      * Release the file handles and memory mappings that back the roots opened by this {@link Vfs}, and delete any
      * temporary files that were created. Every {@link VfsRoot} and {@link VfsEntry} that was handed out is
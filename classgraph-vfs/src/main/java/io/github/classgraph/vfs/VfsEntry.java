@@ -35,6 +35,7 @@ import java.net.URI;
 import java.net.URL;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -247,6 +248,20 @@ public abstract class VfsEntry {
      */
     public abstract CloseableByteBuffer read() throws IOException;
 
+    /**
+     * Open this entry's content as a read-only {@link SeekableByteChannel}, for
+     * {@link VfsFileSystemProvider#newByteChannel}. The caller owns the returned channel and must close it. By
+     * default the channel is over the whole content, as returned by {@link #read()}; an entry that can reach any
+     * part of its content without reading the rest of it overrides this.
+     *
+     * @return the content of the entry, as a seekable channel.
+     * @throws IOException
+     *             if the entry could not be read, or if the {@link Vfs} has been closed.
+     */
+    SeekableByteChannel newByteChannel() throws IOException {
+        return new EntryByteChannel.Buffered(read());
+    }
+
     /**
      * Read this entry's whole content into a byte array, decompressing it if it is stored compressed. Unlike
      * {@link #read()}, the returned array is the caller's own copy, and stays valid after the {@link Vfs} is
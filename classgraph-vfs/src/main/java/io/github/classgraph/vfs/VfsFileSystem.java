@@ -40,12 +40,11 @@ import java.nio.file.WatchService;
 import java.nio.file.attribute.FileAttributeView;
 import java.nio.file.attribute.FileStoreAttributeView;
 import java.nio.file.attribute.UserPrincipalLookupService;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -76,18 +75,26 @@ final class VfsFileSystem extends FileSystem {
     private static final String REGEX_METACHARACTERS = "\\*?[]{}()+|^$.";
 
     /**
-     * The entries of a {@link VfsRoot}, indexed by name, plus the directory tree that is implied by those names.
-     * {@link VfsRoot#getEntries()} lists files only, since a jarfile need not contain an entry for a directory
-     * whose contents it holds, so the directories are synthesized from the entry names.
+     * The entries of a {@link VfsRoot}, sorted by name, from which the directory tree implied by those names is
+     * read off by binary search. {@link VfsRoot#getEntries()} lists files only, since a jarfile need not contain an
+     * entry for a directory whose contents it holds, so the directories are synthesized from the entry names.
      *
-     * @param entriesByName
-     *            every entry of the root, keyed by name. Where two entries share a name, the first wins, which is
-     *            the same rule {@link VfsRoot#getEntry(String)} uses.
-     * @param childNamesByDir
-     *            the sorted simple names of the children of each directory, keyed by directory name. The root
-     *            directory is the empty string, and other directory names have no trailing {@code '/'}.
+     * <p>
+     * The names are sorted in path order (see {@link #compareNames(String, String)}), so the names below any one
+     * directory are contiguous, and they run in the order of the simple names of the directory's children. Listing
+     * a directory is then a walk over its range of names that skips each subdirectory's range in one binary search,
+     * rather than a lookup in a tree of directories that had to be built for every directory up front.
+     *
+     * @param names
+     *            the name of every entry of the root, sorted in path order, with no duplicates. Where two entries
+     *            share a name, the first wins, which is the same rule {@link VfsRoot#getEntry(String)} uses.
+     * @param entries
+     *            the entry with each name in {@link #names}, at the same index.
+     * @param treeNames
+     *            the names in {@link #names} that can be reached by a path, which are those with no empty path
+     *            segment. This is the same array as {@link #names} unless the root holds a name that cannot be.
      */
-    private record Index(Map<String, VfsEntry> entriesByName, Map<String, List<String>> childNamesByDir) {
+    private record Index(String[] names, VfsEntry[] entries, String[] treeNames) {
     }
 
     /**
@@ -145,35 +152,32 @@ final class VfsFileSystem extends FileSystem {
             if (idx != null) {
                 return idx;
             }
-            final Map<String, VfsEntry> entriesByName = new LinkedHashMap<>();
-            final Map<String, TreeSet<String>> childNames = new HashMap<>();
-            childNames.put("", new TreeSet<>());
+            final List<VfsEntry> sortedEntries = new ArrayList<>();
             for (final var entry : root.getEntries()) {
+                if (!entry.getName().isEmpty()) {
+                    sortedEntries.add(entry);
+                }
+            }
+            // List#sort is stable, so where two entries share a name, the first one is still first
+            sortedEntries.sort((e1, e2) -> compareNames(e1.getName(), e2.getName()));
+            final List<String> names = new ArrayList<>(sortedEntries.size());
+            final List<VfsEntry> entries = new ArrayList<>(sortedEntries.size());
+            final List<String> treeNames = new ArrayList<>(sortedEntries.size());
+            for (final var entry : sortedEntries) {
                 final var name = entry.getName();
-                if (name.isEmpty() || entriesByName.putIfAbsent(name, entry) != null) {
+                if (!names.isEmpty() && names.get(names.size() - 1).equals(name)) {
                     // Where two entries share a name, the first one wins
                     continue;
                 }
-                // Add this entry to its parent directory, then that directory to its own parent, and so on up to
-                // the root, stopping as soon as a directory is reached that has already been added
-                var currName = name;
-                while (true) {
-                    final var slashIdx = currName.lastIndexOf('/');
-                    final var dirName = slashIdx < 0 ? "" : currName.substring(0, slashIdx);
-                    final var simpleName = currName.substring(slashIdx + 1);
-                    if (simpleName.isEmpty()) {
-                        break;
-                    }
-                    final var children = childNames.computeIfAbsent(dirName, k -> new TreeSet<>());
-                    if (!children.add(simpleName) || dirName.isEmpty()) {
-                        break;
-                    }
-                    currName = dirName;
+                names.add(name);
+                entries.add(entry);
+                if (!name.startsWith("/") && !name.endsWith("/") && !name.contains("//")) {
+                    treeNames.add(name);
                 }
             }
-            final Map<String, List<String>> childNamesByDir = new HashMap<>();
-            childNames.forEach((dirName, children) -> childNamesByDir.put(dirName, List.copyOf(children)));
-            index = idx = new Index(Map.copyOf(entriesByName), Map.copyOf(childNamesByDir));
+            final var namesArray = names.toArray(new String[0]);
+            index = idx = new Index(namesArray, entries.toArray(new VfsEntry[0]),
+                    treeNames.size() == names.size() ? namesArray : treeNames.toArray(new String[0]));
             if (!isOpen()) {
                 // A close raced with this build, and may have dropped the index before this method published it,
                 // so drop it here rather than leave every entry of the root reachable from a closed view
@@ -184,6 +188,83 @@ final class VfsFileSystem extends FileSystem {
         }
     }
 
+    /**
+     * Compare two entry names in path order: character by character, except that {@code '/'} sorts before every
+     * other character, so that a name sorts directly before the names below it, and the names below a directory run
+     * in the order of the simple names of its children. (In plain {@link String} order, {@code "a-b"} would sort
+     * between {@code "a"} and {@code "a/b"}.)
+     *
+     * @param name1
+     *            the first name.
+     * @param name2
+     *            the second name.
+     * @return a negative number, zero or a positive number, as the first name sorts before, the same as, or after
+     *         the second.
+     */
+    static int compareNames(final String name1, final String name2) {
+        final var len = Math.min(name1.length(), name2.length());
+        for (var i = 0; i < len; i++) {
+            final var c1 = name1.charAt(i);
+            final var c2 = name2.charAt(i);
+            if (c1 != c2) {
+                return (c1 == '/' ? -1 : c1) - (c2 == '/' ? -1 : c2);
+            }
+        }
+        return name1.length() - name2.length();
+    }
+
+    /**
+     * Find the first name that does not sort before a key.
+     *
+     * @param names
+     *            names sorted in path order.
+     * @param from
+     *            the index to start the search at.
+     * @param key
+     *            the key.
+     * @return the index of the first name at or after {@code from} that does not sort before the key, or the length
+     *         of the array if there is none.
+     */
+    private static int lowerBound(final String[] names, final int from, final String key) {
+        var lo = from;
+        var hi = names.length;
+        while (lo < hi) {
+            final var mid = (lo + hi) >>> 1;
+            if (compareNames(names[mid], key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Find the end of the run of names that start with a prefix.
+     *
+     * @param names
+     *            names sorted in path order.
+     * @param from
+     *            the index of the first name that starts with the prefix.
+     * @param prefix
+     *            the prefix, which ends in {@code '/'}, so that the names that start with it are contiguous.
+     * @return the index of the first name at or after {@code from} that does not start with the prefix, or the
+     *         length of the array if there is none.
+     */
+    private static int prefixEnd(final String[] names, final int from, final String prefix) {
+        var lo = from;
+        var hi = names.length;
+        while (lo < hi) {
+            final var mid = (lo + hi) >>> 1;
+            if (names[mid].startsWith(prefix)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
     /**
      * Look up an entry by name.
      *
@@ -195,7 +276,9 @@ final class VfsFileSystem extends FileSystem {
      */
     @Nullable
     VfsEntry entry(final String name) throws IOException {
-        return index().entriesByName().get(name);
+        final var idx = index();
+        final var i = lowerBound(idx.names(), 0, name);
+        return i < idx.names().length && idx.names()[i].equals(name) ? idx.entries()[i] : null;
     }
 
     /**
@@ -209,7 +292,13 @@ final class VfsFileSystem extends FileSystem {
      *             if the entries of the root could not be listed.
      */
     boolean isDirectory(final String name) throws IOException {
-        return index().childNamesByDir().containsKey(name);
+        final var treeNames = index().treeNames();
+        if (name.isEmpty()) {
+            return true;
+        }
+        final var prefix = name + "/";
+        final var i = lowerBound(treeNames, 0, prefix);
+        return i < treeNames.length && treeNames[i].startsWith(prefix);
     }
 
     /**
@@ -226,7 +315,8 @@ final class VfsFileSystem extends FileSystem {
     }
 
     /**
-     * Returns the sorted simple names of the children of a directory.
+     * Returns the simple names of the children of a directory, in sorted order. The names are found as the iterator
+     * reaches them, so a caller that stops early does not pay for the rest of the directory.
      *
      * @param name
      *            the directory name, relative to the root, with no leading {@code '/'}.
@@ -235,8 +325,46 @@ final class VfsFileSystem extends FileSystem {
      *             if the entries of the root could not be listed.
      */
     @Nullable
-    List<String> childNames(final String name) throws IOException {
-        return index().childNamesByDir().get(name);
+    Iterator<String> childNames(final String name) throws IOException {
+        final var treeNames = index().treeNames();
+        final var prefix = name.isEmpty() ? "" : name + "/";
+        final var start = lowerBound(treeNames, 0, prefix);
+        if (!name.isEmpty() && (start == treeNames.length || !treeNames[start].startsWith(prefix))) {
+            return null;
+        }
+        final var end = name.isEmpty() ? treeNames.length : prefixEnd(treeNames, start, prefix);
+        return new Iterator<>() {
+            /** The index of the first name that has not been reached yet. */
+            private int next = start;
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public String next() {
+                if (next >= end) {
+                    throw new NoSuchElementException();
+                }
+                final var rest = treeNames[next].substring(prefix.length());
+                final var slashIdx = rest.indexOf('/');
+                if (slashIdx < 0) {
+                    next++;
+                    // A file and a directory can share a simple name, if the archive holds both "a/b" and "a/b/c".
+                    // The names below the directory come straight after the file, and are skipped with it, so that
+                    // the child is listed once.
+                    final var childPrefix = treeNames[next - 1] + "/";
+                    if (next < end && treeNames[next].startsWith(childPrefix)) {
+                        next = prefixEnd(treeNames, next, childPrefix);
+                    }
+                    return rest;
+                }
+                final var childName = rest.substring(0, slashIdx);
+                next = prefixEnd(treeNames, next, prefix + childName + "/");
+                return childName;
+            }
+        };
     }
 
     /**
@@ -561,7 +689,7 @@ final class VfsFileSystem extends FileSystem {
         @Override
         public long getTotalSpace() throws IOException {
             var total = 0L;
-            for (final var entry : index().entriesByName().values()) {
+            for (final var entry : index().entries()) {
                 total += Math.max(0L, entry.getLength());
             }
             return total;
@@ -32,13 +32,12 @@ import java.io.IOError;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
-import java.nio.ByteBuffer;
-import java.nio.channels.NonWritableChannelException;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.AccessMode;
 import java.nio.file.CopyOption;
 import java.nio.file.DirectoryStream;
+import java.nio.file.DirectoryIteratorException;
 import java.nio.file.DirectoryStream.Filter;
 import java.nio.file.FileStore;
 import java.nio.file.FileSystem;
@@ -57,16 +56,14 @@ import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.FileAttributeView;
 import java.nio.file.attribute.FileTime;
 import java.nio.file.spi.FileSystemProvider;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jspecify.annotations.Nullable;
 
@@ -203,7 +200,7 @@ final class VfsFileSystemProvider extends FileSystemProvider {
     public SeekableByteChannel newByteChannel(final Path path, final Set<? extends OpenOption> options,
             final FileAttribute<?>... attrs) throws IOException {
         checkReadOnly(options);
-        return new VfsByteChannel(entryOf(check(path)).read());
+        return entryOf(check(path)).newByteChannel();
     }
 
     @Override
@@ -222,35 +219,52 @@ final class VfsFileSystemProvider extends FileSystemProvider {
         if (childNames == null) {
             throw new NoSuchFileException(dir.toString());
         }
-        final List<Path> children = new ArrayList<>(childNames.size());
-        for (final var childName : childNames) {
-            final var child = dir.resolve(fileSystem.getPath(childName));
-            if (filter.accept(child)) {
-                children.add(child);
-            }
-        }
-        return new VfsDirectoryStream(children);
+        return new VfsDirectoryStream(dir, fileSystem, childNames, filter);
     }
 
     /**
-     * A {@link DirectoryStream} over a list of child paths that was built up front, so nothing is held open. It
-     * hands out its iterator once, as {@link DirectoryStream#iterator()} requires.
+     * A {@link DirectoryStream} that resolves and filters the children of a directory as its iterator reaches them,
+     * rather than building the list of children up front. Nothing is held open. It hands out its iterator once, as
+     * {@link DirectoryStream#iterator()} requires, and the iterator returns no more children once the stream has
+     * been closed.
      */
     private static final class VfsDirectoryStream implements DirectoryStream<Path> {
-        /** The children of the directory. */
-        private final List<Path> children;
+        /** The directory. */
+        private final Path dir;
+
+        /** The filesystem of the directory. */
+        private final VfsFileSystem fileSystem;
+
+        /** The simple names of the children of the directory, in sorted order. */
+        private final Iterator<String> childNames;
+
+        /** The filter that a child has to be accepted by to be returned. */
+        private final Filter<? super Path> filter;
 
         /** Whether {@link #iterator()} has been called, or this stream has been closed. */
         private boolean spent;
 
+        /** Whether this stream has been closed. */
+        private volatile boolean closed;
+
         /**
          * Constructor.
          *
-         * @param children
-         *            the children of the directory.
+         * @param dir
+         *            the directory.
+         * @param fileSystem
+         *            the filesystem of the directory.
+         * @param childNames
+         *            the simple names of the children of the directory, in sorted order.
+         * @param filter
+         *            the filter that a child has to be accepted by to be returned.
          */
-        VfsDirectoryStream(final List<Path> children) {
-            this.children = children;
+        VfsDirectoryStream(final Path dir, final VfsFileSystem fileSystem, final Iterator<String> childNames,
+                final Filter<? super Path> filter) {
+            this.dir = dir;
+            this.fileSystem = fileSystem;
+            this.childNames = childNames;
+            this.filter = filter;
         }
 
         @Override
@@ -259,13 +273,41 @@ final class VfsFileSystemProvider extends FileSystemProvider {
                 throw new IllegalStateException("The iterator has already been returned, or the stream was closed");
             }
             spent = true;
-            // Collections#unmodifiableList so that the iterator does not support remove
-            return Collections.unmodifiableList(children).iterator();
+            return new Iterator<>() {
+                /** The next child that the filter accepted, or null if it has not been found yet. */
+                private @Nullable Path nextChild;
+
+                @Override
+                public boolean hasNext() {
+                    while (nextChild == null && !closed && childNames.hasNext()) {
+                        final var child = dir.resolve(fileSystem.getPath(childNames.next()));
+                        try {
+                            if (filter.accept(child)) {
+                                nextChild = child;
+                            }
+                        } catch (final IOException e) {
+                            throw new DirectoryIteratorException(e);
+                        }
+                    }
+                    return nextChild != null;
+                }
+
+                @Override
+                public Path next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final var child = nextChild;
+                    nextChild = null;
+                    return child;
+                }
+            };
         }
 
         @Override
         public void close() {
             spent = true;
+            closed = true;
         }
     }
 
@@ -516,119 +558,4 @@ final class VfsFileSystemProvider extends FileSystemProvider {
             return entry;
         }
     }
-
-    /** A read-only {@link SeekableByteChannel} over the content of one {@link VfsEntry}. */
-    private static final class VfsByteChannel implements SeekableByteChannel {
-        /** The content of the entry, closed when this channel is closed. */
-        private final CloseableByteBuffer content;
-
-        /** The content of the entry. */
-        private final ByteBuffer buffer;
-
-        /**
-         * The read position, which is allowed to be beyond the end of the content, where reads return end-of-file.
-         * It is tracked separately from the position of {@link #buffer}, which cannot exceed its limit.
-         */
-        private long position;
-
-        /** Whether this channel is still open. */
-        private final AtomicBoolean open = new AtomicBoolean(true);
-
-        /**
-         * Constructor.
-         *
-         * @param content
-         *            the content of the entry.
-         * @throws IOException
-         *             if the content could not be read.
-         */
-        VfsByteChannel(final CloseableByteBuffer content) throws IOException {
-            this.content = content;
-            final var byteBuffer = content.getByteBuffer();
-            if (byteBuffer == null) {
-                content.close();
-                throw new IOException("Could not read entry content");
-            }
-            // Slice rather than duplicate, so that the content starts at index 0 whatever position the buffer
-            // arrived at, which is what the absolute indexing in read() and size() assumes
-            this.buffer = byteBuffer.slice();
-        }
-
-        /**
-         * Check that this channel is still open.
-         *
-         * @throws java.nio.channels.ClosedChannelException
-         *             if it is not.
-         */
-        private void checkOpen() throws IOException {
-            if (!open.get()) {
-                throw new java.nio.channels.ClosedChannelException();
-            }
-        }
-
-        @Override
-        public int read(final ByteBuffer dst) throws IOException {
-            checkOpen();
-            if (position >= buffer.limit()) {
-                return -1;
-            }
-            final var numBytes = Math.min(dst.remaining(), buffer.limit() - (int) position);
-            final var slice = buffer.slice((int) position, numBytes);
-            try {
-                dst.put(slice);
-            } catch (final IllegalStateException e) {
-                // The buffer aliases a memory mapping that was unmapped by closing the Vfs while this read was
-                // in flight -- fail the same documented way as a read through a closed FileChannel
-                throw new IOException("Cannot read a file that has been unmapped by closing the Vfs", e);
-            }
-            position += numBytes;
-            return numBytes;
-        }
-
-        @Override
-        public int write(final ByteBuffer src) {
-            throw new NonWritableChannelException();
-        }
-
-        @Override
-        public long position() throws IOException {
-            checkOpen();
-            return position;
-        }
-
-        @Override
-        public SeekableByteChannel position(final long newPosition) throws IOException {
-            checkOpen();
-            if (newPosition < 0) {
-                throw new IllegalArgumentException("Negative position: " + newPosition);
-            }
-            // Seeking beyond the end is allowed, the position reads back as the one that was asked for, and reads
-            // there return -1
-            position = newPosition;
-            return this;
-        }
-
-        @Override
-        public long size() throws IOException {
-            checkOpen();
-            return buffer.limit();
-        }
-
-        @Override
-        public SeekableByteChannel truncate(final long size) {
-            throw new NonWritableChannelException();
-        }
-
-        @Override
-        public boolean isOpen() {
-            return open.get();
-        }
-
-        @Override
-        public void close() throws IOException {
-            if (open.getAndSet(false)) {
-                content.close();
-            }
-        }
-    }
 }
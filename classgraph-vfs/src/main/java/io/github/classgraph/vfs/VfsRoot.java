@@ -46,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 
 import io.github.classgraph.base.LogNode;
+import io.github.classgraph.base.internal.path.FileIdentityCache;
 import io.github.classgraph.base.internal.utils.Assert;
 import io.github.classgraph.vfs.internal.ManifestParser;
 import org.jspecify.annotations.Nullable;
@@ -442,6 +443,44 @@ public abstract class VfsRoot implements Iterable<VfsEntry> {
      */
     abstract @Nullable VfsEntry getEntryImpl(String name) throws IOException;
 
+    /**
+     * Returns whether this root may hold an entry with the given name, or, for a name that ends in {@code '/'}, any
+     * entry within the directory of that name, without looking the name up. A jarfile answers from a Bloom filter
+     * over the names of its entries and of the directories they are in, so that a caller can rule out a directory
+     * that the jarfile does not have, e.g. an accepted package, at the cost of a few hash probes rather than a walk
+     * of every entry. False means that there is no such entry or directory. True means only that there may be,
+     * since the filter cannot rule out every name it does not hold, and is the answer for every name in a directory
+     * or a module, which this root cannot rule out without looking.
+     *
+     * <p>
+     * A jarfile's entries are matched under the names {@link #getEntries()} reports them under, and also under the
+     * names they are stored under, so a multi-release jarfile may also hold the versioned name of an entry.
+     *
+     * @param name
+     *            the name of an entry, or of a directory with a trailing {@code '/'}, relative to the package root.
+     *            The empty string names the package root itself, which this root always holds.
+     * @return false if this root definitely holds no such entry or directory, otherwise true.
+     * @throws IOException
+     *             if the {@link Vfs} has been closed.
+     */
+    public final boolean mayContain(final String name) throws IOException {
+        Assert.notNull(name, "name");
+        checkNotClosed(name);
+        return mayContainImpl(name);
+    }
+
+    /**
+     * Returns whether this root may hold an entry or a directory with the given name, once it is known that this
+     * root is open. Unless overridden, a root cannot rule out any name.
+     *
+     * @param name
+     *            the name of an entry, or of a directory with a trailing {@code '/'}, relative to the package root.
+     * @return false if this root definitely holds no such entry or directory, otherwise true.
+     */
+    boolean mayContainImpl(final String name) {
+        return true;
+    }
+
     /**
      * Returns whether a filesystem found a file under a path that differs from the path it was looked up by only in
      * the case of its characters, which is how a case-insensitive filesystem answers a lookup for a name whose case
@@ -456,7 +495,7 @@ public abstract class VfsRoot implements Iterable<VfsEntry> {
      *             if the real path of the file could not be read.
      */
     static boolean isCaseFoldedMatch(final Path dir, final Path path) throws IOException {
-        final var realPath = path.toRealPath();
+        final var realPath = FileIdentityCache.shared().toRealPath(path);
         if (!realPath.startsWith(dir)) {
             // A symbolic link led out of the directory, so the real path is nothing like the path it was reached
             // through, rather than that same path with the case of its characters normalized
@@ -67,6 +67,12 @@ public final class VfsSpec {
     /** The default value of {@link #isMultiReleaseVersionsEnabled()}. */
     public static final boolean DEFAULT_ENABLE_MULTI_RELEASE_VERSIONS = false;
 
+    /** The default value of {@link #isArchiveSummaryCacheEnabled()}. */
+    public static final boolean DEFAULT_ENABLE_ARCHIVE_SUMMARY_CACHE = false;
+
+    /** The default value of {@link #isJImageReaderEnabled()}. */
+    public static final boolean DEFAULT_ENABLE_JIMAGE_READER = false;
+
     /** The default value of {@link #getMaxBufferedJarRAMSize()}, in bytes. */
     public static final int DEFAULT_MAX_BUFFERED_JAR_RAM_SIZE = 64 * 1024 * 1024;
 
@@ -76,6 +82,12 @@ public final class VfsSpec {
     /** If true, all multi-release versions of a resource are found. */
     private volatile boolean multiReleaseVersionsEnabled = DEFAULT_ENABLE_MULTI_RELEASE_VERSIONS;
 
+    /** If true, keep a summary of each jarfile that is opened, for a later probe of it to be answered from. */
+    private volatile boolean archiveSummaryCacheEnabled = DEFAULT_ENABLE_ARCHIVE_SUMMARY_CACHE;
+
+    /** If true, read the modules of the running JDK straight from its module image. */
+    private volatile boolean jimageReaderEnabled = DEFAULT_ENABLE_JIMAGE_READER;
+
     /**
      * URL schemes that jarfiles may not be fetched from. Every scheme the JVM has a handler for is allowed unless
      * it appears here. Only ever assigned an unmodifiable set, so that a reader can iterate it while another thread
@@ -176,6 +188,81 @@ public final class VfsSpec {
         return multiReleaseVersionsEnabled;
     }
 
+    /**
+     * Keep a summary of each local jarfile that is opened -- a Bloom filter over its entry names and directories,
+     * and its manifest -- in a cache shared by every {@link Vfs} in the process, so that a later
+     * {@link Vfs#probe(String, java.util.Collection, java.util.Collection)} of the same jarfile, by this or another
+     * {@link Vfs}, is answered without reading its central directory, as long as the file has not changed since.
+     * Such a probe can report an entry name as found when the jarfile does not hold it, but never the other way
+     * around.
+     *
+     * <p>
+     * A summary is only kept where the filesystem gives files a key that identifies them (on Linux and macOS, but
+     * not on Windows), since that is what tells whether the file is still the one that was summarized.
+     *
+     * @return this (for method chaining).
+     */
+    public VfsSpec enableArchiveSummaryCache() {
+        archiveSummaryCacheEnabled = true;
+        return this;
+    }
+
+    /**
+     * Do not keep a summary of the jarfiles that are opened, nor answer a probe from one. This is the default.
+     *
+     * @return this (for method chaining).
+     */
+    public VfsSpec disableArchiveSummaryCache() {
+        archiveSummaryCacheEnabled = false;
+        return this;
+    }
+
+    /**
+     * Whether a summary of each jarfile that is opened is kept, for a later probe of it to be answered from.
+     *
+     * @return true if jarfile summaries are cached.
+     */
+    public boolean isArchiveSummaryCacheEnabled() {
+        return archiveSummaryCacheEnabled;
+    }
+
+    /**
+     * Read the modules of the running JDK straight from its module image ({@code $JAVA_HOME/lib/modules}), rather
+     * than through the {@code jrt:} filesystem. The image is memory-mapped, its index is parsed once, and each
+     * resource is read as a slice of the image, without a {@link java.lang.module.ModuleReader} being checked out
+     * or the resource being copied.
+     *
+     * <p>
+     * The format of the image is internal to the JDK. If the image is missing, or is not in the format this reader
+     * knows, the modules are read through the {@code jrt:} filesystem as usual, as is any resource that the image
+     * stores compressed.
+     *
+     * @return this (for method chaining).
+     */
+    public VfsSpec enableJImageReader() {
+        jimageReaderEnabled = true;
+        return this;
+    }
+
+    /**
+     * Read the modules of the running JDK through the {@code jrt:} filesystem. This is the default.
+     *
+     * @return this (for method chaining).
+     */
+    public VfsSpec disableJImageReader() {
+        jimageReaderEnabled = false;
+        return this;
+    }
+
+    /**
+     * Whether the modules of the running JDK are read straight from its module image.
+     *
+     * @return true if the module image is read directly.
+     */
+    public boolean isJImageReaderEnabled() {
+        return jimageReaderEnabled;
+    }
+
     /**
      * Refuse to fetch jarfiles from URLs with the given scheme. Every scheme is allowed by default, so this is only
      * needed to take one away.
@@ -346,6 +433,8 @@ public final class VfsSpec {
     public String toString() {
         return "VfsSpec(nestedJars: " + nestedJarsEnabled //
                 + "; multiReleaseVersions: " + multiReleaseVersionsEnabled //
+                + "; archiveSummaryCache: " + archiveSummaryCacheEnabled //
+                + "; jimageReader: " + jimageReaderEnabled //
                 + "; deniedURLSchemes: " + deniedURLSchemes //
                 + "; maxBufferedJarRAMSize: " + maxBufferedJarRAMSize //
                 + "; memoryMapFiles: " + memoryMapFiles + ")";
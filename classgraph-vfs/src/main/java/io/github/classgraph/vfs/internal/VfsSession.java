@@ -41,6 +41,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 import java.util.zip.Inflater;
 
@@ -152,6 +153,15 @@ public class VfsSession {
     // #939
     private final AtomicBoolean filesAwaitingUnmapping = new AtomicBoolean(false);
 
+    /**
+     * The number of bytes of archives that are currently buffered in RAM, i.e. nested jarfiles that had to be
+     * inflated, and jarfiles read from a stream, that were short enough not to be spilled to disk.
+     */
+    private final AtomicLong bufferedArchiveBytes = new AtomicLong();
+
+    /** The largest value {@link #bufferedArchiveBytes} has reached during the session. */
+    private final AtomicLong peakBufferedArchiveBytes = new AtomicLong();
+
     /**
      * Constructor.
      *
@@ -223,6 +233,39 @@ public class VfsSession {
 
     // ---------------------------------------------------------------------------------------------------------
 
+    /**
+     * Record that an archive has been buffered in RAM.
+     *
+     * @param numBytes
+     *            the number of bytes the archive was buffered in.
+     */
+    public void addBufferedArchiveBytes(final long numBytes) {
+        peakBufferedArchiveBytes.accumulateAndGet(bufferedArchiveBytes.addAndGet(numBytes), Math::max);
+    }
+
+    /**
+     * Record that an archive that was buffered in RAM has been released before the end of the session.
+     *
+     * @param numBytes
+     *            the number of bytes the archive was buffered in.
+     */
+    public void removeBufferedArchiveBytes(final long numBytes) {
+        bufferedArchiveBytes.addAndGet(-numBytes);
+    }
+
+    /**
+     * Get the largest number of bytes of archives that were buffered in RAM at any one time during the session. An
+     * archive buffered in RAM is cached for the life of the session, so this is usually the total number of bytes
+     * buffered.
+     *
+     * @return the peak number of bytes of archives buffered in RAM.
+     */
+    public long getPeakBufferedArchiveBytes() {
+        return peakBufferedArchiveBytes.get();
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+
     /**
      * Mark a {@link Slice} as open, so that it is closed when the session is closed.
      *
@@ -338,6 +381,31 @@ public class VfsSession {
         }
     }
 
+    /**
+     * Delete a temporary file made by {@link #makeTempFile(String, boolean)} before the session is closed, once
+     * nothing reads it any more. A file that cannot be deleted now (on Windows, one that is still memory-mapped) is
+     * left for {@link #close(LogNode)} to delete, as if this method had not been called.
+     *
+     * @param tempFile
+     *            the temporary file.
+     */
+    public void removeTempFile(final File tempFile) {
+        synchronized (closeLock) {
+            if (!tempFiles.remove(tempFile)) {
+                // Already taken by the teardown, which deletes it
+                return;
+            }
+        }
+        if (!deleteTempFile(tempFile)) {
+            synchronized (closeLock) {
+                if (!closed.get()) {
+                    tempFiles.add(tempFile);
+                }
+                // Otherwise the teardown has already run, and the file is left to the File#deleteOnExit() hook
+            }
+        }
+    }
+
     /**
      * Check whether any temporary files were created during the session.
      *
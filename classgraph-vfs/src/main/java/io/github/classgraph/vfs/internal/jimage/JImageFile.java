@@ -0,0 +1,195 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph.vfs.internal.jimage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import io.github.classgraph.base.LogNode;
+import io.github.classgraph.vfs.internal.VfsSession;
+import io.github.classgraph.vfs.internal.slice.FileSlice;
+import io.github.classgraph.vfs.internal.slice.Slice;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A reader for the jimage file ({@code $JAVA_HOME/lib/modules}) that the modules of the JDK are stored in, which
+ * reads the index of the image directly, rather than through the {@code jrt:} filesystem, and hands out the content
+ * of each resource as a slice of the image.
+ *
+ * <p>
+ * The format of the image is internal to the JDK, so {@link #open(File, VfsSession, LogNode)} only accepts the
+ * version of the format it knows, and a caller falls back to the {@code jrt:} filesystem for anything else.
+ *
+ * <p>
+ * The index of the image is parsed once and kept on the heap (see {@link JImageIndex}). The content of a resource
+ * is not copied: the image is memory-mapped, and {@link #slice(Location)} is a view of that mapping (or of the file
+ * handle, if the file could not be mapped), which is released when the session that opened the image is closed.
+ */
+public final class JImageFile {
+    /** The slice of the whole image file, which owns the file handle and any mapping of the file. */
+    private final FileSlice fileSlice;
+
+    /** The index of the image. */
+    private final JImageIndex index;
+
+    /** The image file. */
+    private final File file;
+
+    /**
+     * A resource within the image.
+     *
+     * @param name
+     *            the path of the resource within its module, e.g. {@code "java/lang/Object.class"}.
+     * @param contentOffset
+     *            the position of the content of the resource within the image file.
+     * @param compressedSize
+     *            the size of the content as stored, if it is compressed, or zero if it is stored uncompressed.
+     * @param uncompressedSize
+     *            the size of the content once uncompressed.
+     */
+    public record Location(String name, long contentOffset, long compressedSize, long uncompressedSize) {
+        /**
+         * Whether the content of the resource is stored compressed (which is the case for an image built by
+         * {@code jlink --compress}). Compressed content cannot be read through {@link JImageFile#slice(Location)}.
+         *
+         * @return true if the content is compressed.
+         */
+        public boolean isCompressed() {
+            return compressedSize != 0L;
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param file
+     *            the image file.
+     * @param fileSlice
+     *            the slice of the whole image file.
+     * @param index
+     *            the index of the image.
+     */
+    private JImageFile(final File file, final FileSlice fileSlice, final JImageIndex index) {
+        this.file = file;
+        this.fileSlice = fileSlice;
+        this.index = index;
+    }
+
+    /**
+     * Open a jimage file, and read its index, unless the index of the same file has been read already.
+     *
+     * @param file
+     *            the image file.
+     * @param session
+     *            the session that the file handle and any mapping of the file are registered with.
+     * @param log
+     *            the log node, or null to skip logging.
+     * @return the image, or null if the file is not a jimage file of a version this reader can read, in which case
+     *         the caller has to read the modules through the {@code jrt:} filesystem instead.
+     * @throws IOException
+     *             if the file could not be read.
+     */
+    public static @Nullable JImageFile open(final File file, final VfsSession session, final @Nullable LogNode log)
+            throws IOException {
+        // The image is memory-mapped whatever VfsSpec#isMemoryMappingFiles() is set to: it is one file that is read
+        // at thousands of scattered offsets, for which a mapping is faster than a positioned read on every platform
+        final var fileSlice = new FileSlice(file, /* isDeflatedZipEntry = */ false, /* inflatedLengthHint = */ 0L,
+                /* memoryMap = */ true, session, log);
+        var handedOff = false;
+        try {
+            final var index = JImageIndex.get(file, fileSlice.sliceLength, fileSlice.randomAccessReader(), log);
+            if (index == null) {
+                return null;
+            }
+            final var jimageFile = new JImageFile(file, fileSlice, index);
+            handedOff = true;
+            return jimageFile;
+        } finally {
+            if (!handedOff) {
+                fileSlice.close();
+            }
+        }
+    }
+
+    /**
+     * Get the image file.
+     *
+     * @return the image file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Find a resource of a module.
+     *
+     * @param moduleName
+     *            the name of the module.
+     * @param name
+     *            the path of the resource within the module.
+     * @return the resource, or null if the module has no resource with that path.
+     */
+    public @Nullable Location find(final String moduleName, final String name) {
+        return index.find(moduleName, name);
+    }
+
+    /**
+     * List the resources of a module.
+     *
+     * @param moduleName
+     *            the name of the module.
+     * @return the resources of the module, sorted by name, or the empty list if the image has no such module.
+     */
+    public List<Location> list(final String moduleName) {
+        return index.list(moduleName);
+    }
+
+    /**
+     * Get a slice of the image holding the content of a resource. The slice reads through the mapping or file
+     * handle of the whole image, and owns nothing of its own.
+     *
+     * @param location
+     *            the resource, which must not be compressed.
+     * @return the slice.
+     * @throws IOException
+     *             if the content of the resource is compressed, or lies outside the image.
+     */
+    public Slice slice(final Location location) throws IOException {
+        if (location.isCompressed()) {
+            throw new IOException("Resource " + location.name() + " is compressed in " + file);
+        }
+        if (location.contentOffset() < index.indexSize || location.uncompressedSize() < 0L
+                || location.contentOffset() + location.uncompressedSize() > fileSlice.sliceLength) {
+            throw new IOException("Resource " + location.name() + " lies outside " + file);
+        }
+        return fileSlice.slice(location.contentOffset(), location.uncompressedSize(),
+                /* isDeflatedZipEntry = */ false, /* inflatedLengthHint = */ 0L);
+    }
+}
@@ -0,0 +1,519 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph.vfs.internal.jimage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.classgraph.base.LogNode;
+import io.github.classgraph.vfs.internal.jimage.JImageFile.Location;
+import io.github.classgraph.vfs.internal.slice.Slice;
+import io.github.classgraph.vfs.internal.slice.reader.RandomAccessReader;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The index of a jimage file, parsed and copied to the heap.
+ *
+ * <p>
+ * The index starts with a header, then a redirect table and a table of location offsets, both indexed by the hash
+ * of a resource name, then the location attributes of every resource, and then the string table that the attributes
+ * point into. The content of the resources follows the index.
+ *
+ * <p>
+ * The index of the running JDK's image does not change while the JDK is running, and is read for every lookup and
+ * every listing, so the last index that was read is kept for the life of the process, as the {@code jrt:}
+ * filesystem keeps its own reader of the image, and is reused by every {@link JImageFile} that opens the same file
+ * for as long as the file has the same length and last modified time. The resources of each module are decoded the
+ * first time the module is listed, and are kept with the index.
+ */
+final class JImageIndex {
+    /** The magic number at the start of a jimage file. */
+    private static final int MAGIC = 0xCAFEDADA;
+
+    /** The major version of the jimage format that this reader can read. */
+    private static final int MAJOR_VERSION = 1;
+
+    /** The minor version of the jimage format that this reader can read. */
+    private static final int MINOR_VERSION = 0;
+
+    /**
+     * The size of the header: the magic number, the version, the flags, the number of resources, the length of the
+     * redirect and offset tables, the size of the location attributes and the size of the string table, as 4-byte
+     * integers.
+     */
+    private static final int HEADER_SIZE = 7 * 4;
+
+    /** The multiplier of the hash function, which is also the seed of the first round of hashing. */
+    private static final int HASH_MULTIPLIER = 0x01000193;
+
+    /** The attribute kind that ends the attributes of a location. */
+    private static final int ATTRIBUTE_END = 0;
+
+    /** The attribute kind of the offset of the module name in the string table. */
+    private static final int ATTRIBUTE_MODULE = 1;
+
+    /** The attribute kind of the offset of the parent directory in the string table. */
+    private static final int ATTRIBUTE_PARENT = 2;
+
+    /** The attribute kind of the offset of the base name, without any extension, in the string table. */
+    private static final int ATTRIBUTE_BASE = 3;
+
+    /** The attribute kind of the offset of the extension in the string table. */
+    private static final int ATTRIBUTE_EXTENSION = 4;
+
+    /** The attribute kind of the offset of the content, relative to the end of the index. */
+    private static final int ATTRIBUTE_OFFSET = 5;
+
+    /** The attribute kind of the compressed size of the content, which is zero if the content is not compressed. */
+    private static final int ATTRIBUTE_COMPRESSED = 6;
+
+    /** The attribute kind of the uncompressed size of the content. */
+    private static final int ATTRIBUTE_UNCOMPRESSED = 7;
+
+    /** The number of attribute kinds. */
+    private static final int ATTRIBUTE_COUNT = 8;
+
+    /** The index that was read last, or null if none has been read. */
+    private static volatile @Nullable JImageIndex lastIndex;
+
+    /** The image file that the index was read from. */
+    private final File file;
+
+    /** The length of the image file when the index was read. */
+    private final long fileLength;
+
+    /** The last modified time of the image file when the index was read. */
+    private final long fileLastModified;
+
+    /** The index, copied to the heap. */
+    private final byte[] bytes;
+
+    /** The index, in the byte order the image was written in, for reading the integers of the tables. */
+    private final ByteBuffer byteBuffer;
+
+    /** The number of resources. */
+    private final int resourceCount;
+
+    /** The length of the redirect table and of the location offset table. */
+    private final int tableLength;
+
+    /** The position of the location offset table within the index. */
+    private final int offsetsStart;
+
+    /** The position of the location attributes within the index. */
+    private final int locationsStart;
+
+    /** The position of the string table within the index. */
+    private final int stringsStart;
+
+    /** The size of the index, which is the position in the file that content offsets are relative to. */
+    final long indexSize;
+
+    /** The location indices of the resources of each module, or null until a module is first listed. */
+    private volatile @Nullable Map<String, int[]> moduleLocationIndices;
+
+    /** The resources of each module that has been listed, sorted by name. */
+    private final Map<String, List<Location>> moduleLocations = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param file
+     *            the image file.
+     * @param fileLength
+     *            the length of the image file.
+     * @param fileLastModified
+     *            the last modified time of the image file.
+     * @param bytes
+     *            the index.
+     * @param order
+     *            the byte order the image was written in.
+     */
+    private JImageIndex(final File file, final long fileLength, final long fileLastModified, final byte[] bytes,
+            final ByteOrder order) {
+        this.file = file;
+        this.fileLength = fileLength;
+        this.fileLastModified = fileLastModified;
+        this.bytes = bytes;
+        this.byteBuffer = ByteBuffer.wrap(bytes).order(order);
+        this.resourceCount = byteBuffer.getInt(12);
+        this.tableLength = byteBuffer.getInt(16);
+        this.offsetsStart = HEADER_SIZE + tableLength * 4;
+        this.locationsStart = offsetsStart + tableLength * 4;
+        this.stringsStart = locationsStart + byteBuffer.getInt(20);
+        this.indexSize = bytes.length;
+    }
+
+    /**
+     * Get the index of an image file, reading it unless it was the last one read and the file has not changed
+     * since.
+     *
+     * @param file
+     *            the image file.
+     * @param fileLength
+     *            the length of the image file.
+     * @param reader
+     *            a reader of the image file.
+     * @param log
+     *            the log node, or null to skip logging.
+     * @return the index, or null if the file is not a jimage file of a version this reader can read.
+     * @throws IOException
+     *             if the file could not be read.
+     */
+    static @Nullable JImageIndex get(final File file, final long fileLength, final RandomAccessReader reader,
+            final @Nullable LogNode log) throws IOException {
+        final var fileLastModified = file.lastModified();
+        final var last = lastIndex;
+        if (last != null && last.file.equals(file) && last.fileLength == fileLength
+                && last.fileLastModified == fileLastModified) {
+            return last;
+        }
+        final var index = read(file, fileLength, fileLastModified, reader, log);
+        if (index != null) {
+            lastIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Read the index of an image file.
+     *
+     * @param file
+     *            the image file.
+     * @param fileLength
+     *            the length of the image file.
+     * @param fileLastModified
+     *            the last modified time of the image file.
+     * @param reader
+     *            a reader of the image file.
+     * @param log
+     *            the log node, or null to skip logging.
+     * @return the index, or null if the file is not a jimage file of a version this reader can read.
+     * @throws IOException
+     *             if the file could not be read.
+     */
+    private static @Nullable JImageIndex read(final File file, final long fileLength, final long fileLastModified,
+            final RandomAccessReader reader, final @Nullable LogNode log) throws IOException {
+        if (fileLength < HEADER_SIZE) {
+            return unrecognized(file, "file is too short", log);
+        }
+        final var header = new byte[HEADER_SIZE];
+        if (reader.read(0L, header, 0, HEADER_SIZE) < HEADER_SIZE) {
+            return unrecognized(file, "file is truncated", log);
+        }
+        // The image is written in the byte order of the platform it was built for, which the magic number shows
+        final var headerBuf = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+        if (headerBuf.getInt(0) != MAGIC) {
+            headerBuf.order(ByteOrder.BIG_ENDIAN);
+            if (headerBuf.getInt(0) != MAGIC) {
+                return unrecognized(file, "bad magic number", log);
+            }
+        }
+        final var version = headerBuf.getInt(4);
+        if (version >>> 16 != MAJOR_VERSION || (version & 0xffff) != MINOR_VERSION) {
+            return unrecognized(file, "unknown version " + (version >>> 16) + "." + (version & 0xffff), log);
+        }
+        final var tableLength = headerBuf.getInt(16);
+        final var locationsSize = headerBuf.getInt(20);
+        final var stringsSize = headerBuf.getInt(24);
+        final var indexSize = HEADER_SIZE + 8L * tableLength + locationsSize + stringsSize;
+        if (tableLength <= 0 || locationsSize < 0 || stringsSize < 0 || indexSize > fileLength
+                || indexSize > Slice.MAX_BUFFER_SIZE) {
+            return unrecognized(file, "index sizes are out of range", log);
+        }
+        final var bytes = new byte[(int) indexSize];
+        if (reader.read(0L, bytes, 0, bytes.length) < bytes.length) {
+            return unrecognized(file, "index is truncated", log);
+        }
+        final var index = new JImageIndex(file, fileLength, fileLastModified, bytes, headerBuf.order());
+        if (log != null) {
+            log.log("Read the index of the JDK module image " + file + " : " + index.resourceCount + " resources");
+        }
+        return index;
+    }
+
+    /**
+     * Log why a file could not be read as a jimage file.
+     *
+     * @param file
+     *            the file.
+     * @param reason
+     *            why the file could not be read.
+     * @param log
+     *            the log node, or null to skip logging.
+     * @return null.
+     */
+    private static @Nullable JImageIndex unrecognized(final File file, final String reason,
+            final @Nullable LogNode log) {
+        if (log != null) {
+            log.log("Could not read the JDK module image " + file + " (" + reason
+                    + "), so the jrt filesystem will be used instead");
+        }
+        return null;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Hash a name the way the image hashes the names of its resources: FNV-1 over the modified UTF-8 encoding of
+     * the name, masked to a positive value.
+     *
+     * @param name
+     *            the name.
+     * @param seed
+     *            the seed.
+     * @return the hash.
+     */
+    static int hash(final String name, final int seed) {
+        var h = seed;
+        for (var i = 0; i < name.length(); i++) {
+            final int c = name.charAt(i);
+            if (c >= 1 && c <= 0x7f) {
+                h = h * HASH_MULTIPLIER ^ c;
+            } else if (c <= 0x7ff) {
+                // (Modified UTF-8 encodes '\0' in two bytes)
+                h = h * HASH_MULTIPLIER ^ (0xc0 | c >> 6);
+                h = h * HASH_MULTIPLIER ^ (0x80 | c & 0x3f);
+            } else {
+                h = h * HASH_MULTIPLIER ^ (0xe0 | c >> 12);
+                h = h * HASH_MULTIPLIER ^ (0x80 | c >> 6 & 0x3f);
+                h = h * HASH_MULTIPLIER ^ (0x80 | c & 0x3f);
+            }
+        }
+        return h & 0x7fffffff;
+    }
+
+    /**
+     * Read a string from the string table.
+     *
+     * @param offset
+     *            the offset of the string within the string table.
+     * @return the string, which is empty if the offset is out of range.
+     */
+    private String getString(final long offset) {
+        final var end = bytes.length;
+        if (offset < 0L || offset >= end - stringsStart) {
+            return "";
+        }
+        final var start = stringsStart + (int) offset;
+        var pos = start;
+        var isASCII = true;
+        for (byte b; pos < end && (b = bytes[pos]) != 0; pos++) {
+            isASCII &= b >= 0;
+        }
+        // Modified UTF-8 only differs from UTF-8 in how it encodes '\0' and supplementary characters, neither of
+        // which is found in a resource name
+        return new String(bytes, start, pos - start,
+                isASCII ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decode the attributes of the location at a given index of the location offset table.
+     *
+     * @param locationIndex
+     *            the index.
+     * @return the attributes, indexed by attribute kind, or null if the location is out of range.
+     */
+    private long @Nullable [] getAttributes(final int locationIndex) {
+        final var locationOffset = byteBuffer.getInt(offsetsStart + locationIndex * 4);
+        final var end = stringsStart;
+        var pos = locationsStart + locationOffset;
+        if (locationOffset < 0 || pos >= end) {
+            return null;
+        }
+        final var attributes = new long[ATTRIBUTE_COUNT];
+        for (int header; pos < end && (header = bytes[pos] & 0xff) >>> 3 != ATTRIBUTE_END;) {
+            // Each attribute is a byte holding the kind in its top five bits and the number of bytes in the value,
+            // less one, in its bottom three bits, followed by the value, most significant byte first
+            final var kind = header >>> 3;
+            final var length = (header & 0x7) + 1;
+            if (kind >= ATTRIBUTE_COUNT || pos + length >= end) {
+                return null;
+            }
+            var value = 0L;
+            for (var i = 1; i <= length; i++) {
+                value = value << 8 | bytes[pos + i] & 0xff;
+            }
+            attributes[kind] = value;
+            pos += 1 + length;
+        }
+        return attributes;
+    }
+
+    /**
+     * Get the path of a resource within its module, from its attributes.
+     *
+     * @param attributes
+     *            the attributes of the resource.
+     * @param parents
+     *            the parent directories that have been read already, keyed by their offset in the string table, or
+     *            null to read the parent directory from the string table.
+     * @return the path of the resource within its module.
+     */
+    private String getName(final long[] attributes, final @Nullable Map<Long, String> parents) {
+        final var parentOffset = attributes[ATTRIBUTE_PARENT];
+        final var parent = parents == null ? getString(parentOffset)
+                : parents.computeIfAbsent(parentOffset, this::getString);
+        final var base = getString(attributes[ATTRIBUTE_BASE]);
+        final var extension = getString(attributes[ATTRIBUTE_EXTENSION]);
+        final var buf = new StringBuilder(parent.length() + base.length() + extension.length() + 2);
+        if (!parent.isEmpty()) {
+            buf.append(parent).append('/');
+        }
+        buf.append(base);
+        if (!extension.isEmpty()) {
+            buf.append('.').append(extension);
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Make a {@link Location} from the attributes of a resource.
+     *
+     * @param name
+     *            the path of the resource within its module.
+     * @param attributes
+     *            the attributes of the resource.
+     * @return the location.
+     */
+    private Location toLocation(final String name, final long[] attributes) {
+        return new Location(name, indexSize + attributes[ATTRIBUTE_OFFSET], attributes[ATTRIBUTE_COMPRESSED],
+                attributes[ATTRIBUTE_UNCOMPRESSED]);
+    }
+
+    /**
+     * Find a resource of a module by looking its name up in the hash table of the image.
+     *
+     * @param moduleName
+     *            the name of the module.
+     * @param name
+     *            the path of the resource within the module.
+     * @return the resource, or null if the module has no resource with that path.
+     */
+    @Nullable
+    Location find(final String moduleName, final String name) {
+        final var fullName = "/" + moduleName + "/" + name;
+        // The redirect table holds, for the hash of each name, either the index of the location (as -1 - index),
+        // or the seed to hash the name again with to find the index, since several names hashed to the same slot
+        final var redirect = byteBuffer.getInt(HEADER_SIZE + hash(fullName, HASH_MULTIPLIER) % tableLength * 4);
+        final int locationIndex;
+        if (redirect < 0) {
+            locationIndex = -1 - redirect;
+        } else if (redirect > 0) {
+            locationIndex = hash(fullName, redirect) % tableLength;
+        } else {
+            return null;
+        }
+        if (locationIndex >= tableLength) {
+            return null;
+        }
+        final var attributes = getAttributes(locationIndex);
+        // Any name that is not in the image hashes to some location too, so check that it is the one asked for
+        if (attributes == null || !getString(attributes[ATTRIBUTE_MODULE]).equals(moduleName)) {
+            return null;
+        }
+        final var locationName = getName(attributes, /* parents = */ null);
+        return locationName.equals(name) ? toLocation(locationName, attributes) : null;
+    }
+
+    /**
+     * Group the locations of the image by module. The modules are found in one pass over every location, the first
+     * time any module is listed, since the image does not hold them in any order.
+     *
+     * @return the location indices of the resources of each module.
+     */
+    private Map<String, int[]> getModuleLocationIndices() {
+        var map = moduleLocationIndices;
+        if (map == null) {
+            // Group by the offset of the module name in the string table first, so that each module name is only
+            // read once
+            final Map<Long, List<Integer>> moduleOffsetToLocationIndices = new HashMap<>();
+            for (var i = 0; i < tableLength; i++) {
+                final var attributes = getAttributes(i);
+                if (attributes != null) {
+                    moduleOffsetToLocationIndices
+                            .computeIfAbsent(attributes[ATTRIBUTE_MODULE], k -> new ArrayList<>()).add(i);
+                }
+            }
+            map = new HashMap<>();
+            for (final var ent : moduleOffsetToLocationIndices.entrySet()) {
+                final var locationIndices = ent.getValue();
+                final var arr = new int[locationIndices.size()];
+                for (var i = 0; i < arr.length; i++) {
+                    arr[i] = locationIndices.get(i);
+                }
+                map.put(getString(ent.getKey()), arr);
+            }
+            // Two threads racing here each build an equivalent map, which is harmless
+            moduleLocationIndices = map;
+        }
+        return map;
+    }
+
+    /**
+     * List the resources of a module.
+     *
+     * @param moduleName
+     *            the name of the module.
+     * @return the resources of the module, sorted by name, or the empty list if the image has no such module.
+     */
+    List<Location> list(final String moduleName) {
+        final var cached = moduleLocations.get(moduleName);
+        if (cached != null) {
+            return cached;
+        }
+        final var locationIndices = getModuleLocationIndices().get(moduleName);
+        if (locationIndices == null) {
+            return Collections.emptyList();
+        }
+        // The resources of a package share their parent directory, so read each parent directory only once
+        final Map<Long, String> parents = new HashMap<>();
+        final List<Location> locations = new ArrayList<>(locationIndices.length);
+        for (final var locationIndex : locationIndices) {
+            final var attributes = getAttributes(locationIndex);
+            if (attributes != null) {
+                locations.add(toLocation(getName(attributes, parents), attributes));
+            }
+        }
+        locations.sort((a, b) -> a.name().compareTo(b.name()));
+        final var unmodifiableLocations = Collections.unmodifiableList(locations);
+        // Two threads racing here each list the module, and both get an equivalent list back, which is harmless
+        moduleLocations.put(moduleName, unmodifiableLocations);
+        return unmodifiableLocations;
+    }
+}
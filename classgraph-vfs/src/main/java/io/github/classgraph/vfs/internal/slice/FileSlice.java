@@ -141,6 +141,31 @@ public final class FileSlice extends Slice {
      */
     public FileSlice(final File file, final boolean isDeflatedZipEntry, final long inflatedLengthHint,
             final VfsSession session, final @Nullable LogNode log) throws IOException {
+        this(file, isDeflatedZipEntry, inflatedLengthHint, session.vfsSpec.isMemoryMappingFiles(), session, log);
+    }
+
+    /**
+     * Constructor for toplevel file slice.
+     *
+     * @param file
+     *            the file
+     * @param isDeflatedZipEntry
+     *            true if this is a deflated zip entry
+     * @param inflatedLengthHint
+     *            the uncompressed size of a deflated zip entry, or -1 if unknown, or 0 of this is not a deflated
+     *            zip entry.
+     * @param memoryMap
+     *            true to memory-map the file, whatever {@code VfsSpec#isMemoryMappingFiles()} is set to, for a file
+     *            that is read many times over, such as the JDK's module image
+     * @param session
+     *            the session that owns what is opened
+     * @param log
+     *            the log node, or null to skip logging
+     * @throws IOException
+     *             if the file cannot be opened.
+     */
+    public FileSlice(final File file, final boolean isDeflatedZipEntry, final long inflatedLengthHint,
+            final boolean memoryMap, final VfsSession session, final @Nullable LogNode log) throws IOException {
         super(file.length(), isDeflatedZipEntry, inflatedLengthHint, session);
         // Make sure the File is readable and is a regular file
         FileUtils.checkCanReadAndIsFile(file);
@@ -159,7 +184,7 @@ public final class FileSlice extends Slice {
             final var fileChannelOpened = rafOpened.getChannel();
             this.fileChannel = fileChannelOpened;
 
-            if (session.vfsSpec.isMemoryMappingFiles()) {
+            if (memoryMap) {
                 // Memory-map the whole file, if it can be mapped -- otherwise fall through and use the
                 // RandomAccessFile API instead
                 final var mapping = FileMapping.map(fileChannelOpened, fileLength, file, log);
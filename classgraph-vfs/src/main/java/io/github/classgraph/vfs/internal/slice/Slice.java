@@ -219,6 +219,7 @@ public abstract class Slice implements AutoCloseable {
                 buf = Arrays.copyOf(buf, bufBytesUsed);
             }
             // Return buf as new ArraySlice
+            session.addBufferedArchiveBytes(buf.length);
             return new ArraySlice(buf, /* isDeflatedZipEntry = */ false, /* inflatedSizeHint = */ 0L, session);
 
         }
@@ -37,6 +37,7 @@ import java.nio.ReadOnlyBufferException;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 
+import io.github.classgraph.base.internal.utils.StringDeduplicationTable;
 import io.github.classgraph.base.internal.utils.StringUtils;
 import io.github.classgraph.vfs.VfsEntry;
 import io.github.classgraph.vfs.internal.slice.Slice;
@@ -411,6 +412,61 @@ public class RandomAccessOrSequentialReader implements RandomAccessReader, Seque
         return val;
     }
 
+    /**
+     * Read a string in modified UTF8 format at the given offset, and turn it into the form a user would write, as
+     * {@link StringUtils#normalizeTypeDescriptor(String, boolean, boolean)} does. An ASCII string is built straight
+     * from the buffered bytes, without building the string as it is stored first.
+     *
+     * @param offset
+     *            the offset the bytes start at.
+     * @param numBytes
+     *            the number of bytes to read.
+     * @param replaceSlashWithDot
+     *            if true, replace '/' with '.' in the string.
+     * @param stripLSemicolon
+     *            if true, remove the prefix "L" and the suffix ";" from the string.
+     * @return the string.
+     * @throws IOException
+     *             on EOF, or if the range is out of bounds, or if the bytes could not be read.
+     * @throws IllegalArgumentException
+     *             if the bytes are not valid modified UTF8, or if stripLSemicolon is true and the string does not
+     *             start with "L" and end with ";".
+     */
+    public String readStringModifiedUtf8(final long offset, final int numBytes, final boolean replaceSlashWithDot,
+            final boolean stripLSemicolon) throws IOException {
+        final var idx = bufferFor(offset, numBytes);
+        return StringUtils.readStringModifiedUtf8(arr, idx, numBytes, replaceSlashWithDot, stripLSemicolon);
+    }
+
+    /**
+     * Read a string in modified UTF8 format at the given offset through a {@link StringDeduplicationTable}, which
+     * returns the string that was already decoded from the same bytes if there is one, without decoding the bytes
+     * again.
+     *
+     * @param offset
+     *            the offset the bytes start at.
+     * @param numBytes
+     *            the number of bytes to read.
+     * @param stringTable
+     *            the {@link StringDeduplicationTable} to look the bytes up in.
+     * @param replaceSlashWithDot
+     *            if true, replace '/' with '.' in the string.
+     * @param stripLSemicolon
+     *            if true, remove the prefix "L" and the suffix ";" from the string.
+     * @return the string.
+     * @throws IOException
+     *             on EOF, or if the range is out of bounds, or if the bytes could not be read.
+     * @throws IllegalArgumentException
+     *             if the bytes are not valid modified UTF8, or if stripLSemicolon is true and the string does not
+     *             start with "L" and end with ";".
+     */
+    public String readStringModifiedUtf8(final long offset, final int numBytes,
+            final StringDeduplicationTable stringTable, final boolean replaceSlashWithDot,
+            final boolean stripLSemicolon) throws IOException {
+        final var idx = bufferFor(offset, numBytes);
+        return stringTable.get(arr, idx, numBytes, replaceSlashWithDot, stripLSemicolon);
+    }
+
     /**
      * Compare the bytes at the given offset with the given ASCII string, without building a {@link String} out of
      * them to compare it with. Each byte is compared as an unsigned value, so a byte outside the ASCII range
@@ -0,0 +1,220 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph.vfs.internal.zip;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.classgraph.vfs.ArchiveProbe;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A process-wide cache of what a jarfile holds, summarized as the {@link EntryNameFilter} over its entry names and
+ * the main section of its manifest, so that a later scan can probe a jarfile that an earlier scan opened (see
+ * {@link NestedJarHandler#probeTopLevelJar}) without reading its central directory at all.
+ *
+ * <p>
+ * A summary is only cached for a local jarfile that is not nested within another jarfile, and whose
+ * {@link BasicFileAttributes#fileKey()} is known (on Linux and macOS, the device and inode number of the file). A
+ * cached summary is used only if the jarfile still has the same file key, last modified time and size as it had
+ * when it was opened, so a jarfile that is rewritten, or replaced by renaming a new file over it, is read again.
+ */
+public final class ArchiveSummaryCache {
+    /** The cache that is shared by every scan. */
+    private static final ArchiveSummaryCache SHARED = new ArchiveSummaryCache();
+
+    /** The maximum number of jarfiles to cache before the cache is cleared. */
+    private static final int MAX_NUM_ENTRIES = 1 << 14;
+
+    /** A map from the canonical file of a jarfile to its summary. */
+    private final ConcurrentHashMap<File, Summary> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * The summary of a jarfile, and the identity of the file it was read from.
+     *
+     * @param fileKey
+     *            the file key of the jarfile.
+     * @param lastModifiedTime
+     *            the last modified time of the jarfile.
+     * @param size
+     *            the size of the jarfile.
+     * @param entryNameFilter
+     *            the filter over the entry names of the jarfile.
+     * @param manifest
+     *            the main section of the manifest of the jarfile, or null if it has no manifest.
+     */
+    private record Summary(Object fileKey, FileTime lastModifiedTime, long size, EntryNameFilter entryNameFilter,
+            @Nullable Map<String, String> manifest) {
+        /**
+         * Check whether the given attributes are those of the jarfile that was summarized.
+         *
+         * @param attributes
+         *            the attributes of a file.
+         * @return true if the file has the same file key, last modified time and size.
+         */
+        boolean isSameFile(final BasicFileAttributes attributes) {
+            return fileKey.equals(attributes.fileKey()) && lastModifiedTime.equals(attributes.lastModifiedTime())
+                    && size == attributes.size();
+        }
+    }
+
+    /**
+     * Constructor.
+     */
+    public ArchiveSummaryCache() {
+        // Empty
+    }
+
+    /**
+     * Get the cache that is shared by every scan.
+     *
+     * @return the shared cache.
+     */
+    public static ArchiveSummaryCache shared() {
+        return SHARED;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Read the attributes of a file, for them to be recorded with a summary of it.
+     *
+     * @param file
+     *            the file.
+     * @return the attributes, or null if they could not be read, or the file has no file key, so that a summary of
+     *         it cannot be cached.
+     */
+    static @Nullable BasicFileAttributes readCacheableAttributes(final File file) {
+        try {
+            final var attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            return attributes.fileKey() == null ? null : attributes;
+        } catch (final IOException | SecurityException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Cache the summary of a jarfile that has been opened.
+     *
+     * @param canonicalFile
+     *            the canonical file of the jarfile.
+     * @param attributes
+     *            the attributes of the jarfile, read before it was opened, so that if it is replaced while it is
+     *            being read, the summary is recorded against the attributes of the old file, and is never used.
+     * @param logicalZipFile
+     *            the jarfile, opened from the file.
+     */
+    void put(final File canonicalFile, final BasicFileAttributes attributes, final LogicalZipFile logicalZipFile) {
+        final var fileKey = attributes.fileKey();
+        if (fileKey == null) {
+            return;
+        }
+        final var cached = summaries.get(canonicalFile);
+        if (cached != null && cached.isSameFile(attributes)) {
+            return;
+        }
+        final var manifest = logicalZipFile.getManifest();
+        if (summaries.size() >= MAX_NUM_ENTRIES) {
+            summaries.clear();
+        }
+        summaries.put(canonicalFile,
+                new Summary(fileKey, attributes.lastModifiedTime(), attributes.size(),
+                        logicalZipFile.getEntryNameFilter(),
+                        manifest == null ? null : Collections.unmodifiableMap(manifest)));
+    }
+
+    /**
+     * Probe a jarfile from its cached summary, if it has not changed since it was summarized. The answer is the one
+     * {@link LogicalZipFile#probe} would give, except that an entry name or a prefix may be reported as found when
+     * it is not (rarely, for a name that the filter cannot rule out), so a caller must still open a jarfile to find
+     * out what it holds, and can only rely on a name not being found.
+     *
+     * @param canonicalFile
+     *            the canonical file of the jarfile.
+     * @param entryNames
+     *            the entry names to look for.
+     * @param entryNamePrefixes
+     *            the entry name prefixes to look for.
+     * @return what was found, or null if no summary of the jarfile is cached, or the jarfile has changed since it
+     *         was summarized.
+     */
+    @Nullable
+    ArchiveProbe probe(final File canonicalFile, final Collection<String> entryNames,
+            final Collection<String> entryNamePrefixes) {
+        final var cached = summaries.get(canonicalFile);
+        if (cached == null) {
+            return null;
+        }
+        final var attributes = readCacheableAttributes(canonicalFile);
+        if (attributes == null || !cached.isSameFile(attributes)) {
+            summaries.remove(canonicalFile, cached);
+            return null;
+        }
+        final var filter = cached.entryNameFilter();
+        final Set<String> entryNamesFound = new HashSet<>();
+        for (final String entryName : entryNames) {
+            // A name with a trailing '/' is a directory, which is never a file entry
+            if (!entryName.endsWith("/") && filter.mightContain(entryName)) {
+                entryNamesFound.add(entryName);
+            }
+        }
+        final Set<String> entryNamePrefixesFound = new HashSet<>();
+        for (final String prefix : entryNamePrefixes) {
+            // Only directories are in the filter, so a prefix that ends partway through a name cannot be ruled out
+            if (!prefix.endsWith("/") || filter.mightContain(prefix)) {
+                entryNamePrefixesFound.add(prefix);
+            }
+        }
+        return new ArchiveProbe(cached.manifest(), entryNamesFound, entryNamePrefixesFound);
+    }
+
+    /**
+     * Forget the cached summary of a jarfile, so that the next probe of it reads its central directory.
+     *
+     * @param canonicalFile
+     *            the canonical file of the jarfile.
+     */
+    public void invalidate(final File canonicalFile) {
+        summaries.remove(canonicalFile);
+    }
+
+    /** Forget every cached summary. */
+    public void invalidateAll() {
+        summaries.clear();
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph.vfs.internal.zip;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A Bloom filter over the entry names of a zipfile and the directories they are in, which answers whether a zipfile
+ * may contain an entry, or any entry beneath a directory, without looking through its entries. A negative answer is
+ * always right, and a positive answer is wrong for about one name in a hundred.
+ *
+ * <p>
+ * Each entry name is added, and so is each of its ancestral directories, with a trailing {@code '/'}: for
+ * {@code "com/xyz/Widget.class"}, the names {@code "com/"}, {@code "com/xyz/"} and {@code "com/xyz/Widget.class"}
+ * are added. The names are hashed with {@link String#hashCode()}, computed for each directory as the entry name is
+ * read, so that adding a name allocates nothing, and so that looking a name up uses the hash code the
+ * {@link String} has already cached.
+ */
+public final class EntryNameFilter {
+    /** The number of bits to allocate per name, before rounding the size of the filter up to a power of two. */
+    private static final int BITS_PER_NAME = 10;
+
+    /** The number of bits set per name, which is the best number for {@link #BITS_PER_NAME}. */
+    private static final int NUM_HASHES = 7;
+
+    /** The bits of the filter. */
+    private final long[] bits;
+
+    /** The mask that takes a hash to a bit index, which is one less than the number of bits. */
+    private final int mask;
+
+    /**
+     * Constructor.
+     *
+     * @param numNames
+     *            an estimate of the number of names that will be added.
+     */
+    private EntryNameFilter(final int numNames) {
+        final var numBits = Math.max(64, Integer
+                .highestOneBit((int) Math.min(1 << 29, (long) Math.max(1, numNames) * BITS_PER_NAME - 1)) << 1);
+        this.bits = new long[numBits >>> 6];
+        this.mask = numBits - 1;
+    }
+
+    /**
+     * Build the filter for a list of entry names.
+     *
+     * @param entryNames
+     *            the entry names.
+     * @return the filter.
+     */
+    public static EntryNameFilter of(final Collection<String> entryNames) {
+        // The directories of a zipfile are not known until its entries have been read, but there are usually far
+        // fewer of them than there are entries, so allow for half as many directories as entries
+        final var filter = new EntryNameFilter(entryNames.size() + entryNames.size() / 2 + 16);
+        for (final String entryName : entryNames) {
+            filter.addWithAncestors(entryName);
+        }
+        return filter;
+    }
+
+    /**
+     * Build the filter for the entries of a zipfile. Both the stored name and the unversioned name of each entry
+     * are added, so that the filter answers for the names that the zipfile reports its entries under, whether or
+     * not multi-release versions are being stripped, as well as for the names they are stored under.
+     *
+     * @param entries
+     *            the entries of the zipfile.
+     * @return the filter.
+     */
+    static EntryNameFilter forEntries(final List<FastZipEntry> entries) {
+        final var filter = new EntryNameFilter(entries.size() + entries.size() / 2 + 16);
+        for (final FastZipEntry entry : entries) {
+            filter.addWithAncestors(entry.entryName);
+            if (!entry.entryNameUnversioned.equals(entry.entryName)) {
+                filter.addWithAncestors(entry.entryNameUnversioned);
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * Add an entry name, and each of its ancestral directories.
+     *
+     * @param entryName
+     *            the entry name.
+     */
+    private void addWithAncestors(final String entryName) {
+        // The same recurrence as String#hashCode(), so that the hash of each prefix is the hash code of the prefix
+        var hash = 0;
+        for (var i = 0; i < entryName.length(); i++) {
+            final var c = entryName.charAt(i);
+            hash = 31 * hash + c;
+            if (c == '/') {
+                add(hash);
+            }
+        }
+        if (!entryName.endsWith("/")) {
+            add(hash);
+        }
+    }
+
+    /**
+     * Spread the hash code of a name over 64 bits, for the two independent hashes that the bit indices are derived
+     * from (the finalizer of MurmurHash3).
+     *
+     * @param hashCode
+     *            the hash code of the name.
+     * @return the spread hash.
+     */
+    private static long spread(final int hashCode) {
+        var h = hashCode * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Set the bits for a name.
+     *
+     * @param hashCode
+     *            the hash code of the name.
+     */
+    private void add(final int hashCode) {
+        final var h = spread(hashCode);
+        final var h1 = (int) h;
+        final var h2 = (int) (h >>> 32) | 1;
+        for (var i = 0; i < NUM_HASHES; i++) {
+            final var bitIdx = (h1 + i * h2) & mask;
+            bits[bitIdx >>> 6] |= 1L << bitIdx;
+        }
+    }
+
+    /**
+     * Check whether the zipfile may contain an entry, or a directory.
+     *
+     * @param name
+     *            an entry name, or a directory path with a trailing {@code '/'}, relative to the root of the
+     *            zipfile.
+     * @return false if the zipfile definitely does not contain the entry or the directory, or true if it may.
+     *         Always true for the empty string, which names the root.
+     */
+    public boolean mightContain(final String name) {
+        if (name.isEmpty()) {
+            return true;
+        }
+        final var h = spread(name.hashCode());
+        final var h1 = (int) h;
+        final var h2 = (int) (h >>> 32) | 1;
+        for (var i = 0; i < NUM_HASHES; i++) {
+            final var bitIdx = (h1 + i * h2) & mask;
+            if ((bits[bitIdx >>> 6] & (1L << bitIdx)) == 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the size of the filter.
+     *
+     * @return the number of bytes the bits of the filter take up.
+     */
+    public int sizeInBytes() {
+        return bits.length * Long.BYTES;
+    }
+}
@@ -30,7 +30,10 @@ package io.github.classgraph.vfs.internal.zip;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -44,6 +47,7 @@ import io.github.classgraph.base.LogNode;
 import io.github.classgraph.base.internal.path.PathSyntax;
 import io.github.classgraph.base.internal.utils.CollectionUtils;
 import io.github.classgraph.base.internal.utils.StringUtils;
+import io.github.classgraph.vfs.ArchiveProbe;
 import io.github.classgraph.vfs.internal.ManifestParser;
 import io.github.classgraph.vfs.internal.VfsSession;
 import io.github.classgraph.vfs.internal.slice.ArraySlice;
@@ -82,6 +86,9 @@ public class LogicalZipFile extends ZipFileSlice {
     /** If true, multi-release versions should not be stripped in resource names. */
     private final boolean enableMultiReleaseVersions;
 
+    /** The filter over the names of {@link #entries}, built on first use. */
+    private volatile @Nullable EntryNameFilter entryNameFilter;
+
     // -------------------------------------------------------------------------------------------------------------
 
     /** {@code "META-INF/"}. */
@@ -127,6 +134,19 @@ public class LogicalZipFile extends ZipFileSlice {
         readCentralDirectory(session, log);
     }
 
+    /**
+     * Construct a logical zipfile whose central directory is not read, for {@link #probe} to read single entries of
+     * the zipfile through. The entries of the zipfile are not listed in {@link #entries}.
+     *
+     * @param zipFileSlice
+     *            the zipfile slice
+     */
+    private LogicalZipFile(final ZipFileSlice zipFileSlice) {
+        super(zipFileSlice);
+        this.enableMultiReleaseVersions = false;
+        this.entries = new ArrayList<>(0);
+    }
+
     // -------------------------------------------------------------------------------------------------------------
 
     /**
@@ -202,6 +222,21 @@ public class LogicalZipFile extends ZipFileSlice {
         return manifest;
     }
 
+    /**
+     * Get a filter over the entry names of this zipfile and the directories they are in, so that a caller can rule
+     * out a name or a directory without looking through {@link #entries}. The filter is built on first use.
+     *
+     * @return the filter.
+     */
+    public EntryNameFilter getEntryNameFilter() {
+        var filter = entryNameFilter;
+        if (filter == null) {
+            // Building the filter twice in a race is harmless, since both threads build the same filter
+            entryNameFilter = filter = EntryNameFilter.forEntries(entries);
+        }
+        return filter;
+    }
+
     // -------------------------------------------------------------------------------------------------------------
 
     /**
@@ -1024,6 +1059,257 @@ public class LogicalZipFile extends ZipFileSlice {
 
     // -------------------------------------------------------------------------------------------------------------
 
+    /**
+     * Find the manifest of a zipfile, and which of some entry names and entry name prefixes it holds, by scanning
+     * the records of its central directory, without reading the central directory into a {@link LogicalZipFile}. No
+     * {@link FastZipEntry} is created for an entry other than the manifest, and the name of an entry is only
+     * decoded if it cannot be told from its stored bytes whether it matches: if it is not a plain relative path, so
+     * that sanitizing it could change it, or if a Unicode path extra field gives the entry another name.
+     *
+     * @param zipFileSlice
+     *            the zipfile slice
+     * @param session
+     *            the session that owns what is opened
+     * @param entryNames
+     *            the entry names to look for, which must be ASCII
+     * @param entryNamePrefixes
+     *            the entry name prefixes to look for, which must be ASCII
+     * @param log
+     *            the log node, or null to skip logging
+     * @return what was found.
+     * @throws IOException
+     *             If an I/O exception occurs, or the central directory is invalid.
+     * @throws InterruptedException
+     *             if the thread was interrupted.
+     */
+    static ArchiveProbe probe(final ZipFileSlice zipFileSlice, final VfsSession session,
+            final Collection<String> entryNames, final Collection<String> entryNamePrefixes,
+            final @Nullable LogNode log) throws IOException, InterruptedException {
+        return new LogicalZipFile(zipFileSlice).probeCentralDirectory(session, List.copyOf(entryNames),
+                List.copyOf(entryNamePrefixes), log);
+    }
+
+    /**
+     * Check whether the stored bytes of an entry name are a plain relative path, which sanitizing leaves as it is:
+     * one that is not empty, does not start with {@code '/'}, has no {@code "."} or {@code ".."} or empty segment,
+     * and has no {@code '\\'} or {@code '!'} in it. Bytes from 0x80 up are left alone, since in UTF-8 and in Code
+     * Page 437 alike they only ever decode to characters outside ASCII.
+     *
+     * @param nameBytes
+     *            the stored bytes of the entry name
+     * @param nameLen
+     *            the number of bytes in the entry name
+     * @return true if the entry name is a plain relative path.
+     */
+    private static boolean isPlainEntryName(final byte[] nameBytes, final int nameLen) {
+        if (nameLen == 0) {
+            return false;
+        }
+        var segmentStart = 0;
+        for (var i = 0; i <= nameLen; i++) {
+            final var b = i < nameLen ? nameBytes[i] : (byte) '/';
+            if (b == '\\' || b == '!') {
+                return false;
+            }
+            if (b == '/') {
+                final var segmentLen = i - segmentStart;
+                // A final '/' (a directory entry) leaves an empty last segment, which sanitizing keeps
+                if (segmentLen == 0 && i < nameLen || segmentLen == 1 && nameBytes[segmentStart] == '.'
+                        || segmentLen == 2 && nameBytes[segmentStart] == '.'
+                                && nameBytes[segmentStart + 1] == '.') {
+                    return false;
+                }
+                segmentStart = i + 1;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the extra field area of a central directory record holds a Unicode path extra field, which can
+     * give the entry a name other than the one stored in the record.
+     *
+     * @param cenReader
+     *            a reader for the central directory
+     * @param extraFieldStartOff
+     *            the offset of the extra field area within the central directory
+     * @param extraFieldLen
+     *            the length of the extra field area
+     * @return true if the extra field area holds a Unicode path extra field.
+     * @throws IOException
+     *             If an I/O exception occurs.
+     */
+    private static boolean hasUnicodePathExtraField(final RandomAccessReader cenReader,
+            final long extraFieldStartOff, final int extraFieldLen) throws IOException {
+        for (var extraFieldOff = 0; extraFieldOff + 4 <= extraFieldLen;) {
+            final var tagOff = extraFieldStartOff + extraFieldOff;
+            if (cenReader.readUnsignedShort(tagOff) == 0x7075) {
+                return true;
+            }
+            extraFieldOff += 4 + cenReader.readUnsignedShort(tagOff + 2);
+        }
+        return false;
+    }
+
+    /**
+     * Encode entry names or entry name prefixes to compare against the stored bytes of entry names.
+     *
+     * @param strs
+     *            the entry names or entry name prefixes
+     * @return the ASCII bytes of each of them.
+     * @throws IllegalArgumentException
+     *             if one of them is not ASCII.
+     */
+    private static byte[][] toAsciiBytes(final List<String> strs) {
+        final var bytes = new byte[strs.size()][];
+        for (var i = 0; i < bytes.length; i++) {
+            final var str = strs.get(i);
+            if (!StandardCharsets.US_ASCII.newEncoder().canEncode(str)) {
+                throw new IllegalArgumentException("Not an ASCII entry name: " + str);
+            }
+            bytes[i] = str.getBytes(StandardCharsets.US_ASCII);
+        }
+        return bytes;
+    }
+
+    /**
+     * Scan the records of the central directory of this zipfile for {@link #probe}.
+     *
+     * @param session
+     *            the session that owns what is opened
+     * @param entryNames
+     *            the entry names to look for
+     * @param entryNamePrefixes
+     *            the entry name prefixes to look for
+     * @param log
+     *            the log node, or null to skip logging
+     * @return what was found.
+     * @throws IOException
+     *             If an I/O exception occurs, or the central directory is invalid.
+     * @throws InterruptedException
+     *             if the thread was interrupted.
+     */
+    @SuppressWarnings("resource")
+    private ArchiveProbe probeCentralDirectory(final VfsSession session, final List<String> entryNames,
+            final List<String> entryNamePrefixes, final @Nullable LogNode log)
+            throws IOException, InterruptedException {
+        if (slice.sliceLength < 22) {
+            throw new IOException("Zipfile too short to have a central directory");
+        }
+        final var reader = slice.randomAccessReader();
+        final var eocdPos = findEndOfCentralDirectoryPos(reader, session);
+        final var cen = readEndOfCentralDirectory(reader, eocdPos);
+        final var cenReader = openCentralDirectoryReader(reader, cen, session);
+
+        final var entryNameBytes = toAsciiBytes(entryNames);
+        final var entryNamePrefixBytes = toAsciiBytes(entryNamePrefixes);
+        final var manifestPathBytes = MANIFEST_PATH.getBytes(StandardCharsets.US_ASCII);
+        final Set<String> entryNamesFound = new HashSet<>();
+        final Set<String> entryNamePrefixesFound = new HashSet<>();
+        FastZipEntry manifestZipEntry = null;
+        FastZipEntry caseFoldedManifestZipEntry = null;
+        var nameBytes = new byte[256];
+        var entSize = 0;
+        for (var entOff = 0L; entOff + 46 <= cen.cenSize(); entOff += entSize) {
+            final var sig = cenReader.readUnsignedInt(entOff);
+            if (sig != 0x02014b50L) {
+                throw new IOException("Invalid central directory signature: 0x" + Integer.toString((int) sig, 16)
+                        + ": " + getPath());
+            }
+            final var filenameLen = cenReader.readUnsignedShort(entOff + 28);
+            final var extraFieldLen = cenReader.readUnsignedShort(entOff + 30);
+            final var commentLen = cenReader.readUnsignedShort(entOff + 32);
+            entSize = 46 + filenameLen + extraFieldLen + commentLen;
+            // The same entries are skipped as by readEntries, for the same reasons
+            if (entOff + 46 + filenameLen + extraFieldLen > cen.cenSize()) {
+                break;
+            }
+
+            if (filenameLen > nameBytes.length) {
+                nameBytes = new byte[filenameLen];
+            }
+            cenReader.read(entOff + 46, nameBytes, 0, filenameLen);
+            if (!isPlainEntryName(nameBytes, filenameLen) || extraFieldLen > 0
+                    && hasUnicodePathExtraField(cenReader, entOff + 46 + filenameLen, extraFieldLen)) {
+                // Only the full decoding of the name gives the name the entry is reported under (this is rare)
+                final var entry = readEntry(cenReader, entOff, filenameLen, extraFieldLen, cen.locPos(), log);
+                if (entry != null) {
+                    for (var i = 0; i < entryNames.size(); i++) {
+                        if (entryNames.get(i).equals(entry.entryName)) {
+                            entryNamesFound.add(entryNames.get(i));
+                        }
+                    }
+                    for (var i = 0; i < entryNamePrefixes.size(); i++) {
+                        if (entry.entryName.startsWith(entryNamePrefixes.get(i))) {
+                            entryNamePrefixesFound.add(entryNamePrefixes.get(i));
+                        }
+                    }
+                    if (MANIFEST_PATH.equalsIgnoreCase(entry.entryName)) {
+                        if (MANIFEST_PATH.equals(entry.entryName)) {
+                            if (manifestZipEntry == null) {
+                                manifestZipEntry = entry;
+                            }
+                        } else if (caseFoldedManifestZipEntry == null) {
+                            caseFoldedManifestZipEntry = entry;
+                        }
+                    }
+                }
+                continue;
+            }
+            if (nameBytes[filenameLen - 1] == '/') {
+                // Skip directory entries
+                continue;
+            }
+
+            for (var i = 0; i < entryNameBytes.length; i++) {
+                if (Arrays.equals(nameBytes, 0, filenameLen, entryNameBytes[i], 0, entryNameBytes[i].length)) {
+                    entryNamesFound.add(entryNames.get(i));
+                }
+            }
+            for (var i = 0; i < entryNamePrefixBytes.length; i++) {
+                final var prefixLen = entryNamePrefixBytes[i].length;
+                if (filenameLen >= prefixLen
+                        && Arrays.equals(nameBytes, 0, prefixLen, entryNamePrefixBytes[i], 0, prefixLen)) {
+                    entryNamePrefixesFound.add(entryNamePrefixes.get(i));
+                }
+            }
+            if (filenameLen == manifestPathBytes.length && (manifestZipEntry == null
+                    && Arrays.equals(nameBytes, 0, filenameLen, manifestPathBytes, 0, filenameLen)
+                    || caseFoldedManifestZipEntry == null && MANIFEST_PATH.equalsIgnoreCase(
+                            new String(nameBytes, 0, filenameLen, StandardCharsets.ISO_8859_1)))) {
+                // Read the manifest entry in full, the same way as readEntries would, since its contents are needed
+                final var entry = readEntry(cenReader, entOff, filenameLen, extraFieldLen, cen.locPos(), log);
+                if (entry != null) {
+                    if (MANIFEST_PATH.equals(entry.entryName)) {
+                        if (manifestZipEntry == null) {
+                            manifestZipEntry = entry;
+                        }
+                    } else if (caseFoldedManifestZipEntry == null) {
+                        caseFoldedManifestZipEntry = entry;
+                    }
+                }
+            }
+
+            if (manifestZipEntry != null && entryNamesFound.size() == entryNames.size()
+                    && entryNamePrefixesFound.size() == entryNamePrefixes.size()) {
+                // Nothing that is still to come could change what has been found
+                break;
+            }
+        }
+
+        final var foundManifestZipEntry = manifestZipEntry != null ? manifestZipEntry : caseFoldedManifestZipEntry;
+        Map<String, String> manifestMap = null;
+        if (foundManifestZipEntry != null) {
+            try (InputStream manifestInputStream = foundManifestZipEntry.getSlice().open()) {
+                manifestMap = ManifestParser.parse(manifestInputStream);
+            }
+        }
+        return new ArchiveProbe(manifestMap == null ? null : Collections.unmodifiableMap(manifestMap),
+                Collections.unmodifiableSet(entryNamesFound), Collections.unmodifiableSet(entryNamePrefixesFound));
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
     @Override
     public String toString() {
         return getPath();
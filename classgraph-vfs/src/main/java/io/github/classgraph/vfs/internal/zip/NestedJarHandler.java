@@ -35,6 +35,7 @@ import java.io.RandomAccessFile;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.Collection;
 import java.util.Locale;
 import java.util.Map.Entry;
 
@@ -45,7 +46,9 @@ import io.github.classgraph.base.internal.concurrency.SingletonMap;
 import io.github.classgraph.base.internal.path.FastPathResolver;
 import io.github.classgraph.base.internal.path.FileUtils;
 import io.github.classgraph.base.internal.path.PathSyntax;
+import io.github.classgraph.vfs.ArchiveProbe;
 import io.github.classgraph.vfs.internal.VfsSession;
+import io.github.classgraph.vfs.internal.slice.ArraySlice;
 import io.github.classgraph.vfs.internal.slice.Slice;
 import org.jspecify.annotations.Nullable;
 
@@ -250,6 +253,62 @@ public class NestedJarHandler {
         }
     }
 
+    /**
+     * Probe the central directory of a local jarfile whose path has no {@code '!'} sections, without opening it as
+     * a {@link LogicalZipFile} (see {@link LogicalZipFile#probe}). The {@link PhysicalZipFile} is taken from, and
+     * left in, the same cache that opening the jarfile uses, so a jarfile that is opened after it has been probed
+     * is only mapped once. If the {@link ArchiveSummaryCache} is enabled and holds a summary of the jarfile that is
+     * still current, the probe is answered from the summary, and the jarfile is not read at all.
+     *
+     * @param nestedJarPath
+     *            the resolved path of the jarfile
+     * @param entryNames
+     *            the entry names to look for, which must be ASCII
+     * @param entryNamePrefixes
+     *            the entry name prefixes to look for, which must be ASCII
+     * @param log
+     *            the log node, or null to skip logging
+     * @return what was found, or null if the path has a URL scheme or a {@code '!'} section, or does not name a
+     *         file, so the jarfile can only be opened in full.
+     * @throws IOException
+     *             if the jarfile could not be read
+     * @throws InterruptedException
+     *             if the thread was interrupted
+     */
+    public @Nullable ArchiveProbe probeTopLevelJar(final String nestedJarPath, final Collection<String> entryNames,
+            final Collection<String> entryNamePrefixes, final @Nullable LogNode log)
+            throws IOException, InterruptedException {
+        if (PathSyntax.hasURLScheme(nestedJarPath)
+                || PathSyntax.lastIndexOfNestedJarSeparator(nestedJarPath) >= 0) {
+            return null;
+        }
+        final var file = new File(nestedJarPath);
+        if (!file.isFile()) {
+            return null;
+        }
+        final PhysicalZipFile physicalZipFile;
+        try {
+            final var canonicalFile = FileUtils.canonicalize(file);
+            if (session.vfsSpec.isArchiveSummaryCacheEnabled()) {
+                final var cachedProbe = ArchiveSummaryCache.shared().probe(canonicalFile, entryNames,
+                        entryNamePrefixes);
+                if (cachedProbe != null) {
+                    if (log != null) {
+                        log.log("Probed jarfile from its cached summary: " + nestedJarPath);
+                    }
+                    return cachedProbe;
+                }
+            }
+            physicalZipFile = canonicalFileToPhysicalZipFileMap.get(canonicalFile, log);
+        } catch (final SecurityException e) {
+            throw new IOException("Path component " + nestedJarPath + " could not be canonicalized: " + e, e);
+        } catch (final NullSingletonException | NewInstanceException e) {
+            final var cause = e.getCause() == null ? e : e.getCause();
+            throw new IOException("Could not get PhysicalZipFile for path " + nestedJarPath + " : " + cause, cause);
+        }
+        return LogicalZipFile.probe(new ZipFileSlice(physicalZipFile), session, entryNames, entryNamePrefixes, log);
+    }
+
     /**
      * Open a jarfile read from an {@link InputStream}. The stream is read to an array in RAM, or spilled to a
      * temporary file if it is longer than the configured maximum, since a zipfile's central directory is at the end
@@ -300,7 +359,10 @@ public class NestedJarHandler {
      *            the failure that stopped the zipfile from being handed over, for any failure to release it to be
      *            recorded within.
      */
-    private static void releaseUnreachable(final PhysicalZipFile physicalZipFile, final Throwable failure) {
+    private void releaseUnreachable(final PhysicalZipFile physicalZipFile, final Throwable failure) {
+        if (physicalZipFile.slice instanceof final ArraySlice arraySlice) {
+            session.removeBufferedArchiveBytes(arraySlice.sliceLength);
+        }
         try {
             physicalZipFile.slice.close();
         } catch (final IOException | RuntimeException | Error e) {
@@ -392,6 +454,13 @@ public class NestedJarHandler {
             throw e;
         }
 
+        // Keep a summary of a local jarfile, so that a later scan can probe it without reading its central directory
+        final var fileAttributes = physicalZipFile.fileAttributes;
+        final var physicalFile = physicalZipFile.getFile();
+        if (fileAttributes != null && physicalFile != null) {
+            ArchiveSummaryCache.shared().put(physicalFile, fileAttributes, logicalZipFile);
+        }
+
         // Return new logical zipfile with an empty package root
         return new SimpleEntry<>(logicalZipFile, "");
     }
@@ -33,6 +33,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Objects;
 
 import io.github.classgraph.base.LogNode;
@@ -61,6 +62,12 @@ class PhysicalZipFile {
     /** The {@link Slice} for the zipfile. */
     final Slice slice;
 
+    /**
+     * The attributes of the file, read before it was opened, if the zipfile is backed by a {@link File} and its
+     * summary may be cached by the {@link ArchiveSummaryCache}, otherwise null.
+     */
+    final @Nullable BasicFileAttributes fileAttributes;
+
     /**
      * Construct a {@link PhysicalZipFile} from a file on disk.
      *
@@ -76,6 +83,9 @@ class PhysicalZipFile {
     PhysicalZipFile(final File file, final VfsSession session, final @Nullable LogNode log) throws IOException {
         this.file = file;
         this.pathStr = FastPathResolver.resolve(FileUtils.currDirPath(), file.getPath());
+        this.fileAttributes = session.vfsSpec.isArchiveSummaryCacheEnabled()
+                ? ArchiveSummaryCache.readCacheableAttributes(file)
+                : null;
         this.slice = new FileSlice(file, session, log);
     }
 
@@ -94,6 +104,7 @@ class PhysicalZipFile {
     PhysicalZipFile(final Path path, final VfsSession session, final @Nullable LogNode log) throws IOException {
         this.path = path;
         this.pathStr = FastPathResolver.resolve(FileUtils.currDirPath(), path.toString());
+        this.fileAttributes = null;
         this.slice = new PathSlice(path, session, log);
     }
 
@@ -118,6 +129,7 @@ class PhysicalZipFile {
     PhysicalZipFile(final InputStream inputStream, final long inputStreamLengthHint, final String pathStr,
             final VfsSession session, final @Nullable LogNode log) throws IOException {
         this.pathStr = pathStr;
+        this.fileAttributes = null;
         // Try downloading the InputStream to a byte array. If this succeeds, this will result in an ArraySlice. If
         // it fails, the InputStream will be spilled to disk, resulting in a FileSlice.
         this.slice = Slice.fromInputStream(inputStream, /* tempFileBaseName = */ pathStr, inputStreamLengthHint,
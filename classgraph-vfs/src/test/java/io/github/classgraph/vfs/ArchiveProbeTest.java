@@ -0,0 +1,195 @@
+package io.github.classgraph.vfs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link Vfs#probe(String, java.util.Collection, java.util.Collection, io.github.classgraph.base.LogNode)},
+ * which finds the manifest and some named entries of a jarfile from its central directory, without opening it.
+ */
+public class ArchiveProbeTest {
+    /**
+     * Write a jarfile with the given entries, each holding its own name as its content.
+     *
+     * @param jarFile
+     *            the jarfile to write.
+     * @param manifest
+     *            the content of the manifest, or null for no manifest.
+     * @param manifestName
+     *            the entry name to store the manifest under.
+     * @param entryNames
+     *            the entry names, stored as they are given.
+     * @throws IOException
+     *             if the jarfile could not be written.
+     */
+    private static void writeJar(final Path jarFile, final String manifest, final String manifestName,
+            final String... entryNames) throws IOException {
+        try (var zos = new ZipOutputStream(new FileOutputStream(jarFile.toFile()))) {
+            for (final String entryName : entryNames) {
+                zos.putNextEntry(new ZipEntry(entryName));
+                zos.write(entryName.getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+            if (manifest != null) {
+                zos.putNextEntry(new ZipEntry(manifestName));
+                zos.write(manifest.getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * The probe finds the manifest, and the entry names and prefixes that a full open of the jarfile finds,
+     * including for entries whose stored names are only reported under their sanitized names.
+     *
+     * @param tempDir
+     *            a temporary directory for the jarfile.
+     * @throws IOException
+     *             if the jarfile could not be written or read.
+     */
+    @Test
+    public void probeFindsWhatOpeningFinds(@TempDir final Path tempDir) throws IOException {
+        final var jar = tempDir.resolve("probed.jar");
+        writeJar(jar, "Manifest-Version: 1.0\r\nClass-Path: other.jar\r\n", "META-INF/MANIFEST.MF", "pkg/",
+                "pkg/A.class", "./dotted/B.class", "/rooted/C.txt", "lib/", "x/../escaped.txt", "notes.txt");
+        final List<String> names = List.of("pkg/A.class", "dotted/B.class", "rooted/C.txt", "escaped.txt",
+                "pkg/Missing.class", "pkg/");
+        final List<String> prefixes = List.of("pkg/", "lib/", "rooted/", "missing/");
+        try (var vfs = new Vfs()) {
+            final var probe = vfs.probe(jar.toString(), names, prefixes, null);
+            assertThat(probe).isNotNull();
+            assertThat(probe.getManifestEntry("class-path")).isEqualTo("other.jar");
+            assertThat(probe.isMultiRelease()).isFalse();
+            // A directory entry is not a file entry, so neither "pkg/" as a name, nor "lib/" as a prefix, is found
+            assertThat(probe.entryNamesFound()).containsExactlyInAnyOrder("pkg/A.class", "dotted/B.class",
+                    "rooted/C.txt", "escaped.txt");
+            assertThat(probe.entryNamePrefixesFound()).containsExactlyInAnyOrder("pkg/", "rooted/");
+
+            // Opening the jarfile after probing it finds the same entries
+            final List<String> openedNames = new ArrayList<>();
+            for (final var entry : vfs.open(jar.toString()).getEntries()) {
+                openedNames.add(entry.getName());
+            }
+            assertThat(openedNames).containsAll(probe.entryNamesFound()).doesNotContain("pkg/Missing.class");
+        }
+    }
+
+    /**
+     * The manifest is found under a name of different case, as it is by a full open, and a multi-release jar is
+     * reported as one.
+     *
+     * @param tempDir
+     *            a temporary directory for the jarfile.
+     * @throws IOException
+     *             if the jarfile could not be written or read.
+     */
+    @Test
+    public void caseFoldedManifestIsFound(@TempDir final Path tempDir) throws IOException {
+        final var jar = tempDir.resolve("lowercase.jar");
+        writeJar(jar, "Manifest-Version: 1.0\r\nMulti-Release: true\r\n", "meta-inf/manifest.mf", "a.txt");
+        try (var vfs = new Vfs()) {
+            final var probe = vfs.probe(jar.toString(), List.of("a.txt"), List.of(), null);
+            assertThat(probe).isNotNull();
+            assertThat(probe.isMultiRelease()).isTrue();
+            assertThat(probe.entryNamesFound()).containsExactly("a.txt");
+        }
+    }
+
+    /**
+     * A jarfile without a manifest is probed as having none.
+     *
+     * @param tempDir
+     *            a temporary directory for the jarfile.
+     * @throws IOException
+     *             if the jarfile could not be written or read.
+     */
+    @Test
+    public void jarWithoutManifest(@TempDir final Path tempDir) throws IOException {
+        final var jar = tempDir.resolve("plain.jar");
+        writeJar(jar, null, null, "a.txt");
+        try (var vfs = new Vfs()) {
+            final var probe = vfs.probe(jar.toString(), List.of("b.txt"), List.of("a"), null);
+            assertThat(probe).isNotNull();
+            assertThat(probe.manifest()).isNull();
+            assertThat(probe.entryNamesFound()).isEmpty();
+            assertThat(probe.entryNamePrefixesFound()).containsExactly("a");
+        }
+    }
+
+    /**
+     * With the archive summary cache enabled, a jarfile that was opened before is probed from its summary, without
+     * being read, for as long as it keeps its size and last modified time.
+     *
+     * @param tempDir
+     *            a temporary directory for the jarfile.
+     * @throws IOException
+     *             if the jarfile could not be written or read.
+     */
+    @Test
+    public void cachedSummaryAnswersProbe(@TempDir final Path tempDir) throws IOException {
+        final var jar = tempDir.resolve("summarized.jar");
+        writeJar(jar, "Manifest-Version: 1.0\r\nClass-Path: other.jar\r\n", "META-INF/MANIFEST.MF", "pkg/A.class",
+                "pkg/sub/B.txt");
+        try (var vfs = new Vfs(new VfsSpec().enableArchiveSummaryCache())) {
+            vfs.open(jar.toString());
+        }
+
+        // Overwrite the jarfile in place with bytes that are not a zipfile, keeping its size and last modified
+        // time, so that a probe can only succeed if it does not read the jarfile
+        final var lastModifiedTime = Files.getLastModifiedTime(jar);
+        Files.write(jar, new byte[(int) Files.size(jar)], StandardOpenOption.WRITE);
+        Files.setLastModifiedTime(jar, lastModifiedTime);
+        try (var vfs = new Vfs(new VfsSpec().enableArchiveSummaryCache())) {
+            final var probe = vfs.probe(jar.toString(), List.of("pkg/A.class", "pkg/Missing.class"),
+                    List.of("pkg/sub/", "missing/"), null);
+            assertThat(probe).isNotNull();
+            assertThat(probe.getManifestEntry("Class-Path")).isEqualTo("other.jar");
+            assertThat(probe.entryNamesFound()).containsExactly("pkg/A.class");
+            assertThat(probe.entryNamePrefixesFound()).containsExactly("pkg/sub/");
+        }
+
+        // Once the jarfile's last modified time changes, the summary is no longer used
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(lastModifiedTime.toMillis() + 10_000L));
+        try (var vfs = new Vfs(new VfsSpec().enableArchiveSummaryCache())) {
+            assertThatThrownBy(() -> vfs.probe(jar.toString(), List.of("pkg/A.class"), List.of(), null))
+                    .isInstanceOf(IOException.class);
+        }
+    }
+
+    /**
+     * A directory, a nested jarfile and a non-ASCII entry name cannot be probed, so the caller is told to open the
+     * path instead.
+     *
+     * @param tempDir
+     *            a temporary directory for the jarfile.
+     * @throws IOException
+     *             if the jarfile could not be written or read.
+     */
+    @Test
+    public void unprobeablePathsGiveNull(@TempDir final Path tempDir) throws IOException {
+        final var jar = tempDir.resolve("outer.jar");
+        writeJar(jar, null, null, "inner.jar");
+        try (var vfs = new Vfs()) {
+            assertThat(vfs.probe(tempDir.toString(), List.of("a.txt"), List.of(), null)).isNull();
+            assertThat(vfs.probe(jar + "!/inner.jar", List.of("a.txt"), List.of(), null)).isNull();
+            assertThat(vfs.probe(jar.toString(), List.of("café.txt"), List.of(), null)).isNull();
+            assertThat(vfs.probe(tempDir.resolve("missing.jar").toString(), List.of("a.txt"), List.of(), null))
+                    .isNull();
+        }
+    }
+}
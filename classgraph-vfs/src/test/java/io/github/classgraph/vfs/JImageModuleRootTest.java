@@ -0,0 +1,83 @@
+package io.github.classgraph.vfs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.lang.module.ModuleFinder;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that a module of the running JDK read straight from the JDK's module image, with
+ * {@link VfsSpec#enableJImageReader()} set, reads the same as the module read through the {@code jrt:} filesystem.
+ */
+public class JImageModuleRootTest {
+    /**
+     * The entries of a module read from the module image have the same names, URIs and content as the entries read
+     * through the {@code jrt:} filesystem, and are looked up the same way.
+     *
+     * @throws IOException
+     *             if the module could not be read.
+     */
+    @Test
+    public void readsTheSameAsTheJrtFilesystem() throws IOException {
+        final var moduleReference = ModuleFinder.ofSystem().find("java.logging").orElseThrow();
+        try (var jrtVfs = new Vfs(); var jimageVfs = new Vfs(new VfsSpec().enableJImageReader())) {
+            final var jrtRoot = jrtVfs.open(moduleReference);
+            final var jimageRoot = jimageVfs.open(moduleReference);
+            assertThat(jrtRoot).isInstanceOf(ModuleRoot.class);
+            assertThat(jimageRoot).isInstanceOf(JImageModuleRoot.class);
+            assertThat(jimageRoot.getPath()).isEqualTo(jrtRoot.getPath());
+            assertThat(jimageRoot.getURI()).isEqualTo(jrtRoot.getURI());
+            assertThat(jimageRoot.getModuleName()).isEqualTo("java.logging");
+
+            final var jrtEntries = jrtRoot.getEntries();
+            final var jimageEntries = jimageRoot.getEntries();
+            final List<String> jrtNames = new ArrayList<>();
+            jrtEntries.forEach(entry -> jrtNames.add(entry.getName()));
+            final List<String> jimageNames = new ArrayList<>();
+            jimageEntries.forEach(entry -> jimageNames.add(entry.getName()));
+            assertThat(jimageNames).containsExactlyElementsOf(jrtNames).contains("module-info.class");
+
+            for (var i = 0; i < jrtEntries.size(); i++) {
+                final var jrtEntry = jrtEntries.get(i);
+                final var jimageEntry = jimageEntries.get(i);
+                assertThat(jimageEntry.getPath()).isEqualTo(jrtEntry.getPath());
+                assertThat(jimageEntry.getURI()).isEqualTo(jrtEntry.getURI());
+                final var content = jrtEntry.load();
+                assertThat(jimageEntry.load()).isEqualTo(content);
+                assertThat(jimageEntry.getLength()).isEqualTo(content.length);
+                try (var buffer = jimageEntry.read(); var inputStream = jimageEntry.open()) {
+                    final var bytes = new byte[buffer.getByteBuffer().remaining()];
+                    buffer.getByteBuffer().get(bytes);
+                    assertThat(bytes).isEqualTo(content);
+                    assertThat(inputStream.readAllBytes()).isEqualTo(content);
+                }
+            }
+
+            final var entry = jimageRoot.getEntry("java/util/logging/Logger.class");
+            assertThat(entry).isNotNull();
+            assertThat(entry.getPath()).isEqualTo("java.logging/java/util/logging/Logger.class");
+            assertThat(jimageRoot.getEntry("java/util/logging/Missing.class")).isNull();
+            assertThat(jimageRoot.getEntry("java/util/logging")).isNull();
+            // A resource of another module is not a resource of this one
+            assertThat(jimageRoot.getEntry("java/lang/Object.class")).isNull();
+        }
+    }
+
+    /**
+     * The module image is not read unless {@link VfsSpec#enableJImageReader()} is set.
+     *
+     * @throws IOException
+     *             if the module could not be opened.
+     */
+    @Test
+    public void jrtFilesystemIsTheDefault() throws IOException {
+        final var moduleReference = ModuleFinder.ofSystem().find("java.logging").orElseThrow();
+        try (var vfs = new Vfs()) {
+            assertThat(vfs.open(moduleReference)).isInstanceOf(ModuleRoot.class);
+        }
+    }
+}
@@ -25,8 +25,10 @@ import java.nio.file.attribute.BasicFileAttributeView;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Random;
 import java.util.stream.Stream;
 import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
@@ -271,6 +273,49 @@ public class VfsFileSystemTest {
         }
     }
 
+    /**
+     * A directory stream returns the children of a directory in the order of their simple names, each one once,
+     * even where a child's name sorts between a directory and the names below it, and finds them as it goes, so
+     * that closing the stream part way through stops it.
+     *
+     * @param tempDir
+     *            a temporary directory.
+     * @throws IOException
+     *             if the jarfile could not be written or read.
+     */
+    @Test
+    public void directoryStreamReturnsChildrenInOrderAsItGoes(@TempDir final Path tempDir) throws IOException {
+        final var jarFile = tempDir.resolve("order.jar").toFile();
+        try (var fileOut = new FileOutputStream(jarFile); var zipOut = new ZipOutputStream(fileOut)) {
+            // In plain string order, "p/a-b.txt" and "p/a.txt" sort between the file "p/a" and "p/a/x.txt"
+            for (final var entryName : List.of("p/a0", "p/a.txt", "p/a/x.txt", "q.txt", "p/a-b.txt", "p/a/y/z",
+                    "p/a")) {
+                zipOut.putNextEntry(new ZipEntry(entryName));
+                zipOut.write(entryName.getBytes(StandardCharsets.UTF_8));
+                zipOut.closeEntry();
+            }
+        }
+
+        try (var vfs = new Vfs()) {
+            final var fileSystem = vfs.open(jarFile).asFileSystem();
+            final List<String> children = new ArrayList<>();
+            try (var stream = Files.newDirectoryStream(fileSystem.getPath("/p"))) {
+                stream.forEach(path -> children.add(path.toString()));
+            }
+            assertThat(children).containsExactly("/p/a", "/p/a-b.txt", "/p/a.txt", "/p/a0");
+            assertThat(Files.isDirectory(fileSystem.getPath("/p/a"))).isFalse();
+            assertThat(Files.isDirectory(fileSystem.getPath("/p/a/y"))).isTrue();
+            assertThat(Files.readAllBytes(fileSystem.getPath("/p/a/y/z")))
+                    .isEqualTo("p/a/y/z".getBytes(StandardCharsets.UTF_8));
+
+            final var stream = Files.newDirectoryStream(fileSystem.getPath("/"));
+            final var iterator = stream.iterator();
+            assertThat(iterator.next().toString()).isEqualTo("/p");
+            stream.close();
+            assertThat(iterator.hasNext()).isFalse();
+        }
+    }
+
     /**
      * Read a directory stream into a sorted list of path strings.
      *
@@ -1097,4 +1142,132 @@ public class VfsFileSystemTest {
             assertThat(negated.matches(fileSystem.getPath("/rootrtxt"))).isFalse();
         }
     }
+
+    /**
+     * A byte channel over a zip entry reads the entry in place, or inflates it as far as the reads reach, rather
+     * than reading the whole entry when it is opened -- and reads the same bytes at any position, whichever way it
+     * seeks there.
+     *
+     * @param tempDir
+     *            a temporary directory.
+     * @throws IOException
+     *             if the jarfile could not be written or read.
+     */
+    @Test
+    public void seeksWithinStoredAndDeflatedEntries(@TempDir final Path tempDir) throws IOException {
+        // Several chunks' worth of compressible content, so that seeks cross the chunks of an inflating channel
+        final var content = new byte[5 * EntryByteChannel.Inflating.CHUNK_SIZE + 123];
+        final var random = new Random(42);
+        for (var i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + random.nextInt(4));
+        }
+        final var jarFile = tempDir.resolve("large.jar").toFile();
+        try (var fileOut = new FileOutputStream(jarFile); var zipOut = new ZipOutputStream(fileOut)) {
+            final var stored = new ZipEntry("stored.bin");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(content.length);
+            stored.setCompressedSize(content.length);
+            final var crc = new CRC32();
+            crc.update(content);
+            stored.setCrc(crc.getValue());
+            zipOut.putNextEntry(stored);
+            zipOut.write(content);
+            zipOut.closeEntry();
+            zipOut.putNextEntry(new ZipEntry("deflated.bin"));
+            zipOut.write(content);
+            zipOut.closeEntry();
+        }
+
+        // Forward, backward within a chunk, backward across chunks, the very end, and beyond the end
+        final long[] positions = { 0, 70_000, 69_990, 300_000, 10, content.length - 5, 150_000,
+                content.length + 7 };
+        for (final var memoryMapping : List.of(false, true)) {
+            try (var vfs = new Vfs(new VfsSpec().setMemoryMappingFiles(memoryMapping))) {
+                final var fileSystem = vfs.open(jarFile).asFileSystem();
+                for (final var name : List.of("stored.bin", "deflated.bin")) {
+                    try (var channel = Files.newByteChannel(fileSystem.getPath(name))) {
+                        assertThat(channel).isInstanceOf(name.startsWith("stored") ? EntryByteChannel.Stored.class
+                                : EntryByteChannel.Inflating.class);
+                        assertThat(channel.size()).isEqualTo(content.length);
+                        for (final var position : positions) {
+                            channel.position(position);
+                            // A direct buffer has no array to read into, so is filled another way
+                            final var buffer = position % 2 == 0 ? ByteBuffer.allocate(20)
+                                    : ByteBuffer.allocateDirect(20);
+                            final var numBytesRead = channel.read(buffer);
+                            if (position >= content.length) {
+                                assertThat(numBytesRead).isEqualTo(-1);
+                                continue;
+                            }
+                            final var expectedLength = (int) Math.min(20, content.length - position);
+                            assertThat(numBytesRead).isEqualTo(expectedLength);
+                            final var bytesRead = new byte[numBytesRead];
+                            buffer.flip().get(bytesRead);
+                            assertThat(bytesRead).isEqualTo(
+                                    Arrays.copyOfRange(content, (int) position, (int) position + expectedLength));
+                            assertThat(channel.position()).isEqualTo(position + numBytesRead);
+                        }
+
+                        // Reading from the start to the end gives the whole content
+                        channel.position(0);
+                        final var whole = ByteBuffer.allocate(content.length);
+                        while (whole.hasRemaining() && channel.read(whole) > 0) {
+                            // Keep reading
+                        }
+                        assertThat(whole.array()).isEqualTo(content);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Seeking back and forth many times over a large deflated entry, as reading the central directory of a nested
+     * archive and then each of its entries does, inflates the entry at most twice, whether the inflated copy that
+     * the backward seeks are served from is kept in RAM or in a temporary file, which is deleted as soon as the
+     * channel is closed.
+     *
+     * @param tempDir
+     *            a temporary directory.
+     * @throws IOException
+     *             if the jarfile could not be written or read.
+     */
+    @Test
+    public void backwardSeeksInflateDeflatedEntryAtMostTwice(@TempDir final Path tempDir) throws IOException {
+        final var content = new byte[4 * 1024 * 1024];
+        final var random = new Random(7);
+        for (var i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + random.nextInt(8));
+        }
+        final var jarFile = tempDir.resolve("nested.jar").toFile();
+        try (var fileOut = new FileOutputStream(jarFile); var zipOut = new ZipOutputStream(fileOut)) {
+            zipOut.putNextEntry(new ZipEntry("deflated.bin"));
+            zipOut.write(content);
+            zipOut.closeEntry();
+        }
+
+        for (final var maxBufferedJarRAMSize : List.of(VfsSpec.DEFAULT_MAX_BUFFERED_JAR_RAM_SIZE, 64 * 1024)) {
+            try (var vfs = new Vfs(new VfsSpec().setMaxBufferedJarRAMSize(maxBufferedJarRAMSize))) {
+                final var fileSystem = vfs.open(jarFile).asFileSystem();
+                try (var channel = (EntryByteChannel.Inflating) Files
+                        .newByteChannel(fileSystem.getPath("deflated.bin"))) {
+                    // Read near the end, as for a central directory, then seek back to 200 places in turn
+                    final var numSeeks = 200;
+                    for (var i = 0; i <= numSeeks; i++) {
+                        final var position = i == 0 ? content.length - 100
+                                : (long) (numSeeks - i) * (content.length / numSeeks);
+                        final var buffer = ByteBuffer.allocate(32);
+                        channel.position(position);
+                        assertThat(channel.read(buffer)).isEqualTo(32);
+                        assertThat(buffer.array())
+                                .isEqualTo(Arrays.copyOfRange(content, (int) position, (int) position + 32));
+                    }
+                    assertThat(channel.numBytesInflated).isLessThanOrEqualTo(2L * content.length);
+                    assertThat(vfs.hasTempFiles()).isEqualTo(maxBufferedJarRAMSize < content.length);
+                }
+                // Closing the channel deletes the temporary file that held the inflated copy
+                assertThat(vfs.hasTempFiles()).isFalse();
+            }
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package io.github.classgraph.vfs.internal.zip;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link EntryNameFilter}, which must never rule out an entry name or a directory that it was built from, and
+ * should rule out most of the names it was not built from.
+ */
+public class EntryNameFilterTest {
+    /** Every entry name, and every directory an entry is in, is reported as possibly present. */
+    @Test
+    public void holdsEveryEntryAndAncestralDirectory() {
+        final List<String> entryNames = new ArrayList<>();
+        for (var i = 0; i < 2000; i++) {
+            entryNames.add("com/xyz/pkg" + (i % 37) + "/sub" + (i % 5) + "/Class" + i + ".class");
+        }
+        entryNames.add("META-INF/MANIFEST.MF");
+        entryNames.add("root.txt");
+        entryNames.add("dir/only/");
+        final var filter = EntryNameFilter.of(entryNames);
+        for (final String entryName : entryNames) {
+            assertThat(filter.mightContain(entryName)).as(entryName).isTrue();
+        }
+        for (var i = 0; i < 37; i++) {
+            assertThat(filter.mightContain("com/xyz/pkg" + i + "/")).isTrue();
+            assertThat(filter.mightContain("com/xyz/pkg" + i + "/sub" + (i % 5) + "/")).isTrue();
+        }
+        assertThat(filter.mightContain("com/")).isTrue();
+        assertThat(filter.mightContain("com/xyz/")).isTrue();
+        assertThat(filter.mightContain("META-INF/")).isTrue();
+        assertThat(filter.mightContain("dir/")).isTrue();
+        assertThat(filter.mightContain("")).isTrue();
+    }
+
+    /** Names that the filter was not built from are almost all ruled out. */
+    @Test
+    public void rulesOutMostOtherNames() {
+        final List<String> entryNames = new ArrayList<>();
+        for (var i = 0; i < 5000; i++) {
+            entryNames.add("org/example/p" + (i % 50) + "/C" + i + ".class");
+        }
+        final var filter = EntryNameFilter.of(entryNames);
+        assertThat(filter.mightContain("com/mycorp/")).isFalse();
+        assertThat(filter.mightContain("org/example/C1.class")).isFalse();
+        assertThat(filter.mightContain("org/example/p1")).isFalse();
+        var falsePositives = 0;
+        for (var i = 0; i < 10_000; i++) {
+            if (filter.mightContain("com/mycorp/p" + i + "/")) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(200);
+    }
+}
@@ -0,0 +1,638 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph.viz;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ClassInfo.Relation;
+import io.github.classgraph.ClassInfoList;
+import io.github.classgraph.ScanResult;
+
+/**
+ * Exports the class graph found by ClassGraph in compact, machine-oriented formats, for loading into a graph
+ * database or an offline analysis: CSV or TSV node and edge lists,
+ * <a href="http://graphml.graphdrawing.org/">GraphML</a>, and a binary edge list. Unlike a {@link GraphVizDotFile},
+ * which is only readable when drawn, and only drawable for a few hundred classes, these formats scale to hundreds
+ * of thousands of classes.
+ *
+ * <p>
+ * The nodes of the graph are the classes passed in, and each node is given an id, which is the index of the class
+ * in that list (counting each class once). The edges are the direct relationships between those classes, read
+ * straight from the class graph with {@link ClassInfo#forEachDirectlyRelatedClass} -- an edge to a class that is
+ * not a node is left out. Every exporter writes its output in pieces as it goes, so memory use is bounded by the
+ * number of classes, not by the size of the output. The output is not closed or flushed.
+ *
+ * <p>
+ * The edges that are exported are chosen by a set of {@link Relation}s. By default they are
+ * {@link Relation#SUPERCLASS}, {@link Relation#IMPLEMENTED_INTERFACE} and {@link Relation#CLASS_ANNOTATION}, plus
+ * {@link Relation#DEPENDENCY} if {@link ClassGraph#enableInterClassDependencies()} was called before scanning.
+ */
+public final class ClassGraphExport {
+    /**
+     * How many characters or bytes of output are buffered before they are passed on, so that the output is written
+     * in pieces of about this size.
+     */
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    /** The magic number at the start of a binary edge list: {@code "CGEL"}. */
+    static final int BINARY_MAGIC = 0x4347454C;
+
+    /** The version of the binary edge list format. */
+    static final int BINARY_VERSION = 1;
+
+    /** The byte that ends the edges of a binary edge list. */
+    static final int BINARY_END_OF_EDGES = 0xFF;
+
+    /** The names of the kinds of class, indexed by the kind code written to a binary edge list. */
+    private static final String[] KIND_NAMES = { "class", "interface", "annotation", "enum", "record" };
+
+    /**
+     * Constructor.
+     */
+    private ClassGraphExport() {
+        // Cannot be constructed
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The nodes of a graph: the classes passed in, each counted once, and the id of each one.
+     *
+     * @param classes
+     *            the classes, in id order.
+     * @param ids
+     *            the id of each class.
+     */
+    private record Nodes(List<ClassInfo> classes, Map<ClassInfo, Integer> ids) {
+        /**
+         * Number the classes.
+         *
+         * @param classInfoList
+         *            the classes.
+         * @return the nodes.
+         */
+        static Nodes of(final ClassInfoList classInfoList) {
+            final List<ClassInfo> classes = new ArrayList<>(classInfoList.size());
+            final Map<ClassInfo, Integer> ids = new HashMap<>(classInfoList.size() * 2);
+            for (final ClassInfo ci : classInfoList) {
+                if (ids.putIfAbsent(ci, classes.size()) == null) {
+                    classes.add(ci);
+                }
+            }
+            return new Nodes(classes, ids);
+        }
+    }
+
+    /** Receives one edge of a graph. */
+    @FunctionalInterface
+    private interface EdgeVisitor {
+        /**
+         * Receive an edge.
+         *
+         * @param sourceId
+         *            the id of the class the edge starts at.
+         * @param targetId
+         *            the id of the class the edge ends at.
+         * @param relation
+         *            how the classes are related.
+         */
+        void visit(int sourceId, int targetId, Relation relation);
+    }
+
+    /**
+     * Check the arguments of an export, and choose the relations to export.
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @param classes
+     *            the classes to export.
+     * @param relations
+     *            the relations to export, or null for the default relations.
+     * @return the relations to export.
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableClassInfo()} was not called before scanning, or if
+     *             {@link Relation#DEPENDENCY} is asked for and {@link ClassGraph#enableInterClassDependencies()}
+     *             was not called before scanning.
+     */
+    private static Set<Relation> checkArguments(final ScanResult scanResult, final ClassInfoList classes,
+            final Set<Relation> relations) {
+        Objects.requireNonNull(scanResult, "scanResult must not be null");
+        Objects.requireNonNull(classes, "classes must not be null");
+        Objects.requireNonNull(relations, "relations must not be null");
+        if (!scanResult.isClassInfoEnabled()) {
+            throw new IllegalStateException("Please call ClassGraph#enableClassInfo() before #scan()");
+        }
+        if (relations.contains(Relation.DEPENDENCY) && !scanResult.isInterClassDependenciesEnabled()) {
+            throw new IllegalStateException("Please call ClassGraph#enableInterClassDependencies() before #scan()");
+        }
+        return relations.isEmpty() ? EnumSet.noneOf(Relation.class) : EnumSet.copyOf(relations);
+    }
+
+    /**
+     * Returns the relations that are exported by default.
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @return the superclass, implemented interface and class annotation relations, plus the dependency relation if
+     *         {@link ClassGraph#enableInterClassDependencies()} was called before scanning.
+     */
+    public static Set<Relation> defaultRelations(final ScanResult scanResult) {
+        Objects.requireNonNull(scanResult, "scanResult must not be null");
+        final var relations = EnumSet.of(Relation.SUPERCLASS, Relation.IMPLEMENTED_INTERFACE,
+                Relation.CLASS_ANNOTATION);
+        if (scanResult.isInterClassDependenciesEnabled()) {
+            relations.add(Relation.DEPENDENCY);
+        }
+        return relations;
+    }
+
+    /**
+     * Pass each edge from one class to the nodes it is related to an edge visitor.
+     *
+     * @param nodes
+     *            the nodes of the graph.
+     * @param sourceId
+     *            the id of the class.
+     * @param relations
+     *            the relations to export.
+     * @param visitor
+     *            the edge visitor.
+     */
+    private static void visitEdges(final Nodes nodes, final int sourceId, final Set<Relation> relations,
+            final EdgeVisitor visitor) {
+        final var source = nodes.classes().get(sourceId);
+        for (final var relation : relations) {
+            source.forEachDirectlyRelatedClass(relation, target -> {
+                final var targetId = nodes.ids().get(target);
+                if (targetId != null) {
+                    visitor.visit(sourceId, targetId, relation);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the kind code of a class, which indexes {@link #KIND_NAMES}.
+     *
+     * @param ci
+     *            the class.
+     * @return the kind code.
+     */
+    private static int kindOf(final ClassInfo ci) {
+        if (ci.isAnnotation()) {
+            return 2;
+        } else if (ci.isInterface()) {
+            return 1;
+        } else if (ci.isEnum()) {
+            return 3;
+        } else if (ci.isRecord()) {
+            return 4;
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Pass the buffered output on, once enough of it has been buffered.
+     *
+     * @param buf
+     *            the buffer
+     * @param out
+     *            the output
+     * @throws IOException
+     *             if the output could not be written to
+     */
+    private static void flushIfFull(final StringBuilder buf, final Appendable out) throws IOException {
+        if (buf.length() >= FLUSH_THRESHOLD) {
+            out.append(buf);
+            buf.setLength(0);
+        }
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Append a CSV or TSV field, quoting it if it holds the delimiter, a double quote or a line break, as RFC 4180
+     * specifies.
+     *
+     * @param field
+     *            the field
+     * @param delimiter
+     *            the field delimiter
+     * @param buf
+     *            the buffer to append to
+     */
+    private static void appendDelimitedField(final String field, final char delimiter, final StringBuilder buf) {
+        var needsQuoting = false;
+        for (var i = 0; i < field.length(); i++) {
+            final var c = field.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                needsQuoting = true;
+                break;
+            }
+        }
+        if (!needsQuoting) {
+            buf.append(field);
+            return;
+        }
+        buf.append('"');
+        for (var i = 0; i < field.length(); i++) {
+            final var c = field.charAt(i);
+            if (c == '"') {
+                buf.append('"');
+            }
+            buf.append(c);
+        }
+        buf.append('"');
+    }
+
+    /**
+     * Write the nodes of the class graph as a CSV or TSV file, with a header line and then one line per class:
+     * {@code id,name,kind,external}, where the kind is one of {@code class}, {@code interface}, {@code annotation},
+     * {@code enum} or {@code record}, and external is {@code true} or {@code false}. Lines end in {@code "\n"}.
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @param classes
+     *            the classes to export, e.g. {@link ScanResult#getAllClasses()}.
+     * @param delimiter
+     *            the field delimiter: {@code ','} for CSV, or {@code '\t'} for TSV.
+     * @param out
+     *            the output, e.g. a {@link java.io.BufferedWriter}.
+     * @throws IOException
+     *             if the output could not be written to.
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableClassInfo()} was not called before scanning.
+     */
+    public static void writeNodeList(final ScanResult scanResult, final ClassInfoList classes, final char delimiter,
+            final Appendable out) throws IOException {
+        checkArguments(scanResult, classes, EnumSet.noneOf(Relation.class));
+        Objects.requireNonNull(out, "out must not be null");
+        final var nodes = Nodes.of(classes);
+        final var buf = new StringBuilder(FLUSH_THRESHOLD + FLUSH_THRESHOLD / 4);
+        buf.append("id").append(delimiter).append("name").append(delimiter).append("kind").append(delimiter)
+                .append("external\n");
+        for (var id = 0; id < nodes.classes().size(); id++) {
+            final var ci = nodes.classes().get(id);
+            buf.append(id).append(delimiter);
+            appendDelimitedField(ci.getName(), delimiter, buf);
+            buf.append(delimiter).append(KIND_NAMES[kindOf(ci)]).append(delimiter).append(ci.isExternalClass())
+                    .append('\n');
+            flushIfFull(buf, out);
+        }
+        out.append(buf);
+    }
+
+    /**
+     * Write the edges of the class graph as a CSV or TSV file, with a header line and then one line per edge:
+     * {@code source,target,relation}, where the source and target are the ids of the classes, as written by
+     * {@link #writeNodeList(ScanResult, ClassInfoList, char, Appendable)} for the same list of classes, and the
+     * relation is the name of a {@link Relation}. Lines end in {@code "\n"}.
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @param classes
+     *            the classes to export, e.g. {@link ScanResult#getAllClasses()}.
+     * @param relations
+     *            the relations to export as edges.
+     * @param delimiter
+     *            the field delimiter: {@code ','} for CSV, or {@code '\t'} for TSV.
+     * @param out
+     *            the output, e.g. a {@link java.io.BufferedWriter}.
+     * @throws IOException
+     *             if the output could not be written to.
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableClassInfo()} was not called before scanning, or if
+     *             {@link Relation#DEPENDENCY} is asked for and {@link ClassGraph#enableInterClassDependencies()}
+     *             was not called before scanning.
+     */
+    public static void writeEdgeList(final ScanResult scanResult, final ClassInfoList classes,
+            final Set<Relation> relations, final char delimiter, final Appendable out) throws IOException {
+        final var relationsToExport = checkArguments(scanResult, classes, relations);
+        Objects.requireNonNull(out, "out must not be null");
+        final var nodes = Nodes.of(classes);
+        final var buf = new StringBuilder(FLUSH_THRESHOLD + FLUSH_THRESHOLD / 4);
+        buf.append("source").append(delimiter).append("target").append(delimiter).append("relation\n");
+        for (var id = 0; id < nodes.classes().size(); id++) {
+            visitEdges(nodes, id, relationsToExport, (sourceId, targetId, relation) -> buf.append(sourceId)
+                    .append(delimiter).append(targetId).append(delimiter).append(relation.name()).append('\n'));
+            flushIfFull(buf, out);
+        }
+        out.append(buf);
+    }
+
+    /**
+     * Write the edges of the class graph as a CSV or TSV file, exporting the {@link #defaultRelations(ScanResult)}
+     * -- see {@link #writeEdgeList(ScanResult, ClassInfoList, Set, char, Appendable)}.
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @param classes
+     *            the classes to export, e.g. {@link ScanResult#getAllClasses()}.
+     * @param delimiter
+     *            the field delimiter: {@code ','} for CSV, or {@code '\t'} for TSV.
+     * @param out
+     *            the output, e.g. a {@link java.io.BufferedWriter}.
+     * @throws IOException
+     *             if the output could not be written to.
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableClassInfo()} was not called before scanning.
+     */
+    public static void writeEdgeList(final ScanResult scanResult, final ClassInfoList classes, final char delimiter,
+            final Appendable out) throws IOException {
+        writeEdgeList(scanResult, classes, defaultRelations(scanResult), delimiter, out);
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Append text to an XML document, escaping the characters that XML reserves.
+     *
+     * @param text
+     *            the text
+     * @param buf
+     *            the buffer to append to
+     */
+    private static void appendXmlEscaped(final String text, final StringBuilder buf) {
+        for (var i = 0; i < text.length(); i++) {
+            final var c = text.charAt(i);
+            switch (c) {
+            case '&' -> buf.append("&amp;");
+            case '<' -> buf.append("&lt;");
+            case '>' -> buf.append("&gt;");
+            case '"' -> buf.append("&quot;");
+            case '\'' -> buf.append("&apos;");
+            default -> buf.append(c);
+            }
+        }
+    }
+
+    /**
+     * Write the class graph as a <a href="http://graphml.graphdrawing.org/">GraphML</a> document: a directed graph
+     * with a node per class, whose id is {@code "n"} followed by the id of the class, with the data keys
+     * {@code name}, {@code kind} and {@code external}, and an edge per relationship, with the data key
+     * {@code relation}.
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @param classes
+     *            the classes to export, e.g. {@link ScanResult#getAllClasses()}.
+     * @param relations
+     *            the relations to export as edges.
+     * @param out
+     *            the output, e.g. a {@link java.io.BufferedWriter}, which should encode the document in UTF-8.
+     * @throws IOException
+     *             if the output could not be written to.
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableClassInfo()} was not called before scanning, or if
+     *             {@link Relation#DEPENDENCY} is asked for and {@link ClassGraph#enableInterClassDependencies()}
+     *             was not called before scanning.
+     */
+    public static void writeGraphML(final ScanResult scanResult, final ClassInfoList classes,
+            final Set<Relation> relations, final Appendable out) throws IOException {
+        final var relationsToExport = checkArguments(scanResult, classes, relations);
+        Objects.requireNonNull(out, "out must not be null");
+        final var nodes = Nodes.of(classes);
+        final var buf = new StringBuilder(FLUSH_THRESHOLD + FLUSH_THRESHOLD / 4);
+        buf.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        buf.append("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+        buf.append("  <key id=\"name\" for=\"node\" attr.name=\"name\" attr.type=\"string\"/>\n");
+        buf.append("  <key id=\"kind\" for=\"node\" attr.name=\"kind\" attr.type=\"string\"/>\n");
+        buf.append("  <key id=\"external\" for=\"node\" attr.name=\"external\" attr.type=\"boolean\"/>\n");
+        buf.append("  <key id=\"relation\" for=\"edge\" attr.name=\"relation\" attr.type=\"string\"/>\n");
+        buf.append("  <graph id=\"classgraph\" edgedefault=\"directed\">\n");
+        for (var id = 0; id < nodes.classes().size(); id++) {
+            final var ci = nodes.classes().get(id);
+            buf.append("    <node id=\"n").append(id).append("\"><data key=\"name\">");
+            appendXmlEscaped(ci.getName(), buf);
+            buf.append("</data><data key=\"kind\">").append(KIND_NAMES[kindOf(ci)])
+                    .append("</data><data key=\"external\">").append(ci.isExternalClass())
+                    .append("</data></node>\n");
+            flushIfFull(buf, out);
+        }
+        for (var id = 0; id < nodes.classes().size(); id++) {
+            visitEdges(nodes, id, relationsToExport,
+                    (sourceId, targetId, relation) -> buf.append("    <edge source=\"n").append(sourceId)
+                            .append("\" target=\"n").append(targetId).append("\"><data key=\"relation\">")
+                            .append(relation.name()).append("</data></edge>\n"));
+            flushIfFull(buf, out);
+        }
+        buf.append("  </graph>\n</graphml>\n");
+        out.append(buf);
+    }
+
+    /**
+     * Write the class graph as a <a href="http://graphml.graphdrawing.org/">GraphML</a> document, exporting the
+     * {@link #defaultRelations(ScanResult)} -- see
+     * {@link #writeGraphML(ScanResult, ClassInfoList, Set, Appendable)}.
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @param classes
+     *            the classes to export, e.g. {@link ScanResult#getAllClasses()}.
+     * @param out
+     *            the output, e.g. a {@link java.io.BufferedWriter}, which should encode the document in UTF-8.
+     * @throws IOException
+     *             if the output could not be written to.
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableClassInfo()} was not called before scanning.
+     */
+    public static void writeGraphML(final ScanResult scanResult, final ClassInfoList classes, final Appendable out)
+            throws IOException {
+        writeGraphML(scanResult, classes, defaultRelations(scanResult), out);
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A buffer for binary output. Unlike {@link java.io.ByteArrayOutputStream}, it does not synchronize each write,
+     * which would be most of the cost of writing an edge list a byte or two at a time.
+     */
+    private static final class ByteBuf {
+        /** The buffered bytes. */
+        private byte[] bytes = new byte[FLUSH_THRESHOLD + FLUSH_THRESHOLD / 4];
+
+        /** The number of buffered bytes. */
+        private int size;
+
+        /**
+         * Write a byte.
+         *
+         * @param b
+         *            the byte, in the low eight bits.
+         */
+        void write(final int b) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[size++] = (byte) b;
+        }
+
+        /**
+         * Write bytes.
+         *
+         * @param b
+         *            the bytes.
+         */
+        void write(final byte[] b) {
+            if (size + b.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + b.length));
+            }
+            System.arraycopy(b, 0, bytes, size, b.length);
+            size += b.length;
+        }
+
+        /**
+         * Write an unsigned variable-length integer: seven bits per byte, least significant first, with the top bit
+         * of each byte set if another byte follows.
+         *
+         * @param value
+         *            the value, which must not be negative.
+         */
+        void writeVarInt(final int value) {
+            var remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                write((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            write(remaining);
+        }
+
+        /**
+         * Pass the buffered bytes on, once enough of them have been buffered, or if asked to.
+         *
+         * @param out
+         *            the output.
+         * @param force
+         *            true to pass on the buffered bytes however few there are.
+         * @throws IOException
+         *             if the output could not be written to.
+         */
+        void flush(final OutputStream out, final boolean force) throws IOException {
+            if (force || size >= FLUSH_THRESHOLD) {
+                out.write(bytes, 0, size);
+                size = 0;
+            }
+        }
+    }
+
+    /**
+     * Write the class graph as a compact binary edge list, in which each class name is written once, and each edge
+     * is written as the ids of its two classes. All integers are unsigned variable-length integers (seven bits per
+     * byte, least significant first, with the top bit of each byte set if another byte follows), except where a
+     * single byte is stated:
+     *
+     * <ol>
+     * <li>the magic number {@code "CGEL"}, as four ASCII bytes, then the format version (1), as a single byte;
+     * <li>the number of classes, then for each class, in id order, its kind as a single byte (0 for a class, 1 for
+     * an interface, 2 for an annotation, 3 for an enum, 4 for a record, plus 0x80 if the class is external), then
+     * the number of bytes of its name, then its name in UTF-8;
+     * <li>for each edge, the {@link Relation#ordinal()} of its relation as a single byte, then the id of the class
+     * it starts at, then the id of the class it ends at;
+     * <li>the single byte 0xFF, which ends the edges.
+     * </ol>
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @param classes
+     *            the classes to export, e.g. {@link ScanResult#getAllClasses()}.
+     * @param relations
+     *            the relations to export as edges.
+     * @param out
+     *            the output.
+     * @throws IOException
+     *             if the output could not be written to.
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableClassInfo()} was not called before scanning, or if
+     *             {@link Relation#DEPENDENCY} is asked for and {@link ClassGraph#enableInterClassDependencies()}
+     *             was not called before scanning.
+     */
+    public static void writeBinaryEdgeList(final ScanResult scanResult, final ClassInfoList classes,
+            final Set<Relation> relations, final OutputStream out) throws IOException {
+        final var relationsToExport = checkArguments(scanResult, classes, relations);
+        Objects.requireNonNull(out, "out must not be null");
+        final var nodes = Nodes.of(classes);
+        final var buf = new ByteBuf();
+        buf.write(BINARY_MAGIC >>> 24);
+        buf.write(BINARY_MAGIC >>> 16);
+        buf.write(BINARY_MAGIC >>> 8);
+        buf.write(BINARY_MAGIC);
+        buf.write(BINARY_VERSION);
+        buf.writeVarInt(nodes.classes().size());
+        for (final var ci : nodes.classes()) {
+            buf.write(kindOf(ci) | (ci.isExternalClass() ? 0x80 : 0));
+            final var nameBytes = ci.getName().getBytes(StandardCharsets.UTF_8);
+            buf.writeVarInt(nameBytes.length);
+            buf.write(nameBytes);
+            buf.flush(out, false);
+        }
+        for (var id = 0; id < nodes.classes().size(); id++) {
+            visitEdges(nodes, id, relationsToExport, (sourceId, targetId, relation) -> {
+                buf.write(relation.ordinal());
+                buf.writeVarInt(sourceId);
+                buf.writeVarInt(targetId);
+            });
+            buf.flush(out, false);
+        }
+        buf.write(BINARY_END_OF_EDGES);
+        buf.flush(out, true);
+    }
+
+    /**
+     * Write the class graph as a compact binary edge list, exporting the {@link #defaultRelations(ScanResult)} --
+     * see {@link #writeBinaryEdgeList(ScanResult, ClassInfoList, Set, OutputStream)}.
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @param classes
+     *            the classes to export, e.g. {@link ScanResult#getAllClasses()}.
+     * @param out
+     *            the output.
+     * @throws IOException
+     *             if the output could not be written to.
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableClassInfo()} was not called before scanning.
+     */
+    public static void writeBinaryEdgeList(final ScanResult scanResult, final ClassInfoList classes,
+            final OutputStream out) throws IOException {
+        writeBinaryEdgeList(scanResult, classes, defaultRelations(scanResult), out);
+    }
+}
@@ -29,10 +29,13 @@
 package io.github.classgraph.viz;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -41,12 +44,18 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.jspecify.annotations.Nullable;
+
 import io.github.classgraph.AnnotationInfo;
 import io.github.classgraph.AnnotationInfoList;
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ClassInfo.Relation;
 import io.github.classgraph.ClassInfoList;
 import io.github.classgraph.FieldInfo;
 import io.github.classgraph.MethodInfo;
@@ -67,6 +76,16 @@ import io.github.classgraph.ScanResult;
  * class to its superclass and superinterfaces.
  * {@link #generateFromInterClassDependencies(ScanResult, ClassInfoList, GraphVizDotFileOptions)} draws only the
  * names of the classes, connected by "depends upon" edges.
+ *
+ * <p>
+ * Each kind of graph can be returned as a {@link String}, or written to a file or to an {@link Appendable} such as
+ * a {@link java.io.Writer}. Writing passes the graph on in pieces as it is generated, so it is the way to render a
+ * graph too large to hold in memory as a single string.
+ *
+ * <p>
+ * The nodes and edges of a large graph can be generated on several threads at once, if requested (see
+ * {@link GraphVizDotFileOptions#setParallelism(int)}), in chunks that are written out in order, so the graph is the
+ * same however many threads generate it.
  */
 public final class GraphVizDotFile {
     /** The color for standard classes. */
@@ -81,6 +100,21 @@ public final class GraphVizDotFile {
     /** The wrap width for method annotations and method parameters. */
     private static final int WRAP_WIDTH = 40;
 
+    /**
+     * How many characters of the graph are buffered before they are passed on to the {@link Appendable} the graph
+     * is written to, so that the graph is written in pieces of about this size, rather than being built whole.
+     */
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    /** How many classes each task renders, when a graph is generated on more than one thread. */
+    private static final int CHUNK_SIZE = 256;
+
+    /**
+     * How many chunks each thread may have rendered or be rendering ahead of the chunk being written out, which
+     * bounds how much of the graph is held in memory at once.
+     */
+    private static final int CHUNKS_IN_FLIGHT_PER_THREAD = 4;
+
     /** Which characters are Unicode whitespace. */
     private static final BitSet IS_UNICODE_WHITESPACE = new BitSet(1 << 16);
 
@@ -664,6 +698,187 @@ public final class GraphVizDotFile {
                 .append(attributes).append('\n');
     }
 
+    /**
+     * Pass the buffered part of the graph on to the {@link Appendable} the graph is written to, once enough of it
+     * has been buffered.
+     *
+     * @param buf
+     *            the buffer
+     * @param out
+     *            the {@link Appendable} the graph is written to
+     * @throws IOException
+     *             if the {@link Appendable} could not be written to
+     */
+    private static void flushIfFull(final StringBuilder buf, final Appendable out) throws IOException {
+        if (buf.length() >= FLUSH_THRESHOLD) {
+            out.append(buf);
+            buf.setLength(0);
+        }
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Renders a part of the graph for one item -- a node, or the edges from a class -- into a buffer.
+     *
+     * @param <T>
+     *            the type of the item
+     */
+    @FunctionalInterface
+    private interface ItemRenderer<T> {
+        /**
+         * Render the part of the graph for an item.
+         *
+         * @param item
+         *            the item
+         * @param buf
+         *            the buffer to append to
+         */
+        void render(T item, StringBuilder buf);
+    }
+
+    /**
+     * Receives the result of each chunk of items, in the order of the items.
+     *
+     * @param <R>
+     *            the type of the result of a chunk
+     * @param <E>
+     *            the type of exception the consumer can throw
+     */
+    @FunctionalInterface
+    private interface ChunkConsumer<R, E extends Exception> {
+        /**
+         * Receive the result of a chunk.
+         *
+         * @param result
+         *            the result
+         * @throws E
+         *             if the result could not be consumed
+         */
+        void accept(R result) throws E;
+    }
+
+    /**
+     * Get the pool to generate a graph in.
+     *
+     * @param options
+     *            the graph options
+     * @return the pool, or null if the graph should be generated on the calling thread
+     */
+    private static @Nullable ForkJoinPool forkJoinPool(final GraphVizDotFileOptions options) {
+        if (options.parallelism == 0) {
+            final var commonPool = ForkJoinPool.commonPool();
+            return commonPool.getParallelism() > 1 ? commonPool : null;
+        }
+        return options.parallelism == 1 ? null : new ForkJoinPool(options.parallelism);
+    }
+
+    /**
+     * Shut down a pool returned by {@link #forkJoinPool(GraphVizDotFileOptions)}, unless it is shared.
+     *
+     * @param pool
+     *            the pool, or null
+     */
+    private static void shutdown(final @Nullable ForkJoinPool pool) {
+        if (pool != null && pool != ForkJoinPool.commonPool()) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Process a list of items in chunks, in a pool, and pass the result of each chunk to a consumer on the calling
+     * thread, in the order of the items. Only a few chunks per thread are processed ahead of the chunk that is
+     * being consumed, so the results of the chunks are not all held in memory at once. If the pool is null, or
+     * there is only one chunk, the chunks are processed on the calling thread.
+     *
+     * @param <T>
+     *            the type of the items
+     * @param <R>
+     *            the type of the result of a chunk
+     * @param <E>
+     *            the type of exception the consumer can throw
+     * @param items
+     *            the items
+     * @param processChunk
+     *            processes a chunk of items. Called on the threads of the pool.
+     * @param consumer
+     *            receives the result of each chunk. Called on the calling thread.
+     * @param pool
+     *            the pool, or null
+     * @throws E
+     *             if the consumer throws it
+     */
+    private static <T, R, E extends Exception> void processInChunks(final List<T> items,
+            final Function<List<T>, R> processChunk, final ChunkConsumer<R, E> consumer,
+            final @Nullable ForkJoinPool pool) throws E {
+        if (pool == null || items.size() <= CHUNK_SIZE) {
+            for (var start = 0; start < items.size(); start += CHUNK_SIZE) {
+                consumer.accept(
+                        processChunk.apply(items.subList(start, Math.min(start + CHUNK_SIZE, items.size()))));
+            }
+            return;
+        }
+        final var maxChunksInFlight = pool.getParallelism() * CHUNKS_IN_FLIGHT_PER_THREAD;
+        final Deque<ForkJoinTask<R>> chunksInFlight = new ArrayDeque<>(maxChunksInFlight);
+        try {
+            var start = 0;
+            while (start < items.size() || !chunksInFlight.isEmpty()) {
+                while (start < items.size() && chunksInFlight.size() < maxChunksInFlight) {
+                    final var chunk = items.subList(start, Math.min(start + CHUNK_SIZE, items.size()));
+                    chunksInFlight.add(pool.submit(() -> processChunk.apply(chunk)));
+                    start += chunk.size();
+                }
+                // Rethrows any exception thrown while processing the chunk
+                consumer.accept(chunksInFlight.remove().join());
+            }
+        } finally {
+            // If the consumer threw, or a chunk could not be processed, the remaining chunks are not needed
+            for (final var chunk : chunksInFlight) {
+                chunk.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Render a part of the graph for each item in a list, appending the parts in the order of the items. If a pool
+     * is given, the items are rendered in parallel, in chunks, otherwise they are rendered on the calling thread.
+     *
+     * @param <T>
+     *            the type of the items
+     * @param items
+     *            the items
+     * @param renderer
+     *            renders the part of the graph for an item
+     * @param pool
+     *            the pool to render the items in, or null to render them on this thread
+     * @param buf
+     *            the buffer to append to
+     * @param out
+     *            the {@link Appendable} the graph is written to
+     * @throws IOException
+     *             if the {@link Appendable} could not be written to
+     */
+    private static <T> void appendInChunks(final List<T> items, final ItemRenderer<T> renderer,
+            final @Nullable ForkJoinPool pool, final StringBuilder buf, final Appendable out) throws IOException {
+        if (pool == null) {
+            for (final T item : items) {
+                renderer.render(item, buf);
+                flushIfFull(buf, out);
+            }
+            return;
+        }
+        processInChunks(items, chunk -> {
+            final var chunkBuf = new StringBuilder();
+            for (final T item : chunk) {
+                renderer.render(item, chunkBuf);
+            }
+            return chunkBuf;
+        }, chunkBuf -> {
+            buf.append(chunkBuf);
+            flushIfFull(buf, out);
+        }, pool);
+    }
+
     /**
      * Append a class node for each class in a list.
      *
@@ -677,17 +892,23 @@ public final class GraphVizDotFile {
      *            the box background color
      * @param options
      *            the graph options
+     * @param pool
+     *            the pool to render the nodes in, or null to render them on this thread
      * @param buf
      *            the buffer to append to
+     * @param out
+     *            the {@link Appendable} the graph is written to
+     * @throws IOException
+     *             if the {@link Appendable} could not be written to
      */
     private static void appendClassNodes(final ScanResult scanResult, final ClassInfoList classNodes,
             final String shape, final String boxBgColor, final GraphVizDotFileOptions options,
-            final StringBuilder buf) {
-        for (final ClassInfo node : classNodes) {
-            buf.append('"').append(node.getName()).append('"');
-            labelClassNodeHTML(scanResult, node, shape, boxBgColor, options, buf);
-            buf.append(";\n");
-        }
+            final @Nullable ForkJoinPool pool, final StringBuilder buf, final Appendable out) throws IOException {
+        appendInChunks(classNodes, (node, nodeBuf) -> {
+            nodeBuf.append('"').append(node.getName()).append('"');
+            labelClassNodeHTML(scanResult, node, shape, boxBgColor, options, nodeBuf);
+            nodeBuf.append(";\n");
+        }, pool, buf, out);
     }
 
     /**
@@ -707,21 +928,15 @@ public final class GraphVizDotFile {
      */
     private static void appendStandardClassEdges(final ScanResult scanResult, final ClassInfo classNode,
             final Set<String> allVisibleNodes, final GraphVizDotFileOptions options, final StringBuilder buf) {
-        for (final ClassInfo directSuperclassNode : classNode.getAllSuperclasses().directOnly()) {
+        classNode.forEachDirectlyRelatedClass(Relation.SUPERCLASS, directSuperclassNode -> {
             if (allVisibleNodes.contains(directSuperclassNode.getName())
                     && !"java.lang.Object".equals(directSuperclassNode.getName())) {
                 // class --> superclass
                 appendEdge(classNode.getName(), directSuperclassNode.getName(), "[arrowsize=2.5]", buf);
             }
-        }
+        });
 
-        for (final ClassInfo implementedInterfaceNode : classNode.getDirectSuperinterfaces()) {
-            if (allVisibleNodes.contains(implementedInterfaceNode.getName())) {
-                // class --<> implemented interface
-                appendEdge(classNode.getName(), implementedInterfaceNode.getName(),
-                        "[arrowhead=diamond, arrowsize=2.5]", buf);
-            }
-        }
+        appendSuperinterfaceEdges(classNode, allVisibleNodes, buf);
 
         if (options.showFieldTypeDependencyEdges && scanResult.isFieldInfoEnabled()) {
             for (final FieldInfo fi : classNode.getDeclaredFieldInfo()) {
@@ -748,6 +963,78 @@ public final class GraphVizDotFile {
         }
     }
 
+    /**
+     * Append the edges from a standard class to the interfaces it implements, or from an interface to its
+     * superinterfaces.
+     *
+     * @param classNode
+     *            the class or interface to append edges for
+     * @param allVisibleNodes
+     *            the names of the classes that have a node in the graph
+     * @param buf
+     *            the buffer to append to
+     */
+    private static void appendSuperinterfaceEdges(final ClassInfo classNode, final Set<String> allVisibleNodes,
+            final StringBuilder buf) {
+        classNode.forEachDirectlyRelatedClass(Relation.IMPLEMENTED_INTERFACE, superinterfaceNode -> {
+            if (allVisibleNodes.contains(superinterfaceNode.getName())) {
+                // class --<> implemented interface, or interface --<> superinterface
+                appendEdge(classNode.getName(), superinterfaceNode.getName(), "[arrowhead=diamond, arrowsize=2.5]",
+                        buf);
+            }
+        });
+    }
+
+    /**
+     * The names of the annotations on a class, and on its methods and fields, for
+     * {@link GraphVizDotFile#indexAnnotations}.
+     *
+     * @param classInfo
+     *            the class
+     * @param classAnnotations
+     *            the names of the annotations directly on the class
+     * @param methodAnnotations
+     *            the names of the annotations directly on its methods
+     * @param fieldAnnotations
+     *            the names of the annotations directly on its fields
+     */
+    private record AnnotationNames(ClassInfo classInfo, List<String> classAnnotations,
+            Set<String> methodAnnotations, Set<String> fieldAnnotations) {
+    }
+
+    /**
+     * Find the names of the annotations on a class, and on its methods and fields.
+     *
+     * @param scanResult
+     *            the scan result the class came from
+     * @param ci
+     *            the class
+     * @return the annotation names
+     */
+    private static AnnotationNames annotationNames(final ScanResult scanResult, final ClassInfo ci) {
+        final List<String> classAnnotationNames = new ArrayList<>();
+        for (final AnnotationInfo ai : ci.getAllAnnotationInfo().directOnly()) {
+            classAnnotationNames.add(ai.getName());
+        }
+        final Set<String> methodAnnotationNames = new HashSet<>();
+        if (scanResult.isMethodInfoEnabled()) {
+            for (final MethodInfo mi : ci.getDeclaredMethodAndConstructorInfo()) {
+                for (final AnnotationInfo ai : mi.getAllAnnotationInfo().directOnly()) {
+                    methodAnnotationNames.add(ai.getName());
+                }
+            }
+        }
+        final Set<String> fieldAnnotationNames = new HashSet<>();
+        if (scanResult.isFieldInfoEnabled()) {
+            for (final FieldInfo fi : ci.getDeclaredFieldInfo()) {
+                for (final AnnotationInfo ai : fi.getAllAnnotationInfo().directOnly()) {
+                    fieldAnnotationNames.add(ai.getName());
+                }
+            }
+        }
+        return new AnnotationNames(ci, classAnnotationNames, methodAnnotationNames, fieldAnnotationNames);
+    }
+
     /**
      * Index the classes that are directly annotated by each annotation, so that the annotation edges can be drawn
      * without having to ask each annotation which classes it annotates (which would also return the classes reached
@@ -764,41 +1051,36 @@ public final class GraphVizDotFile {
      *            populated with annotation name to the classes with a method it directly annotates
      * @param fieldAnnotations
      *            populated with annotation name to the classes with a field it directly annotates
+     * @param pool
+     *            the pool to find the annotations in, or null to find them on this thread
      */
     private static void indexAnnotations(final ScanResult scanResult, final List<ClassInfo> allVisibleClasses,
             final Map<String, List<ClassInfo>> classAnnotations,
             final Map<String, List<ClassInfo>> methodAnnotations,
-            final Map<String, List<ClassInfo>> fieldAnnotations) {
+            final Map<String, List<ClassInfo>> fieldAnnotations, final @Nullable ForkJoinPool pool) {
         if (!scanResult.isAnnotationInfoEnabled()) {
             return;
         }
-        for (final ClassInfo ci : allVisibleClasses) {
-            for (final AnnotationInfo ai : ci.getAllAnnotationInfo().directOnly()) {
-                classAnnotations.computeIfAbsent(ai.getName(), name -> new ArrayList<>()).add(ci);
+        // Find the annotations of each class in parallel, then index them in class order, on this thread
+        processInChunks(allVisibleClasses, chunk -> {
+            final List<AnnotationNames> chunkAnnotationNames = new ArrayList<>(chunk.size());
+            for (final ClassInfo ci : chunk) {
+                chunkAnnotationNames.add(annotationNames(scanResult, ci));
             }
-            if (scanResult.isMethodInfoEnabled()) {
-                final Set<String> methodAnnotationNames = new HashSet<>();
-                for (final MethodInfo mi : ci.getDeclaredMethodAndConstructorInfo()) {
-                    for (final AnnotationInfo ai : mi.getAllAnnotationInfo().directOnly()) {
-                        methodAnnotationNames.add(ai.getName());
-                    }
-                }
-                for (final String name : methodAnnotationNames) {
-                    methodAnnotations.computeIfAbsent(name, key -> new ArrayList<>()).add(ci);
+            return chunkAnnotationNames;
+        }, chunkAnnotationNames -> {
+            for (final AnnotationNames names : chunkAnnotationNames) {
+                for (final String name : names.classAnnotations()) {
+                    classAnnotations.computeIfAbsent(name, key -> new ArrayList<>()).add(names.classInfo());
                 }
-            }
-            if (scanResult.isFieldInfoEnabled()) {
-                final Set<String> fieldAnnotationNames = new HashSet<>();
-                for (final FieldInfo fi : ci.getDeclaredFieldInfo()) {
-                    for (final AnnotationInfo ai : fi.getAllAnnotationInfo().directOnly()) {
-                        fieldAnnotationNames.add(ai.getName());
-                    }
+                for (final String name : names.methodAnnotations()) {
+                    methodAnnotations.computeIfAbsent(name, key -> new ArrayList<>()).add(names.classInfo());
                 }
-                for (final String name : fieldAnnotationNames) {
-                    fieldAnnotations.computeIfAbsent(name, key -> new ArrayList<>()).add(ci);
+                for (final String name : names.fieldAnnotations()) {
+                    fieldAnnotations.computeIfAbsent(name, key -> new ArrayList<>()).add(names.classInfo());
                 }
             }
-        }
+        }, pool);
         for (final List<ClassInfo> classes : classAnnotations.values()) {
             classes.sort(null);
         }
@@ -851,7 +1133,32 @@ public final class GraphVizDotFile {
     // -------------------------------------------------------------------------------------------------------------
 
     /**
-     * Generate a .dot file which can be fed into GraphViz for layout and visualization of the class graph.
+     * Check the arguments of a class graph.
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @param classes
+     *            the classes to plot in the graph.
+     * @param options
+     *            the graph options.
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableClassInfo()} was not called before scanning.
+     */
+    private static void checkClassGraphArguments(final ScanResult scanResult, final ClassInfoList classes,
+            final GraphVizDotFileOptions options) {
+        Objects.requireNonNull(scanResult, "scanResult must not be null");
+        Objects.requireNonNull(classes, "classes must not be null");
+        Objects.requireNonNull(options, "options must not be null");
+        if (!scanResult.isClassInfoEnabled()) {
+            throw new IllegalStateException("Please call ClassGraph#enableClassInfo() before #scan()");
+        }
+    }
+
+    /**
+     * Generate a .dot file which can be fed into GraphViz for layout and visualization of the class graph, writing
+     * it to an {@link Appendable}, such as a {@link java.io.Writer}, as it is generated. The graph is passed on in
+     * pieces as its nodes and edges are generated, so a graph of any size can be written without holding the whole
+     * of it in memory.
      *
      * <p>
      * To show non-public classes, call {@link ClassGraph#ignoreClassVisibility()} before scanning.
@@ -873,66 +1180,131 @@ public final class GraphVizDotFile {
      *            the {@link ScanResult} the classes came from.
      * @param classes
      *            the classes to plot in the graph, e.g. {@link ScanResult#getAllClasses()}.
+     * @param out
+     *            the {@link Appendable} to write the GraphViz file contents to. It is not closed or flushed.
      * @param options
      *            the graph options.
-     * @return the GraphViz file contents.
+     * @throws IOException
+     *             if the {@link Appendable} could not be written to.
      * @throws IllegalStateException
      *             if {@link ClassGraph#enableClassInfo()} was not called before scanning (since there would be
      *             nothing to graph).
      */
-    public static String generate(final ScanResult scanResult, final ClassInfoList classes,
-            final GraphVizDotFileOptions options) {
-        Objects.requireNonNull(scanResult, "scanResult must not be null");
-        Objects.requireNonNull(classes, "classes must not be null");
-        Objects.requireNonNull(options, "options must not be null");
-        if (!scanResult.isClassInfoEnabled()) {
-            throw new IllegalStateException("Please call ClassGraph#enableClassInfo() before #scan()");
-        }
+    public static void writeTo(final ScanResult scanResult, final ClassInfoList classes, final Appendable out,
+            final GraphVizDotFileOptions options) throws IOException {
+        checkClassGraphArguments(scanResult, classes, options);
+        Objects.requireNonNull(out, "out must not be null");
 
-        final var buf = new StringBuilder(1024 * 1024);
+        final var buf = new StringBuilder(FLUSH_THRESHOLD + FLUSH_THRESHOLD / 4);
         appendDotFileHeader(options, buf);
 
         final var standardClassNodes = classes.getStandardClasses();
         final var interfaceNodes = classes.getInterfaces();
         final var annotationNodes = classes.getAnnotations();
 
-        appendClassNodes(scanResult, standardClassNodes, "box", STANDARD_CLASS_COLOR, options, buf);
-        appendClassNodes(scanResult, interfaceNodes, "diamond", INTERFACE_COLOR, options, buf);
-        appendClassNodes(scanResult, annotationNodes, "oval", ANNOTATION_COLOR, options, buf);
-
-        final List<ClassInfo> allVisibleClasses = new ArrayList<>(
-                standardClassNodes.size() + interfaceNodes.size() + annotationNodes.size());
-        allVisibleClasses.addAll(standardClassNodes);
-        allVisibleClasses.addAll(interfaceNodes);
-        allVisibleClasses.addAll(annotationNodes);
-        final Set<String> allVisibleNodes = new HashSet<>();
-        for (final ClassInfo ci : allVisibleClasses) {
-            allVisibleNodes.add(ci.getName());
-        }
-
-        buf.append('\n');
-        for (final ClassInfo classNode : standardClassNodes) {
-            appendStandardClassEdges(scanResult, classNode, allVisibleNodes, options, buf);
-        }
-        for (final ClassInfo interfaceNode : interfaceNodes) {
-            for (final ClassInfo superinterfaceNode : interfaceNode.getDirectSuperinterfaces()) {
-                if (allVisibleNodes.contains(superinterfaceNode.getName())) {
-                    // interface --<> superinterface
-                    appendEdge(interfaceNode.getName(), superinterfaceNode.getName(),
-                            "[arrowhead=diamond, arrowsize=2.5]", buf);
-                }
+        final var pool = forkJoinPool(options);
+        try {
+            appendClassNodes(scanResult, standardClassNodes, "box", STANDARD_CLASS_COLOR, options, pool, buf, out);
+            appendClassNodes(scanResult, interfaceNodes, "diamond", INTERFACE_COLOR, options, pool, buf, out);
+            appendClassNodes(scanResult, annotationNodes, "oval", ANNOTATION_COLOR, options, pool, buf, out);
+
+            final List<ClassInfo> allVisibleClasses = new ArrayList<>(
+                    standardClassNodes.size() + interfaceNodes.size() + annotationNodes.size());
+            allVisibleClasses.addAll(standardClassNodes);
+            allVisibleClasses.addAll(interfaceNodes);
+            allVisibleClasses.addAll(annotationNodes);
+            final Set<String> allVisibleNodes = new HashSet<>();
+            for (final ClassInfo ci : allVisibleClasses) {
+                allVisibleNodes.add(ci.getName());
             }
-        }
-        if (options.showAnnotationDependencyEdges && !annotationNodes.isEmpty()) {
-            final Map<String, List<ClassInfo>> classAnnotations = new HashMap<>();
-            final Map<String, List<ClassInfo>> methodAnnotations = new HashMap<>();
-            final Map<String, List<ClassInfo>> fieldAnnotations = new HashMap<>();
-            indexAnnotations(scanResult, allVisibleClasses, classAnnotations, methodAnnotations, fieldAnnotations);
-            for (final ClassInfo annotationNode : annotationNodes) {
-                appendAnnotationEdges(annotationNode, classAnnotations, methodAnnotations, fieldAnnotations, buf);
+
+            buf.append('\n');
+            appendInChunks(standardClassNodes, (classNode, edgeBuf) -> appendStandardClassEdges(scanResult,
+                    classNode, allVisibleNodes, options, edgeBuf), pool, buf, out);
+            appendInChunks(interfaceNodes,
+                    (interfaceNode, edgeBuf) -> appendSuperinterfaceEdges(interfaceNode, allVisibleNodes, edgeBuf),
+                    pool, buf, out);
+            if (options.showAnnotationDependencyEdges && !annotationNodes.isEmpty()) {
+                final Map<String, List<ClassInfo>> classAnnotations = new HashMap<>();
+                final Map<String, List<ClassInfo>> methodAnnotations = new HashMap<>();
+                final Map<String, List<ClassInfo>> fieldAnnotations = new HashMap<>();
+                indexAnnotations(scanResult, allVisibleClasses, classAnnotations, methodAnnotations,
+                        fieldAnnotations, pool);
+                appendInChunks(annotationNodes, (annotationNode, edgeBuf) -> appendAnnotationEdges(annotationNode,
+                        classAnnotations, methodAnnotations, fieldAnnotations, edgeBuf), pool, buf, out);
             }
+        } finally {
+            shutdown(pool);
         }
         buf.append('}');
+        out.append(buf);
+    }
+
+    /**
+     * Generate a .dot file which can be fed into GraphViz for layout and visualization of the class graph, using
+     * the default options, writing it to an {@link Appendable}, such as a {@link java.io.Writer}, as it is
+     * generated -- see {@link #writeTo(ScanResult, ClassInfoList, Appendable, GraphVizDotFileOptions)}.
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @param classes
+     *            the classes to plot in the graph, e.g. {@link ScanResult#getAllClasses()}.
+     * @param out
+     *            the {@link Appendable} to write the GraphViz file contents to. It is not closed or flushed.
+     * @throws IOException
+     *             if the {@link Appendable} could not be written to.
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableClassInfo()} was not called before scanning (since there would be
+     *             nothing to graph).
+     */
+    public static void writeTo(final ScanResult scanResult, final ClassInfoList classes, final Appendable out)
+            throws IOException {
+        writeTo(scanResult, classes, out, new GraphVizDotFileOptions());
+    }
+
+    /**
+     * Generate a .dot file which can be fed into GraphViz for layout and visualization of the class graph.
+     *
+     * <p>
+     * To show non-public classes, call {@link ClassGraph#ignoreClassVisibility()} before scanning.
+     *
+     * <p>
+     * To show fields, call {@link ClassGraph#enableFieldInfo()} before scanning. To show non-public fields, also
+     * call {@link ClassGraph#ignoreFieldVisibility()} before scanning.
+     *
+     * <p>
+     * To show methods, call {@link ClassGraph#enableMethodInfo()} before scanning. To show non-public methods, also
+     * call {@link ClassGraph#ignoreMethodVisibility()} before scanning.
+     *
+     * <p>
+     * To show annotations, call {@link ClassGraph#enableAnnotationInfo()} before scanning. To show non-public
+     * annotations, also call {@link ClassGraph#ignoreFieldVisibility()} before scanning (there is no separate
+     * visibility modifier for annotations).
+     *
+     * <p>
+     * The whole graph is built in memory. For a large graph, write it to a file or a {@link java.io.Writer}
+     * instead, with {@link #writeTo(ScanResult, ClassInfoList, Appendable, GraphVizDotFileOptions)}.
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @param classes
+     *            the classes to plot in the graph, e.g. {@link ScanResult#getAllClasses()}.
+     * @param options
+     *            the graph options.
+     * @return the GraphViz file contents.
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableClassInfo()} was not called before scanning (since there would be
+     *             nothing to graph).
+     */
+    public static String generate(final ScanResult scanResult, final ClassInfoList classes,
+            final GraphVizDotFileOptions options) {
+        final var buf = new StringBuilder(1024 * 1024);
+        try {
+            writeTo(scanResult, classes, buf, options);
+        } catch (final IOException e) {
+            // A StringBuilder does not throw IOException
+            throw new UncheckedIOException(e);
+        }
         return buf.toString();
     }
 
@@ -984,7 +1356,12 @@ public final class GraphVizDotFile {
     public static Path write(final ScanResult scanResult, final ClassInfoList classes, final Path file,
             final GraphVizDotFileOptions options) throws IOException {
         Objects.requireNonNull(file, "file must not be null");
-        return Files.writeString(file, generate(scanResult, classes, options));
+        // Check the arguments before the file is opened, so that a call that is going to fail leaves it untouched
+        checkClassGraphArguments(scanResult, classes, options);
+        try (var writer = Files.newBufferedWriter(file)) {
+            writeTo(scanResult, classes, writer, options);
+        }
+        return file;
     }
 
     /**
@@ -1021,23 +1398,18 @@ public final class GraphVizDotFile {
     // -------------------------------------------------------------------------------------------------------------
 
     /**
-     * Generate a .dot file which can be fed into GraphViz for layout and visualization of the class graph. The
-     * returned graph shows inter-class dependencies only. You must have called
-     * {@link ClassGraph#enableInterClassDependencies()} before scanning to use this method.
+     * Check the arguments of an inter-class dependency graph.
      *
      * @param scanResult
      *            the {@link ScanResult} the classes came from.
      * @param classes
      *            the classes whose dependencies should be plotted in the graph.
      * @param options
-     *            the graph options. Only the layout size and the external-class setting have any effect on this
-     *            graph.
-     * @return the GraphViz file contents.
+     *            the graph options.
      * @throws IllegalStateException
-     *             if {@link ClassGraph#enableInterClassDependencies()} was not called before scanning (since there
-     *             would be nothing to graph).
+     *             if {@link ClassGraph#enableInterClassDependencies()} was not called before scanning.
      */
-    public static String generateFromInterClassDependencies(final ScanResult scanResult,
+    private static void checkInterClassDependenciesArguments(final ScanResult scanResult,
             final ClassInfoList classes, final GraphVizDotFileOptions options) {
         Objects.requireNonNull(scanResult, "scanResult must not be null");
         Objects.requireNonNull(classes, "classes must not be null");
@@ -1045,13 +1417,41 @@ public final class GraphVizDotFile {
         if (!scanResult.isInterClassDependenciesEnabled()) {
             throw new IllegalStateException("Please call ClassGraph#enableInterClassDependencies() before #scan()");
         }
+    }
+
+    /**
+     * Generate a .dot file which can be fed into GraphViz for layout and visualization of the class graph, writing
+     * it to an {@link Appendable}, such as a {@link java.io.Writer}, as it is generated. The graph shows
+     * inter-class dependencies only. You must have called {@link ClassGraph#enableInterClassDependencies()} before
+     * scanning to use this method. The graph is passed on in pieces as its nodes and edges are generated, so a
+     * graph of any size can be written without holding the whole of it in memory.
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @param classes
+     *            the classes whose dependencies should be plotted in the graph.
+     * @param out
+     *            the {@link Appendable} to write the GraphViz file contents to. It is not closed or flushed.
+     * @param options
+     *            the graph options. Only the layout size, the external-class setting and the parallelism have any
+     *            effect on this graph.
+     * @throws IOException
+     *             if the {@link Appendable} could not be written to.
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableInterClassDependencies()} was not called before scanning (since there
+     *             would be nothing to graph).
+     */
+    public static void writeFromInterClassDependenciesTo(final ScanResult scanResult, final ClassInfoList classes,
+            final Appendable out, final GraphVizDotFileOptions options) throws IOException {
+        checkInterClassDependenciesArguments(scanResult, classes, options);
+        Objects.requireNonNull(out, "out must not be null");
 
         // The graph shows external classes if the options ask for them, or, if the options say nothing either way,
         // if they were enabled in the scan
         final var includeExternalClasses = options.includeExternalClasses != null ? options.includeExternalClasses
                 : scanResult.isExternalClassesEnabled();
 
-        final var buf = new StringBuilder(1024 * 1024);
+        final var buf = new StringBuilder(FLUSH_THRESHOLD + FLUSH_THRESHOLD / 4);
         appendDotFileHeader(options, buf);
 
         // Sorted, so that the nodes are written in the same order as the class graph writes them, in class name
@@ -1063,27 +1463,90 @@ public final class GraphVizDotFile {
             }
         }
 
-        for (final ClassInfo ci : allVisibleNodes) {
-            buf.append('"').append(ci.getName()).append('"');
-            appendClassNodeLabelHeader(ci, ci.isAnnotation() ? "oval" : ci.isInterface() ? "diamond" : "box",
-                    ci.isAnnotation() ? ANNOTATION_COLOR
-                            : ci.isInterface() ? INTERFACE_COLOR : STANDARD_CLASS_COLOR,
-                    /* packageNameSuffix = */ "", buf);
-            buf.append("</table>");
-            buf.append(">];\n");
-        }
-
-        buf.append('\n');
-        for (final ClassInfo ci : classes) {
-            for (final ClassInfo dep : ci.getClassDependencies()) {
-                if (includeExternalClasses || allVisibleNodes.contains(dep)) {
-                    // class --> dep
-                    appendEdge(ci.getName(), dep.getName(), "[arrowsize=2.5]", buf);
+        final var pool = forkJoinPool(options);
+        try {
+            appendInChunks(new ArrayList<>(allVisibleNodes), (ci, nodeBuf) -> {
+                nodeBuf.append('"').append(ci.getName()).append('"');
+                appendClassNodeLabelHeader(ci, ci.isAnnotation() ? "oval" : ci.isInterface() ? "diamond" : "box",
+                        ci.isAnnotation() ? ANNOTATION_COLOR
+                                : ci.isInterface() ? INTERFACE_COLOR : STANDARD_CLASS_COLOR,
+                        /* packageNameSuffix = */ "", nodeBuf);
+                nodeBuf.append("</table>");
+                nodeBuf.append(">];\n");
+            }, pool, buf, out);
+
+            buf.append('\n');
+            appendInChunks(classes, (ci, edgeBuf) -> {
+                for (final ClassInfo dep : ci.getClassDependencies()) {
+                    if (includeExternalClasses || allVisibleNodes.contains(dep)) {
+                        // class --> dep
+                        appendEdge(ci.getName(), dep.getName(), "[arrowsize=2.5]", edgeBuf);
+                    }
                 }
-            }
+            }, pool, buf, out);
+        } finally {
+            shutdown(pool);
         }
 
         buf.append('}');
+        out.append(buf);
+    }
+
+    /**
+     * Generate a .dot file which can be fed into GraphViz for layout and visualization of the class graph, using
+     * the default options, writing it to an {@link Appendable}, such as a {@link java.io.Writer}, as it is
+     * generated -- see
+     * {@link #writeFromInterClassDependenciesTo(ScanResult, ClassInfoList, Appendable, GraphVizDotFileOptions)}.
+     * You must have called {@link ClassGraph#enableInterClassDependencies()} before scanning to use this method.
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @param classes
+     *            the classes whose dependencies should be plotted in the graph.
+     * @param out
+     *            the {@link Appendable} to write the GraphViz file contents to. It is not closed or flushed.
+     * @throws IOException
+     *             if the {@link Appendable} could not be written to.
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableInterClassDependencies()} was not called before scanning (since there
+     *             would be nothing to graph).
+     */
+    public static void writeFromInterClassDependenciesTo(final ScanResult scanResult, final ClassInfoList classes,
+            final Appendable out) throws IOException {
+        writeFromInterClassDependenciesTo(scanResult, classes, out, new GraphVizDotFileOptions());
+    }
+
+    /**
+     * Generate a .dot file which can be fed into GraphViz for layout and visualization of the class graph. The
+     * returned graph shows inter-class dependencies only. You must have called
+     * {@link ClassGraph#enableInterClassDependencies()} before scanning to use this method.
+     *
+     * <p>
+     * The whole graph is built in memory. For a large graph, write it to a file or a {@link java.io.Writer}
+     * instead, with
+     * {@link #writeFromInterClassDependenciesTo(ScanResult, ClassInfoList, Appendable, GraphVizDotFileOptions)}.
+     *
+     * @param scanResult
+     *            the {@link ScanResult} the classes came from.
+     * @param classes
+     *            the classes whose dependencies should be plotted in the graph.
+     * @param options
+     *            the graph options. Only the layout size, the external-class setting and the parallelism have any
+     *            effect on this graph.
+     * @return the GraphViz file contents.
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableInterClassDependencies()} was not called before scanning (since there
+     *             would be nothing to graph).
+     */
+    public static String generateFromInterClassDependencies(final ScanResult scanResult,
+            final ClassInfoList classes, final GraphVizDotFileOptions options) {
+        final var buf = new StringBuilder(1024 * 1024);
+        try {
+            writeFromInterClassDependenciesTo(scanResult, classes, buf, options);
+        } catch (final IOException e) {
+            // A StringBuilder does not throw IOException
+            throw new UncheckedIOException(e);
+        }
         return buf.toString();
     }
 
@@ -1118,8 +1581,8 @@ public final class GraphVizDotFile {
      * @param file
      *            the file to save the GraphViz .dot file to.
      * @param options
-     *            the graph options. Only the layout size and the external-class setting have any effect on this
-     *            graph.
+     *            the graph options. Only the layout size, the external-class setting and the parallelism have any
+     *            effect on this graph.
      * @return the file that was written (for method chaining).
      * @throws IOException
      *             if the file could not be saved.
@@ -1130,7 +1593,12 @@ public final class GraphVizDotFile {
     public static Path writeFromInterClassDependencies(final ScanResult scanResult, final ClassInfoList classes,
             final Path file, final GraphVizDotFileOptions options) throws IOException {
         Objects.requireNonNull(file, "file must not be null");
-        return Files.writeString(file, generateFromInterClassDependencies(scanResult, classes, options));
+        // Check the arguments before the file is opened, so that a call that is going to fail leaves it untouched
+        checkInterClassDependenciesArguments(scanResult, classes, options);
+        try (var writer = Files.newBufferedWriter(file)) {
+            writeFromInterClassDependenciesTo(scanResult, classes, writer, options);
+        }
+        return file;
     }
 
     /**
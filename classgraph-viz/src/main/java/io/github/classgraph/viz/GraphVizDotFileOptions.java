@@ -48,9 +48,9 @@ import org.jspecify.annotations.Nullable;
  *
  * <p>
  * {@link GraphVizDotFile#generateFromInterClassDependencies(ScanResult, ClassInfoList, GraphVizDotFileOptions)}
- * draws a different graph, and reads only {@link #setLayoutSize(float, float)}, {@link #includeExternalClasses()}
- * and {@link #excludeExternalClasses()} — the options that show or hide the contents of a class node have no effect
- * on it.
+ * draws a different graph, and reads only {@link #setLayoutSize(float, float)}, {@link #includeExternalClasses()},
+ * {@link #excludeExternalClasses()} and {@link #setParallelism(int)} — the options that show or hide the contents
+ * of a class node have no effect on it.
  */
 public final class GraphVizDotFileOptions {
     /** The GraphViz layout width, in inches. */
@@ -89,6 +89,11 @@ public final class GraphVizDotFileOptions {
     @Nullable
     Boolean includeExternalClasses;
 
+    /**
+     * How many threads to generate the nodes and edges of a large graph on, or 0 to use the common fork-join pool.
+     */
+    int parallelism = 1;
+
     /** Construct a set of GraphViz .dot file options, with every option at its default. */
     public GraphVizDotFileOptions() {
         // Empty
@@ -282,4 +287,25 @@ public final class GraphVizDotFileOptions {
         includeExternalClasses = Boolean.FALSE;
         return this;
     }
+
+    /**
+     * Set how many threads the nodes and edges of a large graph are generated on. The graph is generated in chunks
+     * of a few hundred classes, which are written out in order, so the graph is the same however many threads
+     * generate it; a graph of only one chunk is generated on the calling thread. The default, 1, generates the
+     * graph on the calling thread, and 0 generates it in the {@link java.util.concurrent.ForkJoinPool#commonPool()
+     * common fork-join pool}.
+     *
+     * @param parallelism
+     *            the number of threads, or 0 to use the common fork-join pool.
+     * @return this {@link GraphVizDotFileOptions}, for method chaining.
+     * @throws IllegalArgumentException
+     *             if the number of threads is negative.
+     */
+    public GraphVizDotFileOptions setParallelism(final int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("parallelism must not be negative");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
 }
@@ -29,11 +29,13 @@
 
 /**
  * Renders the class graph found by <a href="https://github.com/classgraph/classgraph">ClassGraph</a> as a
- * <a href="https://graphviz.org/">GraphViz</a> {@code .dot} file.
+ * <a href="https://graphviz.org/">GraphViz</a> {@code .dot} file, or exports it for a graph database or an offline
+ * analysis.
  *
  * <p>
- * Start at {@link io.github.classgraph.viz.GraphVizDotFile}, and pass a
- * {@link io.github.classgraph.viz.GraphVizDotFileOptions} to choose what is drawn.
+ * To draw the graph, start at {@link io.github.classgraph.viz.GraphVizDotFile}, and pass a
+ * {@link io.github.classgraph.viz.GraphVizDotFileOptions} to choose what is drawn. To export it as a CSV, TSV,
+ * GraphML or binary edge list, use {@link io.github.classgraph.viz.ClassGraphExport}.
  *
  * <p>
  * This package is {@link org.jspecify.annotations.NullMarked}: unless a type is annotated
@@ -32,7 +32,8 @@ import org.jspecify.annotations.NullMarked;
 /**
  * Renders the class graph found by
  * <a href="https://github.com/classgraph/classgraph">ClassGraph</a> as a
- * <a href="https://graphviz.org/">GraphViz</a> {@code .dot} file.
+ * <a href="https://graphviz.org/">GraphViz</a> {@code .dot} file, or exports it as a CSV, TSV, GraphML or
+ * binary edge list.
  *
  * <p>
  * This module is {@link org.jspecify.annotations.NullMarked}: unless a type is
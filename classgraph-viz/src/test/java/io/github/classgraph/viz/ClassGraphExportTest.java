@@ -0,0 +1,235 @@
+package io.github.classgraph.viz;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo.Relation;
+import io.github.classgraph.ClassInfoList;
+import io.github.classgraph.ScanResult;
+
+/** Tests the graphs written by {@link ClassGraphExport}. */
+public class ClassGraphExportTest {
+    /** The superclass of the exported class. */
+    public static class Base {
+    }
+
+    /** The interface implemented by the exported class. */
+    public interface Marker {
+    }
+
+    /** The annotation on the exported class. */
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Tag {
+    }
+
+    /** The class that is exported. */
+    @Tag
+    public static class Derived extends Base implements Marker {
+        /**
+         * Refers to a class that is not exported, so that the dependency on it is left out.
+         *
+         * @return a list.
+         */
+        public List<Base> list() {
+            return new ArrayList<>();
+        }
+    }
+
+    /** The prefix that all the fixture class names share. */
+    private static final String FIXTURE = ClassGraphExportTest.class.getName() + "$";
+
+    /** A scan of the fixture classes, with inter-class dependencies. */
+    private static ScanResult scanResult;
+
+    /** A scan of the fixture classes, without inter-class dependencies. */
+    private static ScanResult classInfoOnlyScanResult;
+
+    /** Scan the fixture classes. */
+    @BeforeAll
+    static void scan() {
+        final var classNames = new String[] { Base.class.getName(), Marker.class.getName(), Tag.class.getName(),
+                Derived.class.getName() };
+        scanResult = new ClassGraph().acceptClasses(classNames).enableAllInfo().enableInterClassDependencies()
+                .scan();
+        classInfoOnlyScanResult = new ClassGraph().acceptClasses(classNames).enableAnnotationInfo().scan();
+    }
+
+    /** Close the scan results. */
+    @AfterAll
+    static void closeScanResult() {
+        scanResult.close();
+        classInfoOnlyScanResult.close();
+    }
+
+    /**
+     * Returns the fixture classes, in a fixed order, so that their ids are known.
+     *
+     * @param scanResultToExport
+     *            the scan result.
+     * @return Derived, Base, Marker and Tag, whose ids are 0, 1, 2 and 3.
+     */
+    private static ClassInfoList fixtureClasses(final ScanResult scanResultToExport) {
+        final var classes = new ClassInfoList();
+        for (final var cls : List.of(Derived.class, Base.class, Marker.class, Tag.class)) {
+            classes.add(scanResultToExport.getClassInfo(cls.getName()));
+        }
+        return classes;
+    }
+
+    /**
+     * Export the edges of the fixture classes as a CSV file.
+     *
+     * @param scanResultToExport
+     *            the scan result.
+     * @param relations
+     *            the relations to export.
+     * @return the lines of the CSV file, after the header line.
+     * @throws IOException
+     *             never, since the file is written to memory.
+     */
+    private static List<String> edgeList(final ScanResult scanResultToExport, final Set<Relation> relations)
+            throws IOException {
+        final var out = new StringWriter();
+        ClassGraphExport.writeEdgeList(scanResultToExport, fixtureClasses(scanResultToExport), relations, ',', out);
+        final var lines = out.toString().split("\n");
+        assertThat(lines[0]).isEqualTo("source,target,relation");
+        return List.of(lines).subList(1, lines.length);
+    }
+
+    /** The node list gives each class its id, name and kind. */
+    @Test
+    public void nodeListHasEachClassOnce() throws IOException {
+        final var out = new StringWriter();
+        final var classes = fixtureClasses(scanResult);
+        // A class that is listed twice is a single node
+        final var withDuplicate = new ClassInfoList();
+        withDuplicate
+                .addAll(List.of(classes.get(0), classes.get(1), classes.get(0), classes.get(2), classes.get(3)));
+        ClassGraphExport.writeNodeList(scanResult, withDuplicate, '\t', out);
+        assertThat(out.toString()).isEqualTo("id\tname\tkind\texternal\n" //
+                + "0\t" + FIXTURE + "Derived\tclass\tfalse\n" //
+                + "1\t" + FIXTURE + "Base\tclass\tfalse\n" //
+                + "2\t" + FIXTURE + "Marker\tinterface\tfalse\n" //
+                + "3\t" + FIXTURE + "Tag\tannotation\tfalse\n");
+    }
+
+    /** A field that holds the delimiter is quoted. */
+    @Test
+    public void fieldsHoldingTheDelimiterAreQuoted() throws IOException {
+        final var out = new StringWriter();
+        ClassGraphExport.writeNodeList(scanResult, fixtureClasses(scanResult), '$', out);
+        assertThat(out.toString()).contains("0$\"" + FIXTURE + "Derived\"$class$false\n");
+    }
+
+    /** The edge list holds the direct relationships between the exported classes, and no others. */
+    @Test
+    public void edgeListHoldsDirectRelationships() throws IOException {
+        assertThat(edgeList(scanResult, ClassGraphExport.defaultRelations(scanResult))).containsExactly(
+                "0,1,SUPERCLASS", "0,2,IMPLEMENTED_INTERFACE", "0,3,CLASS_ANNOTATION", "0,1,DEPENDENCY",
+                "0,2,DEPENDENCY", "0,3,DEPENDENCY");
+        assertThat(edgeList(scanResult, EnumSet.of(Relation.SUPERCLASS))).containsExactly("0,1,SUPERCLASS");
+        assertThat(edgeList(classInfoOnlyScanResult, ClassGraphExport.defaultRelations(classInfoOnlyScanResult)))
+                .containsExactly("0,1,SUPERCLASS", "0,2,IMPLEMENTED_INTERFACE", "0,3,CLASS_ANNOTATION");
+    }
+
+    /** The GraphML document holds the same nodes and edges as the node and edge lists. */
+    @Test
+    public void graphMLHoldsNodesAndEdges() throws IOException {
+        final var out = new StringWriter();
+        ClassGraphExport.writeGraphML(scanResult, fixtureClasses(scanResult), EnumSet.of(Relation.SUPERCLASS), out);
+        assertThat(out.toString()).startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<graphml ")
+                .contains("<node id=\"n0\"><data key=\"name\">" + FIXTURE
+                        + "Derived</data><data key=\"kind\">class</data><data key=\"external\">false</data></node>")
+                .contains("<node id=\"n3\"><data key=\"name\">" + FIXTURE
+                        + "Tag</data><data key=\"kind\">annotation</data>")
+                .contains("<edge source=\"n0\" target=\"n1\"><data key=\"relation\">SUPERCLASS</data></edge>")
+                .doesNotContain("IMPLEMENTED_INTERFACE").endsWith("</graph>\n</graphml>\n");
+    }
+
+    /**
+     * Read an unsigned variable-length integer from a binary edge list.
+     *
+     * @param in
+     *            the binary edge list.
+     * @return the integer.
+     * @throws IOException
+     *             if the binary edge list ends early.
+     */
+    private static int readVarInt(final DataInputStream in) throws IOException {
+        var value = 0;
+        for (var shift = 0;; shift += 7) {
+            final var b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    /** The binary edge list decodes to the same nodes and edges as the node and edge lists. */
+    @Test
+    public void binaryEdgeListDecodes() throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        ClassGraphExport.writeBinaryEdgeList(scanResult, fixtureClasses(scanResult), bytes);
+
+        final var in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThat(in.readInt()).isEqualTo(ClassGraphExport.BINARY_MAGIC);
+        assertThat(in.readUnsignedByte()).isEqualTo(ClassGraphExport.BINARY_VERSION);
+        final List<String> nodes = new ArrayList<>();
+        final var numNodes = readVarInt(in);
+        for (var i = 0; i < numNodes; i++) {
+            final var kind = in.readUnsignedByte();
+            final var name = new byte[readVarInt(in)];
+            in.readFully(name);
+            nodes.add(kind + " " + new String(name, StandardCharsets.UTF_8));
+        }
+        assertThat(nodes).containsExactly("0 " + FIXTURE + "Derived", "0 " + FIXTURE + "Base",
+                "1 " + FIXTURE + "Marker", "2 " + FIXTURE + "Tag");
+        final List<String> edges = new ArrayList<>();
+        for (int relation; (relation = in.readUnsignedByte()) != ClassGraphExport.BINARY_END_OF_EDGES;) {
+            edges.add(readVarInt(in) + "," + readVarInt(in) + "," + Relation.values()[relation]);
+        }
+        assertThat(edges)
+                .containsExactlyElementsOf(edgeList(scanResult, ClassGraphExport.defaultRelations(scanResult)));
+        assertThat(in.read()).isEqualTo(-1);
+    }
+
+    /** The dependency relation can only be exported if inter-class dependencies were scanned. */
+    @Test
+    public void dependenciesRequireInterClassDependencies() {
+        assertThatThrownBy(() -> ClassGraphExport.writeEdgeList(classInfoOnlyScanResult,
+                fixtureClasses(classInfoOnlyScanResult), EnumSet.of(Relation.DEPENDENCY), ',', new StringWriter()))
+                .isInstanceOf(IllegalStateException.class).hasMessageContaining("enableInterClassDependencies()");
+    }
+
+    /** Null arguments are rejected. */
+    @Test
+    public void nullArgumentsAreRejected() {
+        final var classes = fixtureClasses(scanResult);
+        assertThatThrownBy(() -> ClassGraphExport.writeNodeList(null, classes, ',', new StringWriter()))
+                .isInstanceOf(NullPointerException.class).hasMessageContaining("must not be null");
+        assertThatThrownBy(() -> ClassGraphExport.writeGraphML(scanResult, null, new StringWriter()))
+                .isInstanceOf(NullPointerException.class).hasMessageContaining("must not be null");
+        assertThatThrownBy(() -> ClassGraphExport.writeBinaryEdgeList(scanResult, classes, (OutputStream) null))
+                .isInstanceOf(NullPointerException.class).hasMessageContaining("must not be null");
+    }
+}
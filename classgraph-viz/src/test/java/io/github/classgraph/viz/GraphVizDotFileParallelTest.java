@@ -0,0 +1,76 @@
+package io.github.classgraph.viz;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ScanResult;
+
+/**
+ * Tests that {@link GraphVizDotFile} generates the same graph on several threads as it does on one, for a graph of
+ * many chunks of classes.
+ */
+public class GraphVizDotFileParallelTest {
+    /**
+     * A scan of ClassGraph's own classes and AssertJ's, which together span many chunks, and have fields, methods,
+     * annotations and generic types.
+     */
+    private static ScanResult scanResult;
+
+    /** Scan ClassGraph's own classes and AssertJ's. */
+    @BeforeAll
+    static void scan() {
+        scanResult = new ClassGraph().acceptPackages("io.github.classgraph", "org.assertj").enableAllInfo()
+                .enableInterClassDependencies().scan();
+        assertThat(scanResult.getAllClasses().size()).isGreaterThan(1024);
+    }
+
+    /** Close the scan result. */
+    @AfterAll
+    static void closeScanResult() {
+        scanResult.close();
+    }
+
+    /** The class graph is the same however many threads generate it. */
+    @Test
+    public void classGraphIsTheSameOnAnyNumberOfThreads() {
+        final var classes = scanResult.getAllClasses();
+        final var sequential = GraphVizDotFile.generate(scanResult, classes,
+                new GraphVizDotFileOptions().setParallelism(1));
+        assertThat(sequential).contains(" -> ");
+        for (final var parallelism : new int[] { 0, 2, 7 }) {
+            assertThat(GraphVizDotFile.generate(scanResult, classes,
+                    new GraphVizDotFileOptions().setParallelism(parallelism))).isEqualTo(sequential);
+        }
+    }
+
+    /** The inter-class dependency graph is the same however many threads generate it. */
+    @Test
+    public void dependencyGraphIsTheSameOnAnyNumberOfThreads() {
+        final var classes = scanResult.getAllClasses();
+        final var sequential = GraphVizDotFile.generateFromInterClassDependencies(scanResult, classes,
+                new GraphVizDotFileOptions().setParallelism(1));
+        assertThat(sequential).contains(" -> ");
+        for (final var parallelism : new int[] { 0, 2, 7 }) {
+            assertThat(GraphVizDotFile.generateFromInterClassDependencies(scanResult, classes,
+                    new GraphVizDotFileOptions().setParallelism(parallelism))).isEqualTo(sequential);
+        }
+    }
+
+    /** Graphs are generated on the calling thread unless more threads are asked for. */
+    @Test
+    public void graphsAreGeneratedOnTheCallingThreadByDefault() {
+        assertThat(new GraphVizDotFileOptions().parallelism).isEqualTo(1);
+    }
+
+    /** A negative number of threads is rejected. */
+    @Test
+    public void negativeParallelismIsRejected() {
+        assertThatThrownBy(() -> new GraphVizDotFileOptions().setParallelism(-1))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("must not be negative");
+    }
+}
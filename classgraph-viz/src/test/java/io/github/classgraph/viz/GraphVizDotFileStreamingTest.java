@@ -0,0 +1,214 @@
+package io.github.classgraph.viz;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.classgraph.ClassGraph;
+
+/**
+ * Tests that {@link GraphVizDotFile} writes a graph to an {@link Appendable}, and writes a large graph in pieces,
+ * without building the whole graph in memory first.
+ */
+public class GraphVizDotFileStreamingTest {
+    /** The number of classes in the graph. */
+    private static final int NUM_CLASSES = 50_000;
+
+    /** The offsets, from each class, of the classes it depends on. */
+    private static final int[] DEPENDENCY_OFFSETS = { 1, 7, 101, 4999 };
+
+    /**
+     * Make a minimal classfile, for a public class that extends Object, has no members, and has a constant pool
+     * entry for each class it depends on.
+     *
+     * @param index
+     *            the index of the class.
+     * @return the classfile.
+     * @throws IOException
+     *             never, since the classfile is written to memory.
+     */
+    private static byte[] classfile(final int index) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(61);
+            // Two constant pool entries (a name and a class) for the class, for its superclass, and for each
+            // dependency, plus one, since constant pool indices start at 1
+            out.writeShort(2 * (2 + DEPENDENCY_OFFSETS.length) + 1);
+            writeClassConstant(out, 1, "big/C" + index);
+            writeClassConstant(out, 3, "java/lang/Object");
+            for (var i = 0; i < DEPENDENCY_OFFSETS.length; i++) {
+                writeClassConstant(out, 5 + 2 * i, "big/C" + (index + DEPENDENCY_OFFSETS[i]) % NUM_CLASSES);
+            }
+            // ACC_PUBLIC | ACC_SUPER, this class, superclass, and no interfaces, fields, methods or attributes
+            out.writeShort(0x0021);
+            out.writeShort(2);
+            out.writeShort(4);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(0);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Write a UTF-8 constant pool entry holding a class name, followed by a class constant pool entry that refers
+     * to it.
+     *
+     * @param out
+     *            the classfile being written.
+     * @param utf8Index
+     *            the constant pool index of the UTF-8 entry.
+     * @param internalName
+     *            the internal name of the class.
+     * @throws IOException
+     *             never, since the classfile is written to memory.
+     */
+    private static void writeClassConstant(final DataOutputStream out, final int utf8Index,
+            final String internalName) throws IOException {
+        out.writeByte(1);
+        out.writeUTF(internalName);
+        out.writeByte(7);
+        out.writeShort(utf8Index);
+    }
+
+    /**
+     * Measure how much of the heap is in use, once whatever can be collected has been.
+     *
+     * @return the number of bytes of the heap in use.
+     */
+    private static long usedHeap() {
+        System.gc();
+        final var runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * An {@link Appendable} that discards what is written to it, counting it, and measuring the heap as it goes.
+     */
+    private static final class MeasuringSink implements Appendable {
+        /** How many characters are written between measurements of the heap. */
+        private static final long MEASUREMENT_INTERVAL = 4L * 1024 * 1024;
+
+        /** The number of characters written. */
+        long numChars;
+
+        /** The largest number of characters written at once. */
+        int largestAppend;
+
+        /** The most of the heap that was in use at a measurement. */
+        long peakUsedHeap;
+
+        /** The number of characters at which the heap is next measured. */
+        private long nextMeasurement = MEASUREMENT_INTERVAL;
+
+        @Override
+        public Appendable append(final CharSequence csq) {
+            return append(csq, 0, csq.length());
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq, final int start, final int end) {
+            numChars += end - start;
+            largestAppend = Math.max(largestAppend, end - start);
+            if (numChars >= nextMeasurement) {
+                peakUsedHeap = Math.max(peakUsedHeap, usedHeap());
+                nextMeasurement += MEASUREMENT_INTERVAL;
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(final char c) {
+            return append(String.valueOf(c));
+        }
+    }
+
+    /**
+     * A dependency graph of 50,000 classes is written in pieces, and the heap in use while it is written grows by
+     * only a small fraction of the size of the graph.
+     *
+     * @param tempDir
+     *            a temporary directory for the jarfile of classes.
+     * @throws IOException
+     *             if the jarfile could not be written.
+     */
+    @Test
+    public void largeGraphIsWrittenInBoundedMemory(@TempDir final Path tempDir) throws IOException {
+        final var jar = tempDir.resolve("big.jar");
+        try (OutputStream fileOut = Files.newOutputStream(jar); var zipOut = new ZipOutputStream(fileOut)) {
+            for (var i = 0; i < NUM_CLASSES; i++) {
+                zipOut.putNextEntry(new ZipEntry("big/C" + i + ".class"));
+                zipOut.write(classfile(i));
+                zipOut.closeEntry();
+            }
+        }
+
+        try (var scanResult = new ClassGraph().overrideClasspath(jar.toString()).enableInterClassDependencies()
+                .scan()) {
+            final var classes = scanResult.getAllClasses();
+            assertThat(classes).hasSize(NUM_CLASSES);
+
+            final var sink = new MeasuringSink();
+            final var baselineUsedHeap = usedHeap();
+            GraphVizDotFile.writeFromInterClassDependenciesTo(scanResult, classes, sink);
+
+            // The graph is tens of megabytes of characters -- far more than the heap grew by while writing it
+            final var graphSize = sink.numChars;
+            assertThat(graphSize).isGreaterThan(20L * 1024 * 1024);
+            assertThat(sink.largestAppend).isLessThan(256 * 1024);
+            assertThat(sink.peakUsedHeap - baselineUsedHeap).isLessThan(graphSize / 4);
+        }
+    }
+
+    /**
+     * A graph written to an {@link Appendable} is the same as the one returned as a string, and null arguments are
+     * rejected.
+     *
+     * @throws IOException
+     *             never, since the graphs are written to memory.
+     */
+    @Test
+    public void graphsCanBeWrittenToAnAppendable() throws IOException {
+        try (var scanResult = new ClassGraph().acceptPackages(GraphVizDotFile.class.getPackageName())
+                .enableAllInfo().enableInterClassDependencies().scan()) {
+            final var classes = scanResult.getAllClasses();
+            final var writer = new StringWriter();
+            GraphVizDotFile.writeTo(scanResult, classes, writer);
+            assertThat(writer.toString()).isEqualTo(GraphVizDotFile.generate(scanResult, classes));
+            final var dependencyWriter = new StringWriter();
+            GraphVizDotFile.writeFromInterClassDependenciesTo(scanResult, classes, dependencyWriter);
+            assertThat(dependencyWriter.toString())
+                    .isEqualTo(GraphVizDotFile.generateFromInterClassDependencies(scanResult, classes));
+
+            final var options = new GraphVizDotFileOptions();
+            assertThatThrownBy(() -> GraphVizDotFile.writeTo(scanResult, classes, null))
+                    .isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(() -> GraphVizDotFile.writeTo(scanResult, classes, null, options))
+                    .isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(() -> GraphVizDotFile.writeTo(scanResult, classes, new StringBuilder(), null))
+                    .isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(() -> GraphVizDotFile.writeFromInterClassDependenciesTo(scanResult, classes, null))
+                    .isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(
+                    () -> GraphVizDotFile.writeFromInterClassDependenciesTo(scanResult, classes, null, options))
+                    .isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(() -> GraphVizDotFile.writeFromInterClassDependenciesTo(scanResult, classes,
+                    new StringBuilder(), null)).isInstanceOf(NullPointerException.class);
+        }
+    }
+}
@@ -54,6 +54,15 @@ public class AnnotationClassRef extends ScanResultObject {
         this.typeDescriptorStr = typeDescriptorStr;
     }
 
+    /**
+     * Copy this class reference, so that the copy can be linked into a different {@link ScanResult} from this one.
+     *
+     * @return the copy.
+     */
+    AnnotationClassRef copy() {
+        return new AnnotationClassRef(typeDescriptorStr);
+    }
+
     // -------------------------------------------------------------------------------------------------------------
 
     /**
@@ -55,6 +55,15 @@ public class AnnotationEnumValue extends ScanResultObject implements Comparable<
         this.valueName = constValueName;
     }
 
+    /**
+     * Copy this enum value, so that the copy can be linked into a different {@link ScanResult} from this one.
+     *
+     * @return the copy.
+     */
+    AnnotationEnumValue copy() {
+        return new AnnotationEnumValue(className, valueName);
+    }
+
     // -------------------------------------------------------------------------------------------------------------
 
     /**
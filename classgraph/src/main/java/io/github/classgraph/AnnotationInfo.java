@@ -50,13 +50,14 @@ public class AnnotationInfo extends ScanResultObject implements Comparable<Annot
     private @Nullable AnnotationParameterValueList annotationParamValues;
 
     /**
-     * Set to true once any Object[] arrays of boxed types in annotationParamValues have been lazily converted to
-     * primitive arrays.
+     * A copy of annotationParamValues in which any Object[] arrays of boxed types have been converted to primitive
+     * arrays, created lazily. (annotationParamValues itself is never changed, so that this annotation can be read
+     * by several threads at once.)
      */
-    private boolean annotationParamValuesHasBeenConvertedToPrimitive;
+    private volatile @Nullable AnnotationParameterValueList convertedParamValues;
 
-    /** The annotation param values with defaults. */
-    private @Nullable AnnotationParameterValueList annotationParamValuesWithDefaults;
+    /** The annotation param values with defaults, created lazily from the converted param values. */
+    private volatile @Nullable AnnotationParameterValueList annotationParamValuesWithDefaults;
 
     // -------------------------------------------------------------------------------------------------------------
 
@@ -74,6 +75,34 @@ public class AnnotationInfo extends ScanResultObject implements Comparable<Annot
         this.annotationParamValues = annotationParamValues;
     }
 
+    /**
+     * Copy this annotation and its parameter values, so that the copy can be linked into a different
+     * {@link ScanResult} from this one.
+     *
+     * @return the copy.
+     */
+    AnnotationInfo copy() {
+        return new AnnotationInfo(name, AnnotationParameterValue.copyAll(annotationParamValues));
+    }
+
+    /**
+     * Copy a list of annotations (see {@link #copy()}).
+     *
+     * @param annotationInfoList
+     *            the annotations, or null.
+     * @return the copies, or null if the list is null.
+     */
+    static @Nullable AnnotationInfoList copyAll(final @Nullable AnnotationInfoList annotationInfoList) {
+        if (annotationInfoList == null) {
+            return null;
+        }
+        final var copy = new AnnotationInfoList(annotationInfoList.size());
+        for (final AnnotationInfo annotationInfo : annotationInfoList) {
+            copy.add(annotationInfo.copy());
+        }
+        return copy;
+    }
+
     // -------------------------------------------------------------------------------------------------------------
 
     /**
@@ -121,31 +150,27 @@ public class AnnotationInfo extends ScanResultObject implements Comparable<Annot
      *         annotation class definition (if requested), or the empty list if none.
      */
     AnnotationParameterValueList getParameterValues(final boolean includeDefaultValues) {
-        final var paramValues = annotationParamValues;
+        final var rawParamValues = annotationParamValues;
         final var classInfo = getClassInfo();
         if (classInfo == null) {
             // ClassInfo has not yet been set, just return values without defaults (happens when trying to log
             // AnnotationInfo during scanning, before ScanResult is available)
-            return paramValues == null ? AnnotationParameterValueList.EMPTY_LIST : paramValues;
+            return rawParamValues == null ? AnnotationParameterValueList.EMPTY_LIST : rawParamValues;
         }
         // Lazily convert any Object[] arrays of boxed types to primitive arrays
-        if (paramValues != null && !annotationParamValuesHasBeenConvertedToPrimitive) {
-            paramValues.convertWrapperArraysToPrimitiveArrays(classInfo);
-            annotationParamValuesHasBeenConvertedToPrimitive = true;
+        var paramValues = convertedParamValues;
+        if (paramValues == null && rawParamValues != null) {
+            paramValues = rawParamValues.withPrimitiveArrays(classInfo);
+            convertedParamValues = paramValues;
         }
         if (!includeDefaultValues) {
             // Don't include defaults
             return paramValues == null ? AnnotationParameterValueList.EMPTY_LIST : paramValues;
         }
-        if (annotationParamValuesWithDefaults == null) {
-            if (classInfo.annotationDefaultParamValues != null
-                    && !classInfo.annotationDefaultParamValuesHasBeenConvertedToPrimitive) {
-                classInfo.annotationDefaultParamValues.convertWrapperArraysToPrimitiveArrays(classInfo);
-                classInfo.annotationDefaultParamValuesHasBeenConvertedToPrimitive = true;
-            }
-
+        var paramValuesWithDefaults = annotationParamValuesWithDefaults;
+        if (paramValuesWithDefaults == null) {
             // Check if one or both of the defaults and the values in this annotation instance are null (empty)
-            final var defaultParamValues = classInfo.annotationDefaultParamValues;
+            final var defaultParamValues = classInfo.convertedAnnotationDefaultParamValues();
             if (defaultParamValues == null) {
                 return paramValues == null ? AnnotationParameterValueList.EMPTY_LIST : paramValues;
             } else if (paramValues == null) {
@@ -163,14 +188,14 @@ public class AnnotationInfo extends ScanResultObject implements Comparable<Annot
 
             // Put annotation values in the same order as the annotation methods (there is one method for each
             // annotation constant)
-            if (classInfo.methodInfo == null) {
+            final var annotationMethodInfo = classInfo.methodInfo();
+            if (annotationMethodInfo == null) {
                 // Should not happen (when classfile is read, methods are always read, whether or not
                 // scanSpec.enableMethodInfo is true)
                 throw new IllegalStateException("Could not find methods for annotation " + classInfo.getName());
             }
             final var withDefaults = new AnnotationParameterValueList();
-            annotationParamValuesWithDefaults = withDefaults;
-            for (final MethodInfo mi : classInfo.methodInfo) {
+            for (final MethodInfo mi : annotationMethodInfo) {
                 final var paramName = mi.getName();
                 switch (paramName) {
                 // None of these method names should be present in the @interface class itself, it should only
@@ -189,8 +214,11 @@ public class AnnotationInfo extends ScanResultObject implements Comparable<Annot
                 }
                 }
             }
+            // Only publish the list once it is complete
+            paramValuesWithDefaults = withDefaults;
+            annotationParamValuesWithDefaults = paramValuesWithDefaults;
         }
-        return Objects.requireNonNull(annotationParamValuesWithDefaults);
+        return paramValuesWithDefaults;
     }
 
     /**
@@ -229,6 +257,12 @@ public class AnnotationInfo extends ScanResultObject implements Comparable<Annot
 
     @Override
     void setScanResult(final @Nullable ScanResult scanResult) {
+        if (scanResult != this.scanResult) {
+            // The default parameter values come from the annotation class, which may have changed if this
+            // annotation is being moved to the ScanResult of an incremental scan
+            convertedParamValues = null;
+            annotationParamValuesWithDefaults = null;
+        }
         super.setScanResult(scanResult);
         final var paramValues = annotationParamValues;
         if (paramValues != null) {
@@ -271,16 +305,6 @@ public class AnnotationInfo extends ScanResultObject implements Comparable<Annot
         return super.getClassInfo();
     }
 
-    /**
-     * Convert wrapper arrays to primitive arrays.
-     */
-    void convertWrapperArraysToPrimitiveArrays() {
-        final var paramValues = annotationParamValues;
-        if (paramValues != null) {
-            paramValues.convertWrapperArraysToPrimitiveArrays(getClassInfo());
-        }
-    }
-
     // -------------------------------------------------------------------------------------------------------------
 
     @Override
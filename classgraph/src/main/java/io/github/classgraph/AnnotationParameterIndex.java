@@ -0,0 +1,240 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index from (annotation class, parameter name, parameter value) to the classes and methods that carry an
+ * annotation with that parameter value, for
+ * {@link ScanResult#getClassesWithAnnotationParameterValue(String, String, Object)} and
+ * {@link ScanResult#getMethodsWithAnnotationParameterValue(String, String, Object)}.
+ *
+ * <p>
+ * The index for an annotation class is built the first time that annotation class is queried, by visiting each
+ * class or method with the annotation once, and is then kept for the lifetime of the {@link ScanResult}. Every
+ * further query for the same annotation class is a hash lookup, rather than a walk over every annotated class that
+ * converts and compares each parameter value again.
+ */
+final class AnnotationParameterIndex {
+    /** The scan result that is indexed. */
+    private final ScanResult scanResult;
+
+    /**
+     * For each annotation class queried so far, a map from parameter name to a map from parameter value (as
+     * returned by {@link #indexKey(Object)}) to the classes annotated with that parameter value.
+     */
+    private final Map<String, Map<String, Map<Object, ClassInfoList>>> annotationNameToClassIndex = //
+            new ConcurrentHashMap<>();
+
+    /**
+     * For each annotation class queried so far, a map from parameter name to a map from parameter value (as
+     * returned by {@link #indexKey(Object)}) to the methods and constructors annotated with that parameter value.
+     */
+    private final Map<String, Map<String, Map<Object, MethodInfoList>>> annotationNameToMethodIndex = //
+            new ConcurrentHashMap<>();
+
+    /**
+     * The index key for a {@code Class<?>} reference, so that an {@link AnnotationClassRef} found by the scan and a
+     * {@link Class} passed in by the caller compare equal when they name the same class.
+     *
+     * @param className
+     *            the name of the referenced class, in the form returned by {@link AnnotationClassRef#getName()}.
+     */
+    private record ClassRefKey(String className) {
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param scanResult
+     *            the scan result to index.
+     */
+    AnnotationParameterIndex(final ScanResult scanResult) {
+        this.scanResult = scanResult;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Convert an annotation parameter value, or a value passed in by the caller to compare against one, into the
+     * key it is indexed under. Arrays are converted to lists of keys, so that they are compared by their contents,
+     * and so that a primitive array matches the same values passed in as a boxed array; {@link Class} and
+     * {@link Enum} values are converted to the form that the scan stores class references and enum constants in.
+     *
+     * @param value
+     *            the parameter value.
+     * @return the index key for the value.
+     */
+    static Object indexKey(final Object value) {
+        if (value instanceof final AnnotationClassRef classRef) {
+            return new ClassRefKey(classRef.getName());
+        } else if (value instanceof final Class<?> cls) {
+            // Class#getTypeName() renders an array class as "java.lang.String[]", the same as AnnotationClassRef
+            return new ClassRefKey(cls.getTypeName());
+        } else if (value instanceof final Enum<?> enumValue) {
+            return new AnnotationEnumValue(enumValue.getDeclaringClass().getName(), enumValue.name());
+        } else if (value.getClass().isArray()) {
+            final var length = Array.getLength(value);
+            final List<Object> elementKeys = new ArrayList<>(length);
+            for (var i = 0; i < length; i++) {
+                final var elt = Array.get(value, i);
+                elementKeys.add(elt == null ? null : indexKey(elt));
+            }
+            return elementKeys;
+        } else {
+            return value;
+        }
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the classes that have the named annotation or meta-annotation with the given parameter value.
+     *
+     * @param annotationName
+     *            the name of the annotation class.
+     * @param parameterName
+     *            the name of the annotation parameter.
+     * @param parameterValue
+     *            the parameter value to match.
+     * @return the matching classes, sorted by name, or the empty list if none.
+     */
+    ClassInfoList getClassesWithParameterValue(final String annotationName, final String parameterName,
+            final Object parameterValue) {
+        final var classIndex = annotationNameToClassIndex.computeIfAbsent(annotationName, this::indexClasses)
+                .get(parameterName);
+        final var classInfoList = classIndex == null ? null : classIndex.get(indexKey(parameterValue));
+        return classInfoList == null ? ClassInfoList.EMPTY_LIST : classInfoList;
+    }
+
+    /**
+     * Get the methods and constructors that have the named annotation or meta-annotation with the given parameter
+     * value.
+     *
+     * @param annotationName
+     *            the name of the annotation class.
+     * @param parameterName
+     *            the name of the annotation parameter.
+     * @param parameterValue
+     *            the parameter value to match.
+     * @return the matching methods and constructors, grouped by declaring class in order of class name, or the
+     *         empty list if none.
+     */
+    MethodInfoList getMethodsWithParameterValue(final String annotationName, final String parameterName,
+            final Object parameterValue) {
+        final var methodIndex = annotationNameToMethodIndex.computeIfAbsent(annotationName, this::indexMethods)
+                .get(parameterName);
+        final var methodInfoList = methodIndex == null ? null : methodIndex.get(indexKey(parameterValue));
+        return methodInfoList == null ? MethodInfoList.EMPTY_LIST : methodInfoList;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Build the class index for one annotation class.
+     *
+     * @param annotationName
+     *            the name of the annotation class.
+     * @return the map from parameter name to a map from parameter value to the classes annotated with that value.
+     */
+    private Map<String, Map<Object, ClassInfoList>> indexClasses(final String annotationName) {
+        final Map<String, Map<Object, Set<ClassInfo>>> paramNameToValueToClasses = new HashMap<>();
+        for (final ClassInfo classInfo : scanResult.getClassesWithAnnotation(annotationName)) {
+            // A class can have a @Repeatable annotation several times, with different parameter values
+            for (final AnnotationInfo annotationInfo : classInfo.getAllAnnotationInfoRepeatable(annotationName)) {
+                for (final AnnotationParameterValue paramValue : annotationInfo.getParameterValues()) {
+                    final var value = paramValue.getValue();
+                    if (value != null) {
+                        paramNameToValueToClasses.computeIfAbsent(paramValue.getName(), k -> new HashMap<>())
+                                .computeIfAbsent(indexKey(value), k -> new LinkedHashSet<>()).add(classInfo);
+                    }
+                }
+            }
+        }
+        final Map<String, Map<Object, ClassInfoList>> classIndex = new HashMap<>();
+        for (final Entry<String, Map<Object, Set<ClassInfo>>> paramEnt : paramNameToValueToClasses.entrySet()) {
+            final Map<Object, ClassInfoList> valueToClassInfoList = new HashMap<>();
+            for (final Entry<Object, Set<ClassInfo>> valueEnt : paramEnt.getValue().entrySet()) {
+                valueToClassInfoList.put(valueEnt.getKey(),
+                        new ClassInfoList(valueEnt.getValue(), /* sortByName = */ true));
+            }
+            classIndex.put(paramEnt.getKey(), valueToClassInfoList);
+        }
+        return Collections.unmodifiableMap(classIndex);
+    }
+
+    /**
+     * Build the method index for one annotation class.
+     *
+     * @param annotationName
+     *            the name of the annotation class.
+     * @return the map from parameter name to a map from parameter value to the methods and constructors annotated
+     *         with that value.
+     */
+    private Map<String, Map<Object, MethodInfoList>> indexMethods(final String annotationName) {
+        final Map<String, Map<Object, Set<MethodInfo>>> paramNameToValueToMethods = new HashMap<>();
+        // The classes with the method annotation include the subclasses of those that declare an annotated method,
+        // but only declared methods are visited, so each annotated method is only indexed once
+        for (final ClassInfo classInfo : scanResult.getClassesWithMethodAnnotation(annotationName)) {
+            for (final MethodInfo methodInfo : classInfo.getDeclaredMethodAndConstructorInfo()) {
+                for (final AnnotationInfo annotationInfo : methodInfo
+                        .getAllAnnotationInfoRepeatable(annotationName)) {
+                    for (final AnnotationParameterValue paramValue : annotationInfo.getParameterValues()) {
+                        final var value = paramValue.getValue();
+                        if (value != null) {
+                            paramNameToValueToMethods.computeIfAbsent(paramValue.getName(), k -> new HashMap<>())
+                                    .computeIfAbsent(indexKey(value), k -> new LinkedHashSet<>()).add(methodInfo);
+                        }
+                    }
+                }
+            }
+        }
+        final Map<String, Map<Object, MethodInfoList>> methodIndex = new HashMap<>();
+        for (final Entry<String, Map<Object, Set<MethodInfo>>> paramEnt : paramNameToValueToMethods.entrySet()) {
+            final Map<Object, MethodInfoList> valueToMethodInfoList = new HashMap<>();
+            for (final Entry<Object, Set<MethodInfo>> valueEnt : paramEnt.getValue().entrySet()) {
+                final var methodInfoList = new MethodInfoList(valueEnt.getValue());
+                methodInfoList.makeUnmodifiable();
+                valueToMethodInfoList.put(valueEnt.getKey(), methodInfoList);
+            }
+            methodIndex.put(paramEnt.getKey(), valueToMethodInfoList);
+        }
+        return Collections.unmodifiableMap(methodIndex);
+    }
+}
@@ -78,6 +78,67 @@ public class AnnotationParameterValue extends ScanResultObject
         this.value = value;
     }
 
+    /**
+     * Copy this parameter value, including any nested annotations, enum values, class references and arrays, so
+     * that the copy can be linked into a different {@link ScanResult} from this one.
+     *
+     * @return the copy.
+     */
+    AnnotationParameterValue copy() {
+        return new AnnotationParameterValue(name, copyValue(value));
+    }
+
+    /**
+     * Copy a list of parameter values (see {@link #copy()}).
+     *
+     * @param annotationParamValues
+     *            the parameter values, or null.
+     * @return the copies, or null if the list is null.
+     */
+    static @Nullable AnnotationParameterValueList copyAll(
+            final @Nullable AnnotationParameterValueList annotationParamValues) {
+        if (annotationParamValues == null) {
+            return null;
+        }
+        final var copy = new AnnotationParameterValueList(annotationParamValues.size());
+        for (final AnnotationParameterValue annotationParamValue : annotationParamValues) {
+            copy.add(annotationParamValue.copy());
+        }
+        return copy;
+    }
+
+    /**
+     * Copy an annotation parameter value. Strings and boxed primitives are immutable, so they are shared rather
+     * than copied.
+     *
+     * @param value
+     *            the value.
+     * @return the copy.
+     */
+    private static @Nullable Object copyValue(final @Nullable Object value) {
+        if (value instanceof final AnnotationInfo annotationInfo) {
+            return annotationInfo.copy();
+        } else if (value instanceof final AnnotationEnumValue annotationEnumValue) {
+            return annotationEnumValue.copy();
+        } else if (value instanceof final AnnotationClassRef annotationClassRef) {
+            return annotationClassRef.copy();
+        } else if (value instanceof final Object[] arrayValue) {
+            // (Keeps the runtime type of the array, which is Object[] until it is converted to a typed array)
+            final var arrayCopy = arrayValue.clone();
+            for (var i = 0; i < arrayCopy.length; i++) {
+                arrayCopy[i] = copyValue(arrayCopy[i]);
+            }
+            return arrayCopy;
+        } else if (value != null && value.getClass().isArray()) {
+            // An array of a primitive type
+            final var length = Array.getLength(value);
+            final var arrayCopy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, arrayCopy, 0, length);
+            return arrayCopy;
+        }
+        return value;
+    }
+
     /**
      * Get the annotation parameter name.
      *
@@ -199,43 +260,40 @@ public class AnnotationParameterValue extends ScanResultObject
     // -------------------------------------------------------------------------------------------------------------
 
     /**
-     * For primitive array type params, replace Object[] arrays containing boxed types with primitive arrays (need
-     * to check the type of each method of the annotation class to determine if it is a primitive array type).
+     * For primitive array type params, get a copy of this parameter value in which an Object[] array containing
+     * boxed types is replaced with a primitive array (need to check the type of each method of the annotation class
+     * to determine if it is a primitive array type). This parameter value is left unchanged, so that it can be read
+     * by several threads at once. Nested annotations convert their own parameter values when they are read.
      *
      * @param annotationClassInfo
      *            the annotation class info
+     * @return the converted copy, or this parameter value if there is nothing to convert.
      */
-    void convertWrapperArraysToPrimitiveArrays(final @Nullable ClassInfo annotationClassInfo) {
-        if (value instanceof final AnnotationInfo annotationInfo) {
-            // Recursively convert boxed arrays in nested annotations
-            annotationInfo.convertWrapperArraysToPrimitiveArrays();
-        } else if (value != null && value.getClass() == Object[].class) {
-            final var arrayValue = (Object[]) value;
-            for (final Object elt : arrayValue) {
-                if (elt instanceof final AnnotationInfo eltAnnotationInfo) {
-                    // Recurse
-                    eltAnnotationInfo.convertWrapperArraysToPrimitiveArrays();
-                }
-            }
-            final var eltTypeName = getArrayValueTypeName(arrayValue, annotationClassInfo);
-            final var eltType = ARRAY_ELEMENT_TYPES.get(eltTypeName);
-            if (eltType != null) {
-                // The array holds boxed values of a primitive type, or strings -- convert it to an array of that
-                // element type
-                final var typedArray = Array.newInstance(eltType, arrayValue.length);
-                for (var i = 0; i < arrayValue.length; i++) {
-                    final var elt = arrayValue[i];
-                    if (elt == null && eltType.isPrimitive()) {
-                        throw new IllegalArgumentException("Illegal null value for array of element type "
-                                + eltTypeName + " in parameter " + name + " of annotation class "
-                                + (annotationClassInfo == null ? "<class outside accept>"
-                                        : annotationClassInfo.getName()));
-                    }
-                    Array.set(typedArray, i, elt);
-                }
-                value = typedArray;
+    AnnotationParameterValue withPrimitiveArrays(final @Nullable ClassInfo annotationClassInfo) {
+        if (value == null || value.getClass() != Object[].class) {
+            return this;
+        }
+        final var arrayValue = (Object[]) value;
+        final var eltTypeName = getArrayValueTypeName(arrayValue, annotationClassInfo);
+        final var eltType = ARRAY_ELEMENT_TYPES.get(eltTypeName);
+        if (eltType == null) {
+            return this;
+        }
+        // The array holds boxed values of a primitive type, or strings -- convert it to an array of that element
+        // type
+        final var typedArray = Array.newInstance(eltType, arrayValue.length);
+        for (var i = 0; i < arrayValue.length; i++) {
+            final var elt = arrayValue[i];
+            if (elt == null && eltType.isPrimitive()) {
+                throw new IllegalArgumentException("Illegal null value for array of element type " + eltTypeName
+                        + " in parameter " + name + " of annotation class "
+                        + (annotationClassInfo == null ? "<class outside accept>" : annotationClassInfo.getName()));
             }
+            Array.set(typedArray, i, elt);
         }
+        final var converted = new AnnotationParameterValue(name, typedArray);
+        converted.scanResult = scanResult;
+        return converted;
     }
 
     /**
@@ -249,9 +307,8 @@ public class AnnotationParameterValue extends ScanResultObject
      */
     private String getArrayValueTypeName(final Object[] arrayValue, final @Nullable ClassInfo annotationClassInfo) {
         // Find the method in the annotation class with the same name as the annotation parameter.
-        final var annotationMethodList = annotationClassInfo == null || annotationClassInfo.methodInfo == null
-                ? null
-                : annotationClassInfo.methodInfo.get(name);
+        final var annotationMethodInfo = annotationClassInfo == null ? null : annotationClassInfo.methodInfo();
+        final var annotationMethodList = annotationMethodInfo == null ? null : annotationMethodInfo.get(name);
         if (annotationClassInfo != null && annotationMethodList != null && !annotationMethodList.isEmpty()) {
             if (annotationMethodList.size() > 1) {
                 // There should only be one method with a given name in an annotation
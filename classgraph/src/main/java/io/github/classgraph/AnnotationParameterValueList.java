@@ -111,16 +111,20 @@ public class AnnotationParameterValueList extends MappableInfoList<AnnotationPar
     // -------------------------------------------------------------------------------------------------------------
 
     /**
-     * For primitive array type params, replace Object[] arrays containing boxed types with primitive arrays (need
-     * to check the type of each method of the annotation class to determine if it is a primitive array type).
+     * For primitive array type params, get a copy of this list in which Object[] arrays containing boxed types are
+     * replaced with primitive arrays (see {@link AnnotationParameterValue#withPrimitiveArrays(ClassInfo)}). This
+     * list is left unchanged.
      *
      * @param annotationClassInfo
      *            the annotation class info
+     * @return the converted copy.
      */
-    void convertWrapperArraysToPrimitiveArrays(final @Nullable ClassInfo annotationClassInfo) {
+    AnnotationParameterValueList withPrimitiveArrays(final @Nullable ClassInfo annotationClassInfo) {
+        final var converted = new AnnotationParameterValueList(size());
         for (final AnnotationParameterValue apv : this) {
-            apv.convertWrapperArraysToPrimitiveArrays(annotationClassInfo);
+            converted.add(apv.withPrimitiveArrays(annotationClassInfo));
         }
+        return converted;
     }
 
     // -------------------------------------------------------------------------------------------------------------
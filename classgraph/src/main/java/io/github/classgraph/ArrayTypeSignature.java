@@ -224,6 +224,11 @@ public class ArrayTypeSignature extends ReferenceTypeSignature {
 
     @Override
     void setScanResult(final @Nullable ScanResult scanResult) {
+        if (scanResult != this.scanResult) {
+            // The array class refers to the ClassInfo of its element class in the previous ScanResult (see
+            // ScanResultObject#setScanResult)
+            arrayClassInfo = null;
+        }
         super.setScanResult(scanResult);
         nestedType.setScanResult(scanResult);
         final var classInfo = arrayClassInfo;
@@ -46,6 +46,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+import io.github.classgraph.IncrementalScanState.ModifiedClasspathElement;
 import io.github.classgraph.base.LogNode;
 import io.github.classgraph.base.internal.concurrency.InterruptionChecker;
 import io.github.classgraph.base.internal.filter.AcceptReject;
@@ -56,6 +57,7 @@ import io.github.classgraph.base.internal.utils.VersionFinder;
 import io.github.classgraph.classpath.ClassLoaderHandler;
 import io.github.classgraph.classpath.ModulePathInfo;
 import io.github.classgraph.classpath.internal.ClassLoaderAndModuleLayerSpec;
+import io.github.classgraph.classpath.internal.ClassLoaderProbeCache;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -357,6 +359,25 @@ public class ClassGraph {
         return this;
     }
 
+    /**
+     * Enables the reading of method bodies, to find the methods invoked, the fields read or written and the classes
+     * instantiated by each method, which may be read by calling {@link MethodInfo#getInvokedMethods()},
+     * {@link MethodInfo#getFieldAccesses()}, {@link MethodInfo#getInstantiatedClassNames()},
+     * {@link ScanResult#getMethodsInvoking(String, String)},
+     * {@link ScanResult#getMethodsAccessingField(String, String)} or
+     * {@link ScanResult#getMethodsInstantiating(String)}. Only the bodies of the methods that are themselves
+     * scanned are read, so to find references from non-public methods, also call {@link #ignoreMethodVisibility()}.
+     * (Automatically calls {@link #enableClassInfo()} and {@link #enableMethodInfo()}.)
+     *
+     * @return this (for method chaining).
+     */
+    public ClassGraph enableMethodReferenceInfo() {
+        enableClassInfo();
+        enableMethodInfo();
+        scanSpec.enableMethodReferenceInfo = true;
+        return this;
+    }
+
     // -------------------------------------------------------------------------------------------------------------
 
     /**
@@ -448,6 +469,115 @@ public class ClassGraph {
         return this;
     }
 
+    /**
+     * Deduplicate the strings read from classfiles (class names, type descriptors, method and field names, and
+     * string constants) through a table that is shared by every scan in the JVM, rather than through a table that
+     * only lasts as long as the scan. A string that an earlier scan already read is then looked up by the bytes it
+     * is encoded as in the classfile, and reused without being decoded again, which saves time and allocation for
+     * an application that rescans the same classpath periodically.
+     *
+     * <p>
+     * The table only holds its strings weakly, so strings that are no longer referenced by any {@link ScanResult}
+     * can still be garbage collected.
+     *
+     * @return this (for method chaining).
+     */
+    public ClassGraph deduplicateStringsAcrossScans() {
+        scanSpec.deduplicateStringsAcrossScans = true;
+        return this;
+    }
+
+    /**
+     * Start parsing the classfiles of each classpath element as soon as the paths within it and within every
+     * earlier classpath element have been scanned, rather than waiting until the paths within every classpath
+     * element have been scanned. Masking (where a classfile or resource hides a later one with the same path) only
+     * depends on the classpath elements that come earlier in the classpath, so it can be applied one classpath
+     * element at a time as the scan progresses. This keeps the worker threads busy when the classpath has one
+     * classpath element that takes much longer to open and scan than the others, e.g. a large fat jar among many
+     * small jars.
+     *
+     * <p>
+     * The {@link ScanResult} is the same as for a scan without pipelining. Scanning is extended upwards to external
+     * superclasses, interfaces and annotations once every accepted classfile is known, as before.
+     *
+     * @return this (for method chaining).
+     */
+    public ClassGraph enablePipelinedScanning() {
+        scanSpec.enablePipelinedScanning = true;
+        return this;
+    }
+
+    /**
+     * Keep the classfiles parsed by the scan in the {@link ScanResult}, so that the {@link ScanResult} can be
+     * passed to {@link #scanIncremental(ScanResult)} to produce an up-to-date {@link ScanResult} after directories
+     * on the classpath have been modified, without parsing the classfiles that have not changed again. This costs
+     * the memory the parsed classfiles occupy, for as long as the {@link ScanResult} is open.
+     *
+     * <p>
+     * {@link #enablePipelinedScanning()} has no effect on a scan that keeps its classfiles.
+     *
+     * @return this (for method chaining).
+     */
+    public ClassGraph enableIncrementalRescanning() {
+        scanSpec.enableIncrementalRescanning = true;
+        return this;
+    }
+
+    /**
+     * Keep what is read from the classfiles of the system modules of the running JDK (the class hierarchy, and the
+     * class annotations if {@link #enableAnnotationInfo()} was called) for the life of the process, and build the
+     * JDK classes of later scans from it, rather than reading and parsing the same classfiles again. This speeds up
+     * repeated scans that extend upwards from accepted classes into the JDK (see {@link #enableExternalClasses()}),
+     * or that scan the system modules (see {@link #enableSystemJarsAndModules()}). A snapshot is kept for each
+     * {@code java.home}, for each {@code JAVA_VERSION} and {@code IMPLEMENTOR_VERSION} in the {@code release} file
+     * of {@code java.home}, and for each combination of the settings that change what is read from a classfile.
+     *
+     * <p>
+     * Has no effect if {@link #enableFieldInfo()}, {@link #enableMethodInfo()} or
+     * {@link #enableInterClassDependencies()} was called, since fields, methods and the classes referenced by each
+     * class are too large to keep for every JDK class.
+     *
+     * @return this (for method chaining).
+     */
+    public ClassGraph enableJdkClassGraphSnapshot() {
+        scanSpec.enableJdkClassGraphSnapshot = true;
+        return this;
+    }
+
+    /**
+     * Only softly reference the fields and methods of each class from the {@link ScanResult} (including their type
+     * signatures and annotations, and the values of the parameters of those annotations), so that the garbage
+     * collector can reclaim them when memory runs short, rather than throwing {@link OutOfMemoryError}. Fields and
+     * methods that were reclaimed are read again from the classfile of the class, the next time they are asked for,
+     * so a {@link ScanResult} of a very large classpath, with {@link #enableFieldInfo()} or
+     * {@link #enableMethodInfo()}, only needs as much of the heap as the class graph itself, plus the fields and
+     * methods in use.
+     *
+     * <p>
+     * The fields and methods of annotation classes are always kept, since the default values of annotation
+     * parameters are needed whenever an annotation is read. The {@link FieldInfo} and {@link MethodInfo} objects
+     * read again are new objects, equal to the ones they replace. Reading them again needs the classpath elements
+     * of the scan, so once the {@link ScanResult} has been closed, the fields and methods that have not been
+     * reclaimed are kept, and asking for those that have throws {@link IllegalStateException}. Has no effect if
+     * {@link #enableIncrementalRescanning()} was called, since the parsed classfiles are then kept anyway.
+     *
+     * <p>
+     * Reading the fields and methods of a class again costs about as much as parsing its classfile did, so this
+     * trades time for memory. The indexes built by the first call to
+     * {@link ScanResult#getMethodsWithAnnotationParameterValue(String, String, Object)} or
+     * {@link ScanResult#getMethodsInvoking(String, String)} (and the other method reference lookups) hold the
+     * {@link MethodInfo} objects they return strongly for as long as the {@link ScanResult} is open. Those objects
+     * are not reclaimed, but once the other members of their class have been reclaimed and read again, they are no
+     * longer the same objects as the ones {@link ClassInfo#getMethodInfo()} returns, so compare methods with
+     * {@link MethodInfo#equals(Object)} rather than {@code ==}.
+     *
+     * @return this (for method chaining).
+     */
+    public ClassGraph enableSoftReferencedMemberInfo() {
+        scanSpec.enableSoftReferencedMemberInfo = true;
+        return this;
+    }
+
     // -------------------------------------------------------------------------------------------------------------
 
     /**
@@ -647,6 +777,83 @@ public class ClassGraph {
         return this;
     }
 
+    /**
+     * Reuse the classpath found by an earlier scan that also called this method, if that scan used the same
+     * classloaders, the same module layers and the same classpath settings, rather than asking each classloader for
+     * its classpath again. This saves the cost of finding the classpath, which can be a significant part of the
+     * time taken by a scan of a small package in a large application, when the same scan is run repeatedly.
+     *
+     * <p>
+     * The cache only weakly references classloaders and module layers, so it does not keep them alive. It does not
+     * notice a change to the classpath of a classloader, such as a jarfile that is added to a
+     * {@link java.net.URLClassLoader}, or a classpath element that is created after the classpath was cached: call
+     * {@link #invalidateClasspathCache(ClassLoader)} or {@link #invalidateClasspathCache()} when that happens. The
+     * classpath is not cached if it is overridden, or if classpath element filters are added.
+     *
+     * @return this (for method chaining).
+     */
+    public ClassGraph enableClasspathCache() {
+        scanSpec.classpathSpec.enableClasspathCache = true;
+        return this;
+    }
+
+    /**
+     * Keep a summary of each jarfile that a scan opens -- a Bloom filter over the names of its entries and of the
+     * directories they are in, and its manifest -- in a cache shared by every scan in the process. A later scan
+     * that also calls this method reads the summary rather than the central directory of a jarfile that has not
+     * changed since, in order to decide whether the jarfile can be left out of the scan because it has none of the
+     * paths required by {@link #acceptClasspathElementsContainingResourcePath(String...)}.
+     *
+     * <p>
+     * Whether or not this is called, the entries of a jarfile that has none of the accepted packages or paths are
+     * not scanned one by one, since the jarfile's own filter rules out every accepted directory. The summary is
+     * only kept on platforms whose filesystems identify each file by a key (Linux and macOS, but not Windows),
+     * since the key, the size and the last modified time of the file are what tell whether a jarfile has changed.
+     *
+     * @return this (for method chaining).
+     */
+    public ClassGraph enableArchiveSummaryCache() {
+        scanSpec.vfsSpec.enableArchiveSummaryCache();
+        return this;
+    }
+
+    /**
+     * Read the modules of the running JDK, when system modules are scanned, straight from the JDK's module image
+     * ({@code $JAVA_HOME/lib/modules}) rather than through the {@code jrt:} filesystem. The image is memory-mapped
+     * and its index is read directly, so that a module is listed without a {@link java.lang.module.ModuleReader},
+     * and a classfile is parsed from a slice of the image rather than from a copy of it.
+     *
+     * <p>
+     * The format of the image is internal to the JDK, so if it is not the format that ClassGraph knows, the modules
+     * are read through the {@code jrt:} filesystem as usual.
+     *
+     * @return this (for method chaining).
+     */
+    public ClassGraph enableJImageReader() {
+        scanSpec.vfsSpec.enableJImageReader();
+        return this;
+    }
+
+    /**
+     * Drop the classpaths cached by scans that called {@link #enableClasspathCache()}, so that the next scan finds
+     * the classpath again.
+     */
+    public static void invalidateClasspathCache() {
+        ClassLoaderProbeCache.shared().invalidateAll();
+    }
+
+    /**
+     * Drop the classpaths cached by scans that called {@link #enableClasspathCache()} and used the given
+     * classloader, so that the next scan that uses the classloader asks it for its classpath again.
+     *
+     * @param classLoader
+     *            the classloader whose classpath has changed.
+     */
+    public static void invalidateClasspathCache(final ClassLoader classLoader) {
+        Assert.notNull(classLoader, "classLoader");
+        ClassLoaderProbeCache.shared().invalidate(classLoader);
+    }
+
     /**
      * Register a {@link ClassLoaderHandler}, which teaches ClassGraph how to read the classpath out of a
      * {@link ClassLoader} that it does not already know about.
@@ -1277,6 +1484,7 @@ public class ClassGraph {
         scanSpec.enableStaticFinalFieldConstantInitializerValues = false;
         scanSpec.enableAnnotationInfo = false;
         scanSpec.enableInterClassDependencies = false;
+        scanSpec.enableMethodReferenceInfo = false;
         // N.B. disableRuntimeInvisibleAnnotations is deliberately not set here -- it is only read when
         // enableAnnotationInfo is true, which this method has just disabled, so setting it would have no effect
         // on this scan, but would remain set if the caller subsequently re-enabled annotation info
@@ -1447,6 +1655,125 @@ public class ClassGraph {
         return scan(DEFAULT_NUM_WORKER_THREADS);
     }
 
+    /**
+     * Scan again after the classpath contents have been modified, reusing what has not changed since an earlier
+     * scan, with the requested number of threads. The earlier scan must have been configured by the same
+     * {@link ClassGraph} settings, including {@link #enableIncrementalRescanning()}.
+     *
+     * <p>
+     * If only directories on the classpath have been modified, the paths within each modified directory are scanned
+     * again, classpath masking is applied again, and the classfiles that have been added or modified are parsed.
+     * The classfiles that have not changed are not read again: they are linked into new {@link ClassInfo} objects
+     * along with the new classfiles. The classpath itself is assumed not to have changed, i.e. the classpath
+     * elements of the earlier scan are scanned again, without the classpath being looked up again.
+     *
+     * <p>
+     * If a jarfile or module has been modified, or if {@code previous} was not scanned with
+     * {@link #enableIncrementalRescanning()}, or has already been closed, a full scan is performed, as if by
+     * {@link #scan(int)}.
+     *
+     * <p>
+     * Either way, {@code previous} is closed by this method. Its open files, and the objects that did not change,
+     * are handed over to the returned {@link ScanResult}, so {@link ClassInfo} objects and other objects obtained
+     * from {@code previous} must not be used once this method has been called.
+     *
+     * @param previous
+     *            the {@link ScanResult} of the earlier scan.
+     * @param numThreads
+     *            The number of worker threads to start up.
+     * @return a {@link ScanResult} object representing the result of the scan.
+     * @throws ClassGraphException
+     *             if any of the worker threads throws an uncaught exception, or the scan was interrupted.
+     */
+    public ScanResult scanIncremental(final ScanResult previous, final int numThreads) {
+        Assert.notNull(previous, "previous");
+        return scanIncremental(previous, numThreads, /* modifiedDirs = */ null);
+    }
+
+    /**
+     * Scan again after the classpath contents have been modified, reusing what has not changed since an earlier
+     * scan. See {@link #scanIncremental(ScanResult, int)}.
+     *
+     * @param previous
+     *            the {@link ScanResult} of the earlier scan.
+     * @param numThreads
+     *            The number of worker threads to start up.
+     * @param modifiedDirs
+     *            the directory classpath elements that are known to have been modified, for a caller such as
+     *            {@link LiveScanResult} that tracks this itself, in which case only the classpath elements other
+     *            than directories are checked for modification; or null to check every classpath element.
+     * @return a {@link ScanResult} object representing the result of the scan.
+     * @throws ClassGraphException
+     *             if any of the worker threads throws an uncaught exception, or the scan was interrupted.
+     */
+    ScanResult scanIncremental(final ScanResult previous, final int numThreads,
+            final @Nullable List<ModifiedClasspathElement> modifiedDirs) {
+        final var previousScanState = previous.getIncrementalScanState();
+        final var modifiedClasspathElements = previousScanState == null ? null
+                : modifiedDirs == null ? previousScanState.findModifiedClasspathElements()
+                        : previousScanState.isNonDirClasspathElementModified() ? null : modifiedDirs;
+        if (previousScanState == null || modifiedClasspathElements == null || !previous.handOver()) {
+            previous.close();
+            return scan(numThreads);
+        }
+        try (var executorService = new AutoCloseableExecutorService(numThreads)) {
+            return executorService.submit(new Scanner(previousScanState, modifiedClasspathElements, executorService,
+                    numThreads, topLevelLog)).get();
+
+        } catch (final InterruptedException e) {
+            // Restore the interrupt status, for the same reason as in scan(ExecutorService, int)
+            Thread.currentThread().interrupt();
+            throw new ClassGraphException("Scan interrupted", e);
+        } catch (final CancellationException e) {
+            throw new ClassGraphException("Scan interrupted", e);
+        } catch (final ExecutionException e) {
+            throw new ClassGraphException("Uncaught exception during scan", InterruptionChecker.getCause(e));
+        }
+    }
+
+    /**
+     * Scan again after the classpath contents have been modified, reusing what has not changed since an earlier
+     * scan. See {@link #scanIncremental(ScanResult, int)}.
+     *
+     * @param previous
+     *            the {@link ScanResult} of the earlier scan.
+     * @return a {@link ScanResult} object representing the result of the scan.
+     * @throws ClassGraphException
+     *             if any of the worker threads throws an uncaught exception, or the scan was interrupted.
+     */
+    public ScanResult scanIncremental(final ScanResult previous) {
+        return scanIncremental(previous, DEFAULT_NUM_WORKER_THREADS);
+    }
+
+    /**
+     * Scans the classpath with the requested number of threads, then keeps the result up to date as the directories
+     * on the classpath change. Each directory that was scanned is watched by a {@link java.nio.file.WatchService},
+     * and {@link LiveScanResult#getScanResult()} scans only the paths that have changed since the last time it was
+     * called, through {@link #scanIncremental(ScanResult, int)}. Implies {@link #enableIncrementalRescanning()}.
+     *
+     * @param numThreads
+     *            The number of worker threads to start up.
+     * @return a {@link LiveScanResult}, which must be closed once it is no longer needed.
+     * @throws ClassGraphException
+     *             if any of the worker threads throws an uncaught exception, or the scan was interrupted.
+     */
+    public LiveScanResult scanLive(final int numThreads) {
+        enableIncrementalRescanning();
+        return new LiveScanResult(this, numThreads, scan(numThreads));
+    }
+
+    /**
+     * Scans the classpath, then keeps the result up to date as the directories on the classpath change. See
+     * {@link #scanLive(int)}.
+     *
+     * @return a {@link LiveScanResult}, which must be closed once it is no longer needed.
+     * @throws ClassGraphException
+     *             if any of the worker threads throws an uncaught exception, or the scan was interrupted.
+     */
+    public LiveScanResult scanLive() {
+        return scanLive(DEFAULT_NUM_WORKER_THREADS);
+    }
+
     // -------------------------------------------------------------------------------------------------------------
 
     /**
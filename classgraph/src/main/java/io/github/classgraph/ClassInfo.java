@@ -34,6 +34,7 @@ import java.io.File;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Inherited;
 import java.lang.annotation.Repeatable;
+import java.lang.ref.SoftReference;
 import java.lang.module.ModuleReference;
 import java.lang.reflect.Modifier;
 import java.net.MalformedURLException;
@@ -51,10 +52,12 @@ import java.util.Map.Entry;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import io.github.classgraph.Classfile.ClassContainment;
 import io.github.classgraph.Classfile.ClassTypeAnnotationDecorator;
+import io.github.classgraph.Classfile.Members;
 import io.github.classgraph.TypeUtils.ModifierType;
 import io.github.classgraph.base.LogNode;
 import io.github.classgraph.base.internal.utils.Assert;
@@ -162,10 +165,18 @@ public class ClassInfo extends ScanResultObject implements Comparable<ClassInfo>
     @Nullable
     FieldInfoList fieldInfo;
 
-    /** Info on fields. */
+    /** Info on methods. */
     @Nullable
     MethodInfoList methodInfo;
 
+    /**
+     * The fields and methods of the class, if they are only softly referenced (see
+     * {@link ClassGraph#enableSoftReferencedMemberInfo()}), in which case {@link #fieldInfo} and
+     * {@link #methodInfo} are null; otherwise null.
+     */
+    @Nullable
+    private volatile SoftReference<Members> softMemberInfo;
+
     /** For annotations, the default values of parameters. */
     @Nullable
     AnnotationParameterValueList annotationDefaultParamValues;
@@ -189,10 +200,10 @@ public class ClassInfo extends ScanResultObject implements Comparable<ClassInfo>
     private @Nullable ClassInfoList referencedClasses;
 
     /**
-     * Set to true once any Object[] arrays of boxed types in annotationDefaultParamValues have been lazily
-     * converted to primitive arrays.
+     * A copy of annotationDefaultParamValues in which any Object[] arrays of boxed types have been converted to
+     * primitive arrays, created lazily.
      */
-    boolean annotationDefaultParamValuesHasBeenConvertedToPrimitive;
+    private volatile @Nullable AnnotationParameterValueList convertedAnnotationDefaultParamValues;
 
     /** The set of classes related to this one. */
     private Map<RelType, Set<ClassInfo>> relatedClasses;
@@ -740,6 +751,85 @@ public class ClassInfo extends ScanResultObject implements Comparable<ClassInfo>
         }
     }
 
+    /**
+     * Only softly reference the fields and methods of the class from now on, unless this is an annotation class,
+     * whose methods are needed whenever one of its annotations is read. Not threadsafe, should be run before the
+     * {@link ScanResult} is handed out.
+     */
+    void holdMemberInfoSoftly() {
+        if (isAnnotation() || classpathElement == null || classfileResource == null
+                || fieldInfo == null && methodInfo == null) {
+            return;
+        }
+        softMemberInfo = new SoftReference<>(new Members(fieldInfo, methodInfo));
+        fieldInfo = null;
+        methodInfo = null;
+    }
+
+    /**
+     * Strongly reference the fields and methods of the class again, if they are only softly referenced and have not
+     * been reclaimed, since they cannot be read from the classfile again once the {@link ScanResult} is closed.
+     */
+    void holdMemberInfoStrongly() {
+        synchronized (this) {
+            final var softMemberInfoRef = softMemberInfo;
+            final var members = softMemberInfoRef == null ? null : softMemberInfoRef.get();
+            if (members != null) {
+                fieldInfo = members.fieldInfoList();
+                methodInfo = members.methodInfoList();
+                softMemberInfo = null;
+            }
+        }
+    }
+
+    /**
+     * Get the fields and methods of the class, when they are only softly referenced, reading them from the
+     * classfile again if they were reclaimed.
+     *
+     * @return the fields and methods of the class.
+     * @throws IllegalStateException
+     *             if they were reclaimed, and could not be read again.
+     */
+    private Members softMembers() {
+        synchronized (this) {
+            final var softMemberInfoRef = softMemberInfo;
+            if (softMemberInfoRef == null) {
+                // Strongly referenced again by holdMemberInfoStrongly() since the caller checked
+                return new Members(fieldInfo, methodInfo);
+            }
+            var members = softMemberInfoRef.get();
+            if (members == null) {
+                members = scanResult().readMembers(this);
+                softMemberInfo = new SoftReference<>(members);
+            }
+            return members;
+        }
+    }
+
+    /**
+     * Get the fields declared by the class, whether or not they are only softly referenced.
+     *
+     * @return the fields, or null if no fields were read from the classfile.
+     * @throws IllegalStateException
+     *             if the fields were reclaimed, and could not be read from the classfile again.
+     */
+    @Nullable
+    FieldInfoList fieldInfo() {
+        return softMemberInfo == null ? fieldInfo : softMembers().fieldInfoList();
+    }
+
+    /**
+     * Get the methods declared by the class, whether or not they are only softly referenced.
+     *
+     * @return the methods, or null if no methods were read from the classfile.
+     * @throws IllegalStateException
+     *             if the methods were reclaimed, and could not be read from the classfile again.
+     */
+    @Nullable
+    MethodInfoList methodInfo() {
+        return softMemberInfo == null ? methodInfo : softMembers().methodInfoList();
+    }
+
     /**
      * Set the class type signature, including any type params.
      *
@@ -764,6 +854,7 @@ public class ClassInfo extends ScanResultObject implements Comparable<ClassInfo>
         } else {
             this.annotationDefaultParamValues.addAll(paramNamesAndValues);
         }
+        convertedAnnotationDefaultParamValues = null;
     }
 
     // -------------------------------------------------------------------------------------------------------------
@@ -2404,16 +2495,30 @@ public class ClassInfo extends ScanResultObject implements Comparable<ClassInfo>
         if (!isAnnotation()) {
             throw new IllegalStateException("Class is not an annotation: " + getName());
         }
-        synchronized (this) {
-            if (annotationDefaultParamValues == null) {
-                return AnnotationParameterValueList.EMPTY_LIST;
-            }
-            if (!annotationDefaultParamValuesHasBeenConvertedToPrimitive) {
-                annotationDefaultParamValues.convertWrapperArraysToPrimitiveArrays(this);
-                annotationDefaultParamValuesHasBeenConvertedToPrimitive = true;
-            }
-            return unmodifiable(annotationDefaultParamValues);
+        final var defaultParamValues = convertedAnnotationDefaultParamValues();
+        return defaultParamValues == null ? AnnotationParameterValueList.EMPTY_LIST
+                : unmodifiable(defaultParamValues);
+    }
+
+    /**
+     * Get the default parameter values for this annotation, with any Object[] arrays of boxed types converted to
+     * primitive arrays. The converted copy is created once and then shared, so that it can be read by several
+     * threads at once.
+     *
+     * @return the converted default parameter values, or null if there are none.
+     */
+    @Nullable
+    AnnotationParameterValueList convertedAnnotationDefaultParamValues() {
+        final var defaultParamValues = annotationDefaultParamValues;
+        if (defaultParamValues == null) {
+            return null;
         }
+        var converted = convertedAnnotationDefaultParamValues;
+        if (converted == null) {
+            converted = defaultParamValues.withPrimitiveArrays(this);
+            convertedAnnotationDefaultParamValues = converted;
+        }
+        return converted;
     }
 
     /**
@@ -2471,11 +2576,12 @@ public class ClassInfo extends ScanResultObject implements Comparable<ClassInfo>
     private MethodInfoList getDeclaredMethodInfoOfKind(final boolean getNormalMethods,
             final boolean getConstructorMethods) {
         scanResult().scanSpec.checkMethodInfoEnabled();
-        if (methodInfo == null) {
+        final var declaredMethodInfo = methodInfo();
+        if (declaredMethodInfo == null) {
             return MethodInfoList.EMPTY_LIST;
         }
         final var methodInfoList = new MethodInfoList();
-        for (final MethodInfo mi : methodInfo) {
+        for (final MethodInfo mi : declaredMethodInfo) {
             final var miName = mi.getName();
             final var isConstructor = "<init>".equals(miName);
             final var isStaticInitializer = "<clinit>".equals(miName);
@@ -2497,11 +2603,12 @@ public class ClassInfo extends ScanResultObject implements Comparable<ClassInfo>
      */
     private MethodInfoList getDeclaredMethodInfoWithName(final String methodName) {
         scanResult().scanSpec.checkMethodInfoEnabled();
-        if (methodInfo == null) {
+        final var declaredMethodInfo = methodInfo();
+        if (declaredMethodInfo == null) {
             return MethodInfoList.EMPTY_LIST;
         }
         final var methodInfoList = new MethodInfoList();
-        for (final MethodInfo mi : methodInfo) {
+        for (final MethodInfo mi : declaredMethodInfo) {
             if (mi.getName().equals(methodName)) {
                 methodInfoList.add(mi);
             }
@@ -3102,7 +3209,8 @@ public class ClassInfo extends ScanResultObject implements Comparable<ClassInfo>
      */
     public FieldInfoList getDeclaredFieldInfo() {
         scanResult().scanSpec.checkFieldInfoEnabled();
-        return fieldInfo == null ? FieldInfoList.EMPTY_LIST : unmodifiable(fieldInfo);
+        final var declaredFieldInfo = fieldInfo();
+        return declaredFieldInfo == null ? FieldInfoList.EMPTY_LIST : unmodifiable(declaredFieldInfo);
     }
 
     /**
@@ -3187,10 +3295,11 @@ public class ClassInfo extends ScanResultObject implements Comparable<ClassInfo>
     public @Nullable FieldInfo getDeclaredFieldInfo(final String fieldName) {
         Assert.notNull(fieldName, "fieldName");
         scanResult().scanSpec.checkFieldInfoEnabled();
-        if (fieldInfo == null) {
+        final var declaredFieldInfo = fieldInfo();
+        if (declaredFieldInfo == null) {
             return null;
         }
-        for (final FieldInfo fi : fieldInfo) {
+        for (final FieldInfo fi : declaredFieldInfo) {
             if (fi.getName().equals(fieldName)) {
                 return fi;
             }
@@ -3766,6 +3875,87 @@ public class ClassInfo extends ScanResultObject implements Comparable<ClassInfo>
 
     // -------------------------------------------------------------------------------------------------------------
 
+    /**
+     * A way in which a class refers directly to another class, for {@link #forEachDirectlyRelatedClass}.
+     */
+    public enum Relation {
+        /** The superclass of a standard class. */
+        SUPERCLASS(RelType.SUPERCLASSES),
+
+        /** An interface implemented by a standard class, or a superinterface of an interface. */
+        IMPLEMENTED_INTERFACE(RelType.IMPLEMENTED_INTERFACES),
+
+        /** The class that an inner class is contained within. */
+        OUTER_CLASS(RelType.CONTAINED_WITHIN_OUTER_CLASS),
+
+        /** An annotation on the class, or a meta-annotation, if the class is an annotation. */
+        CLASS_ANNOTATION(RelType.CLASS_ANNOTATIONS),
+
+        /** An annotation on one or more methods of the class. */
+        METHOD_ANNOTATION(RelType.METHOD_ANNOTATIONS),
+
+        /** An annotation on one or more parameters of methods of the class. */
+        METHOD_PARAMETER_ANNOTATION(RelType.METHOD_PARAMETER_ANNOTATIONS),
+
+        /** An annotation on one or more fields of the class. */
+        FIELD_ANNOTATION(RelType.FIELD_ANNOTATIONS),
+
+        /**
+         * A class that the class refers to anywhere, as returned by {@link ClassInfo#getClassDependencies()}. Only
+         * recorded if {@link ClassGraph#enableInterClassDependencies()} was called before scanning.
+         */
+        DEPENDENCY(null);
+
+        /** The relationship type the relation is recorded as, or null for {@link #DEPENDENCY}. */
+        private final @Nullable RelType relType;
+
+        /**
+         * Constructor.
+         *
+         * @param relType
+         *            the relationship type the relation is recorded as, or null for {@link #DEPENDENCY}.
+         */
+        Relation(final @Nullable RelType relType) {
+            this.relType = relType;
+        }
+    }
+
+    /**
+     * Pass each class that this class is directly related to in a given way to an action, straight from the class
+     * graph. Unlike the methods that return a {@link ClassInfoList}, such as {@link #getDirectSuperinterfaces()},
+     * this neither copies, sorts nor filters the related classes, and does not compute the transitive closure of
+     * the relation just to discard all but the direct part of it, so it is the way to walk every edge of a large
+     * class graph. The related classes are passed in the order they were found, and include external classes even
+     * if {@link ClassGraph#enableExternalClasses()} was not called, as well as {@code java.lang.Object}, which a
+     * caller can tell apart with {@link #isExternalClass()} and by name.
+     *
+     * @param relation
+     *            the way in which the classes are related to this one.
+     * @param action
+     *            the action to pass each related class to.
+     * @throws IllegalStateException
+     *             if the relation is {@link Relation#DEPENDENCY} and
+     *             {@link ClassGraph#enableInterClassDependencies()} was not called before scanning.
+     */
+    public void forEachDirectlyRelatedClass(final Relation relation, final Consumer<? super ClassInfo> action) {
+        Objects.requireNonNull(relation, "relation must not be null");
+        Objects.requireNonNull(action, "action must not be null");
+        final var relType = relation.relType;
+        if (relType == null) {
+            scanResult().scanSpec.checkInterClassDependenciesEnabled();
+            if (referencedClasses != null) {
+                referencedClasses.forEach(action);
+            }
+            return;
+        }
+        final var relatedClassesOfType = relatedClasses.get(relType);
+        if (relatedClassesOfType != null) {
+            relatedClassesOfType.forEach(action);
+        }
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
     /**
      * Compare based on class name.
      *
@@ -34,6 +34,7 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +45,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import io.github.classgraph.Scanner.ClassfileScanWorkUnit;
 import io.github.classgraph.base.LogNode;
 import io.github.classgraph.base.internal.utils.CollectionUtils;
+import io.github.classgraph.base.internal.utils.StringDeduplicationTable;
 import io.github.classgraph.base.internal.utils.StringUtils;
 import io.github.classgraph.vfs.internal.slice.reader.RandomAccessOrSequentialReader;
 import org.jspecify.annotations.Nullable;
@@ -67,7 +69,7 @@ class Classfile {
     private final ClasspathElement classpathElement;
 
     /** The classpath order. */
-    private final List<ClasspathElement> classpathOrder;
+    private List<ClasspathElement> classpathOrder;
 
     /**
      * The modules that are not being scanned, but whose classfiles may still be read in order to complete the class
@@ -79,7 +81,7 @@ class Classfile {
     private final String relativePath;
 
     /** The classfile resource. */
-    private final Resource classfileResource;
+    private Resource classfileResource;
 
     /** The string intern map. */
     private final ConcurrentHashMap<String, String> stringInternMap;
@@ -151,17 +153,26 @@ class Classfile {
     /**
      * The names of accepted classes found in the classpath while scanning paths within classpath elements.
      */
-    private final Set<String> acceptedClassNamesFound;
+    private Set<String> acceptedClassNamesFound;
 
     /**
      * The names of external (non-accepted) classes scheduled for extended scanning (where scanning is extended
      * upwards to superclasses, interfaces and annotations).
      */
-    private final Set<String> classNamesScheduledForExtendedScanning;
+    private Set<String> classNamesScheduledForExtendedScanning;
 
     /** Any additional work units scheduled for scanning. */
     private @Nullable List<ClassfileScanWorkUnit> additionalWorkUnits;
 
+    /**
+     * True if extending scanning upwards to external classes was deferred until
+     * {@link #extendScanningUpwardsDeferred()} is called, because no work queue was given to the constructor.
+     */
+    private boolean extendingScanningUpwardsDeferred;
+
+    /** The log node that the deferred extension of scanning upwards logs to, or null to skip logging. */
+    private @Nullable LogNode extendScanningUpwardsLog;
+
     /** The scan spec. */
     private final ScanSpec scanSpec;
 
@@ -181,6 +192,27 @@ class Classfile {
 
     // -------------------------------------------------------------------------------------------------------------
 
+    /**
+     * The bytecode of the method currently being walked for member references, grown as needed and reused for each
+     * method of the class, or null if no method body has been walked yet.
+     */
+    private byte @Nullable [] codeBuf;
+
+    /**
+     * The references made by the bytecode of the method currently being walked, each encoded as the opcode minus
+     * {@link #OPCODE_GETSTATIC} in the upper 16 bits and the constant pool index in the lower 16 bits, grown as
+     * needed and reused for each method of the class.
+     */
+    private int @Nullable [] codeRefBuf;
+
+    /**
+     * The {@link MemberReference} for each encoded reference resolved so far, so that a method or field that is
+     * referenced by several methods of the class is only resolved once, and is shared between those methods.
+     */
+    private @Nullable Map<Integer, MemberReference> memberReferenceCache;
+
+    // -------------------------------------------------------------------------------------------------------------
+
     /**
      * Get the {@link RandomAccessOrSequentialReader} for the current classfile.
      *
@@ -197,6 +229,79 @@ class Classfile {
     /** An empty array for the case where there are no annotations. */
     private static final AnnotationInfo[] NO_ANNOTATIONS = {};
 
+    /** An empty array, for the constant pool entries of a classfile whose constant pool has been released. */
+    private static final int[] NO_CONSTANT_POOL_ENTRIES = {};
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /** The {@code getstatic} opcode, the first of the opcodes that reference a field or method. */
+    private static final int OPCODE_GETSTATIC = 0xb2;
+
+    /** The {@code invokeinterface} opcode, the last of the opcodes that reference a field or method. */
+    private static final int OPCODE_INVOKEINTERFACE = 0xb9;
+
+    /** The {@code new} opcode. */
+    private static final int OPCODE_NEW = 0xbb;
+
+    /** The {@code tableswitch} opcode. */
+    private static final int OPCODE_TABLESWITCH = 0xaa;
+
+    /** The {@code lookupswitch} opcode. */
+    private static final int OPCODE_LOOKUPSWITCH = 0xab;
+
+    /** The {@code wide} opcode. */
+    private static final int OPCODE_WIDE = 0xc4;
+
+    /** The {@code iinc} opcode. */
+    private static final int OPCODE_IINC = 0x84;
+
+    /**
+     * The {@link MemberReference.Kind} for each opcode from {@link #OPCODE_GETSTATIC} to
+     * {@link #OPCODE_INVOKEINTERFACE}, indexed by the opcode minus {@link #OPCODE_GETSTATIC}.
+     */
+    private static final MemberReference.Kind[] MEMBER_REFERENCE_KINDS = MemberReference.Kind.values();
+
+    /**
+     * The length in bytes of each instruction, including the opcode, indexed by opcode; or 0 for an instruction
+     * whose length depends on its operands ({@code tableswitch}, {@code lookupswitch} and {@code wide}), or for an
+     * opcode that is not valid in a classfile. See JVMS chapter 6.
+     */
+    private static final byte[] OPCODE_LENGTHS = new byte[256];
+
+    static {
+        // nop (0x00) to jsr_w (0xc9) are the valid opcodes; most take no operands
+        Arrays.fill(OPCODE_LENGTHS, 0x00, 0xca, (byte) 1);
+        // bipush, ldc
+        OPCODE_LENGTHS[0x10] = OPCODE_LENGTHS[0x12] = 2;
+        // sipush, ldc_w, ldc2_w
+        OPCODE_LENGTHS[0x11] = OPCODE_LENGTHS[0x13] = OPCODE_LENGTHS[0x14] = 3;
+        // iload to aload, istore to astore (local variable index)
+        Arrays.fill(OPCODE_LENGTHS, 0x15, 0x1a, (byte) 2);
+        Arrays.fill(OPCODE_LENGTHS, 0x36, 0x3b, (byte) 2);
+        // iinc (local variable index, constant)
+        OPCODE_LENGTHS[OPCODE_IINC] = 3;
+        // ifeq to jsr (branch offset)
+        Arrays.fill(OPCODE_LENGTHS, 0x99, 0xa9, (byte) 3);
+        // ret (local variable index)
+        OPCODE_LENGTHS[0xa9] = 2;
+        OPCODE_LENGTHS[OPCODE_TABLESWITCH] = OPCODE_LENGTHS[OPCODE_LOOKUPSWITCH] = 0;
+        // getstatic to invokestatic (constant pool index)
+        Arrays.fill(OPCODE_LENGTHS, OPCODE_GETSTATIC, OPCODE_INVOKEINTERFACE, (byte) 3);
+        // invokeinterface, invokedynamic (constant pool index, then two more bytes)
+        OPCODE_LENGTHS[OPCODE_INVOKEINTERFACE] = OPCODE_LENGTHS[0xba] = 5;
+        // new, anewarray, checkcast, instanceof (constant pool index)
+        OPCODE_LENGTHS[OPCODE_NEW] = OPCODE_LENGTHS[0xbd] = OPCODE_LENGTHS[0xc0] = OPCODE_LENGTHS[0xc1] = 3;
+        // newarray (array type)
+        OPCODE_LENGTHS[0xbc] = 2;
+        OPCODE_LENGTHS[OPCODE_WIDE] = 0;
+        // multianewarray (constant pool index, dimensions)
+        OPCODE_LENGTHS[0xc5] = 4;
+        // ifnull, ifnonnull (branch offset)
+        OPCODE_LENGTHS[0xc6] = OPCODE_LENGTHS[0xc7] = 3;
+        // goto_w, jsr_w (wide branch offset)
+        OPCODE_LENGTHS[0xc8] = OPCODE_LENGTHS[0xc9] = 5;
+    }
+
     // -------------------------------------------------------------------------------------------------------------
 
     /**
@@ -212,6 +317,17 @@ class Classfile {
     record ClassContainment(String innerClassName, int innerClassModifierBits, String outerClassName) {
     }
 
+    /**
+     * The fields and methods read from a classfile.
+     *
+     * @param fieldInfoList
+     *            the fields, or null if none were read.
+     * @param methodInfoList
+     *            the methods, or null if none were read.
+     */
+    record Members(@Nullable FieldInfoList fieldInfoList, @Nullable MethodInfoList methodInfoList) {
+    }
+
     // -------------------------------------------------------------------------------------------------------------
 
     /** Thrown when a classfile's contents are not in the correct format. */
@@ -778,8 +894,12 @@ class Classfile {
         if (utfLen == 0) {
             return "";
         }
-        return intern(StringUtils.normalizeTypeDescriptor(
-                reader().readStringModifiedUtf8(constantPoolStringOffset + 2L, utfLen), replaceSlashWithDot,
+        if (scanSpec.deduplicateStringsAcrossScans) {
+            // Look the string up by its bytes in the table shared across scans, which only decodes it on a miss
+            return reader().readStringModifiedUtf8(constantPoolStringOffset + 2L, utfLen,
+                    StringDeduplicationTable.shared(), replaceSlashWithDot, stripLSemicolon);
+        }
+        return intern(reader().readStringModifiedUtf8(constantPoolStringOffset + 2L, utfLen, replaceSlashWithDot,
                 stripLSemicolon));
     }
 
@@ -807,6 +927,11 @@ class Classfile {
         if (utfLen == 0) {
             return "";
         }
+        if (scanSpec.deduplicateStringsAcrossScans) {
+            return reader().readStringModifiedUtf8(constantPoolStringOffset + 2L, utfLen,
+                    StringDeduplicationTable.shared(), /* replaceSlashWithDot = */ false,
+                    /* stripLSemicolon = */ false);
+        }
         return intern(reader().readStringModifiedUtf8(constantPoolStringOffset + 2L, utfLen));
     }
 
@@ -904,6 +1029,27 @@ class Classfile {
         return getConstantPoolString(cpIdx, /* replaceSlashWithDot = */ true, /* stripLSemicolon = */ true);
     }
 
+    /**
+     * Read a class name in internal form ("com/xyz/MyClass") out of part of a constant pool string, such as a type
+     * descriptor, and interpret it as a class name by replacing '/' with '.'.
+     *
+     * @param offset
+     *            the offset of the first byte of the class name
+     * @param numBytes
+     *            the number of bytes in the class name
+     * @return the class name
+     * @throws IOException
+     *             If an IO exception occurs.
+     */
+    private String readClassName(final long offset, final int numBytes) throws IOException {
+        if (scanSpec.deduplicateStringsAcrossScans) {
+            return reader().readStringModifiedUtf8(offset, numBytes, StringDeduplicationTable.shared(),
+                    /* replaceSlashWithDot = */ true, /* stripLSemicolon = */ false);
+        }
+        return Objects.requireNonNull(intern(reader().readStringModifiedUtf8(offset, numBytes,
+                /* replaceSlashWithDot = */ true, /* stripLSemicolon = */ false)));
+    }
+
     /**
      * Compare a string in the constant pool with a given ASCII string, without constructing the constant pool
      * String object.
@@ -1390,23 +1536,6 @@ class Classfile {
 
     // -------------------------------------------------------------------------------------------------------------
 
-    /**
-     * The constant pool indices of the entries that name a referenced class, collected while the constant pool is
-     * being read. Only collected if inter-class dependencies are enabled.
-     *
-     * @param classRefCpIdxs
-     *            the indices of the modified UTF8 entries referenced by class ref (tag 7) entries
-     * @param nameAndTypeCpIdxs
-     *            the indices of the modified UTF8 entries holding the type signature of a name and type (tag 12)
-     *            entry
-     */
-    private record ReferencedClassCpIdxs(List<Integer> classRefCpIdxs, List<Integer> nameAndTypeCpIdxs) {
-        /** Constructor. */
-        ReferencedClassCpIdxs() {
-            this(new ArrayList<>(), new ArrayList<>());
-        }
-    }
-
     /**
      * Read constant pool entries, and if inter-class dependencies are enabled, extract the names of the classes
      * referenced by the constant pool.
@@ -1417,10 +1546,6 @@ class Classfile {
      *             Signals that an I/O exception has occurred.
      */
     private void readConstantPoolEntries(final @Nullable LogNode log) throws IOException {
-        // Only record class dependency info if inter-class dependencies are enabled
-        final var referencedClassCpIdxs = scanSpec.enableInterClassDependencies ? new ReferencedClassCpIdxs()
-                : null;
-
         // Read size of constant pool, and allocate storage for the entries
         cpCount = reader().readUnsignedShort();
         entryOffset = new int[cpCount];
@@ -1428,18 +1553,18 @@ class Classfile {
         indirectStringRefs = new int[cpCount];
         Arrays.fill(indirectStringRefs, 0, cpCount, -1);
 
-        parseConstantPoolEntries(referencedClassCpIdxs);
+        parseConstantPoolEntries();
 
-        if (referencedClassCpIdxs != null) {
+        // Only record class dependency info if inter-class dependencies are enabled
+        if (scanSpec.enableInterClassDependencies) {
             // Note that there are some class refs that will not be found this way, e.g. enum classes and class refs
             // in annotation parameter values, since they are referenced as strings (tag 1) rather than classes
-            // (tag 7) or type signatures (part of tag 12). Therefore, a hybrid approach needs to be applied of
+            // (tag 7) or type descriptors (part of tag 12). Therefore, a hybrid approach needs to be applied of
             // extracting these other class refs from the ClassInfo graph, and combining them with class names
             // extracted from the constant pool here.
             final Set<String> refdClassNamesSet = new HashSet<>();
             refdClassNames = refdClassNamesSet;
-            addClassNamesFromClassRefs(referencedClassCpIdxs.classRefCpIdxs(), refdClassNamesSet);
-            addClassNamesFromTypeSignatures(referencedClassCpIdxs.nameAndTypeCpIdxs(), refdClassNamesSet, log);
+            addReferencedClassNames(refdClassNamesSet, log);
         }
     }
 
@@ -1447,13 +1572,10 @@ class Classfile {
      * Fill in {@link #entryTag}, {@link #entryOffset} and {@link #indirectStringRefs} for each constant pool entry,
      * without resolving any of the string entries.
      *
-     * @param referencedClassCpIdxs
-     *            if non-null, the indices of the entries that name a referenced class are collected here
      * @throws IOException
      *             Signals that an I/O exception has occurred.
      */
-    private void parseConstantPoolEntries(final @Nullable ReferencedClassCpIdxs referencedClassCpIdxs)
-            throws IOException {
+    private void parseConstantPoolEntries() throws IOException {
         for (int i = 1, skipSlot = 0; i < cpCount; i++) {
             if (skipSlot == 1) {
                 // Skip the second of the two constant pool slots taken up by a long or double constant
@@ -1486,14 +1608,8 @@ class Classfile {
                 skipSlot = 1; // double slot
             }
             // Class reference (format is e.g. "java/lang/String")
-            case 7 -> {
-                // Forward or backward indirect reference to a modified UTF8 entry
-                indirectStringRefs[i] = reader().readUnsignedShort();
-                if (referencedClassCpIdxs != null) {
-                    // If this is a class ref, and inter-class dependencies are enabled, record the dependency
-                    referencedClassCpIdxs.classRefCpIdxs().add(indirectStringRefs[i]);
-                }
-            }
+            // Forward or backward indirect reference to a modified UTF8 entry
+            case 7 -> indirectStringRefs[i] = reader().readUnsignedShort();
             // String -- forward or backward indirect reference to a modified UTF8 entry
             case 8 -> indirectStringRefs[i] = reader().readUnsignedShort();
             // Field ref, method ref, interface method ref -- each refers to a class ref (case 7) and then a name
@@ -1503,9 +1619,6 @@ class Classfile {
             case 12 -> {
                 final var nameRef = reader().readUnsignedShort();
                 final var typeRef = reader().readUnsignedShort();
-                if (referencedClassCpIdxs != null) {
-                    referencedClassCpIdxs.nameAndTypeCpIdxs().add(typeRef);
-                }
                 indirectStringRefs[i] = (nameRef << 16) | typeRef;
             }
             // There is no constant pool tag type 13 or 14 method handle
@@ -1528,44 +1641,50 @@ class Classfile {
     }
 
     /**
-     * Add the names of the classes named by class ref (tag 7) constant pool entries to {@code refdClassNames}.
+     * Add the names of the classes named by the class ref (tag 7) constant pool entries, and by the type
+     * descriptors of the name and type (tag 12) constant pool entries, to {@code refdClassNames}.
+     *
+     * <p>
+     * The class names are found by scanning the bytes of each descriptor in place, rather than by parsing it into a
+     * {@link TypeSignature}, since only the names of the classes are needed, and a descriptor (unlike a generic
+     * type signature) is simple enough to scan directly: any 'L' that is not part of a class name starts a class
+     * name that runs up to the next ';', and every other character of a descriptor is a single character.
      *
-     * @param classRefCpIdxs
-     *            the constant pool indices of the modified UTF8 entries referenced by class ref entries
      * @param refdClassNames
      *            the set of referenced class names to add to
+     * @param log
+     *            The log
      * @throws IOException
      *             Signals that an I/O exception has occurred.
      */
-    private void addClassNamesFromClassRefs(final List<Integer> classRefCpIdxs, final Set<String> refdClassNames)
+    private void addReferencedClassNames(final Set<String> refdClassNames, final @Nullable LogNode log)
             throws IOException {
-        for (final int cpIdx : classRefCpIdxs) {
-            final var refdClassName = getConstantPoolString(cpIdx, /* replaceSlashWithDot = */ true,
-                    /* stripLSemicolon = */ false);
-            if (refdClassName != null) {
-                if (refdClassName.startsWith("[")) {
-                    // Parse array type signature, e.g. "[Ljava.lang.String;" -- uses '.' rather than '/'
-                    try {
-                        final var typeSig = TypeSignature.parse(refdClassName.replace('.', '/'),
-                                /* definingClass = */ null);
-                        typeSig.findReferencedClassNames(refdClassNames);
-                    } catch (final TypeSignatureParseException e) {
-                        // Should not happen
-                        throw new ClassfileFormatException("Could not parse class name: " + refdClassName, e);
-                    }
+        for (var i = 1; i < cpCount; i++) {
+            final var tag = entryTag[i];
+            if (tag == 7) {
+                final var utf8CpIdx = indirectStringRefs[i];
+                if (utf8CpIdx > 0 && getConstantPoolStringFirstByte(utf8CpIdx) == '[') {
+                    // An array class, e.g. "[Ljava/lang/String;" -- the element type is a descriptor
+                    addClassNamesFromDescriptor(utf8CpIdx, refdClassNames, log);
                 } else {
-                    refdClassNames.add(refdClassName);
+                    final var refdClassName = getConstantPoolClassName(i);
+                    if (refdClassName != null) {
+                        refdClassNames.add(refdClassName);
+                    }
                 }
+            } else if (tag == 12) {
+                // The type descriptor of a field or method ref
+                addClassNamesFromDescriptor(indirectStringRefs[i] & 0xffff, refdClassNames, log);
             }
         }
     }
 
     /**
-     * Add the names of the classes named by the type signatures of name and type (tag 12) constant pool entries to
-     * {@code refdClassNames}.
+     * Add the names of the classes named in a field or method type descriptor to {@code refdClassNames}, scanning
+     * the modified UTF8 bytes of the descriptor in the constant pool without decoding the descriptor itself.
      *
-     * @param nameAndTypeCpIdxs
-     *            the constant pool indices of the modified UTF8 entries holding the type signatures
+     * @param utf8CpIdx
+     *            the constant pool index of the modified UTF8 entry holding the descriptor
      * @param refdClassNames
      *            the set of referenced class names to add to
      * @param log
@@ -1573,34 +1692,29 @@ class Classfile {
      * @throws IOException
      *             Signals that an I/O exception has occurred.
      */
-    private void addClassNamesFromTypeSignatures(final List<Integer> nameAndTypeCpIdxs,
-            final Set<String> refdClassNames, final @Nullable LogNode log) throws IOException {
-        for (final int cpIdx : nameAndTypeCpIdxs) {
-            final var typeSigStr = getConstantPoolString(cpIdx);
-            if (typeSigStr != null) {
-                try {
-                    if (typeSigStr.startsWith("L") && typeSigStr.endsWith(";")) {
-                        // Parse the class name
-                        final var typeSig = TypeSignature.parse(typeSigStr, /* definingClassName = */ null);
-                        // Extract class names from type signature
-                        typeSig.findReferencedClassNames(refdClassNames);
-                    } else if (typeSigStr.indexOf('(') >= 0 || "<init>".equals(typeSigStr)) {
-                        // Parse the type signature
-                        final var typeSig = MethodTypeSignature.parse(typeSigStr, /* definingClassName = */ null);
-                        // Extract class names from type signature
-                        typeSig.findReferencedClassNames(refdClassNames);
-                    } else {
-                        if (log != null) {
-                            log.log("Could not extract referenced class names from constant pool string: "
-                                    + typeSigStr);
-                        }
-                    }
-                } catch (final TypeSignatureParseException e) {
+    private void addClassNamesFromDescriptor(final int utf8CpIdx, final Set<String> refdClassNames,
+            final @Nullable LogNode log) throws IOException {
+        final var cpStrOffset = getConstantPoolStringOffset(utf8CpIdx, /* subFieldIdx = */ 0);
+        if (cpStrOffset == 0) {
+            return;
+        }
+        final var start = cpStrOffset + 2L;
+        final var end = start + reader().readUnsignedShort(cpStrOffset);
+        for (var pos = start; pos < end; pos++) {
+            if (reader().readByte(pos) == 'L') {
+                var semicolonPos = pos + 1;
+                while (semicolonPos < end && reader().readByte(semicolonPos) != ';') {
+                    semicolonPos++;
+                }
+                if (semicolonPos == end || semicolonPos == pos + 1) {
                     if (log != null) {
-                        log.log("Could not extract referenced class names from constant pool string: " + typeSigStr
-                                + " : " + e);
+                        log.log("Could not extract referenced class names from constant pool string: "
+                                + getConstantPoolString(utf8CpIdx));
                     }
+                    return;
                 }
+                refdClassNames.add(readClassName(pos + 1, (int) (semicolonPos - pos - 1)));
+                pos = semicolonPos;
             }
         }
     }
@@ -1626,11 +1740,14 @@ class Classfile {
         isAnnotation = (classModifiers & 0x2000) != 0;
 
         // The fully-qualified class name of this class, with slashes replaced with dots
-        final var classNamePath = getConstantPoolString(reader().readUnsignedShort());
+        final var classNameCpIdx = reader().readUnsignedShort();
+        final var classNamePath = getConstantPoolString(classNameCpIdx);
         if (classNamePath == null) {
             throw new ClassfileFormatException("Class name is null");
         }
-        className = classNamePath.replace('/', '.');
+        // Read the dotted name through the intern table too, so that it is the same String object as the name of
+        // the class wherever it is referred to (including by other scans, if strings are deduplicated across scans)
+        className = requireConstantPoolString(getConstantPoolClassName(classNameCpIdx), "class name");
 
         // Check class visibility modifiers
         final var isModule = (classModifiers & 0x8000) != 0; // Equivalently filename is "module-info.class"
@@ -1884,6 +2001,7 @@ class Classfile {
         var methodHasBody = false;
         var minLineNum = 0;
         var maxLineNum = 0;
+        CodeReferences codeReferences = null;
         for (var i = 0; i < attributesCount; i++) {
             final var attributeNameCpIdx = reader().readUnsignedShort();
             final var attributeLength = reader().readInt();
@@ -1934,9 +2052,10 @@ class Classfile {
                 }
             } else if (constantPoolStringEquals(attributeNameCpIdx, "Code")) {
                 methodHasBody = true;
-                final var lineNumberRange = readCodeAttribute();
-                minLineNum = lineNumberRange.minLineNum();
-                maxLineNum = lineNumberRange.maxLineNum();
+                final var codeAttribute = readCodeAttribute();
+                minLineNum = codeAttribute.minLineNum();
+                maxLineNum = codeAttribute.maxLineNum();
+                codeReferences = codeAttribute.codeReferences();
             } else {
                 reader().skip(attributeLength);
             }
@@ -1946,10 +2065,15 @@ class Classfile {
         if (methodInfoList == null) {
             methodInfoList = new MethodInfoList();
         }
-        methodInfoList.add(new MethodInfo(className, methodName, methodAnnotationInfo, methodModifierFlags,
+        final var methodInfo = new MethodInfo(className, methodName, methodAnnotationInfo, methodModifierFlags,
                 methodTypeDescriptor, methodTypeSignatureStr, methodParameterNames, methodParameterModifiers,
                 methodParameterAnnotations, methodHasBody, minLineNum, maxLineNum, methodTypeAnnotationDecorators,
-                thrownExceptionNames));
+                thrownExceptionNames);
+        if (codeReferences != null) {
+            methodInfo.setCodeReferences(codeReferences.invokedMethods(), codeReferences.fieldAccesses(),
+                    codeReferences.instantiatedClassNames());
+        }
+        methodInfoList.add(methodInfo);
     }
 
     /**
@@ -2180,26 +2304,46 @@ class Classfile {
     }
 
     /**
-     * The range of source code line numbers spanned by a method's body.
+     * The information read from a method's {@code Code} attribute.
      *
      * @param minLineNum
      *            the lowest line number, or 0 if the method's {@code Code} attribute has no line number table
      * @param maxLineNum
      *            the highest line number, or 0 if the method's {@code Code} attribute has no line number table
+     * @param codeReferences
+     *            the references made by the method's bytecode, or null if method reference info is not enabled
      */
-    private record LineNumberRange(int minLineNum, int maxLineNum) {
+    private record CodeAttribute(int minLineNum, int maxLineNum, @Nullable CodeReferences codeReferences) {
     }
 
     /**
-     * Read a method's {@code Code} attribute, skipping over the bytecode itself.
+     * The distinct references made by a method's bytecode.
      *
-     * @return the range of source code line numbers spanned by the method's body
+     * @param invokedMethods
+     *            the methods invoked by the method, sorted
+     * @param fieldAccesses
+     *            the fields read or written by the method, sorted
+     * @param instantiatedClassNames
+     *            the names of the classes instantiated by the method, sorted
+     */
+    private record CodeReferences(List<MemberReference> invokedMethods, List<MemberReference> fieldAccesses,
+            List<String> instantiatedClassNames) {
+    }
+
+    /**
+     * Read a method's {@code Code} attribute, skipping over the bytecode itself unless method reference info is
+     * enabled.
+     *
+     * @return the line number range and the references read from the {@code Code} attribute
      * @throws IOException
      *             if an I/O exception occurs.
      */
-    private LineNumberRange readCodeAttribute() throws IOException {
+    private CodeAttribute readCodeAttribute() throws IOException {
         reader().skip(4); // max_stack, max_locals
         final var codeLength = reader().readInt();
+        final var codeReferences = scanSpec.enableMethodReferenceInfo && codeLength > 0
+                ? readCodeReferences(reader().currPos(), codeLength)
+                : null;
         reader().skip(codeLength);
         final var exceptionTableLength = reader().readUnsignedShort();
         reader().skip(8 * exceptionTableLength);
@@ -2221,7 +2365,197 @@ class Classfile {
                 reader().skip(codeAttrLen);
             }
         }
-        return new LineNumberRange(minLineNum, maxLineNum);
+        return new CodeAttribute(minLineNum, maxLineNum, codeReferences);
+    }
+
+    /**
+     * Read a big-endian int out of a bytecode array.
+     *
+     * @param code
+     *            the bytecode
+     * @param idx
+     *            the index of the first byte of the int
+     * @return the int
+     */
+    private static int readCodeInt(final byte[] code, final int idx) {
+        return ((code[idx] & 0xff) << 24) | ((code[idx + 1] & 0xff) << 16) | ((code[idx + 2] & 0xff) << 8)
+                | (code[idx + 3] & 0xff);
+    }
+
+    /**
+     * Walk the instructions of a method's bytecode, and find the distinct methods invoked, fields read or written,
+     * and classes instantiated by the method.
+     *
+     * <p>
+     * The instructions are stepped over using {@link #OPCODE_LENGTHS}, without decoding them, and each
+     * {@code getstatic}, {@code putstatic}, {@code getfield}, {@code putfield}, {@code invoke*} (other than
+     * {@code invokedynamic}, whose target is a bootstrap method rather than a member of a class) and {@code new}
+     * instruction is recorded as an int that packs the opcode together with the constant pool index of its target.
+     * Only the distinct targets are then resolved against the constant pool.
+     *
+     * @param codeOffset
+     *            the offset of the bytecode within the classfile
+     * @param codeLength
+     *            the length of the bytecode
+     * @return the references made by the method's bytecode
+     * @throws IOException
+     *             if an I/O exception occurs.
+     * @throws ClassfileFormatException
+     *             if the bytecode is malformed.
+     */
+    private CodeReferences readCodeReferences(final int codeOffset, final int codeLength) throws IOException {
+        if (codeLength < 0) {
+            throw new ClassfileFormatException("Negative code length in method of class " + className);
+        }
+        var code = codeBuf;
+        if (code == null || code.length < codeLength) {
+            codeBuf = code = new byte[Math.max(codeLength, 1024)];
+        }
+        if (reader().read(codeOffset, code, 0, codeLength) != codeLength) {
+            throw new ClassfileFormatException("Truncated code attribute in method of class " + className);
+        }
+
+        // Walk the instructions, recording the opcode and target of each reference
+        var refs = codeRefBuf;
+        if (refs == null) {
+            codeRefBuf = refs = new int[64];
+        }
+        var numRefs = 0;
+        for (var pc = 0; pc < codeLength;) {
+            final var opcode = code[pc] & 0xff;
+            long insnLength = OPCODE_LENGTHS[opcode];
+            if (insnLength == 0) {
+                // The operands of tableswitch and lookupswitch start at the next multiple of 4 bytes from the start
+                // of the bytecode, after 0-3 bytes of padding
+                final var operandsStart = (pc + 4) & ~3;
+                if (opcode == OPCODE_TABLESWITCH && operandsStart + 12 <= codeLength) {
+                    // default, low, high, then (high - low + 1) jump offsets
+                    final long numOffsets = (long) readCodeInt(code, operandsStart + 8)
+                            - readCodeInt(code, operandsStart + 4) + 1;
+                    insnLength = numOffsets < 0 ? -1 : operandsStart - pc + 12 + 4 * numOffsets;
+                } else if (opcode == OPCODE_LOOKUPSWITCH && operandsStart + 8 <= codeLength) {
+                    // default, npairs, then npairs (match, offset) pairs
+                    final long numPairs = readCodeInt(code, operandsStart + 4);
+                    insnLength = numPairs < 0 ? -1 : operandsStart - pc + 8 + 8 * numPairs;
+                } else if (opcode == OPCODE_WIDE && pc + 1 < codeLength) {
+                    // wide iinc has a 2-byte index and a 2-byte constant, any other wide instruction an index
+                    insnLength = (code[pc + 1] & 0xff) == OPCODE_IINC ? 6 : 4;
+                } else if (opcode != OPCODE_TABLESWITCH && opcode != OPCODE_LOOKUPSWITCH && opcode != OPCODE_WIDE) {
+                    throw new ClassfileFormatException(
+                            "Invalid opcode 0x" + Integer.toHexString(opcode) + " in method of class " + className);
+                }
+            }
+            if (insnLength <= 0 || pc + insnLength > codeLength) {
+                throw new ClassfileFormatException("Truncated or malformed instruction (opcode 0x"
+                        + Integer.toHexString(opcode) + ") in method of class " + className);
+            }
+            if ((opcode >= OPCODE_GETSTATIC && opcode <= OPCODE_INVOKEINTERFACE) || opcode == OPCODE_NEW) {
+                if (numRefs == refs.length) {
+                    codeRefBuf = refs = Arrays.copyOf(refs, numRefs * 2);
+                }
+                refs[numRefs++] = ((opcode - OPCODE_GETSTATIC) << 16) | ((code[pc + 1] & 0xff) << 8)
+                        | (code[pc + 2] & 0xff);
+            }
+            pc += (int) insnLength;
+        }
+        if (numRefs == 0) {
+            return new CodeReferences(List.of(), List.of(), List.of());
+        }
+
+        // Sort the references, so that each distinct reference is only resolved once, and so that they are grouped
+        // by opcode: field accesses first, then method invocations, then new
+        Arrays.sort(refs, 0, numRefs);
+        var numDistinctRefs = 1;
+        for (var i = 1; i < numRefs; i++) {
+            if (refs[i] != refs[numDistinctRefs - 1]) {
+                refs[numDistinctRefs++] = refs[i];
+            }
+        }
+        final var firstInvokeIdx = countRefsBelow(refs, numDistinctRefs,
+                MemberReference.Kind.INVOKEVIRTUAL.ordinal());
+        final var firstNewIdx = countRefsBelow(refs, numDistinctRefs, OPCODE_NEW - OPCODE_GETSTATIC);
+        final var fieldAccesses = new MemberReference[firstInvokeIdx];
+        final var invokedMethods = new MemberReference[firstNewIdx - firstInvokeIdx];
+        final var instantiatedClassNames = new String[numDistinctRefs - firstNewIdx];
+        for (var i = 0; i < numDistinctRefs; i++) {
+            if (i < firstInvokeIdx) {
+                fieldAccesses[i] = getMemberReference(refs[i]);
+            } else if (i < firstNewIdx) {
+                invokedMethods[i - firstInvokeIdx] = getMemberReference(refs[i]);
+            } else {
+                instantiatedClassNames[i - firstNewIdx] = requireConstantPoolString(
+                        getConstantPoolClassName(refs[i] & 0xffff), "instantiated class name");
+            }
+        }
+        Arrays.sort(fieldAccesses);
+        Arrays.sort(invokedMethods);
+        Arrays.sort(instantiatedClassNames);
+        return new CodeReferences(List.of(invokedMethods), List.of(fieldAccesses), List.of(instantiatedClassNames));
+    }
+
+    /**
+     * Count the encoded references whose opcode index is less than the given opcode index.
+     *
+     * @param sortedRefs
+     *            the sorted encoded references
+     * @param numRefs
+     *            the number of encoded references
+     * @param opcodeIdx
+     *            the opcode minus {@link #OPCODE_GETSTATIC}
+     * @return the index of the first encoded reference whose opcode index is at least {@code opcodeIdx}
+     */
+    private static int countRefsBelow(final int[] sortedRefs, final int numRefs, final int opcodeIdx) {
+        final var idx = Arrays.binarySearch(sortedRefs, 0, numRefs, opcodeIdx << 16);
+        // Constant pool index 0 is never valid, so the search key is never found, and the insertion point is
+        // returned as -(insertion point) - 1
+        return idx < 0 ? -idx - 1 : idx;
+    }
+
+    /**
+     * Resolve an encoded field or method reference against the constant pool.
+     *
+     * @param encodedRef
+     *            the opcode minus {@link #OPCODE_GETSTATIC} in the upper 16 bits, and the constant pool index of
+     *            the Fieldref, Methodref or InterfaceMethodref entry in the lower 16 bits
+     * @return the {@link MemberReference}
+     * @throws IOException
+     *             if an I/O exception occurs.
+     * @throws ClassfileFormatException
+     *             if the constant pool entry is not of the kind that the opcode requires.
+     */
+    private MemberReference getMemberReference(final int encodedRef) throws IOException {
+        var cache = memberReferenceCache;
+        if (cache == null) {
+            memberReferenceCache = cache = new HashMap<>();
+        }
+        final var cached = cache.get(encodedRef);
+        if (cached != null) {
+            return cached;
+        }
+        final var kind = MEMBER_REFERENCE_KINDS[encodedRef >>> 16];
+        final var cpIdx = encodedRef & 0xffff;
+        final var tag = cpIdx < cpCount ? entryTag[cpIdx] : 0;
+        // invokespecial and invokestatic may name an InterfaceMethodref (tag 11) as well as a Methodref (tag 10)
+        final var tagIsValid = kind.isMethodInvocation()
+                ? tag == 11 || (tag == 10 && kind != MemberReference.Kind.INVOKEINTERFACE)
+                : tag == 9;
+        if (!tagIsValid) {
+            throw new ClassfileFormatException("Constant pool entry " + cpIdx + " with tag " + tag
+                    + " is referenced by a " + kind + " instruction in class " + className);
+        }
+        final var classCpIdx = reader().readUnsignedShort(entryOffset[cpIdx]);
+        final var nameAndTypeCpIdx = reader().readUnsignedShort(entryOffset[cpIdx] + 2L);
+        if (nameAndTypeCpIdx < 1 || nameAndTypeCpIdx >= cpCount || entryTag[nameAndTypeCpIdx] != 12) {
+            throw new ClassfileFormatException("Constant pool entry " + cpIdx + " of class " + className
+                    + " does not refer to a name and type entry");
+        }
+        final var memberReference = new MemberReference(kind,
+                requireConstantPoolString(getConstantPoolClassName(classCpIdx), "member reference class name"),
+                requireConstantPoolString(getConstantPoolString(nameAndTypeCpIdx, 0), "member reference name"),
+                requireConstantPoolString(getConstantPoolString(nameAndTypeCpIdx, 1),
+                        "member reference type descriptor"));
+        cache.put(encodedRef, memberReference);
+        return memberReference;
     }
 
     // -------------------------------------------------------------------------------------------------------------
@@ -2512,7 +2846,9 @@ class Classfile {
      * @param stringInternMap
      *            the string intern map
      * @param workQueue
-     *            the work queue
+     *            the work queue to schedule external classes for scanning on, or null to defer extending scanning
+     *            upwards to external classes until {@link #extendScanningUpwardsDeferred()} is called (for when not
+     *            every accepted class is known yet)
      * @param scanSpec
      *            the scan spec
      * @param log
@@ -2532,7 +2868,8 @@ class Classfile {
             final Set<String> classNamesScheduledForExtendedScanning, final String relativePath,
             final Resource classfileResource, final boolean isExternalClass,
             final ConcurrentHashMap<String, String> stringInternMap,
-            final WorkQueue<ClassfileScanWorkUnit> workQueue, final ScanSpec scanSpec, final @Nullable LogNode log)
+            final @Nullable WorkQueue<ClassfileScanWorkUnit> workQueue, final ScanSpec scanSpec,
+            final @Nullable LogNode log)
             throws IOException, ClassfileFormatException, SkipClassException, InterruptedException {
         this.classpathElement = classpathElement;
         this.classpathOrder = classpathOrder;
@@ -2580,14 +2917,217 @@ class Classfile {
             reader = null;
         }
 
+        // Release the buffers that are only needed while the classfile is being read, since this object is kept
+        // until the next scan if ClassGraph#enableIncrementalRescanning() was called
+        entryOffset = entryTag = indirectStringRefs = NO_CONSTANT_POOL_ENTRIES;
+        codeBuf = null;
+        codeRefBuf = null;
+        memberReferenceCache = null;
+
         // Write class info to log
         final var subLog = logParsedClassfile(log);
 
         // Check if any superclasses, interfaces or annotations are external (non-accepted) classes that need to be
         // scheduled for scanning, so that all of the "upwards" direction of the class graph is scanned for any
         // accepted class, even if the superclasses / interfaces / annotations are not themselves accepted.
+        scheduleExtendingScanningUpwards(workQueue, subLog);
+    }
+
+    /**
+     * Constructor for a classfile that was read before, by this or another scan, and kept in the
+     * {@link JdkClassGraphSnapshot}, so that it does not need to be read again.
+     *
+     * @param classpathElement
+     *            the classpath element
+     * @param classpathOrder
+     *            the classpath order
+     * @param unscannedModules
+     *            the modules that are not being scanned, but whose classfiles may still be read in order to
+     *            complete the class graph above an accepted class
+     * @param acceptedClassNamesFound
+     *            the names of accepted classes found in the classpath
+     * @param classNamesScheduledForExtendedScanning
+     *            the names of external (non-accepted) classes scheduled for extended scanning (where scanning is
+     *            extended upwards to superclasses, interfaces and annotations).
+     * @param relativePath
+     *            the relative path
+     * @param classfileResource
+     *            the classfile resource
+     * @param isExternalClass
+     *            if this is an external class
+     * @param classSnapshot
+     *            what was read from the classfile, which is not shared with any other classfile
+     * @param stringInternMap
+     *            the string intern map
+     * @param workQueue
+     *            the work queue to schedule external classes for scanning on, or null to defer extending scanning
+     *            upwards to external classes until {@link #extendScanningUpwardsDeferred()} is called
+     * @param scanSpec
+     *            the scan spec
+     * @param log
+     *            the log node, or null to skip logging
+     * @throws InterruptedException
+     *             if the thread was interrupted
+     */
+    Classfile(final ClasspathElement classpathElement, final List<ClasspathElement> classpathOrder,
+            final UnscannedModules unscannedModules, final Set<String> acceptedClassNamesFound,
+            final Set<String> classNamesScheduledForExtendedScanning, final String relativePath,
+            final Resource classfileResource, final boolean isExternalClass,
+            final JdkClassGraphSnapshot.ClassSnapshot classSnapshot,
+            final ConcurrentHashMap<String, String> stringInternMap,
+            final @Nullable WorkQueue<ClassfileScanWorkUnit> workQueue, final ScanSpec scanSpec,
+            final @Nullable LogNode log) throws InterruptedException {
+        this.classpathElement = classpathElement;
+        this.classpathOrder = classpathOrder;
+        this.unscannedModules = unscannedModules;
+        this.relativePath = relativePath;
+        this.acceptedClassNamesFound = acceptedClassNamesFound;
+        this.classNamesScheduledForExtendedScanning = classNamesScheduledForExtendedScanning;
+        this.classfileResource = classfileResource;
+        this.isExternalClass = isExternalClass;
+        this.stringInternMap = stringInternMap;
+        this.scanSpec = scanSpec;
+        entryOffset = entryTag = indirectStringRefs = NO_CONSTANT_POOL_ENTRIES;
+
+        className = classSnapshot.className();
+        minorVersion = classSnapshot.minorVersion();
+        majorVersion = classSnapshot.majorVersion();
+        classModifiers = classSnapshot.classModifiers();
+        isInterface = classSnapshot.isInterface();
+        isRecord = classSnapshot.isRecord();
+        isAnnotation = classSnapshot.isAnnotation();
+        superclassName = classSnapshot.superclassName();
+        implementedInterfaces = classSnapshot.implementedInterfaces();
+        classAnnotations = classSnapshot.classAnnotations();
+        fullyQualifiedDefiningMethodName = classSnapshot.fullyQualifiedDefiningMethodName();
+        classContainmentEntries = classSnapshot.classContainmentEntries();
+        annotationParamDefaultValues = classSnapshot.annotationParamDefaultValues();
+        methodInfoList = classSnapshot.methodInfoList();
+        typeSignatureStr = classSnapshot.typeSignatureStr();
+        sourceFile = classSnapshot.sourceFile();
+
+        final var subLog = logParsedClassfile(log);
+        scheduleExtendingScanningUpwards(workQueue, subLog);
+    }
+
+    /**
+     * Read a classfile that was read by a scan again, for its fields and methods, once the {@link ClassInfo} of the
+     * class has let go of them (see {@link ClassGraph#enableSoftReferencedMemberInfo()}). Scanning is not extended
+     * upwards from the classfile, since the classes it refers to were already found by the scan.
+     *
+     * @param classpathElement
+     *            the classpath element the classfile was found in
+     * @param classpathOrder
+     *            the classpath order
+     * @param unscannedModules
+     *            the modules that were not scanned
+     * @param classfileResource
+     *            the classfile resource
+     * @param isExternalClass
+     *            if this is an external class
+     * @param scanSpec
+     *            the scan spec of the scan that read the classfile
+     * @return the fields and methods read from the classfile.
+     * @throws IOException
+     *             if the classfile could not be read, or if it no longer holds the class it held when it was
+     *             scanned.
+     * @throws InterruptedException
+     *             if the thread was interrupted
+     */
+    static Members readMembers(final ClasspathElement classpathElement, final List<ClasspathElement> classpathOrder,
+            final UnscannedModules unscannedModules, final Resource classfileResource,
+            final boolean isExternalClass, final ScanSpec scanSpec) throws IOException, InterruptedException {
+        final var classfile = new Classfile(classpathElement, classpathOrder, unscannedModules, Set.of(),
+                new HashSet<>(), classfileResource.getPath(), classfileResource, isExternalClass,
+                new ConcurrentHashMap<>(), /* workQueue = */ null, scanSpec, /* log = */ null);
+        return new Members(classfile.fieldInfoList, classfile.methodInfoList);
+    }
+
+    /**
+     * Take a snapshot of what was read from this classfile, for the {@link JdkClassGraphSnapshot}.
+     *
+     * @return the snapshot, which shares no objects that a {@link ScanResult} may refer to with this classfile, or
+     *         null if the snapshot cannot hold this classfile, because fields, method bodies, referenced classes or
+     *         type annotations were read from it.
+     */
+    JdkClassGraphSnapshot.@Nullable ClassSnapshot snapshot() {
+        if (fieldInfoList != null || refdClassNames != null || classTypeAnnotationDecorators != null) {
+            return null;
+        }
+        if (methodInfoList != null) {
+            // Only the methods of an annotation class are read when method info is not enabled
+            for (final MethodInfo methodInfo : methodInfoList) {
+                if (methodInfo.hasBody()) {
+                    return null;
+                }
+            }
+        }
+        return new JdkClassGraphSnapshot.ClassSnapshot(className, minorVersion, majorVersion, classModifiers,
+                isInterface, isRecord, isAnnotation, superclassName, implementedInterfaces, classAnnotations,
+                fullyQualifiedDefiningMethodName, classContainmentEntries, annotationParamDefaultValues,
+                methodInfoList, typeSignatureStr, sourceFile).copy();
+    }
+
+    /**
+     * Reuse this classfile, which was parsed by an earlier scan, in an incremental scan (see
+     * {@link ClassGraph#scanIncremental(ScanResult)}), rather than parsing it again, since the classfile has not
+     * changed since then. The classfile is moved over to the classpath order and the accepted classes of the
+     * incremental scan, and scanning is extended upwards from it again, since a class that was external may now be
+     * accepted, or may now be found in a different classpath element.
+     *
+     * @param classpathOrder
+     *            the classpath order of the incremental scan
+     * @param acceptedClassNamesFound
+     *            the names of accepted classes found by the incremental scan.
+     * @param classNamesScheduledForExtendedScanning
+     *            the names of external classes scheduled for extended scanning by the incremental scan.
+     * @param classfileResource
+     *            the classfile resource, as found by the incremental scan
+     * @param workQueue
+     *            the work queue to schedule external classes for scanning on, or null to defer extending scanning
+     *            upwards to external classes until {@link #extendScanningUpwardsDeferred()} is called
+     * @param log
+     *            the log node, or null to skip logging
+     * @throws InterruptedException
+     *             if the thread was interrupted
+     */
+    void reuse(final List<ClasspathElement> classpathOrder, final Set<String> acceptedClassNamesFound,
+            final Set<String> classNamesScheduledForExtendedScanning, final Resource classfileResource,
+            final @Nullable WorkQueue<ClassfileScanWorkUnit> workQueue, final @Nullable LogNode log)
+            throws InterruptedException {
+        this.classpathOrder = classpathOrder;
+        this.acceptedClassNamesFound = acceptedClassNamesFound;
+        this.classNamesScheduledForExtendedScanning = classNamesScheduledForExtendedScanning;
+        this.classfileResource = classfileResource;
+        additionalWorkUnits = null;
+        extendingScanningUpwardsDeferred = false;
+        extendScanningUpwardsLog = null;
+        if (log != null) {
+            log.log("Reusing unchanged classfile " + relativePath);
+        }
+        scheduleExtendingScanningUpwards(workQueue, log);
+    }
+
+    /**
+     * Extend scanning upwards to any external superclasses, interfaces and annotations, if enabled.
+     *
+     * @param workQueue
+     *            the work queue to schedule external classes for scanning on, or null to defer extending scanning
+     *            upwards until {@link #extendScanningUpwardsDeferred()} is called
+     * @param log
+     *            the log node, or null to skip logging
+     * @throws InterruptedException
+     *             if the thread was interrupted
+     */
+    private void scheduleExtendingScanningUpwards(final @Nullable WorkQueue<ClassfileScanWorkUnit> workQueue,
+            final @Nullable LogNode log) throws InterruptedException {
         if (scanSpec.extendScanningUpwardsToExternalClasses) {
-            extendScanningUpwards(subLog);
+            if (workQueue == null) {
+                extendingScanningUpwardsDeferred = true;
+                extendScanningUpwardsLog = log;
+                return;
+            }
+            extendScanningUpwards(log);
             // If any external classes were found, schedule them for scanning
             if (additionalWorkUnits != null) {
                 workQueue.addWorkUnits(additionalWorkUnits);
@@ -2595,6 +3135,26 @@ class Classfile {
         }
     }
 
+    /**
+     * Extend scanning upwards to external superclasses, interfaces and annotations, if this was deferred by passing
+     * a null work queue to the constructor. Must only be called once every accepted class has been added to the set
+     * of accepted class names found, and the classpath order is final.
+     *
+     * @return the work units for the external classes that need to be scanned, or the empty list if none, or if
+     *         extending scanning upwards was not deferred.
+     * @throws InterruptedException
+     *             if the thread was interrupted
+     */
+    List<ClassfileScanWorkUnit> extendScanningUpwardsDeferred() throws InterruptedException {
+        if (!extendingScanningUpwardsDeferred) {
+            return List.of();
+        }
+        extendingScanningUpwardsDeferred = false;
+        extendScanningUpwards(extendScanningUpwardsLog);
+        extendScanningUpwardsLog = null;
+        return additionalWorkUnits == null ? List.of() : additionalWorkUnits;
+    }
+
     /**
      * Write everything that was read from the classfile to the log.
      *
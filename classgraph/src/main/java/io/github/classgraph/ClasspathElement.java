@@ -42,6 +42,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 import io.github.classgraph.ScanSpec.ScanSpecPathMatch;
 import io.github.classgraph.Scanner.ClasspathEntryWorkUnit;
@@ -145,6 +146,15 @@ abstract class ClasspathElement implements Comparable<ClasspathElement> {
     /** Flag to ensure classpath element is only scanned once. */
     protected final AtomicBoolean scanned = new AtomicBoolean(false);
 
+    /** The number of bytes of classfiles read from this classpath element, as stored (see {@link ScanMetrics}). */
+    final LongAdder bytesRead = new LongAdder();
+
+    /** The number of bytes the deflated classfiles read from this classpath element were inflated to. */
+    final LongAdder bytesInflated = new LongAdder();
+
+    /** The number of classfiles parsed from this classpath element. */
+    final LongAdder numClassfilesParsed = new LongAdder();
+
     /**
      * The string form of the classloader that this classpath element was obtained from, or null if unknown. Only
      * the string is kept, not the classloader itself: a {@link ClasspathElement} is reachable from a
@@ -508,41 +518,77 @@ abstract class ClasspathElement implements Comparable<ClasspathElement> {
      *            a cache of canonical paths, shared between classpath elements
      * @param log
      *            the log node, or null to skip logging
+     * @return the resources that were removed, in an identity set, or the empty set if none were removed
      */
     // #704
-    void maskDuplicateResources(final int classpathIdx, final Set<String> collidingPaths,
+    Set<Resource> maskDuplicateResources(final int classpathIdx, final Set<String> collidingPaths,
             final Set<String> fileIdentityKeysFound, final Map<String, String> canonicalPathCache,
             final @Nullable LogNode log) {
+        final var isMasked = new boolean[acceptedResources.size()];
+        for (var i = 0; i < isMasked.length; i++) {
+            final var res = acceptedResources.get(i);
+            if (collidingPaths.contains(res.getPath())) {
+                final var fileIdentityKey = getFileIdentityKey(res, canonicalPathCache);
+                isMasked[i] = fileIdentityKey != null && !fileIdentityKeysFound.add(fileIdentityKey);
+            }
+        }
+        return removeDuplicateResources(classpathIdx, isMasked, log);
+    }
+
+    /**
+     * Get a key that identifies the file that a resource refers to, for finding resources that are the same file.
+     *
+     * @param res
+     *            the resource
+     * @param canonicalPathCache
+     *            a cache of canonical paths, which must be thread-safe if this method is called from more than one
+     *            thread at once
+     * @return a key that is equal for two resources that refer to the same file (see
+     *         {@link #getFileIdentityKey(URI, Map)}), or null if the URI of the resource cannot be determined
+     */
+    static @Nullable String getFileIdentityKey(final Resource res, final Map<String, String> canonicalPathCache) {
+        URI uri;
+        try {
+            uri = res.getURI();
+        } catch (final RuntimeException e) {
+            // If the URI of a resource cannot be determined, it cannot be compared to any other resource's URI, so
+            // the resource is kept rather than masked
+            return null;
+        }
+        return getFileIdentityKey(uri, canonicalPathCache);
+    }
+
+    /**
+     * Remove the resources that were found to be the same file as a resource found earlier in the classpath.
+     *
+     * @param classpathIdx
+     *            the classpath index
+     * @param isMasked
+     *            for each resource in {@link #acceptedResources}, whether it is to be removed
+     * @param log
+     *            the log node, or null to skip logging
+     * @return the resources that were removed, in an identity set, or the empty set if none were removed
+     */
+    Set<Resource> removeDuplicateResources(final int classpathIdx, final boolean[] isMasked,
+            final @Nullable LogNode log) {
         final List<Resource> acceptedResourcesFiltered = new ArrayList<>(acceptedResources.size());
         Set<Resource> maskedResources = null;
-        for (final Resource res : acceptedResources) {
-            var isMasked = false;
-            if (collidingPaths.contains(res.getPath())) {
-                URI uri;
-                try {
-                    uri = res.getURI();
-                } catch (final RuntimeException e) {
-                    // If the URI of a resource cannot be determined, it cannot be compared to any other resource's
-                    // URI, so keep the resource rather than masking it
-                    uri = null;
+        for (var i = 0; i < isMasked.length; i++) {
+            final var res = acceptedResources.get(i);
+            if (isMasked[i]) {
+                if (maskedResources == null) {
+                    // Compare by identity, since Resource#equals compares string representations, and the masked
+                    // resource and the resource that masks it are in different classpath elements
+                    maskedResources = Collections.newSetFromMap(new IdentityHashMap<>());
                 }
-                isMasked = uri != null && !fileIdentityKeysFound.add(getFileIdentityKey(uri, canonicalPathCache));
-                if (isMasked) {
-                    if (maskedResources == null) {
-                        // Compare by identity, since Resource#equals compares string representations, and the
-                        // masked resource and the resource that masks it are in different classpath elements
-                        maskedResources = Collections.newSetFromMap(new IdentityHashMap<>());
-                    }
-                    maskedResources.add(res);
-                    if (log != null) {
-                        log.log(String.format(Locale.US, "%06d-1", classpathIdx),
-                                "Ignoring duplicate (masked) resource " + res.getPath()
-                                        + ", which is the same file as a resource found earlier in the "
-                                        + "classpath: " + uri);
-                    }
+                maskedResources.add(res);
+                if (log != null) {
+                    log.log(String.format(Locale.US, "%06d-1", classpathIdx),
+                            "Ignoring duplicate (masked) resource " + res.getPath()
+                                    + ", which is the same file as a resource found earlier in the classpath: "
+                                    + res.getURI());
                 }
-            }
-            if (!isMasked) {
+            } else {
                 acceptedResourcesFiltered.add(res);
             }
         }
@@ -558,7 +604,9 @@ abstract class ClasspathElement implements Comparable<ClasspathElement> {
                 }
             }
             acceptedClassfileResources = acceptedClassfileResourcesFiltered;
+            return maskedResources;
         }
+        return Set.of();
     }
 
     // -------------------------------------------------------------------------------------------------------------
@@ -581,28 +629,62 @@ abstract class ClasspathElement implements Comparable<ClasspathElement> {
         // restriction for paths within a zipfile to be unique, and in fact zipfiles in the wild do contain the same
         // classfiles multiple times with the same exact path, e.g.:
         // xmlbeans-2.6.0.jar!/org/apache/xmlbeans/xml/stream/Location.class
+        final var isMasked = new boolean[acceptedClassfileResources.size()];
+        for (var i = 0; i < isMasked.length; i++) {
+            final var maskingPath = getClassfileMaskingPath(acceptedClassfileResources.get(i));
+            // Check if the path has been seen before
+            isMasked[i] = maskingPath != null && !classpathRelativePathsFound.add(maskingPath);
+        }
+        removeMaskedClassfiles(classpathIdx, isMasked, log);
+    }
+
+    /**
+     * Get the relative path of a classfile resource that classpath masking compares.
+     *
+     * @param res
+     *            the classfile resource
+     * @return the relative path of the classfile, with the classfile extension in lowercase, or null if the
+     *         classfile is never masked
+     */
+    static @Nullable String getClassfileMaskingPath(final Resource res) {
+        // Two classfiles that differ only in the case of their extension declare the same class, so they mask each
+        // other in the same way as two classfiles at the same path
+        final var pathRelativeToPackageRoot = ClassNames.withLowerCaseClassfileExtension(res.getPath());
+        // Don't mask module-info.class or package-info.class, these are read for every module/package, and they
+        // don't result in a ClassInfo object, so there will be no duplicate ClassInfo objects created, even if they
+        // are encountered multiple times. Instead, any annotations on modules or packages are merged into the
+        // appropriate ModuleInfo / PackageInfo object.
+        return "module-info.class".equals(pathRelativeToPackageRoot)
+                || "package-info.class".equals(pathRelativeToPackageRoot)
+                || pathRelativeToPackageRoot.endsWith("/package-info.class") ? null : pathRelativeToPackageRoot;
+    }
+
+    /**
+     * Remove the classfile resources that are masked by an earlier occurrence of the same relative path.
+     *
+     * @param classpathIdx
+     *            the classpath index
+     * @param isMasked
+     *            for each resource in {@link #acceptedClassfileResources}, whether it is masked
+     * @param log
+     *            the log node, or null to skip logging
+     */
+    void removeMaskedClassfiles(final int classpathIdx, final boolean[] isMasked, final @Nullable LogNode log) {
         final List<Resource> acceptedClassfileResourcesFiltered = new ArrayList<>(
                 acceptedClassfileResources.size());
         var foundMasked = false;
-        for (final Resource res : acceptedClassfileResources) {
-            // Two classfiles that differ only in the case of their extension declare the same class, so they mask
-            // each other in the same way as two classfiles at the same path
-            final var pathRelativeToPackageRoot = ClassNames.withLowerCaseClassfileExtension(res.getPath());
-            // Don't mask module-info.class or package-info.class, these are read for every module/package, and they
-            // don't result in a ClassInfo object, so there will be no duplicate ClassInfo objects created, even if
-            // they are encountered multiple times. Instead, any annotations on modules or packages are merged into
-            // the appropriate ModuleInfo / PackageInfo object.
-            if (!"module-info.class".equals(pathRelativeToPackageRoot)
-                    && !"package-info.class".equals(pathRelativeToPackageRoot)
-                    && !pathRelativeToPackageRoot.endsWith("/package-info.class")
-                    // Check if pathRelativeToPackageRoot has been seen before
-                    && !classpathRelativePathsFound.add(pathRelativeToPackageRoot)) {
+        for (var i = 0; i < isMasked.length; i++) {
+            final var res = acceptedClassfileResources.get(i);
+            if (isMasked[i]) {
                 // This relative path has been encountered more than once;
                 // mask the second and subsequent occurrences of the path
                 foundMasked = true;
                 if (log != null) {
-                    log.log(String.format(Locale.US, "%06d-1", classpathIdx), "Ignoring duplicate (masked) class "
-                            + ClassNames.classfilePathToClassName(pathRelativeToPackageRoot) + " found at " + res);
+                    log.log(String.format(Locale.US, "%06d-1", classpathIdx),
+                            "Ignoring duplicate (masked) class "
+                                    + ClassNames.classfilePathToClassName(
+                                            ClassNames.withLowerCaseClassfileExtension(res.getPath()))
+                                    + " found at " + res);
                 }
             } else {
                 acceptedClassfileResourcesFiltered.add(res);
@@ -610,8 +692,7 @@ abstract class ClasspathElement implements Comparable<ClasspathElement> {
         }
         if (foundMasked) {
             // Remove masked (duplicated) paths. N.B. this replaces the concurrent collection with a non-concurrent
-            // collection, but this is the last time the collection is changed during a scan, and this method is run
-            // from a single thread.
+            // collection, but this is the last time the collection is changed during a scan.
             acceptedClassfileResources = acceptedClassfileResourcesFiltered;
         }
     }
@@ -759,6 +840,34 @@ abstract class ClasspathElement implements Comparable<ClasspathElement> {
      */
     abstract void scanPaths(final @Nullable LogNode log);
 
+    /**
+     * Check whether any file or directory whose last modified time was recorded by {@link #scanPaths(LogNode)} has
+     * been modified, created or deleted since then.
+     *
+     * @return true if this classpath element has been modified since its paths were scanned.
+     */
+    boolean isModifiedSinceScan() {
+        for (final Map.Entry<File, Long> ent : fileToLastModified.entrySet()) {
+            if (ent.getKey().lastModified() != ent.getValue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forget the paths found by {@link #scanPaths(LogNode)}, so that they can be scanned again by an incremental
+     * scan (see {@link ClassGraph#scanIncremental(ScanResult)}) once the classpath element has been modified.
+     */
+    void clearScannedPaths() {
+        acceptedResources.clear();
+        acceptedClassfileResources = new ArrayList<>();
+        fileToLastModified.clear();
+        containsSpecificallyAcceptedClasspathElementResourcePath = false;
+        containsRejectedClasspathElementResourcePath = false;
+        scanned.set(false);
+    }
+
     /**
      * Get the {@link Resource} for a given relative path.
      *
@@ -32,9 +32,15 @@ import java.io.File;
 import java.io.IOError;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.github.classgraph.ScanSpec.ScanSpecPathMatch;
 import io.github.classgraph.Scanner.ClasspathEntryWorkUnit;
@@ -56,6 +62,36 @@ class ClasspathElementDir extends ClasspathElement {
     /** The virtual filesystem that the directory is enumerated and read through. */
     private final Vfs vfs;
 
+    /**
+     * The directories whose files were scanned by {@link #scanPaths(LogNode)}, for a {@link LiveScanResult} to
+     * watch.
+     */
+    final Set<Path> scannedDirs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Orders resource paths the way a walk of a directory tree finds them: the files of a directory before its
+     * subdirectories, and the children of a directory sorted by name.
+     */
+    private static final Comparator<Resource> WALK_ORDER = (resource1, resource2) -> {
+        final var path1 = resource1.getPath();
+        final var path2 = resource2.getPath();
+        var segmentStart = 0;
+        while (true) {
+            final var segmentEnd1 = path1.indexOf('/', segmentStart);
+            final var segmentEnd2 = path2.indexOf('/', segmentStart);
+            if ((segmentEnd1 < 0) != (segmentEnd2 < 0)) {
+                // A file comes before a subdirectory of the same directory
+                return segmentEnd1 < 0 ? -1 : 1;
+            }
+            final var diff = path1.substring(segmentStart, segmentEnd1 < 0 ? path1.length() : segmentEnd1)
+                    .compareTo(path2.substring(segmentStart, segmentEnd2 < 0 ? path2.length() : segmentEnd2));
+            if (diff != 0 || segmentEnd1 < 0) {
+                return diff;
+            }
+            segmentStart = segmentEnd1 + 1;
+        }
+    };
+
     /**
      * A directory classpath element.
      *
@@ -396,7 +432,9 @@ class ClasspathElementDir extends ClasspathElement {
             // A directory classpath element is a modular jar if it has a module descriptor, which is read from the
             // package root before any other directory is entered
             isModularJar = getModuleName() != null;
-            recordLastModified(isPackageRootDir ? classpathEltPath : classpathEltPath.resolve(dirName));
+            final var dir = isPackageRootDir ? classpathEltPath : classpathEltPath.resolve(dirName);
+            scannedDirs.add(dir);
+            recordLastModified(dir);
             return true;
         }
 
@@ -461,6 +499,210 @@ class ClasspathElementDir extends ClasspathElement {
         finishScanPaths(subLog);
     }
 
+    @Override
+    void clearScannedPaths() {
+        super.clearScannedPaths();
+        scannedDirs.clear();
+    }
+
+    /**
+     * Scan just the given paths within the directory again, once they are known to have been created, modified or
+     * deleted since the directory was scanned (see {@link LiveScanResult}). The resources found at or beneath each
+     * changed path are forgotten, then each changed path that still exists is scanned again, so that scanning a few
+     * changed paths costs much less than scanning the whole directory again.
+     *
+     * @param changedPaths
+     *            the paths of the changed files and directories, relative to the package root
+     * @param log
+     *            the log node, or null to skip logging
+     */
+    void rescanPaths(final Set<String> changedPaths, final @Nullable LogNode log) {
+        if (skipClasspathElement) {
+            return;
+        }
+        final var subLog = log == null ? null
+                : log(classpathElementIdx, "Rescanning changed paths in Path classpath element " + getURI(), log);
+
+        // Forget the resources and directories at or beneath the changed paths
+        acceptedResources.removeIf(resource -> isAtOrBeneath(resource.getPath(), changedPaths));
+        final List<Resource> acceptedClassfileResourcesRemaining = new ArrayList<>(acceptedClassfileResources);
+        acceptedClassfileResourcesRemaining.removeIf(resource -> isAtOrBeneath(resource.getPath(), changedPaths));
+        acceptedClassfileResources = acceptedClassfileResourcesRemaining;
+        fileToLastModified.keySet().removeIf(file -> {
+            final var path = file.toPath();
+            return path.startsWith(classpathEltPath) && !path.equals(classpathEltPath)
+                    && isAtOrBeneath(toRelativePath(path), changedPaths);
+        });
+        scannedDirs
+                .removeIf(dir -> !dir.equals(classpathEltPath) && isAtOrBeneath(toRelativePath(dir), changedPaths));
+
+        // Scan the changed paths that still exist, in sorted order so that a directory is walked before any changed
+        // path beneath it, which is then skipped since it has already been found
+        final var visitor = new DirScanVisitor(subLog);
+        final Set<String> pathsScanned = new HashSet<>();
+        for (final String changedPath : changedPaths.stream().sorted().toList()) {
+            if (isAtOrBeneath(changedPath, pathsScanned)) {
+                continue;
+            }
+            try {
+                final var root = vfs.open(classpathEltPath);
+                if (Files.isDirectory(classpathEltPath.resolve(changedPath))) {
+                    root.walk(new SubtreeVisitor(visitor, changedPath + "/"), subLog);
+                    pathsScanned.add(changedPath);
+                } else {
+                    final var entry = root.getEntry(changedPath);
+                    if (entry == null) {
+                        // The path was deleted, which changed the last modified time of the directory that held
+                        // it -- enter the nearest directory that still exists, to record its new time
+                        enterParentDirs(visitor, nearestExistingDir(changedPath));
+                    } else if (enterParentDirs(visitor, changedPath)) {
+                        visitor.visitEntry(entry);
+                    }
+                }
+            } catch (final IOException | SecurityException e) {
+                if (subLog != null) {
+                    subLog.log("Could not rescan path " + changedPath + " : " + e);
+                }
+            }
+        }
+
+        // Put the resources back in the order that a scan of the whole directory would have found them in
+        acceptedResources.sort(WALK_ORDER);
+        acceptedClassfileResources.sort(WALK_ORDER);
+
+        finishScanPaths(subLog);
+    }
+
+    /**
+     * Check whether a path is one of a set of paths, or is beneath one of them.
+     *
+     * @param path
+     *            the path, relative to the package root
+     * @param paths
+     *            the paths, relative to the package root
+     * @return true if the path, or one of the directories it is within, is in the set of paths
+     */
+    private static boolean isAtOrBeneath(final String path, final Set<String> paths) {
+        if (paths.contains(path)) {
+            return true;
+        }
+        for (var i = path.lastIndexOf('/'); i > 0; i = path.lastIndexOf('/', i - 1)) {
+            if (paths.contains(path.substring(0, i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Find the nearest directory containing a deleted path that still exists.
+     *
+     * @param deletedPath
+     *            the deleted path, relative to the package root
+     * @return the path of the directory relative to the package root, with a trailing {@code '/'}, or the empty
+     *         string for the package root
+     */
+    private String nearestExistingDir(final String deletedPath) {
+        for (var i = deletedPath.lastIndexOf('/'); i > 0; i = deletedPath.lastIndexOf('/', i - 1)) {
+            if (Files.isDirectory(classpathEltPath.resolve(deletedPath.substring(0, i)))) {
+                return deletedPath.substring(0, i + 1);
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Get the path of a file or directory within the directory, relative to the package root.
+     *
+     * @param path
+     *            the path of the file or directory
+     * @return the relative path, with {@code '/'} as the separator
+     */
+    String toRelativePath(final Path path) {
+        final var relativePath = classpathEltPath.relativize(path);
+        final var buf = new StringBuilder();
+        for (final Path segment : relativePath) {
+            if (buf.length() > 0) {
+                buf.append('/');
+            }
+            buf.append(segment);
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Enter the directories that contain a file, from the package root down, as a walk of the whole directory would
+     * have done before reaching the file, so that the file is matched against the scan spec the same way.
+     *
+     * @param visitor
+     *            the visitor
+     * @param filePath
+     *            the path of the file, relative to the package root
+     * @return true if the file is within directories that a walk of the whole directory would have scanned
+     */
+    private static boolean enterParentDirs(final VfsVisitor visitor, final String filePath) {
+        if (!visitor.enterDirectory("/")) {
+            return false;
+        }
+        for (var i = filePath.indexOf('/'); i >= 0; i = filePath.indexOf('/', i + 1)) {
+            if (!visitor.enterDirectory(filePath.substring(0, i + 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A {@link VfsVisitor} that walks just one subdirectory of the directory, passing the subdirectory and the
+     * directories on the way to it to another visitor, but only the entries within the subdirectory.
+     */
+    private static final class SubtreeVisitor implements VfsVisitor {
+        /** The visitor to pass the subdirectory to. */
+        private final VfsVisitor visitor;
+
+        /** The name of the subdirectory, relative to the package root, with a trailing {@code '/'}. */
+        private final String subtreeDirName;
+
+        /** True if the directory currently being visited is within the subdirectory. */
+        private boolean isWithinSubtree;
+
+        /**
+         * Constructor.
+         *
+         * @param visitor
+         *            the visitor to pass the subdirectory to
+         * @param subtreeDirName
+         *            the name of the subdirectory, relative to the package root, with a trailing {@code '/'}
+         */
+        SubtreeVisitor(final VfsVisitor visitor, final String subtreeDirName) {
+            this.visitor = visitor;
+            this.subtreeDirName = subtreeDirName;
+        }
+
+        @Override
+        public boolean enterDirectory(final String dirName) {
+            // The root directory is reported as "/", which is the empty prefix
+            final var dir = "/".equals(dirName) ? "" : dirName;
+            isWithinSubtree = dir.startsWith(subtreeDirName);
+            // A directory on the way to the subdirectory is still passed on, since the visitor may stop the walk at it
+            return (isWithinSubtree || subtreeDirName.startsWith(dir)) && visitor.enterDirectory(dirName);
+        }
+
+        @Override
+        public boolean visitEntry(final VfsEntry entry) {
+            return !isWithinSubtree || visitor.visitEntry(entry);
+        }
+    }
+
+    /**
+     * Get the directory at the root of the classpath element.
+     *
+     * @return the directory
+     */
+    Path getClasspathEltPath() {
+        return classpathEltPath;
+    }
+
     /**
      * Get the module name from module descriptor.
      *
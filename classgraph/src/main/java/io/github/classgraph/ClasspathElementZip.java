@@ -52,6 +52,7 @@ import io.github.classgraph.base.internal.path.URLPaths;
 import io.github.classgraph.classpath.ClassLoaderHandler;
 import io.github.classgraph.classpath.internal.ClasspathExpander.ChildEntry;
 import io.github.classgraph.classpath.internal.ClasspathExpander;
+import io.github.classgraph.vfs.ArchiveProbe;
 import io.github.classgraph.vfs.Vfs;
 import io.github.classgraph.vfs.VfsEntry;
 import io.github.classgraph.vfs.VfsRoot;
@@ -74,6 +75,14 @@ class ClasspathElementZip extends ClasspathElement {
      * A map from relative path to {@link Resource} for non-rejected zip entries.
      */
     private final ConcurrentHashMap<String, Resource> relativePathToResource = new ConcurrentHashMap<>();
+    /**
+     * True if the entries of the jarfile were not walked by {@link #scanPaths(LogNode)}, since none of them could
+     * be accepted, so that {@link #relativePathToResource} is filled in by {@link #getResource(String)} as each
+     * path is asked for, rather than holding every entry.
+     */
+    private volatile boolean resourcesFoundOnDemand;
+    /** True if the jarfile declares a module name, as found by {@link #scanPaths(LogNode)}. */
+    private boolean isModular;
     /**
      * A list of all automatic package root prefixes found as prefixes of paths within this zipfile.
      */
@@ -252,6 +261,9 @@ class ClasspathElementZip extends ClasspathElement {
             }
             return null;
         }
+        if (isExcludedWithoutOpening(log)) {
+            return null;
+        }
 
         final VfsRoot root;
         try {
@@ -295,6 +307,55 @@ class ClasspathElementZip extends ClasspathElement {
         return root;
     }
 
+    /**
+     * Check, without opening the jarfile, whether it can be left out of the scan, because it has none of the
+     * resource paths that {@link ClassGraph#acceptClasspathElementsContainingResourcePath(String...)} requires a
+     * classpath element to have, and declares no child classpath elements. Such a jarfile would otherwise have its
+     * whole central directory read, and its paths scanned, only to be filtered out once the paths had been scanned.
+     *
+     * <p>
+     * This is only possible when the accepted resource paths are literal paths, so that the jarfile can be probed
+     * for each of them by name (see {@link Vfs#probe}), and not when incremental rescanning is enabled, since that
+     * keeps the classpath elements that were filtered out, in case they are modified to have an accepted path.
+     *
+     * @param log
+     *            the log node, or null to skip logging
+     * @return true if the jarfile can be left out of the scan without being opened.
+     */
+    private boolean isExcludedWithoutOpening(final @Nullable LogNode log) {
+        final var acceptedResourcePaths = scanSpec.classpathElementResourcePathAcceptReject.getLiteralAccept();
+        if (acceptedResourcePaths == null || scanSpec.enableIncrementalRescanning) {
+            return false;
+        }
+        // A resource path is matched after any automatic package root prefix has been stripped from it
+        final Set<String> entryNames = new HashSet<>(acceptedResourcePaths);
+        for (final String prefix : packageRootPrefixes) {
+            for (final String acceptedResourcePath : acceptedResourcePaths) {
+                entryNames.add(prefix + acceptedResourcePath);
+            }
+        }
+        final ArchiveProbe probe;
+        try {
+            probe = vfs.probe(rawPath, entryNames, libDirPrefixes, log);
+        } catch (final IOException e) {
+            // Leave it to opening the jarfile to report why it could not be read
+            return false;
+        }
+        // The versioned entries of a multi-release jar are reported under names that the probe did not look for,
+        // and the module switches in a manifest are reported whether or not the jarfile is filtered out
+        if (probe == null || !probe.entryNamesFound().isEmpty() || probe.isMultiRelease()
+                || probe.getManifestEntry(Scanner.ADD_EXPORTS_KEY) != null
+                || probe.getManifestEntry(Scanner.ADD_OPENS_KEY) != null
+                || ClasspathExpander.mayHaveChildEntries(probe, libDirPrefixes, vfsSpec.isNestedJarsEnabled())) {
+            return false;
+        }
+        if (log != null) {
+            log.log("Skipping jarfile that does not contain a specifically accepted resource path, and declares no "
+                    + "child classpath elements: " + rawPath);
+        }
+        return true;
+    }
+
     /**
      * Check whether a jarfile is part of the JRE, which is identified by the titles that the jarfiles of the JRE
      * declare in their manifests -- their filenames do not always give them away.
@@ -378,7 +439,98 @@ class ClasspathElementZip extends ClasspathElement {
     @Override
     @Nullable
     Resource getResource(final String relativePath) {
-        return relativePathToResource.get(relativePath);
+        final var resource = relativePathToResource.get(relativePath);
+        return resource != null || !resourcesFoundOnDemand ? resource : findResourceOnDemand(relativePath);
+    }
+
+    /**
+     * Find the {@link Resource} for a path in a jarfile whose entries were not walked, applying the same checks
+     * that the walk would have applied to the entry. The jarfile's filter rules out most paths that it does not
+     * hold without a lookup, which matters because the classfiles of external classes are looked up in each
+     * classpath element in turn.
+     *
+     * @param relativePath
+     *            The relative path of the {@link Resource} to return.
+     * @return The {@link Resource} for the given relative path, or null if relativePath does not exist in this
+     *         classpath element.
+     */
+    private @Nullable Resource findResourceOnDemand(final String relativePath) {
+        final var root = vfsRoot;
+        if (root == null || isIgnoredVersionedPath(relativePath)
+                || isIgnoredDefaultPackageClassfile(isModular, relativePath)
+                || isWithinNestedClasspathRoot(relativePath, Set.of(), /* log = */ null)) {
+            return null;
+        }
+        final var lastSlashIdx = relativePath.lastIndexOf('/');
+        if (scanSpec.dirAcceptMatchStatus(lastSlashIdx < 0 ? "/"
+                : relativePath.substring(0, lastSlashIdx + 1)) == ScanSpecPathMatch.HAS_REJECTED_PATH_PREFIX) {
+            return null;
+        }
+        try {
+            if (!root.mayContain(relativePath)) {
+                return null;
+            }
+            final var entry = root.getEntry(relativePath);
+            if (entry == null) {
+                return null;
+            }
+            final var resource = newResource(entry, relativePath);
+            final var existingResource = relativePathToResource.putIfAbsent(relativePath, resource);
+            return existingResource == null ? resource : existingResource;
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check whether the jarfile may have a directory at one of the automatic package root prefixes, which would be
+     * stripped from the names of the entries within it. A jarfile that has an explicit package root has no
+     * automatic package root prefix stripped at all.
+     *
+     * @param root
+     *            the jarfile, as a root of the virtual filesystem
+     * @return true if an automatic package root prefix may be stripped from the names of some entries.
+     * @throws IOException
+     *             if the virtual filesystem has been closed.
+     */
+    private boolean hasAutomaticPackageRootPrefix(final VfsRoot root) throws IOException {
+        if (!packageRootPrefix.isEmpty()) {
+            return false;
+        }
+        for (final String prefix : packageRootPrefixes) {
+            if (root.mayContain(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether the jarfile can hold no accepted resource, without walking its entries: none of the directories
+     * that an accepted resource has to be within is in the jarfile's filter, and neither is a module descriptor
+     * that would be scanned. This is only possible if the accepted directories can be listed, and if no classpath
+     * element resource path filter has to see every path of the jarfile.
+     *
+     * @param root
+     *            the jarfile, as a root of the virtual filesystem
+     * @return true if the jarfile can hold no accepted resource.
+     * @throws IOException
+     *             if the virtual filesystem has been closed.
+     */
+    private boolean holdsNoAcceptedResource(final VfsRoot root) throws IOException {
+        if (!scanSpec.classpathElementResourcePathAcceptReject.acceptAndRejectAreEmpty()) {
+            return false;
+        }
+        final var acceptedDirPaths = scanSpec.getAcceptedDirPaths();
+        if (acceptedDirPaths == null) {
+            return false;
+        }
+        for (final String acceptedDirPath : acceptedDirPaths) {
+            if (root.mayContain(acceptedDirPath)) {
+                return false;
+            }
+        }
+        return !(scanSpec.enableClassInfo && root.mayContain("module-info.class"));
     }
 
     /**
@@ -557,7 +709,24 @@ class ClasspathElementZip extends ClasspathElement {
 
         // A jar is modular only if it declares a module name -- an automatic module name derived from the jar name
         // does not make the jar modular
-        final var isModularJar = getDeclaredModuleName() != null;
+        isModular = getDeclaredModuleName() != null;
+
+        // Without an automatic package root prefix to strip, the name of an entry is its relative path, so if the
+        // jarfile's filter rules out every accepted directory, nothing needs to be walked: no entry could be
+        // accepted, and any path that is asked for later can be looked up by name
+        try {
+            if (!hasAutomaticPackageRootPrefix(root) && holdsNoAcceptedResource(root)) {
+                if (subLog != null) {
+                    subLog.log("Jarfile has no accepted directory, so its entries do not need to be scanned");
+                }
+                resourcesFoundOnDemand = true;
+                recordLastModified();
+                finishScanPaths(subLog);
+                return;
+            }
+        } catch (final IOException e) {
+            // Leave it to the walk to report why the jarfile cannot be read
+        }
 
         // An explicit package root has already been stripped from the names of the entries by the virtual
         // filesystem, and rules out stripping an automatic package root prefix as well. "classes/" and
@@ -568,20 +737,23 @@ class ClasspathElementZip extends ClasspathElement {
                 : ClassLoaderHandler.NO_PACKAGE_ROOT_PREFIXES;
 
         try {
-            root.walk(new ZipScanVisitor(isModularJar, automaticPackageRootPrefixes, subLog), subLog);
+            root.walk(new ZipScanVisitor(isModular, automaticPackageRootPrefixes, subLog), subLog);
         } catch (final IOException e) {
             if (subLog != null) {
                 subLog.log("Could not read jarfile " + getZipFilePath() + " : " + e);
             }
         }
 
-        // Save the last modified time for the zipfile
+        recordLastModified();
+        finishScanPaths(subLog);
+    }
+
+    /** Save the last modified time for the zipfile. */
+    private void recordLastModified() {
         final var zipfile = getFile();
         if (zipfile != null) {
             fileToLastModified.put(zipfile, zipfile.lastModified());
         }
-
-        finishScanPaths(subLog);
     }
 
     /**
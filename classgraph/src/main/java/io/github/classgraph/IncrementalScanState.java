@@ -0,0 +1,163 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.classgraph.vfs.Vfs;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * What an incremental scan (see {@link ClassGraph#scanIncremental(ScanResult)}) reuses from the scan before it: the
+ * classpath elements and the virtual filesystem they were opened through, the resources found within each classpath
+ * element before classpath masking removed any of them, and the classfiles that were parsed.
+ *
+ * @param scanSpec
+ *            the scan spec
+ * @param vfs
+ *            the virtual filesystem that the classpath elements were opened through
+ * @param unscannedModules
+ *            the modules that are not being scanned, but whose classfiles may still be read in order to complete
+ *            the class graph above an accepted class
+ * @param classpathOrder
+ *            the classpath order, including any classpath element that was filtered out by
+ *            {@link ScanSpec#classpathElementResourcePathAcceptReject}, since a modified classpath element may no
+ *            longer be filtered out
+ * @param unmaskedResources
+ *            the resources found within each classpath element, before classpath masking
+ * @param parsedClassfiles
+ *            the classfiles that were parsed
+ */
+record IncrementalScanState(ScanSpec scanSpec, Vfs vfs, UnscannedModules unscannedModules,
+        List<ClasspathElement> classpathOrder, Map<ClasspathElement, UnmaskedResources> unmaskedResources,
+        Map<ClassfileKey, ParsedClassfile> parsedClassfiles) {
+
+    /**
+     * The resources found within a classpath element, before classpath masking.
+     *
+     * @param acceptedResources
+     *            the accepted resources
+     * @param acceptedClassfileResources
+     *            the accepted classfile resources
+     */
+    record UnmaskedResources(List<Resource> acceptedResources, List<Resource> acceptedClassfileResources) {
+    }
+
+    /**
+     * Identifies a parsed classfile. An accepted classfile and an external classfile at the same path are parsed
+     * differently, so they are told apart.
+     *
+     * @param classpathElement
+     *            the classpath element that contains the classfile
+     * @param path
+     *            the path of the classfile, relative to the package root of the classpath element
+     * @param isExternalClass
+     *            true if the classfile was parsed as an external class
+     */
+    record ClassfileKey(ClasspathElement classpathElement, String path, boolean isExternalClass) {
+    }
+
+    /**
+     * A parsed classfile, with the last modified time and length that the classfile had when it was parsed.
+     *
+     * @param classfile
+     *            the parsed classfile
+     * @param lastModifiedMillis
+     *            the last modified time of the classfile resource when it was parsed
+     * @param length
+     *            the length of the classfile resource when it was parsed
+     */
+    record ParsedClassfile(Classfile classfile, long lastModifiedMillis, long length) {
+        /**
+         * Check whether the classfile is unchanged since it was parsed.
+         *
+         * @param classfileResource
+         *            the classfile resource, as found by the incremental scan
+         * @return true if the resource has the same last modified time and length as when the classfile was parsed.
+         */
+        boolean isUnchanged(final Resource classfileResource) {
+            return classfileResource.getLastModifiedMillis() == lastModifiedMillis
+                    && classfileResource.getLength() == length;
+        }
+    }
+
+    /**
+     * A classpath element that has been modified since the scan.
+     *
+     * @param classpathElement
+     *            the classpath element, which is always a {@link ClasspathElementDir}
+     * @param changedPaths
+     *            the paths within the classpath element, relative to its package root, of the files and directories
+     *            that have been created, modified or deleted, so that only those paths need to be scanned again, or
+     *            null if which paths have changed is not known, and the whole classpath element needs to be scanned
+     *            again
+     */
+    record ModifiedClasspathElement(ClasspathElement classpathElement, @Nullable Set<String> changedPaths) {
+    }
+
+    /**
+     * Find the classpath elements that have been modified since the scan.
+     *
+     * @return the modified classpath elements, or null if a classpath element other than a directory has been
+     *         modified, since a modified jarfile or module cannot be read again through the virtual filesystem that
+     *         it was opened through, and needs a full scan.
+     */
+    @Nullable
+    List<ModifiedClasspathElement> findModifiedClasspathElements() {
+        final List<ModifiedClasspathElement> modifiedClasspathElements = new ArrayList<>();
+        for (final ClasspathElement classpathElement : classpathOrder) {
+            if (classpathElement.isModifiedSinceScan()) {
+                if (!(classpathElement instanceof ClasspathElementDir)) {
+                    return null;
+                }
+                modifiedClasspathElements
+                        .add(new ModifiedClasspathElement(classpathElement, /* changedPaths = */ null));
+            }
+        }
+        return modifiedClasspathElements;
+    }
+
+    /**
+     * Check whether a classpath element other than a directory has been modified since the scan, for a caller that
+     * already knows which directories have been modified.
+     *
+     * @return true if a jarfile or module has been modified since the scan.
+     */
+    boolean isNonDirClasspathElementModified() {
+        for (final ClasspathElement classpathElement : classpathOrder) {
+            if (!(classpathElement instanceof ClasspathElementDir) && classpathElement.isModifiedSinceScan()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.classgraph.Classfile.ClassContainment;
+import io.github.classgraph.Classfile.SkipClassException;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * What was read from the classfiles of the system modules of the running JDK, kept for the life of the process (see
+ * {@link ClassGraph#enableJdkClassGraphSnapshot()}), so that a scan that extends upwards into the JDK, or scans the
+ * system modules, builds the {@link Classfile} of a JDK class from the snapshot, rather than reading and parsing
+ * the classfile again.
+ *
+ * <p>
+ * The system modules can only change if the JDK is replaced, so a snapshot is kept for each {@code java.home}, and
+ * for each {@code JAVA_VERSION} and {@code IMPLEMENTOR_VERSION} listed in the {@code release} file of
+ * {@code java.home}, and for each combination of the {@link ScanSpec} settings that change what is read from a
+ * classfile. Only a scan that does not read fields, method bodies or the classes referenced by a class can use a
+ * snapshot, since they are much larger than the class hierarchy and annotations, and are only rarely needed for JDK
+ * classes. A classfile that the snapshot cannot hold, such as a class with type annotations, is parsed every time.
+ */
+final class JdkClassGraphSnapshot {
+    /** The snapshots, for each key. */
+    private static final Map<Key, JdkClassGraphSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    /** The {@code JAVA_VERSION} and {@code IMPLEMENTOR_VERSION} of the running JDK, read once. */
+    private static final List<String> RELEASE = readRelease();
+
+    /** What was read from each classfile, keyed by module name and the path of the classfile in the module. */
+    private final Map<String, ClassSnapshot> classSnapshots = new ConcurrentHashMap<>();
+
+    /** The module names and paths of the classfiles that were skipped. */
+    private final Set<String> skippedPaths = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The key of a snapshot.
+     *
+     * @param javaHome
+     *            the {@code java.home} of the running JDK
+     * @param release
+     *            the {@code JAVA_VERSION} and {@code IMPLEMENTOR_VERSION} of the running JDK
+     * @param enableAnnotationInfo
+     *            {@link ScanSpec#enableAnnotationInfo}
+     * @param disableRuntimeInvisibleAnnotations
+     *            {@link ScanSpec#disableRuntimeInvisibleAnnotations}
+     * @param ignoreClassVisibility
+     *            {@link ScanSpec#ignoreClassVisibility}
+     * @param ignoreMethodVisibility
+     *            {@link ScanSpec#ignoreMethodVisibility}
+     */
+    private record Key(String javaHome, List<String> release, boolean enableAnnotationInfo,
+            boolean disableRuntimeInvisibleAnnotations, boolean ignoreClassVisibility,
+            boolean ignoreMethodVisibility) {
+    }
+
+    /**
+     * What was read from a classfile. Only holds objects that no {@link ScanResult} refers to, so it is copied both
+     * when it is taken and when it is used.
+     *
+     * @param className
+     *            the name of the class
+     * @param minorVersion
+     *            the minor version of the classfile format
+     * @param majorVersion
+     *            the major version of the classfile format
+     * @param classModifiers
+     *            the class modifiers
+     * @param isInterface
+     *            whether the class is an interface
+     * @param isRecord
+     *            whether the class is a record
+     * @param isAnnotation
+     *            whether the class is an annotation
+     * @param superclassName
+     *            the superclass name, or null
+     * @param implementedInterfaces
+     *            the implemented interfaces, or null
+     * @param classAnnotations
+     *            the class annotations, or null
+     * @param fullyQualifiedDefiningMethodName
+     *            the fully qualified name of the defining method, or null
+     * @param classContainmentEntries
+     *            the class containment entries, or null
+     * @param annotationParamDefaultValues
+     *            the annotation default parameter values, or null
+     * @param methodInfoList
+     *            the methods of an annotation class, or null
+     * @param typeSignatureStr
+     *            the type signature, or null
+     * @param sourceFile
+     *            the source file, or null
+     */
+    record ClassSnapshot(String className, int minorVersion, int majorVersion, int classModifiers,
+            boolean isInterface, boolean isRecord, boolean isAnnotation, @Nullable String superclassName,
+            @Nullable List<String> implementedInterfaces, @Nullable AnnotationInfoList classAnnotations,
+            @Nullable String fullyQualifiedDefiningMethodName,
+            @Nullable List<ClassContainment> classContainmentEntries,
+            @Nullable AnnotationParameterValueList annotationParamDefaultValues,
+            @Nullable MethodInfoList methodInfoList, @Nullable String typeSignatureStr,
+            @Nullable String sourceFile) {
+
+        /**
+         * Copy the snapshot, including its annotations and methods.
+         *
+         * @return the copy, or null if a method could not be copied.
+         */
+        @Nullable
+        ClassSnapshot copy() {
+            MethodInfoList methodInfoListCopy = null;
+            if (methodInfoList != null) {
+                methodInfoListCopy = new MethodInfoList(methodInfoList.size());
+                for (final MethodInfo methodInfo : methodInfoList) {
+                    final var methodInfoCopy = methodInfo.copy();
+                    if (methodInfoCopy == null) {
+                        return null;
+                    }
+                    methodInfoListCopy.add(methodInfoCopy);
+                }
+            }
+            return new ClassSnapshot(className, minorVersion, majorVersion, classModifiers, isInterface, isRecord,
+                    isAnnotation, superclassName,
+                    implementedInterfaces == null ? null : new ArrayList<>(implementedInterfaces),
+                    AnnotationInfo.copyAll(classAnnotations), fullyQualifiedDefiningMethodName,
+                    classContainmentEntries == null ? null : new ArrayList<>(classContainmentEntries),
+                    AnnotationParameterValue.copyAll(annotationParamDefaultValues), methodInfoListCopy,
+                    typeSignatureStr, sourceFile);
+        }
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Constructor.
+     */
+    private JdkClassGraphSnapshot() {
+        // Empty
+    }
+
+    /**
+     * Read the {@code JAVA_VERSION} and {@code IMPLEMENTOR_VERSION} of the running JDK from the {@code release}
+     * file of {@code java.home}, falling back to the {@code java.version} and {@code java.vm.version} system
+     * properties if there is no {@code release} file.
+     *
+     * @return the {@code JAVA_VERSION} and {@code IMPLEMENTOR_VERSION}.
+     */
+    private static List<String> readRelease() {
+        final var javaHome = System.getProperty("java.home", "");
+        final var release = new Properties();
+        try (InputStream inputStream = Files.newInputStream(Path.of(javaHome, "release"))) {
+            release.load(inputStream);
+        } catch (IOException | RuntimeException e) {
+            // No release file
+        }
+        return List.of(unquote(release.getProperty("JAVA_VERSION", System.getProperty("java.version", ""))),
+                unquote(release.getProperty("IMPLEMENTOR_VERSION", System.getProperty("java.vm.version", ""))));
+    }
+
+    /**
+     * Remove the double quotes around a value in the {@code release} file.
+     *
+     * @param value
+     *            the value.
+     * @return the value without the quotes.
+     */
+    private static String unquote(final String value) {
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")
+                ? value.substring(1, value.length() - 1)
+                : value;
+    }
+
+    /**
+     * Get the snapshot for a scan.
+     *
+     * @param scanSpec
+     *            the scan spec.
+     * @return the snapshot, or null if {@link ClassGraph#enableJdkClassGraphSnapshot()} was not called, or the scan
+     *         reads fields, methods or the classes referenced by each class.
+     */
+    static @Nullable JdkClassGraphSnapshot forScanSpec(final ScanSpec scanSpec) {
+        if (!scanSpec.enableJdkClassGraphSnapshot || scanSpec.enableFieldInfo || scanSpec.enableMethodInfo
+                || scanSpec.enableInterClassDependencies) {
+            return null;
+        }
+        return SNAPSHOTS.computeIfAbsent(new Key(System.getProperty("java.home", ""), RELEASE,
+                scanSpec.enableAnnotationInfo, scanSpec.disableRuntimeInvisibleAnnotations,
+                scanSpec.ignoreClassVisibility, scanSpec.ignoreMethodVisibility), k -> new JdkClassGraphSnapshot());
+    }
+
+    /**
+     * Get the key of a classfile in the snapshot.
+     *
+     * @param classpathElement
+     *            the classpath element that contains the classfile.
+     * @param path
+     *            the path of the classfile, relative to the package root of the classpath element.
+     * @return the key, or null if the classpath element is not a system module of the running JDK.
+     */
+    private static @Nullable String snapshotKey(final ClasspathElement classpathElement, final String path) {
+        if (classpathElement instanceof final ClasspathElementModule classpathElementModule) {
+            final var location = classpathElementModule.moduleReference.location().orElse(null);
+            if (location != null && "jrt".equals(location.getScheme())) {
+                return classpathElementModule.getModuleName() + "/" + path;
+            }
+        }
+        return null;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get what was read from a classfile.
+     *
+     * @param classpathElement
+     *            the classpath element that contains the classfile.
+     * @param path
+     *            the path of the classfile, relative to the package root of the classpath element.
+     * @return a copy of what was read from the classfile, or null if it is not in the snapshot.
+     * @throws SkipClassException
+     *             if the classfile was skipped when it was read.
+     */
+    @Nullable
+    ClassSnapshot get(final ClasspathElement classpathElement, final String path) throws SkipClassException {
+        final var snapshotKey = snapshotKey(classpathElement, path);
+        if (snapshotKey == null) {
+            return null;
+        }
+        if (skippedPaths.contains(snapshotKey)) {
+            throw new SkipClassException("Classfile was skipped when it was added to the JDK class graph snapshot");
+        }
+        final var classSnapshot = classSnapshots.get(snapshotKey);
+        return classSnapshot == null ? null : classSnapshot.copy();
+    }
+
+    /**
+     * Add what was read from a classfile, if the classfile is in a system module and the snapshot can hold it.
+     *
+     * @param classpathElement
+     *            the classpath element that contains the classfile.
+     * @param path
+     *            the path of the classfile, relative to the package root of the classpath element.
+     * @param classfile
+     *            the classfile.
+     */
+    void put(final ClasspathElement classpathElement, final String path, final Classfile classfile) {
+        final var snapshotKey = snapshotKey(classpathElement, path);
+        if (snapshotKey != null) {
+            final var classSnapshot = classfile.snapshot();
+            if (classSnapshot != null) {
+                classSnapshots.putIfAbsent(snapshotKey, classSnapshot);
+            }
+        }
+    }
+
+    /**
+     * Record that a classfile was skipped, if the classfile is in a system module.
+     *
+     * @param classpathElement
+     *            the classpath element that contains the classfile.
+     * @param path
+     *            the path of the classfile, relative to the package root of the classpath element.
+     */
+    void putSkipped(final ClasspathElement classpathElement, final String path) {
+        final var snapshotKey = snapshotKey(classpathElement, path);
+        if (snapshotKey != null) {
+            skippedPaths.add(snapshotKey);
+        }
+    }
+}
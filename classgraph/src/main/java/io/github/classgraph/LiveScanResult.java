@@ -0,0 +1,338 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.ProviderMismatchException;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import io.github.classgraph.IncrementalScanState.ModifiedClasspathElement;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link ScanResult} that is kept up to date as the directories on the classpath change (see
+ * {@link ClassGraph#scanLive()}). Each directory that was scanned is watched by a {@link WatchService}, which
+ * accumulates the paths that are created, modified or deleted, and {@link #getScanResult()} scans just those paths
+ * again, reusing every classfile that has not changed. Keeping the class graph of a large directory up to date then
+ * costs in proportion to how much of it has changed, rather than to its size, except for linking the classfiles
+ * into {@link ClassInfo} objects again, which does not need any classfile to be read.
+ *
+ * <p>
+ * A jarfile or module on the classpath is not watched, but is checked for modification each time
+ * {@link #getScanResult()} is called, and if one has been modified, the classpath is scanned again in full. A
+ * directory that cannot be watched is checked the same way, and scanned again in full if it has been modified.
+ *
+ * <p>
+ * The {@link ScanResult} returned by {@link #getScanResult()} belongs to this object: it is closed when it is
+ * replaced by a more up-to-date one, or when this object is closed, so it must not be closed by the caller, and
+ * neither it nor any object obtained from it should be used after the next call to {@link #getScanResult()}.
+ */
+public final class LiveScanResult implements AutoCloseable {
+    /** The {@link ClassGraph} instance that performed the scan, which performs each incremental scan. */
+    private final ClassGraph classGraph;
+
+    /** The number of worker threads to scan with. */
+    private final int numThreads;
+
+    /** The watch service, or null if the default filesystem does not support watching. */
+    private final @Nullable WatchService watchService;
+
+    /** The directory that each watch key watches. */
+    private final Map<WatchKey, Path> watchKeyToDir = new HashMap<>();
+
+    /** The directories that are watched. */
+    private final Set<Path> watchedDirs = new HashSet<>();
+
+    /** The directory classpath elements that could not be watched, which are checked for modification instead. */
+    private final Set<ClasspathElementDir> unwatchedClasspathElements = new HashSet<>();
+
+    /**
+     * The paths that have changed within each directory classpath element since the last scan, relative to its
+     * package root, or null for a classpath element in which too many paths have changed for the watch service to
+     * keep track of, which needs to be scanned again in full.
+     */
+    private final Map<ClasspathElementDir, @Nullable Set<String>> changedPaths = new IdentityHashMap<>();
+
+    /** The current scan result. */
+    private ScanResult scanResult;
+
+    /** True once this object has been closed. */
+    private boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param classGraph
+     *            the {@link ClassGraph} instance that performed the scan
+     * @param numThreads
+     *            the number of worker threads to scan with
+     * @param scanResult
+     *            the result of the scan
+     */
+    LiveScanResult(final ClassGraph classGraph, final int numThreads, final ScanResult scanResult) {
+        this.classGraph = classGraph;
+        this.numThreads = numThreads;
+        this.scanResult = scanResult;
+        WatchService newWatchService;
+        try {
+            newWatchService = FileSystems.getDefault().newWatchService();
+        } catch (final IOException | UnsupportedOperationException e) {
+            newWatchService = null;
+        }
+        this.watchService = newWatchService;
+        watchScannedDirs();
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the directory classpath elements of the current scan result.
+     *
+     * @return the directory classpath elements, including any that were filtered out of the scan result by
+     *         {@link ClassGraph#acceptClasspathElementsContainingResourcePath(String...)} etc.
+     */
+    private List<ClasspathElementDir> getDirClasspathElements() {
+        final var incrementalScanState = scanResult.getIncrementalScanState();
+        final List<ClasspathElementDir> dirClasspathElements = new ArrayList<>();
+        if (incrementalScanState != null) {
+            for (final ClasspathElement classpathElement : incrementalScanState.classpathOrder()) {
+                if (classpathElement instanceof final ClasspathElementDir classpathElementDir) {
+                    dirClasspathElements.add(classpathElementDir);
+                }
+            }
+        }
+        return dirClasspathElements;
+    }
+
+    /**
+     * Register a watch on a directory, unless it is already watched.
+     *
+     * @param dir
+     *            the directory
+     * @return true if the directory is watched
+     */
+    private boolean watch(final Path dir) {
+        if (watchedDirs.contains(dir)) {
+            return true;
+        }
+        if (watchService == null) {
+            return false;
+        }
+        try {
+            final var watchKey = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchKeyToDir.put(watchKey, dir);
+            watchedDirs.add(dir);
+            return true;
+        } catch (final IOException | UnsupportedOperationException | ProviderMismatchException
+                | ClosedWatchServiceException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /** Watch each directory that was scanned by the current scan result, if it is not already watched. */
+    private void watchScannedDirs() {
+        unwatchedClasspathElements.clear();
+        for (final ClasspathElementDir classpathElement : getDirClasspathElements()) {
+            for (final Path dir : classpathElement.scannedDirs) {
+                if (!watch(dir)) {
+                    unwatchedClasspathElements.add(classpathElement);
+                }
+            }
+        }
+    }
+
+    /**
+     * Watch a directory that has been created, and every directory beneath it, before it is scanned, so that no
+     * file that is created in it after it is scanned goes unnoticed.
+     *
+     * @param createdDir
+     *            the directory that has been created
+     */
+    private void watchCreatedDir(final Path createdDir) {
+        try (Stream<Path> paths = Files.walk(createdDir)) {
+            paths.filter(Files::isDirectory).forEach(this::watch);
+        } catch (final IOException | SecurityException e) {
+            // The directory has already been deleted again, or cannot be read, so there is nothing to watch
+        }
+    }
+
+    /**
+     * Record a path that has changed, in each directory classpath element that contains it.
+     *
+     * @param path
+     *            the path that has changed, or the watched directory itself if too many paths have changed within
+     *            it to keep track of
+     * @param isOverflow
+     *            true if too many paths have changed within the watched directory to keep track of
+     */
+    private void recordChangedPath(final Path path, final boolean isOverflow) {
+        for (final ClasspathElementDir classpathElement : getDirClasspathElements()) {
+            final var classpathEltPath = classpathElement.getClasspathEltPath();
+            if (!path.startsWith(classpathEltPath)) {
+                continue;
+            }
+            if (isOverflow || path.equals(classpathEltPath)) {
+                // Scan the whole classpath element again
+                changedPaths.put(classpathElement, null);
+            } else if (!changedPaths.containsKey(classpathElement) || changedPaths.get(classpathElement) != null) {
+                changedPaths.computeIfAbsent(classpathElement, k -> new HashSet<>())
+                        .add(classpathElement.toRelativePath(path));
+            }
+        }
+    }
+
+    /** Take the events from the watch service, and record the paths that have changed. */
+    private void pollWatchService() {
+        if (watchService == null) {
+            return;
+        }
+        for (WatchKey watchKey; (watchKey = watchService.poll()) != null;) {
+            final var dir = watchKeyToDir.get(watchKey);
+            if (dir == null) {
+                watchKey.cancel();
+                continue;
+            }
+            for (final var event : watchKey.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    recordChangedPath(dir, /* isOverflow = */ true);
+                    continue;
+                }
+                final var path = dir.resolve((Path) event.context());
+                if (Files.isDirectory(path)) {
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_MODIFY && watchedDirs.contains(path)) {
+                        // The entries of the directory have changed, which is reported for the entries themselves
+                        continue;
+                    }
+                    watchCreatedDir(path);
+                }
+                recordChangedPath(path, /* isOverflow = */ false);
+            }
+            if (!watchKey.reset()) {
+                // The directory has been deleted, which is reported as a change to the directory that contained it,
+                // unless it is the root of a classpath element
+                watchKeyToDir.remove(watchKey);
+                watchedDirs.remove(dir);
+                recordChangedPath(dir, /* isOverflow = */ false);
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the scan result, first bringing it up to date with any changes to the classpath since the last time this
+     * method was called. The scan result belongs to this object, so must not be closed by the caller.
+     *
+     * @return the up-to-date scan result.
+     * @throws IllegalStateException
+     *             if this object has been closed.
+     * @throws ClassGraphException
+     *             if any of the worker threads throws an uncaught exception, or the scan was interrupted. The
+     *             previous scan result may then have been closed, but the next call brings the scan result up to
+     *             date again.
+     */
+    public synchronized ScanResult getScanResult() {
+        if (closed) {
+            throw new IllegalStateException("Cannot use a LiveScanResult after it has been closed");
+        }
+        if (scanResult.isClosed()) {
+            // An incremental scan took over the scan result and then failed, so the paths that changed since can
+            // no longer be scanned on their own -- scan in full, and watch whatever the new scan result scanned
+            pollWatchService();
+            changedPaths.clear();
+            scanResult = classGraph.scan(numThreads);
+            watchScannedDirs();
+            return scanResult;
+        }
+        if (scanResult.getIncrementalScanState() == null) {
+            // The classpath elements cannot be reused (e.g. temporary files were removed after the scan), so all
+            // that can be done is a full scan, if the classpath has been modified
+            if (scanResult.isClasspathContentsModifiedSinceScan()) {
+                scanResult.close();
+                scanResult = classGraph.scan(numThreads);
+            }
+            return scanResult;
+        }
+
+        pollWatchService();
+        for (final ClasspathElementDir classpathElement : unwatchedClasspathElements) {
+            if (classpathElement.isModifiedSinceScan()) {
+                changedPaths.put(classpathElement, null);
+            }
+        }
+        final List<ModifiedClasspathElement> modifiedDirs = new ArrayList<>();
+        for (final var ent : changedPaths.entrySet()) {
+            final var paths = ent.getValue();
+            modifiedDirs.add(new ModifiedClasspathElement(ent.getKey(), paths == null ? null : Set.copyOf(paths)));
+        }
+        final var incrementalScanState = scanResult.getIncrementalScanState();
+        if (modifiedDirs.isEmpty()
+                && (incrementalScanState == null || !incrementalScanState.isNonDirClasspathElementModified())) {
+            // Nothing has changed
+            return scanResult;
+        }
+        // Only forget the changed paths once they have been scanned, so that if the scan fails, they are scanned
+        // by the next call (or, if the failed scan already took over the scan result, a full scan is done instead)
+        scanResult = classGraph.scanIncremental(scanResult, numThreads, modifiedDirs);
+        changedPaths.clear();
+        watchScannedDirs();
+        return scanResult;
+    }
+
+    /** Stop watching the classpath, and close the current scan result. */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            if (watchService != null) {
+                try {
+                    watchService.close();
+                } catch (final IOException e) {
+                    // Ignore
+                }
+            }
+            scanResult.close();
+        }
+    }
+}
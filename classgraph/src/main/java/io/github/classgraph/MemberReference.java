@@ -0,0 +1,220 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph;
+
+import java.util.Locale;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A reference from the body of a method to a method or field, i.e. the target of an {@code invoke*},
+ * {@code getfield}, {@code putfield}, {@code getstatic} or {@code putstatic} instruction, as returned by
+ * {@link MethodInfo#getInvokedMethods()} and {@link MethodInfo#getFieldAccesses()}.
+ *
+ * <p>
+ * The class name is the class that the instruction names, which is not necessarily the class that declares the
+ * method or field: a call to an inherited method through a subclass names the subclass, and a call to a method of
+ * an array type (such as {@code clone()}) names the array type descriptor, e.g. {@code "[I"}.
+ */
+public class MemberReference extends ScanResultObject implements Comparable<MemberReference> {
+    /** The kind of reference, i.e. the instruction that makes the reference. */
+    public enum Kind {
+        /** A {@code getstatic} instruction. */
+        GETSTATIC,
+        /** A {@code putstatic} instruction. */
+        PUTSTATIC,
+        /** A {@code getfield} instruction. */
+        GETFIELD,
+        /** A {@code putfield} instruction. */
+        PUTFIELD,
+        /** An {@code invokevirtual} instruction. */
+        INVOKEVIRTUAL,
+        /** An {@code invokespecial} instruction (a constructor, private method or superclass method call). */
+        INVOKESPECIAL,
+        /** An {@code invokestatic} instruction. */
+        INVOKESTATIC,
+        /** An {@code invokeinterface} instruction. */
+        INVOKEINTERFACE;
+
+        /**
+         * Check if this kind of reference invokes a method.
+         *
+         * @return true if this kind of reference is an {@code invoke*} instruction.
+         */
+        public boolean isMethodInvocation() {
+            return ordinal() >= INVOKEVIRTUAL.ordinal();
+        }
+
+        /**
+         * Check if this kind of reference reads a field.
+         *
+         * @return true if this kind of reference is a {@code getfield} or {@code getstatic} instruction.
+         */
+        public boolean isFieldRead() {
+            return this == GETSTATIC || this == GETFIELD;
+        }
+
+        /**
+         * Check if this kind of reference writes a field.
+         *
+         * @return true if this kind of reference is a {@code putfield} or {@code putstatic} instruction.
+         */
+        public boolean isFieldWrite() {
+            return this == PUTSTATIC || this == PUTFIELD;
+        }
+    }
+
+    /** The kind of reference. */
+    private final Kind kind;
+
+    /** The name of the class named by the reference. */
+    private final String className;
+
+    /** The name of the method or field. */
+    private final String name;
+
+    /** The type descriptor of the method or field. */
+    private final String typeDescriptorStr;
+
+    /**
+     * Constructor.
+     *
+     * @param kind
+     *            The kind of reference.
+     * @param className
+     *            The name of the class named by the reference.
+     * @param name
+     *            The name of the method or field.
+     * @param typeDescriptorStr
+     *            The type descriptor of the method or field.
+     */
+    MemberReference(final Kind kind, final String className, final String name, final String typeDescriptorStr) {
+        super();
+        this.kind = kind;
+        this.className = className;
+        this.name = name;
+        this.typeDescriptorStr = typeDescriptorStr;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the kind of reference.
+     *
+     * @return The kind of reference, i.e. the instruction that makes the reference.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Get the name of the class named by the reference.
+     *
+     * @return The name of the class named by the reference (see the class documentation for how this can differ
+     *         from the class that declares the method or field).
+     */
+    @Override
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Get the name of the method or field.
+     *
+     * @return The name of the method or field. Constructors are named {@code "<init>"}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the type descriptor of the method or field.
+     *
+     * @return The internal type descriptor string of the method or field, e.g. {@code "(I)Ljava/lang/String;"}.
+     */
+    public String getTypeDescriptorStr() {
+        return typeDescriptorStr;
+    }
+
+    /**
+     * Get the class info.
+     *
+     * @return The {@link ClassInfo} object for the class named by the reference, or null if that class was not
+     *         encountered during scanning.
+     */
+    @Override
+    public @Nullable ClassInfo getClassInfo() {
+        return super.getClassInfo();
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public int compareTo(final MemberReference o) {
+        var diff = className.compareTo(o.className);
+        if (diff == 0) {
+            diff = name.compareTo(o.name);
+            if (diff == 0) {
+                diff = typeDescriptorStr.compareTo(o.typeDescriptorStr);
+                if (diff == 0) {
+                    diff = kind.compareTo(o.kind);
+                }
+            }
+        }
+        return diff;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof final MemberReference other)) {
+            return false;
+        }
+        return compareTo(other) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return ((className.hashCode() * 31 + name.hashCode()) * 31 + typeDescriptorStr.hashCode()) * 31
+                + kind.ordinal();
+    }
+
+    @Override
+    protected void toString(final boolean useSimpleNames, final StringBuilder buf) {
+        buf.append(kind.name().toLowerCase(Locale.ROOT)).append(' ');
+        buf.append(useSimpleNames ? ClassInfo.getSimpleName(className) : className);
+        buf.append('.').append(name);
+        if (!kind.isMethodInvocation()) {
+            buf.append(':');
+        }
+        buf.append(typeDescriptorStr);
+    }
+}
@@ -97,6 +97,18 @@ public class MethodInfo extends ClassMemberInfo implements Comparable<MethodInfo
     /** The exceptions thrown by this method, as a {@link ClassInfoList}. */
     private @Nullable ClassInfoList thrownExceptions;
 
+    /** The methods invoked by the body of this method, or null if method reference info was not enabled. */
+    private @Nullable List<MemberReference> invokedMethods;
+
+    /** The fields read or written by the body of this method, or null if method reference info was not enabled. */
+    private @Nullable List<MemberReference> fieldAccesses;
+
+    /**
+     * The names of the classes instantiated by the body of this method, or null if method reference info was not
+     * enabled.
+     */
+    private @Nullable List<String> instantiatedClassNames;
+
     // -------------------------------------------------------------------------------------------------------------
 
     /**
@@ -150,6 +162,43 @@ public class MethodInfo extends ClassMemberInfo implements Comparable<MethodInfo
         this.thrownExceptionNames = thrownExceptionNames == null ? null : List.of(thrownExceptionNames);
     }
 
+    /**
+     * Copy what was read from the classfile for this method's declaration, including its annotations, so that the
+     * copy can be linked into a different {@link ScanResult} from this one. What was read from the method's body
+     * (see {@link #getInvokedMethods()}) is not copied.
+     *
+     * @return the copy, or null if the method has type annotations, since they are only held as decorators that add
+     *         the annotations of this method to its type signature once it is parsed, and cannot be copied.
+     */
+    @Nullable
+    MethodInfo copy() {
+        if (typeAnnotationDecorators != null) {
+            return null;
+        }
+        final var paramAnnotations = parameterAnnotationInfo;
+        AnnotationInfo[][] paramAnnotationsCopy = null;
+        if (paramAnnotations != null) {
+            paramAnnotationsCopy = new AnnotationInfo[paramAnnotations.length][];
+            for (var i = 0; i < paramAnnotations.length; i++) {
+                final var annotations = paramAnnotations[i];
+                if (annotations != null) {
+                    paramAnnotationsCopy[i] = new AnnotationInfo[annotations.length];
+                    for (var j = 0; j < annotations.length; j++) {
+                        paramAnnotationsCopy[i][j] = annotations[j].copy();
+                    }
+                }
+            }
+        }
+        final var paramNames = parameterNames;
+        final var paramModifiers = parameterModifiers;
+        final var thrownExceptionNamesList = thrownExceptionNames;
+        return new MethodInfo(declaringClassName, name, AnnotationInfo.copyAll(annotationInfo), modifiers,
+                typeDescriptorStr, typeSignatureStr, paramNames == null ? null : paramNames.clone(),
+                paramModifiers == null ? null : paramModifiers.clone(), paramAnnotationsCopy, hasBody, minLineNum,
+                maxLineNum, /* methodTypeAnnotationDecorators = */ null,
+                thrownExceptionNamesList == null ? null : thrownExceptionNamesList.toArray(new String[0]));
+    }
+
     // -------------------------------------------------------------------------------------------------------------
 
     /**
@@ -388,6 +437,69 @@ public class MethodInfo extends ClassMemberInfo implements Comparable<MethodInfo
 
     // -------------------------------------------------------------------------------------------------------------
 
+    /**
+     * Set the references made by the body of this method.
+     *
+     * @param invokedMethods
+     *            The methods invoked by the body of this method.
+     * @param fieldAccesses
+     *            The fields read or written by the body of this method.
+     * @param instantiatedClassNames
+     *            The names of the classes instantiated by the body of this method.
+     */
+    void setCodeReferences(final List<MemberReference> invokedMethods, final List<MemberReference> fieldAccesses,
+            final List<String> instantiatedClassNames) {
+        this.invokedMethods = invokedMethods;
+        this.fieldAccesses = fieldAccesses;
+        this.instantiatedClassNames = instantiatedClassNames;
+    }
+
+    /**
+     * Returns the methods and constructors invoked by the body of this method, i.e. the targets of its
+     * {@code invokevirtual}, {@code invokespecial}, {@code invokestatic} and {@code invokeinterface} instructions.
+     * Calls made through {@code invokedynamic} (such as lambda bodies and string concatenation) are not included.
+     *
+     * @return The distinct methods invoked by this method, sorted by class name, method name and type descriptor,
+     *         as an unmodifiable list (the list is empty if the method has no body).
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableMethodReferenceInfo()} was not called before scanning.
+     */
+    public List<MemberReference> getInvokedMethods() {
+        scanResult().scanSpec.checkMethodReferenceInfoEnabled();
+        return invokedMethods == null ? List.of() : invokedMethods;
+    }
+
+    /**
+     * Returns the fields read or written by the body of this method, i.e. the targets of its {@code getfield},
+     * {@code putfield}, {@code getstatic} and {@code putstatic} instructions. A field that is both read and written
+     * is listed once for each kind of access.
+     *
+     * @return The distinct field accesses made by this method, sorted by class name, field name, type descriptor
+     *         and kind of access, as an unmodifiable list (the list is empty if the method has no body).
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableMethodReferenceInfo()} was not called before scanning.
+     */
+    public List<MemberReference> getFieldAccesses() {
+        scanResult().scanSpec.checkMethodReferenceInfoEnabled();
+        return fieldAccesses == null ? List.of() : fieldAccesses;
+    }
+
+    /**
+     * Returns the names of the classes instantiated by the body of this method, i.e. the targets of its {@code new}
+     * instructions. Arrays are not included.
+     *
+     * @return The distinct names of the classes instantiated by this method, sorted, as an unmodifiable list (the
+     *         list is empty if the method has no body).
+     * @throws IllegalStateException
+     *             if {@link ClassGraph#enableMethodReferenceInfo()} was not called before scanning.
+     */
+    public List<String> getInstantiatedClassNames() {
+        scanResult().scanSpec.checkMethodReferenceInfoEnabled();
+        return instantiatedClassNames == null ? List.of() : instantiatedClassNames;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
     /**
      * Returns true if this method is a constructor. Constructors have the method name {@code
      * "<init>"}. This returns false for private static class initializer blocks, which are named
@@ -776,7 +888,21 @@ public class MethodInfo extends ClassMemberInfo implements Comparable<MethodInfo
 
     @Override
     void setScanResult(final @Nullable ScanResult scanResult) {
+        if (scanResult != this.scanResult) {
+            // Look the exceptions up again in the new ScanResult (see ScanResultObject#setScanResult)
+            thrownExceptions = null;
+        }
         super.setScanResult(scanResult);
+        if (this.invokedMethods != null) {
+            for (final MemberReference memberReference : this.invokedMethods) {
+                memberReference.setScanResult(scanResult);
+            }
+        }
+        if (this.fieldAccesses != null) {
+            for (final MemberReference memberReference : this.fieldAccesses) {
+                memberReference.setScanResult(scanResult);
+            }
+        }
         if (this.typeDescriptor != null) {
             this.typeDescriptor.setScanResult(scanResult);
         }
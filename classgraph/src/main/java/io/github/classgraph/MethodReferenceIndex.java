@@ -0,0 +1,166 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * An index from a method, field or class to the methods whose bodies invoke, access or instantiate it, for
+ * {@link ScanResult#getMethodsInvoking(String, String)},
+ * {@link ScanResult#getMethodsAccessingField(String, String)} and
+ * {@link ScanResult#getMethodsInstantiating(String)}.
+ *
+ * <p>
+ * The index is built the first time any of these is queried, by visiting the references of each method once, and is
+ * then kept for the lifetime of the {@link ScanResult}.
+ */
+final class MethodReferenceIndex {
+    /** The map from invoked method to the methods that invoke it. */
+    private final Map<MemberKey, MethodInfoList> invokedMethodToMethods;
+
+    /** The map from accessed field to the methods that read or write it. */
+    private final Map<MemberKey, MethodInfoList> accessedFieldToMethods;
+
+    /** The map from instantiated class name to the methods that instantiate it. */
+    private final Map<String, MethodInfoList> instantiatedClassNameToMethods;
+
+    /**
+     * The index key for a method or field, which matches every overload of a method.
+     *
+     * @param className
+     *            the name of the class named by the reference.
+     * @param name
+     *            the name of the method or field.
+     */
+    private record MemberKey(String className, String name) {
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param scanResult
+     *            the scan result to index.
+     */
+    MethodReferenceIndex(final ScanResult scanResult) {
+        final Map<MemberKey, Set<MethodInfo>> invokedMethodToMethodSet = new HashMap<>();
+        final Map<MemberKey, Set<MethodInfo>> accessedFieldToMethodSet = new HashMap<>();
+        final Map<String, Set<MethodInfo>> instantiatedClassNameToMethodSet = new HashMap<>();
+        // getAllClasses() is sorted by class name, so each list of methods is grouped by declaring class in order
+        for (final ClassInfo classInfo : scanResult.getAllClasses()) {
+            // Static initializer blocks are not returned by getDeclaredMethodAndConstructorInfo(), but their
+            // references are indexed too
+            final var declaredMethodInfo = classInfo.methodInfo();
+            if (declaredMethodInfo == null) {
+                continue;
+            }
+            for (final MethodInfo methodInfo : declaredMethodInfo) {
+                for (final MemberReference ref : methodInfo.getInvokedMethods()) {
+                    invokedMethodToMethodSet.computeIfAbsent(new MemberKey(ref.getClassName(), ref.getName()),
+                            k -> new LinkedHashSet<>()).add(methodInfo);
+                }
+                for (final MemberReference ref : methodInfo.getFieldAccesses()) {
+                    accessedFieldToMethodSet.computeIfAbsent(new MemberKey(ref.getClassName(), ref.getName()),
+                            k -> new LinkedHashSet<>()).add(methodInfo);
+                }
+                for (final String instantiatedClassName : methodInfo.getInstantiatedClassNames()) {
+                    instantiatedClassNameToMethodSet
+                            .computeIfAbsent(instantiatedClassName, k -> new LinkedHashSet<>()).add(methodInfo);
+                }
+            }
+        }
+        invokedMethodToMethods = toMethodInfoLists(invokedMethodToMethodSet);
+        accessedFieldToMethods = toMethodInfoLists(accessedFieldToMethodSet);
+        instantiatedClassNameToMethods = toMethodInfoLists(instantiatedClassNameToMethodSet);
+    }
+
+    /**
+     * Convert each set of methods in a map into an unmodifiable {@link MethodInfoList}.
+     *
+     * @param <K>
+     *            the key type.
+     * @param keyToMethodSet
+     *            the map from key to set of methods.
+     * @return the map from key to list of methods.
+     */
+    private static <K> Map<K, MethodInfoList> toMethodInfoLists(final Map<K, Set<MethodInfo>> keyToMethodSet) {
+        final Map<K, MethodInfoList> keyToMethodInfoList = new HashMap<>(keyToMethodSet.size() * 4 / 3 + 1);
+        for (final Entry<K, Set<MethodInfo>> ent : keyToMethodSet.entrySet()) {
+            final var methodInfoList = new MethodInfoList(ent.getValue());
+            methodInfoList.makeUnmodifiable();
+            keyToMethodInfoList.put(ent.getKey(), methodInfoList);
+        }
+        return keyToMethodInfoList;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the methods whose bodies invoke the named method.
+     *
+     * @param className
+     *            the name of the class named by the invocation.
+     * @param methodName
+     *            the name of the invoked method.
+     * @return the invoking methods, or the empty list if none.
+     */
+    MethodInfoList getMethodsInvoking(final String className, final String methodName) {
+        final var methodInfoList = invokedMethodToMethods.get(new MemberKey(className, methodName));
+        return methodInfoList == null ? MethodInfoList.EMPTY_LIST : methodInfoList;
+    }
+
+    /**
+     * Get the methods whose bodies read or write the named field.
+     *
+     * @param className
+     *            the name of the class named by the field access.
+     * @param fieldName
+     *            the name of the field.
+     * @return the accessing methods, or the empty list if none.
+     */
+    MethodInfoList getMethodsAccessingField(final String className, final String fieldName) {
+        final var methodInfoList = accessedFieldToMethods.get(new MemberKey(className, fieldName));
+        return methodInfoList == null ? MethodInfoList.EMPTY_LIST : methodInfoList;
+    }
+
+    /**
+     * Get the methods whose bodies instantiate the named class.
+     *
+     * @param className
+     *            the name of the instantiated class.
+     * @return the instantiating methods, or the empty list if none.
+     */
+    MethodInfoList getMethodsInstantiating(final String className) {
+        final var methodInfoList = instantiatedClassNameToMethods.get(className);
+        return methodInfoList == null ? MethodInfoList.EMPTY_LIST : methodInfoList;
+    }
+}
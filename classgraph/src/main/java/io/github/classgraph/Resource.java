@@ -434,6 +434,16 @@ public abstract class Resource implements AutoCloseable, Comparable<Resource> {
         return length;
     }
 
+    /**
+     * Get the number of bytes the resource occupies in its classpath element, i.e. its size after compression, if
+     * it is a deflated zipfile entry.
+     *
+     * @return the stored size of the resource, or -1L if it is unknown.
+     */
+    long getCompressedSize() {
+        return entry.getCompressedSize();
+    }
+
     /**
      * Get the last modified time for the resource, in milliseconds since the epoch. This time is obtained from the
      * directory entry, if this resource is a file on disk, or from the zipfile central directory, if this resource
@@ -0,0 +1,201 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.classgraph.vfs.Vfs;
+
+/**
+ * What was measured while a scan ran, as returned by {@link ScanResult#getScanMetrics()}. The measurements are
+ * collected with {@link LongAdder} counters as the scan runs, whether or not logging is enabled, and are copied
+ * into this snapshot once, when the scan completes.
+ *
+ * <p>
+ * The phase times are wall-clock times, measured on the thread that started each phase. In a pipelined scan (see
+ * {@link ClassGraph#enablePipelinedScanning()}) the paths within classpath elements are scanned and the accepted
+ * classfiles are parsed in the same phase, so the time for both is included in {@link #pathScanNanos()}, and
+ * {@link #classfileParseNanos()} only includes the time spent parsing external classfiles.
+ *
+ * @param classpathDiscoveryNanos
+ *            the time spent finding the classpath and the module path, in nanoseconds
+ * @param elementOpenNanos
+ *            the time spent opening the classpath elements, and finding their order, in nanoseconds
+ * @param pathScanNanos
+ *            the time spent scanning the paths within the classpath elements, in nanoseconds
+ * @param maskingNanos
+ *            the time spent masking duplicate resources and classfiles, in nanoseconds
+ * @param classfileParseNanos
+ *            the time spent parsing classfiles, in nanoseconds
+ * @param linkNanos
+ *            the time spent linking the parsed classfiles into {@link ClassInfo} objects, in nanoseconds
+ * @param totalNanos
+ *            the time the whole scan took, including finding the classpath, in nanoseconds
+ * @param numClassfilesParsed
+ *            the number of classfiles parsed, not counting any classfile reused by an incremental scan
+ * @param workQueueWaitNanos
+ *            the total time that worker threads spent waiting for a work unit, summed across all worker threads, in
+ *            nanoseconds
+ * @param peakBufferedArchiveBytes
+ *            the largest number of bytes that nested jarfiles (and jarfiles read from a URL) took up in RAM at any
+ *            one time (see {@link Vfs#getPeakBufferedArchiveBytes()})
+ * @param classpathElementMetrics
+ *            what was read from each classpath element, in classpath order, followed by any module that was only
+ *            read to complete the class graph above an accepted class
+ */
+public record ScanMetrics(long classpathDiscoveryNanos, long elementOpenNanos, long pathScanNanos,
+        long maskingNanos, long classfileParseNanos, long linkNanos, long totalNanos, long numClassfilesParsed,
+        long workQueueWaitNanos, long peakBufferedArchiveBytes,
+        List<ClasspathElementMetrics> classpathElementMetrics) {
+
+    /**
+     * What was read from one classpath element while its classfiles were parsed.
+     *
+     * @param classpathElement
+     *            the path or URI of the classpath element, or the name of the module
+     * @param bytesRead
+     *            the number of bytes of classfiles read from the classpath element, as stored, i.e. before any were
+     *            inflated
+     * @param bytesInflated
+     *            the number of bytes that the deflated classfiles read from the classpath element were inflated to
+     * @param numClassfilesParsed
+     *            the number of classfiles parsed from the classpath element
+     */
+    public record ClasspathElementMetrics(String classpathElement, long bytesRead, long bytesInflated,
+            long numClassfilesParsed) {
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The counters that the measurements are collected in while a scan runs. The counters of each classpath element
+     * are held by the {@link ClasspathElement} itself.
+     */
+    static final class Recorder {
+        /** The time spent finding the classpath and the module path. */
+        final LongAdder classpathDiscoveryNanos = new LongAdder();
+
+        /** The time spent opening the classpath elements. */
+        final LongAdder elementOpenNanos = new LongAdder();
+
+        /** The time spent scanning paths within the classpath elements. */
+        final LongAdder pathScanNanos = new LongAdder();
+
+        /** The time spent masking duplicate resources and classfiles. */
+        final LongAdder maskingNanos = new LongAdder();
+
+        /** The time spent parsing classfiles. */
+        final LongAdder classfileParseNanos = new LongAdder();
+
+        /** The time spent linking classfiles. */
+        final LongAdder linkNanos = new LongAdder();
+
+        /** The number of classfiles parsed. */
+        final LongAdder numClassfilesParsed = new LongAdder();
+
+        /** The time worker threads spent waiting for a work unit. */
+        final LongAdder workQueueWaitNanos = new LongAdder();
+
+        /**
+         * Record that a classfile was parsed.
+         *
+         * @param classpathElement
+         *            the classpath element that the classfile was read from
+         * @param classfileResource
+         *            the classfile resource, once it has been read
+         */
+        void classfileParsed(final ClasspathElement classpathElement, final Resource classfileResource) {
+            numClassfilesParsed.increment();
+            classpathElement.numClassfilesParsed.increment();
+            final var length = classfileResource.getLength();
+            if (length >= 0L) {
+                final var compressedSize = classfileResource.getCompressedSize();
+                if (compressedSize >= 0L && compressedSize != length) {
+                    classpathElement.bytesRead.add(compressedSize);
+                    classpathElement.bytesInflated.add(length);
+                } else {
+                    classpathElement.bytesRead.add(length);
+                }
+            }
+        }
+
+        /**
+         * Take a snapshot of the counters. The counters of each classpath element are reset, since a classpath
+         * element is reused by an incremental scan, which measures what it reads itself.
+         *
+         * @param scanNanos
+         *            the time the scan took once the classpath had been found
+         * @param classpathOrder
+         *            the classpath order
+         * @param unscannedModuleElements
+         *            the modules that were only read to complete the class graph above an accepted class
+         * @param vfs
+         *            the virtual filesystem that the scan read through
+         * @return the snapshot
+         */
+        ScanMetrics snapshot(final long scanNanos, final List<ClasspathElement> classpathOrder,
+                final Collection<? extends ClasspathElement> unscannedModuleElements, final Vfs vfs) {
+            final List<ClasspathElementMetrics> classpathElementMetrics = new ArrayList<>(classpathOrder.size());
+            for (final ClasspathElement classpathElement : classpathOrder) {
+                classpathElementMetrics.add(snapshot(classpathElement));
+            }
+            for (final ClasspathElement classpathElement : unscannedModuleElements) {
+                // A module that was only looked in, but that no classfile was read from, is left out
+                if (classpathElement.numClassfilesParsed.sum() != 0L) {
+                    classpathElementMetrics.add(snapshot(classpathElement));
+                }
+            }
+            final var discoveryNanos = classpathDiscoveryNanos.sum();
+            return new ScanMetrics(discoveryNanos, elementOpenNanos.sum(), pathScanNanos.sum(), maskingNanos.sum(),
+                    classfileParseNanos.sum(), linkNanos.sum(), discoveryNanos + scanNanos,
+                    numClassfilesParsed.sum(), workQueueWaitNanos.sum(), vfs.getPeakBufferedArchiveBytes(),
+                    Collections.unmodifiableList(classpathElementMetrics));
+        }
+
+        /**
+         * Take a snapshot of the counters of a classpath element, and reset them.
+         *
+         * @param classpathElement
+         *            the classpath element
+         * @return the snapshot
+         */
+        private static ClasspathElementMetrics snapshot(final ClasspathElement classpathElement) {
+            final var moduleName = classpathElement.getModuleName();
+            return new ClasspathElementMetrics(
+                    classpathElement instanceof ClasspathElementModule && moduleName != null ? moduleName
+                            : classpathElement.toString(),
+                    classpathElement.bytesRead.sumThenReset(), classpathElement.bytesInflated.sumThenReset(),
+                    classpathElement.numClassfilesParsed.sumThenReset());
+        }
+    }
+}
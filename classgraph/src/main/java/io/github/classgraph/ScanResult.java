@@ -31,6 +31,7 @@ package io.github.classgraph;
 import static io.github.classgraph.PotentiallyUnmodifiableList.unmodifiable;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.module.ModuleReference;
 import java.lang.ref.Reference;
@@ -46,6 +47,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -91,6 +93,18 @@ public final class ScanResult implements AutoCloseable {
     /** The map from class name to {@link ClassInfo}. */
     Map<String, ClassInfo> classNameToClassInfo;
 
+    /**
+     * The index from annotation parameter value to annotated classes and methods, or null if no annotation
+     * parameter value has been looked up yet, or if this {@link ScanResult} has been closed.
+     */
+    private @Nullable AnnotationParameterIndex annotationParameterIndexCached;
+
+    /**
+     * The index from invoked method, accessed field or instantiated class to the methods that reference it, or null
+     * if no method reference has been looked up yet, or if this {@link ScanResult} has been closed.
+     */
+    private @Nullable MethodReferenceIndex methodReferenceIndexCached;
+
     /** The map from package name to {@link PackageInfo}. */
     private @Nullable Map<String, PackageInfo> packageNameToPackageInfo;
 
@@ -108,9 +122,27 @@ public final class ScanResult implements AutoCloseable {
     /** The virtual filesystem that everything found by the scan was read through. */
     private @Nullable Vfs vfs;
 
+    /**
+     * What {@link ClassGraph#scanIncremental(ScanResult)} reuses from this scan, or null if
+     * {@link ClassGraph#enableIncrementalRescanning()} was not called, or if this {@link ScanResult} has been
+     * closed.
+     */
+    @Nullable
+    IncrementalScanState incrementalScanState;
+
     /** The scan spec. */
     ScanSpec scanSpec;
 
+    /**
+     * The names of all {@link java.lang.annotation.Repeatable} annotations, for fields and methods that are read
+     * from their classfile again (see {@link ClassGraph#enableSoftReferencedMemberInfo()}).
+     */
+    private final Set<String> allRepeatableAnnotationNames = new HashSet<>();
+
+    /** What was measured while the scan ran, set by the {@link Scanner} once the scan has completed. */
+    @Nullable
+    ScanMetrics scanMetrics;
+
     /** If true, this ScanResult has already been closed. */
     private final AtomicBoolean closed = new AtomicBoolean(false);
 
@@ -125,7 +157,7 @@ public final class ScanResult implements AutoCloseable {
      * @throws IllegalStateException
      *             if this {@link ScanResult} has been closed.
      */
-    private List<ClasspathElement> classpathOrder() {
+    List<ClasspathElement> classpathOrder() {
         final var order = classpathOrder;
         if (order == null) {
             throw new IllegalStateException(CLOSED_MESSAGE);
@@ -225,7 +257,6 @@ public final class ScanResult implements AutoCloseable {
         indexResourcesAndClassInfo(topLevelLog);
 
         // Handle @Repeatable annotations
-        final Set<String> allRepeatableAnnotationNames = new HashSet<>();
         for (final ClassInfo classInfo : classNameToClassInfo.values()) {
             if (classInfo.isAnnotation() && classInfo.annotationInfo != null) {
                 final var repeatableMetaAnnotation = classInfo.annotationInfo
@@ -250,6 +281,13 @@ public final class ScanResult implements AutoCloseable {
             }
         }
 
+        // Let the garbage collector reclaim the fields and methods of classes when memory runs short, if requested
+        if (scanSpec.enableSoftReferencedMemberInfo && !scanSpec.enableIncrementalRescanning) {
+            for (final ClassInfo classInfo : classNameToClassInfo.values()) {
+                classInfo.holdMemberInfoSoftly();
+            }
+        }
+
         // Provide the shutdown hook with a weak reference to this ScanResult
         this.weakReference = new WeakReference<>(this, collectedScanResults);
         // Drop the weak references whose ScanResult was garbage collected before it was closed. Only close()
@@ -304,6 +342,52 @@ public final class ScanResult implements AutoCloseable {
         }
     }
 
+    /**
+     * Read the fields and methods of a class from its classfile again, once the garbage collector has reclaimed
+     * them (see {@link ClassGraph#enableSoftReferencedMemberInfo()}).
+     *
+     * @param classInfo
+     *            the class, which must have been scanned.
+     * @return the fields and methods of the class, set up as they were when this {@link ScanResult} was built.
+     * @throws IllegalStateException
+     *             if this {@link ScanResult} has been closed, or the classfile could not be read again.
+     */
+    Classfile.Members readMembers(final ClassInfo classInfo) {
+        final var vfsCurr = vfs;
+        final var classpathOrderCurr = classpathOrder;
+        if (closed.get() || vfsCurr == null || classpathOrderCurr == null) {
+            throw new IllegalStateException(CLOSED_MESSAGE);
+        }
+        final Classfile.Members members;
+        try {
+            members = Classfile.readMembers(Objects.requireNonNull(classInfo.classpathElement), classpathOrderCurr,
+                    new UnscannedModules(List.of(), null, vfsCurr, scanSpec),
+                    Objects.requireNonNull(classInfo.classfileResource), classInfo.isExternalClass(), scanSpec);
+        } catch (final IOException e) {
+            throw new IllegalStateException(
+                    "Could not read the fields and methods of class " + classInfo.getName() + " again", e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while reading the fields and methods of class " + classInfo.getName(), e);
+        }
+        final var fieldInfoList = members.fieldInfoList();
+        if (fieldInfoList != null) {
+            for (final FieldInfo fi : fieldInfoList) {
+                fi.setScanResult(this);
+                fi.handleRepeatableAnnotations(allRepeatableAnnotationNames);
+            }
+        }
+        final var methodInfoList = members.methodInfoList();
+        if (methodInfoList != null) {
+            for (final MethodInfo mi : methodInfoList) {
+                mi.setScanResult(this);
+                mi.handleRepeatableAnnotations(allRepeatableAnnotationNames);
+            }
+        }
+        return members;
+    }
+
     // -------------------------------------------------------------------------------------------------------------
     // Preconditions
 
@@ -446,6 +530,20 @@ public final class ScanResult implements AutoCloseable {
         return scanSpec.enableInterClassDependencies;
     }
 
+    /**
+     * Whether {@link ClassGraph#enableMethodReferenceInfo()} was called before scanning.
+     *
+     * @return true if method reference info was enabled, so that {@link MethodInfo#getInvokedMethods()},
+     *         {@link #getMethodsInvoking(String, String)} etc. return a result rather than throwing
+     *         {@link IllegalStateException}.
+     * @throws IllegalStateException
+     *             if this {@link ScanResult} has been closed.
+     */
+    public boolean isMethodReferenceInfoEnabled() {
+        checkNotClosed();
+        return scanSpec.enableMethodReferenceInfo;
+    }
+
     /**
      * Whether {@link ClassGraph#enableExternalClasses()} was called before scanning.
      *
@@ -600,6 +698,23 @@ public final class ScanResult implements AutoCloseable {
         return scanSpec.classpathSpec.modulePathInfo;
     }
 
+    /**
+     * Get what was measured while the scan ran: the time spent in each phase of the scan, the number of classfiles
+     * parsed, and the number of bytes read from each classpath element. Unlike the other methods of this class,
+     * this may still be called after this {@link ScanResult} has been closed.
+     *
+     * @return The {@link ScanMetrics}.
+     * @throws IllegalStateException
+     *             if the scan that produced this {@link ScanResult} has not completed yet.
+     */
+    public ScanMetrics getScanMetrics() {
+        final var metrics = scanMetrics;
+        if (metrics == null) {
+            throw new IllegalStateException("The scan has not completed yet");
+        }
+        return metrics;
+    }
+
     // -------------------------------------------------------------------------------------------------------------
     // Resources
 
@@ -1826,6 +1941,232 @@ public final class ScanResult implements AutoCloseable {
         return getDirectAnnotationsOnClass(classRef.getName());
     }
 
+    /**
+     * Get the annotation parameter value index, building it if this is the first lookup.
+     *
+     * @return the annotation parameter value index.
+     */
+    private AnnotationParameterIndex annotationParameterIndex() {
+        synchronized (this) {
+            var index = annotationParameterIndexCached;
+            if (index == null) {
+                annotationParameterIndexCached = index = new AnnotationParameterIndex(this);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Get classes with the class annotation or meta-annotation, where the annotation has the given parameter value.
+     * See {@link #getClassesWithAnnotationParameterValue(String, String, Object)}.
+     *
+     * @param annotation
+     *            The class annotation or meta-annotation.
+     * @param parameterName
+     *            The name of the annotation parameter.
+     * @param parameterValue
+     *            The value of the annotation parameter to match.
+     * @return A list of all classes that were found with the class annotation with the given parameter value, or
+     *         the empty list if none.
+     * @throws IllegalArgumentException
+     *             if {@code annotation} is not an annotation type.
+     * @throws IllegalStateException
+     *             if this {@link ScanResult} has been closed, or if {@link ClassGraph#enableClassInfo()} and
+     *             {@link ClassGraph#enableAnnotationInfo()} were not both called before scanning.
+     */
+    public ClassInfoList getClassesWithAnnotationParameterValue(final Class<? extends Annotation> annotation,
+            final String parameterName, final Object parameterValue) {
+        Assert.notNull(annotation, "annotation");
+        Assert.isAnnotation(annotation);
+        return getClassesWithAnnotationParameterValue(annotation.getName(), parameterName, parameterValue);
+    }
+
+    /**
+     * Get classes with the named class annotation or meta-annotation, where the annotation has the given parameter
+     * value. This returns the same classes as filtering the result of {@link #getClassesWithAnnotation(String)} by
+     * the value of the named parameter in {@link AnnotationInfo#getParameterValues()}, including parameter values
+     * that were filled in from the defaults declared by the annotation class.
+     *
+     * <p>
+     * The first call for a given annotation class indexes every class with that annotation by all of its parameter
+     * values, and later calls for the same annotation class (with any parameter name and value) are answered from
+     * that index, so this is the method to use when the same annotation is looked up for many different values.
+     *
+     * <p>
+     * The value is compared using {@link Object#equals(Object)}, with the following conversions: an array is
+     * compared element by element, and a primitive array matches a boxed array with the same values; a
+     * {@link Class} matches an {@link AnnotationClassRef} for the same class; and an {@link Enum} constant matches
+     * an {@link AnnotationEnumValue} for the same constant. A {@link java.lang.annotation.Repeatable} annotation
+     * matches if any of its instances on a class has the given parameter value.
+     *
+     * @param annotationName
+     *            The name of the class annotation or meta-annotation.
+     * @param parameterName
+     *            The name of the annotation parameter.
+     * @param parameterValue
+     *            The value of the annotation parameter to match.
+     * @return A list of all classes that were found with the named class annotation with the given parameter value,
+     *         or the empty list if none.
+     * @throws IllegalStateException
+     *             if this {@link ScanResult} has been closed, or if {@link ClassGraph#enableClassInfo()} and
+     *             {@link ClassGraph#enableAnnotationInfo()} were not both called before scanning.
+     */
+    public ClassInfoList getClassesWithAnnotationParameterValue(final String annotationName,
+            final String parameterName, final Object parameterValue) {
+        checkAnnotationInfoEnabled();
+        Assert.notNull(annotationName, "annotationName");
+        Assert.notNull(parameterName, "parameterName");
+        Assert.notNull(parameterValue, "parameterValue");
+        return annotationParameterIndex().getClassesWithParameterValue(annotationName, parameterName,
+                parameterValue);
+    }
+
+    /**
+     * Get the methods and constructors with the method annotation or meta-annotation, where the annotation has the
+     * given parameter value. See {@link #getMethodsWithAnnotationParameterValue(String, String, Object)}.
+     *
+     * @param annotation
+     *            The method annotation or meta-annotation.
+     * @param parameterName
+     *            The name of the annotation parameter.
+     * @param parameterValue
+     *            The value of the annotation parameter to match.
+     * @return A list of all methods and constructors that were found with the method annotation with the given
+     *         parameter value, or the empty list if none.
+     * @throws IllegalArgumentException
+     *             if {@code annotation} is not an annotation type.
+     * @throws IllegalStateException
+     *             if this {@link ScanResult} has been closed, or if {@link ClassGraph#enableClassInfo()},
+     *             {@link ClassGraph#enableMethodInfo()} and {@link ClassGraph#enableAnnotationInfo()} were not all
+     *             called before scanning.
+     */
+    public MethodInfoList getMethodsWithAnnotationParameterValue(final Class<? extends Annotation> annotation,
+            final String parameterName, final Object parameterValue) {
+        Assert.notNull(annotation, "annotation");
+        Assert.isAnnotation(annotation);
+        return getMethodsWithAnnotationParameterValue(annotation.getName(), parameterName, parameterValue);
+    }
+
+    /**
+     * Get the methods and constructors with the named method annotation or meta-annotation, where the annotation
+     * has the given parameter value. Only methods and constructors that were visible to the scan are returned, so
+     * call {@link ClassGraph#ignoreMethodVisibility()} before scanning to include non-public ones. Parameter values
+     * are matched, and the matches are indexed, in the same way as for
+     * {@link #getClassesWithAnnotationParameterValue(String, String, Object)}.
+     *
+     * @param annotationName
+     *            The name of the method annotation or meta-annotation.
+     * @param parameterName
+     *            The name of the annotation parameter.
+     * @param parameterValue
+     *            The value of the annotation parameter to match.
+     * @return A list of all methods and constructors that were found with the named method annotation with the
+     *         given parameter value, grouped by declaring class in order of class name, or the empty list if none.
+     * @throws IllegalStateException
+     *             if this {@link ScanResult} has been closed, or if {@link ClassGraph#enableClassInfo()},
+     *             {@link ClassGraph#enableMethodInfo()} and {@link ClassGraph#enableAnnotationInfo()} were not all
+     *             called before scanning.
+     */
+    public MethodInfoList getMethodsWithAnnotationParameterValue(final String annotationName,
+            final String parameterName, final Object parameterValue) {
+        checkMethodAnnotationInfoEnabled();
+        Assert.notNull(annotationName, "annotationName");
+        Assert.notNull(parameterName, "parameterName");
+        Assert.notNull(parameterValue, "parameterValue");
+        return annotationParameterIndex().getMethodsWithParameterValue(annotationName, parameterName,
+                parameterValue);
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+    // Method references
+
+    /**
+     * Get the method reference index, building it if this is the first lookup.
+     *
+     * @return the method reference index.
+     * @throws IllegalStateException
+     *             if this {@link ScanResult} has been closed, or if {@link ClassGraph#enableMethodReferenceInfo()}
+     *             was not called before scanning.
+     */
+    private MethodReferenceIndex methodReferenceIndex() {
+        checkNotClosed();
+        scanSpec.checkMethodReferenceInfoEnabled();
+        synchronized (this) {
+            var index = methodReferenceIndexCached;
+            if (index == null) {
+                methodReferenceIndexCached = index = new MethodReferenceIndex(this);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Get the methods, constructors and static initializer blocks whose bodies invoke the named method, with any
+     * type descriptor. The class name is matched against the class named by the invocation, which for a call to an
+     * inherited method can be the subclass it was called through, rather than the class that declares the method
+     * (see {@link MemberReference}).
+     *
+     * <p>
+     * Only the bodies of the methods that were visible to the scan are read, so call
+     * {@link ClassGraph#ignoreMethodVisibility()} before scanning to include calls made from non-public methods.
+     * The first call to this method, {@link #getMethodsAccessingField(String, String)} or
+     * {@link #getMethodsInstantiating(String)} indexes the references of every method, and later calls are answered
+     * from that index.
+     *
+     * @param className
+     *            The name of the class named by the invocation.
+     * @param methodName
+     *            The name of the invoked method, or {@code "<init>"} for a constructor.
+     * @return The methods that invoke the named method, grouped by declaring class in order of class name, or the
+     *         empty list if none.
+     * @throws IllegalStateException
+     *             if this {@link ScanResult} has been closed, or if {@link ClassGraph#enableMethodReferenceInfo()}
+     *             was not called before scanning.
+     */
+    public MethodInfoList getMethodsInvoking(final String className, final String methodName) {
+        Assert.notNull(className, "className");
+        Assert.notNull(methodName, "methodName");
+        return methodReferenceIndex().getMethodsInvoking(className, methodName);
+    }
+
+    /**
+     * Get the methods, constructors and static initializer blocks whose bodies read or write the named field. The
+     * class name is matched against the class named by the field access, as for
+     * {@link #getMethodsInvoking(String, String)}.
+     *
+     * @param className
+     *            The name of the class named by the field access.
+     * @param fieldName
+     *            The name of the field.
+     * @return The methods that read or write the named field, grouped by declaring class in order of class name, or
+     *         the empty list if none.
+     * @throws IllegalStateException
+     *             if this {@link ScanResult} has been closed, or if {@link ClassGraph#enableMethodReferenceInfo()}
+     *             was not called before scanning.
+     */
+    public MethodInfoList getMethodsAccessingField(final String className, final String fieldName) {
+        Assert.notNull(className, "className");
+        Assert.notNull(fieldName, "fieldName");
+        return methodReferenceIndex().getMethodsAccessingField(className, fieldName);
+    }
+
+    /**
+     * Get the methods, constructors and static initializer blocks whose bodies instantiate the named class with a
+     * {@code new} instruction.
+     *
+     * @param className
+     *            The name of the instantiated class.
+     * @return The methods that instantiate the named class, grouped by declaring class in order of class name, or
+     *         the empty list if none.
+     * @throws IllegalStateException
+     *             if this {@link ScanResult} has been closed, or if {@link ClassGraph#enableMethodReferenceInfo()}
+     *             was not called before scanning.
+     */
+    public MethodInfoList getMethodsInstantiating(final String className) {
+        Assert.notNull(className, "className");
+        return methodReferenceIndex().getMethodsInstantiating(className);
+    }
+
     // -------------------------------------------------------------------------------------------------------------
     // Classpath modification tests
 
@@ -1917,6 +2258,16 @@ public final class ScanResult implements AutoCloseable {
                     allAcceptedResourcesCached = null;
                 }
                 pathToAcceptedResourcesCached = null;
+                annotationParameterIndexCached = null;
+                methodReferenceIndexCached = null;
+                incrementalScanState = null;
+                if (scanSpec.enableSoftReferencedMemberInfo) {
+                    // Fields and methods cannot be read from their classfile again once the virtual filesystem is
+                    // closed, so keep the ones that have not been reclaimed yet
+                    for (final ClassInfo classInfo : classNameToClassInfo.values()) {
+                        classInfo.holdMemberInfoStrongly();
+                    }
+                }
                 // Don't clear classNameToClassInfo, since ClassInfo objects and the objects reachable from them keep
                 // working after the ScanResult they came from is closed. Just rely on the garbage collector to
                 // collect these once the ScanResult goes out of scope.
@@ -1954,6 +2305,43 @@ public final class ScanResult implements AutoCloseable {
         }
     }
 
+    /**
+     * Get what an incremental scan can reuse from this scan.
+     *
+     * @return what {@link ClassGraph#scanIncremental(ScanResult)} can reuse from this scan, or null if
+     *         {@link ClassGraph#enableIncrementalRescanning()} was not called, or if this {@link ScanResult} has
+     *         been closed.
+     */
+    @Nullable
+    IncrementalScanState getIncrementalScanState() {
+        return closed.get() ? null : incrementalScanState;
+    }
+
+    /**
+     * Close this {@link ScanResult} without closing its virtual filesystem or its resources, which are handed over
+     * to the incremental scan that reuses this scan (see {@link ClassGraph#scanIncremental(ScanResult)}).
+     *
+     * @return true if this {@link ScanResult} was handed over, or false if it had already been closed.
+     */
+    boolean handOver() {
+        if (closed.getAndSet(true)) {
+            return false;
+        }
+        nonClosedWeakReferences.remove(weakReference);
+        // Drop the references to everything that is handed over, rather than clearing or closing it as close() does
+        classpathOrder = null;
+        allAcceptedResourcesCached = null;
+        pathToAcceptedResourcesCached = null;
+        annotationParameterIndexCached = null;
+        methodReferenceIndexCached = null;
+        incrementalScanState = null;
+        packageNameToPackageInfo = null;
+        moduleNameToModuleInfo = null;
+        fileToLastModified = null;
+        vfs = null;
+        return true;
+    }
+
     /**
      * Returns whether this ScanResult has been closed yet or not.
      *
@@ -62,6 +62,11 @@ abstract class ScanResultObject {
      *            the scan result
      */
     void setScanResult(final @Nullable ScanResult scanResult) {
+        if (scanResult != this.scanResult) {
+            // An incremental scan moves an object it reuses over to the new ScanResult, which has its own ClassInfo
+            // objects, so forget the one looked up through the previous ScanResult
+            classInfo = null;
+        }
         this.scanResult = scanResult;
     }
 
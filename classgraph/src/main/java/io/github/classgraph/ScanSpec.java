@@ -30,7 +30,9 @@ package io.github.classgraph;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import io.github.classgraph.base.LogNode;
 import io.github.classgraph.base.internal.filter.AcceptReject.AcceptRejectLeafname;
@@ -143,6 +145,13 @@ class ScanSpec {
     /** If true, enables the determination of inter-class dependencies. */
     public boolean enableInterClassDependencies;
 
+    /**
+     * If true, the bytecode of method bodies is read to find the methods invoked, the fields accessed and the
+     * classes instantiated by each method. This information can be obtained using
+     * {@code MethodInfo#getInvokedMethods()} etc. By default, method bodies are skipped, for efficiency.
+     */
+    public boolean enableMethodReferenceInfo;
+
     /**
      * If true, allow external classes (classes outside of accepted packages) to be returned in the ScanResult, if
      * they are directly referred to by an accepted class, as a superclass, implemented interface or annotation.
@@ -187,6 +196,41 @@ class ScanSpec {
      */
     public boolean removeTemporaryFilesAfterScan;
 
+    /**
+     * If true, the strings read from classfile constant pools are deduplicated through a table that is shared by
+     * every scan in the JVM, rather than through a table that only lasts as long as the scan, so that a string read
+     * by an earlier scan is reused rather than decoded again.
+     */
+    public boolean deduplicateStringsAcrossScans;
+
+    /**
+     * If true, classfiles are parsed as soon as the paths of the classpath elements up to and including the one
+     * they are in have been scanned and masked, rather than once the paths of every classpath element have been
+     * scanned and masked.
+     */
+    public boolean enablePipelinedScanning;
+
+    /**
+     * If true, the {@link ScanResult} keeps the classfiles it parsed, and the paths each classpath element
+     * contained before masking, so that {@link ClassGraph#scanIncremental(ScanResult)} can reuse them.
+     */
+    public boolean enableIncrementalRescanning;
+
+    /**
+     * If true, what is read from the classfiles of the system modules is kept for the life of the process, so that
+     * a later scan with the same settings builds the classes of the JDK from it rather than reading the classfiles
+     * again. Has no effect if {@link #enableFieldInfo}, {@link #enableMethodInfo} or
+     * {@link #enableInterClassDependencies} is true.
+     */
+    public boolean enableJdkClassGraphSnapshot;
+
+    /**
+     * If true, the fields and methods of each class (other than annotation classes) are only softly referenced by
+     * the {@link ScanResult} once it has been built, and are read from the classfile again if the garbage collector
+     * clears them. Has no effect if {@link #enableIncrementalRescanning} is true.
+     */
+    public boolean enableSoftReferencedMemberInfo;
+
     // -------------------------------------------------------------------------------------------------------------
 
     /** Constructor. */
@@ -246,6 +290,16 @@ class ScanSpec {
         checkEnabled(enableInterClassDependencies, "enableInterClassDependencies");
     }
 
+    /**
+     * Throw {@link IllegalStateException} if {@link #enableMethodReferenceInfo} was not set before the scan.
+     *
+     * @throws IllegalStateException
+     *             if {@code ClassGraph#enableMethodReferenceInfo()} was not called before the scan.
+     */
+    public void checkMethodReferenceInfoEnabled() {
+        checkEnabled(enableMethodReferenceInfo, "enableMethodReferenceInfo");
+    }
+
     /**
      * Throw {@link IllegalStateException} if {@link #enableStaticFinalFieldConstantInitializerValues} was not set
      * before the scan.
@@ -375,6 +429,59 @@ class ScanSpec {
         return ScanSpecPathMatch.NOT_WITHIN_ACCEPTED_PATH;
     }
 
+    /**
+     * Get the directories that a resource has to be within to be accepted, so that a classpath element that holds
+     * none of them can be known to hold no accepted resource, without each of its paths having to be matched
+     * against the accept criteria. A resource is accepted if its directory is one of these directories, or is
+     * within one of them (see {@link #dirAcceptMatchStatus(String)}), and is not rejected.
+     *
+     * @return the directory paths, each with a trailing '/', or null if the root directory may hold accepted
+     *         resources, in which case any classpath element may hold them, or if the accepted directories cannot
+     *         be listed, because they are given by a glob.
+     */
+    @Nullable
+    Set<String> getAcceptedDirPaths() {
+        if (pathAcceptReject.acceptIsEmpty() && classPackagePathAcceptReject.acceptIsEmpty()) {
+            // Everything is accepted
+            return null;
+        }
+        final Set<String> acceptedDirPaths = new HashSet<>();
+        return addAcceptedDirPaths(pathAcceptReject, pathAcceptReject.getLiteralAccept(), acceptedDirPaths)
+                && addAcceptedDirPaths(pathPrefixAcceptReject, pathPrefixAcceptReject.getLiteralAccept(),
+                        acceptedDirPaths)
+                && addAcceptedDirPaths(classPackagePathAcceptReject,
+                        classPackagePathAcceptReject.getLiteralAccept(), acceptedDirPaths) ? acceptedDirPaths
+                                : null;
+    }
+
+    /**
+     * Add the directories accepted by one accept/reject criterion to the set of accepted directories.
+     *
+     * @param acceptReject
+     *            the criterion.
+     * @param literalAccept
+     *            the literal accept of the criterion, or null if it cannot be listed.
+     * @param acceptedDirPaths
+     *            the set of accepted directories to add to.
+     * @return false if the criterion accepts directories that cannot be listed, or accepts the root directory.
+     */
+    private static boolean addAcceptedDirPaths(final AcceptReject acceptReject,
+            final @Nullable Set<String> literalAccept, final Set<String> acceptedDirPaths) {
+        if (acceptReject.acceptIsEmpty()) {
+            return true;
+        }
+        if (literalAccept == null) {
+            return false;
+        }
+        for (final String dirPath : literalAccept) {
+            if (dirPath.isEmpty() || "/".equals(dirPath) || !dirPath.endsWith("/")) {
+                return false;
+            }
+            acceptedDirPaths.add(dirPath);
+        }
+        return true;
+    }
+
     /**
      * Returns true if the given relative path (for a classfile name, including ".class") matches a
      * specifically-accepted (and non-rejected) classfile's relative path.
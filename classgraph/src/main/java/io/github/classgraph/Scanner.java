@@ -47,6 +47,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -60,11 +61,17 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import io.github.classgraph.Classfile.ClassfileFormatException;
 import io.github.classgraph.Classfile.SkipClassException;
+import io.github.classgraph.IncrementalScanState.ClassfileKey;
+import io.github.classgraph.IncrementalScanState.ModifiedClasspathElement;
+import io.github.classgraph.IncrementalScanState.ParsedClassfile;
+import io.github.classgraph.IncrementalScanState.UnmaskedResources;
 import io.github.classgraph.WorkQueue.WorkUnitProcessor;
 import io.github.classgraph.base.LogNode;
+import io.github.classgraph.base.internal.concurrency.FirstOccurrenceTable;
 import io.github.classgraph.base.internal.concurrency.InterruptionChecker;
 import io.github.classgraph.base.internal.concurrency.SingletonMap;
 import io.github.classgraph.base.internal.path.FastPathResolver;
@@ -125,6 +132,27 @@ class Scanner implements Callable<ScanResult> {
      */
     private final UnscannedModules unscannedModules;
 
+    /**
+     * What is reused from the scan before this one, if this is an incremental scan (see
+     * {@link ClassGraph#scanIncremental(ScanResult)}), otherwise null.
+     */
+    private final @Nullable IncrementalScanState previousScanState;
+
+    /**
+     * The classpath elements that have been modified since the scan before this one, if this is an incremental
+     * scan.
+     */
+    private final List<ModifiedClasspathElement> modifiedClasspathElements;
+
+    /**
+     * What the next incremental scan can reuse from this scan, once the paths within the classpath elements have
+     * been scanned, or null if {@link ScanSpec#enableIncrementalRescanning} is false.
+     */
+    private @Nullable IncrementalScanState incrementalScanState;
+
+    /** The counters that the {@link ScanMetrics} of the scan are collected in. */
+    private final ScanMetrics.Recorder scanMetrics = new ScanMetrics.Recorder();
+
     // -------------------------------------------------------------------------------------------------------------
 
     /**
@@ -177,8 +205,11 @@ class Scanner implements Callable<ScanResult> {
         this.scanResultProcessor = scanResultProcessor;
         this.failureHandler = failureHandler;
         this.topLevelLog = topLevelLog;
+        this.previousScanState = null;
+        this.modifiedClasspathElements = List.of();
 
         final var classLoaderProbeLog = topLevelLog == null ? null : topLevelLog.log("Finding classpath");
+        final var classpathDiscoveryStart = System.nanoTime();
 
         // Nothing closes the virtual filesystem if the constructor does not return, since the caller is never
         // handed the Scanner, so anything opened before the failure (a module, or a classpath element filter's
@@ -227,6 +258,7 @@ class Scanner implements Callable<ScanResult> {
                         /* packageRootPrefix = */ "", rawClasspathEntry.packageRootPrefixes,
                         rawClasspathEntry.libDirPrefixes));
             }
+            scanMetrics.classpathDiscoveryNanos.add(System.nanoTime() - classpathDiscoveryStart);
         } catch (final Throwable e) {
             vfs.close();
             throw e;
@@ -234,8 +266,50 @@ class Scanner implements Callable<ScanResult> {
     }
 
     /**
-     * Add each accepted module to {@link #moduleOrder} as an open {@link ClasspathElementModule}, and add each
-     * module that is neither accepted nor rejected to {@code unscannedModuleReferences}.
+     * The classpath scanner for an incremental scan (see {@link ClassGraph#scanIncremental(ScanResult)}), which
+     * reuses the classpath elements, the virtual filesystem and the parsed classfiles of the scan before it.
+     * Scanning is started by calling {@link #call()} on this object.
+     *
+     * @param previousScanState
+     *            what is reused from the scan before this one
+     * @param modifiedClasspathElements
+     *            the classpath elements that have been modified since the scan before this one
+     * @param executorService
+     *            the executor service
+     * @param numParallelTasks
+     *            the num parallel tasks
+     * @param topLevelLog
+     *            the log
+     */
+    Scanner(final IncrementalScanState previousScanState,
+            final List<ModifiedClasspathElement> modifiedClasspathElements, final ExecutorService executorService,
+            final int numParallelTasks, final @Nullable LogNode topLevelLog) {
+        this.scanSpec = previousScanState.scanSpec();
+        this.performScan = true;
+        scanSpec.log(topLevelLog);
+        if (topLevelLog != null) {
+            topLevelLog.log("Number of worker threads: " + numParallelTasks);
+        }
+        this.executorService = executorService;
+        this.interruptionChecker = executorService instanceof final AutoCloseableExecutorService autoCloseableExecSvc
+                ? autoCloseableExecSvc.interruptionChecker
+                : new InterruptionChecker();
+        this.vfs = previousScanState.vfs();
+        this.numParallelTasks = numParallelTasks;
+        this.scanResultProcessor = null;
+        this.failureHandler = null;
+        this.topLevelLog = topLevelLog;
+        this.rawClasspathEntryWorkUnits = List.of();
+        this.moduleOrder = List.of();
+        this.unscannedModules = previousScanState.unscannedModules();
+        this.previousScanState = previousScanState;
+        this.modifiedClasspathElements = modifiedClasspathElements;
+    }
+
+    /**
+     * Add each accepted module to {@link #moduleOrder} as a {@link ClasspathElementModule}, which is opened later,
+     * in parallel with the other modules, and add each module that is neither accepted nor rejected to
+     * {@code unscannedModuleReferences}.
      *
      * @param moduleReferences
      *            the modules, or null if none were found
@@ -270,8 +344,6 @@ class Scanner implements Callable<ScanResult> {
                                 ClassLoaderHandler.NO_LIB_DIR_PREFIXES),
                         /* isLookupOnly = */ false, scanSpec);
                 moduleOrder.add(classpathElementModule);
-                // Open the ClasspathElementModule
-                classpathElementModule.open(/* ignored */ null, classLoaderProbeLog);
             } else {
                 // A module that is not being scanned can still have the classfiles of individual classes read from
                 // it, in order to complete the class graph above an accepted class -- but not if the module was
@@ -362,8 +434,8 @@ class Scanner implements Callable<ScanResult> {
      */
     private <W> void processWorkUnits(final Collection<W> workUnits, final @Nullable LogNode log,
             final WorkUnitProcessor<W> workUnitProcessor) throws InterruptedException, ExecutionException {
-        WorkQueue.runWorkQueue(workUnits, executorService, interruptionChecker, numParallelTasks, log,
-                workUnitProcessor);
+        WorkQueue.runWorkQueue(workUnits, executorService, interruptionChecker, numParallelTasks,
+                scanMetrics.workQueueWaitNanos, log, workUnitProcessor);
         if (log != null) {
             log.addElapsedTime();
         }
@@ -774,6 +846,18 @@ class Scanner implements Callable<ScanResult> {
         /** The string intern map. */
         private final ConcurrentHashMap<String, String> stringInternMap = new ConcurrentHashMap<>();
 
+        /** The classfiles parsed by the scan before this one, to reuse if unchanged, or null if none. */
+        private final @Nullable Map<ClassfileKey, ParsedClassfile> previousParsedClassfiles;
+
+        /** The map to add the classfiles parsed or reused by this scan to, or null if they are not kept. */
+        private final @Nullable Map<ClassfileKey, ParsedClassfile> parsedClassfiles;
+
+        /** The counters to record each classfile that is parsed in. */
+        private final ScanMetrics.Recorder scanMetrics;
+
+        /** The snapshot of the classfiles of the system modules, or null if not enabled for this scan. */
+        private final @Nullable JdkClassGraphSnapshot jdkClassGraphSnapshot;
+
         /**
          * Constructor.
          *
@@ -789,15 +873,30 @@ class Scanner implements Callable<ScanResult> {
          *            elements.
          * @param scannedClassfiles
          *            the {@link Classfile} objects created by scanning classfiles
+         * @param previousParsedClassfiles
+         *            the classfiles parsed by the scan before this one, which are reused rather than parsed again
+         *            if they are unchanged, or null if this is not an incremental scan
+         * @param parsedClassfiles
+         *            the map to add the classfiles parsed or reused by this scan to, for the next incremental scan
+         *            to reuse, or null if they are not kept
+         * @param scanMetrics
+         *            the counters to record each classfile that is parsed in
          */
         public ClassfileScannerWorkUnitProcessor(final ScanSpec scanSpec,
                 final List<ClasspathElement> classpathOrder, final UnscannedModules unscannedModules,
-                final Set<String> acceptedClassNamesFound, final Queue<Classfile> scannedClassfiles) {
+                final Set<String> acceptedClassNamesFound, final Queue<Classfile> scannedClassfiles,
+                final @Nullable Map<ClassfileKey, ParsedClassfile> previousParsedClassfiles,
+                final @Nullable Map<ClassfileKey, ParsedClassfile> parsedClassfiles,
+                final ScanMetrics.Recorder scanMetrics) {
             this.scanSpec = scanSpec;
             this.classpathOrder = classpathOrder;
             this.unscannedModules = unscannedModules;
             this.acceptedClassNamesFound = acceptedClassNamesFound;
             this.scannedClassfiles = scannedClassfiles;
+            this.previousParsedClassfiles = previousParsedClassfiles;
+            this.parsedClassfiles = parsedClassfiles;
+            this.scanMetrics = scanMetrics;
+            this.jdkClassGraphSnapshot = JdkClassGraphSnapshot.forScanSpec(scanSpec);
         }
 
         /**
@@ -816,6 +915,22 @@ class Scanner implements Callable<ScanResult> {
         public void processWorkUnit(final ClassfileScanWorkUnit workUnit,
                 final WorkQueue<ClassfileScanWorkUnit> workQueue, final @Nullable LogNode log)
                 throws InterruptedException {
+            scanClassfile(workUnit, workQueue);
+        }
+
+        /**
+         * Parse a classfile, and add the resulting {@link Classfile} to the scanned classfiles.
+         *
+         * @param workUnit
+         *            the work unit
+         * @param workQueue
+         *            the work queue to schedule external classes for scanning on, or null to defer extending
+         *            scanning upwards until {@link Classfile#extendScanningUpwardsDeferred()} is called
+         * @throws InterruptedException
+         *             the interrupted exception
+         */
+        void scanClassfile(final ClassfileScanWorkUnit workUnit,
+                final @Nullable WorkQueue<ClassfileScanWorkUnit> workQueue) throws InterruptedException {
             // Classfile scan log entries are listed inline below the entry that was added to the log when the path
             // of the corresponding resource was found, by using the LogNode stored in Resource#scanLog. This allows
             // the path scanning and classfile scanning logs to be merged into a single tree, rather than having
@@ -825,14 +940,53 @@ class Scanner implements Callable<ScanResult> {
                     : classfileResource.scanLog.log(classfileResource.getPath(), "Parsing classfile");
 
             try {
-                // Parse classfile binary format, creating a Classfile object
-                final var classfile = new Classfile(workUnit.classpathElement(), classpathOrder, unscannedModules,
-                        acceptedClassNamesFound, classNamesScheduledForExtendedScanning,
-                        classfileResource.getPath(), classfileResource, workUnit.isExternalClass(), stringInternMap,
-                        workQueue, scanSpec, subLog);
+                final var classfileKey = new ClassfileKey(workUnit.classpathElement(), classfileResource.getPath(),
+                        workUnit.isExternalClass());
+                final var previousParsedClassfile = previousParsedClassfiles == null ? null
+                        : previousParsedClassfiles.get(classfileKey);
+                final Classfile classfile;
+                final ParsedClassfile parsedClassfile;
+                final var classSnapshot = jdkClassGraphSnapshot == null ? null
+                        : jdkClassGraphSnapshot.get(workUnit.classpathElement(), classfileResource.getPath());
+                if (previousParsedClassfile != null && previousParsedClassfile.isUnchanged(classfileResource)) {
+                    // The classfile has not changed since the scan before this one, so reuse the Classfile object
+                    classfile = previousParsedClassfile.classfile();
+                    classfile.reuse(classpathOrder, acceptedClassNamesFound, classNamesScheduledForExtendedScanning,
+                            classfileResource, workQueue, subLog);
+                    parsedClassfile = previousParsedClassfile;
+                } else if (classSnapshot != null) {
+                    // The classfile is in a system module, and was read by an earlier scan, so build the Classfile
+                    // object from what was read then
+                    classfile = new Classfile(workUnit.classpathElement(), classpathOrder, unscannedModules,
+                            acceptedClassNamesFound, classNamesScheduledForExtendedScanning,
+                            classfileResource.getPath(), classfileResource, workUnit.isExternalClass(),
+                            classSnapshot, stringInternMap, workQueue, scanSpec, subLog);
+                    parsedClassfile = new ParsedClassfile(classfile, classfileResource.getLastModifiedMillis(),
+                            classfileResource.getLength());
+                } else {
+                    // Record the last modified time and length before parsing, since reading a resource can
+                    // change its length from unknown to known
+                    final var lastModifiedMillis = classfileResource.getLastModifiedMillis();
+                    final var length = classfileResource.getLength();
+
+                    // Parse classfile binary format, creating a Classfile object
+                    classfile = new Classfile(workUnit.classpathElement(), classpathOrder, unscannedModules,
+                            acceptedClassNamesFound, classNamesScheduledForExtendedScanning,
+                            classfileResource.getPath(), classfileResource, workUnit.isExternalClass(),
+                            stringInternMap, workQueue, scanSpec, subLog);
+                    parsedClassfile = new ParsedClassfile(classfile, lastModifiedMillis, length);
+                    scanMetrics.classfileParsed(workUnit.classpathElement(), classfileResource);
+                    if (jdkClassGraphSnapshot != null) {
+                        jdkClassGraphSnapshot.put(workUnit.classpathElement(), classfileResource.getPath(),
+                                classfile);
+                    }
+                }
 
                 // Enqueue the classfile for linking
                 scannedClassfiles.add(classfile);
+                if (parsedClassfiles != null) {
+                    parsedClassfiles.put(classfileKey, parsedClassfile);
+                }
 
                 if (subLog != null) {
                     subLog.addElapsedTime();
@@ -841,6 +995,9 @@ class Scanner implements Callable<ScanResult> {
                 // Don't swallow interruption in the catch-all handler below
                 throw e;
             } catch (final SkipClassException e) {
+                if (jdkClassGraphSnapshot != null) {
+                    jdkClassGraphSnapshot.putSkipped(workUnit.classpathElement(), classfileResource.getPath());
+                }
                 if (subLog != null) {
                     subLog.log(classfileResource.getPath(), "Skipping classfile: " + e.getMessage());
                     subLog.addElapsedTime();
@@ -927,10 +1084,10 @@ class Scanner implements Callable<ScanResult> {
     }
 
     /** The manifest attribute that lists the packages a jarfile needs exported to it, from JEP 261. */
-    private static final String ADD_EXPORTS_KEY = "Add-Exports";
+    static final String ADD_EXPORTS_KEY = "Add-Exports";
 
     /** The manifest attribute that lists the packages a jarfile needs opened to it, from JEP 261. */
-    private static final String ADD_OPENS_KEY = "Add-Opens";
+    static final String ADD_OPENS_KEY = "Add-Opens";
 
     /**
      * Find classpath elements whose path is a prefix of another classpath element, and record the nesting.
@@ -1010,13 +1167,31 @@ class Scanner implements Callable<ScanResult> {
      *            the classpath element order
      * @param maskLog
      *            the mask log
+     * @throws InterruptedException
+     *             if the scan was interrupted
+     * @throws ExecutionException
+     *             if a worker threw an uncaught exception
      */
-    private static void maskClassfiles(final List<ClasspathElement> classpathElementOrder,
-            final @Nullable LogNode maskLog) {
-        final Set<String> acceptedClasspathRelativePathsFound = new HashSet<>();
-        for (var classpathIdx = 0; classpathIdx < classpathElementOrder.size(); classpathIdx++) {
-            final var classpathElement = classpathElementOrder.get(classpathIdx);
-            classpathElement.maskClassfiles(classpathIdx, acceptedClasspathRelativePathsFound, maskLog);
+    private void maskClassfiles(final List<ClasspathElement> classpathElementOrder, final @Nullable LogNode maskLog)
+            throws InterruptedException, ExecutionException {
+        if (classpathElementOrder.size() < 2 || numParallelTasks < 2) {
+            final Set<String> acceptedClasspathRelativePathsFound = new HashSet<>();
+            for (var classpathIdx = 0; classpathIdx < classpathElementOrder.size(); classpathIdx++) {
+                final var classpathElement = classpathElementOrder.get(classpathIdx);
+                classpathElement.maskClassfiles(classpathIdx, acceptedClasspathRelativePathsFound, maskLog);
+            }
+        } else {
+            final var isMasked = findRepeatedKeys(classpathElementOrder, classpathElement -> {
+                final var classfileResources = classpathElement.acceptedClassfileResources;
+                final @Nullable String[] maskingPaths = new String[classfileResources.size()];
+                for (var i = 0; i < maskingPaths.length; i++) {
+                    maskingPaths[i] = ClasspathElement.getClassfileMaskingPath(classfileResources.get(i));
+                }
+                return maskingPaths;
+            });
+            processWorkUnits(classpathIndices(classpathElementOrder), /* log = */ null,
+                    (classpathIdx, workQueueIgnored, logIgnored) -> classpathElementOrder.get(classpathIdx)
+                            .removeMaskedClassfiles(classpathIdx, isMasked[classpathIdx], maskLog));
         }
         if (maskLog != null) {
             maskLog.addElapsedTime();
@@ -1033,33 +1208,189 @@ class Scanner implements Callable<ScanResult> {
      *            the classpath element order
      * @param maskLog
      *            the mask log
+     * @return the resources that were removed, in an identity set
+     * @throws InterruptedException
+     *             if the scan was interrupted
+     * @throws ExecutionException
+     *             if a worker threw an uncaught exception
      */
     // #704
-    private static void maskDuplicateResources(final List<ClasspathElement> classpathElementOrder,
-            final @Nullable LogNode maskLog) {
+    private Set<Resource> maskDuplicateResources(final List<ClasspathElement> classpathElementOrder,
+            final @Nullable LogNode maskLog) throws InterruptedException, ExecutionException {
         // Only a relative path that occurs more than once can be a duplicate of the same file, and computing the
         // URI of a resource is not free (for modules it requires a reflective call to ModuleReader#find), so find
         // the colliding relative paths first, and only compare URIs for those.
-        final Set<String> relativePathsFound = new HashSet<>();
-        final Set<String> collidingRelativePaths = new HashSet<>();
-        for (final ClasspathElement classpathElement : classpathElementOrder) {
-            for (final Resource res : classpathElement.acceptedResources) {
-                if (!relativePathsFound.add(res.getPath())) {
-                    collidingRelativePaths.add(res.getPath());
+        final Set<Resource> maskedResources = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (classpathElementOrder.size() < 2 || numParallelTasks < 2) {
+            final Set<String> relativePathsFound = new HashSet<>();
+            final Set<String> collidingRelativePaths = new HashSet<>();
+            for (final ClasspathElement classpathElement : classpathElementOrder) {
+                for (final Resource res : classpathElement.acceptedResources) {
+                    if (!relativePathsFound.add(res.getPath())) {
+                        collidingRelativePaths.add(res.getPath());
+                    }
                 }
             }
-        }
-        if (!collidingRelativePaths.isEmpty()) {
-            final Set<String> fileIdentityKeysFound = new HashSet<>();
-            final Map<String, String> canonicalPathCache = new HashMap<>();
+            if (!collidingRelativePaths.isEmpty()) {
+                final Set<String> fileIdentityKeysFound = new HashSet<>();
+                final Map<String, String> canonicalPathCache = new HashMap<>();
+                for (var classpathIdx = 0; classpathIdx < classpathElementOrder.size(); classpathIdx++) {
+                    maskedResources
+                            .addAll(classpathElementOrder.get(classpathIdx).maskDuplicateResources(classpathIdx,
+                                    collidingRelativePaths, fileIdentityKeysFound, canonicalPathCache, maskLog));
+                }
+            }
+        } else {
+            final var isRepeatedPath = findRepeatedKeys(classpathElementOrder, classpathElement -> {
+                final var resources = classpathElement.acceptedResources;
+                final @Nullable String[] paths = new String[resources.size()];
+                for (var i = 0; i < paths.length; i++) {
+                    paths[i] = resources.get(i).getPath();
+                }
+                return paths;
+            });
+            final Set<String> collidingRelativePaths = new HashSet<>();
             for (var classpathIdx = 0; classpathIdx < classpathElementOrder.size(); classpathIdx++) {
-                classpathElementOrder.get(classpathIdx).maskDuplicateResources(classpathIdx, collidingRelativePaths,
-                        fileIdentityKeysFound, canonicalPathCache, maskLog);
+                final var resources = classpathElementOrder.get(classpathIdx).acceptedResources;
+                final var isRepeated = isRepeatedPath[classpathIdx];
+                for (var i = 0; i < isRepeated.length; i++) {
+                    if (isRepeated[i]) {
+                        collidingRelativePaths.add(resources.get(i).getPath());
+                    }
+                }
+            }
+            if (!collidingRelativePaths.isEmpty()) {
+                // The first resource that is a given file is kept, and any later resource that is the same file is
+                // masked
+                final Map<String, String> canonicalPathCache = new ConcurrentHashMap<>();
+                final var isMasked = findRepeatedKeys(classpathElementOrder, classpathElement -> {
+                    final var resources = classpathElement.acceptedResources;
+                    final @Nullable String[] fileIdentityKeys = new String[resources.size()];
+                    for (var i = 0; i < fileIdentityKeys.length; i++) {
+                        final var res = resources.get(i);
+                        if (collidingRelativePaths.contains(res.getPath())) {
+                            fileIdentityKeys[i] = ClasspathElement.getFileIdentityKey(res, canonicalPathCache);
+                        }
+                    }
+                    return fileIdentityKeys;
+                });
+                final Set<Resource> maskedResourcesSynchronized = Collections.synchronizedSet(maskedResources);
+                processWorkUnits(classpathIndices(classpathElementOrder), /* log = */ null,
+                        (classpathIdx, workQueueIgnored, logIgnored) -> maskedResourcesSynchronized
+                                .addAll(classpathElementOrder.get(classpathIdx)
+                                        .removeDuplicateResources(classpathIdx, isMasked[classpathIdx], maskLog)));
             }
         }
         if (maskLog != null) {
             maskLog.addElapsedTime();
         }
+        return maskedResources;
+    }
+
+    /**
+     * Get the index of each classpath element, for use as work units.
+     *
+     * @param classpathElementOrder
+     *            the classpath element order
+     * @return the indices 0 to {@code classpathElementOrder.size() - 1}
+     */
+    private static List<Integer> classpathIndices(final List<ClasspathElement> classpathElementOrder) {
+        final List<Integer> classpathIndices = new ArrayList<>(classpathElementOrder.size());
+        for (var classpathIdx = 0; classpathIdx < classpathElementOrder.size(); classpathIdx++) {
+            classpathIndices.add(classpathIdx);
+        }
+        return classpathIndices;
+    }
+
+    /**
+     * In parallel, find the keys that are repeats of a key that occurs earlier in the classpath, in the order of
+     * the classpath elements, then in the order of the keys within each classpath element. This gives the same
+     * result as adding the keys to a {@link HashSet} one at a time in that order, and marking the keys that were
+     * already present, but does not visit the classpath elements one at a time.
+     *
+     * <p>
+     * In the first pass, the keys of each classpath element are found, and each key is added to a
+     * {@link FirstOccurrenceTable} with its position in the order. In the second pass, each key whose position is
+     * not the first position recorded for its 64-bit hash is a repeat, if the key at the first position is equal to
+     * it. If two different keys have the same hash, the keys with that hash are resolved one at a time in a third
+     * pass.
+     *
+     * @param classpathElementOrder
+     *            the classpath element order
+     * @param getKeys
+     *            gets the keys of a classpath element, with null for an element that has no key (which is never a
+     *            repeat). Called from worker threads.
+     * @return for each classpath element, for each key, whether the key is a repeat.
+     * @throws InterruptedException
+     *             if the scan was interrupted
+     * @throws ExecutionException
+     *             if a worker threw an uncaught exception
+     */
+    private boolean[][] findRepeatedKeys(final List<ClasspathElement> classpathElementOrder,
+            final Function<ClasspathElement, @Nullable String[]> getKeys)
+            throws InterruptedException, ExecutionException {
+        final var numElts = classpathElementOrder.size();
+        final var classpathIndices = classpathIndices(classpathElementOrder);
+        var maxNumKeys = 0;
+        for (final ClasspathElement classpathElement : classpathElementOrder) {
+            maxNumKeys += Math.max(classpathElement.acceptedResources.size(),
+                    classpathElement.acceptedClassfileResources.size());
+        }
+        final var firstOccurrenceTable = new FirstOccurrenceTable(maxNumKeys);
+        final @Nullable String[][] keys = new String[numElts][];
+        final long[][] keyHashes = new long[numElts][];
+        processWorkUnits(classpathIndices, /* log = */ null, (classpathIdx, workQueueIgnored, logIgnored) -> {
+            final var eltKeys = getKeys.apply(classpathElementOrder.get(classpathIdx));
+            final var eltKeyHashes = new long[eltKeys.length];
+            for (var i = 0; i < eltKeys.length; i++) {
+                final var key = eltKeys[i];
+                if (key != null) {
+                    eltKeyHashes[i] = FirstOccurrenceTable.hash(key);
+                    firstOccurrenceTable.add(eltKeyHashes[i], ((long) classpathIdx << 32) | i);
+                }
+            }
+            keys[classpathIdx] = eltKeys;
+            keyHashes[classpathIdx] = eltKeyHashes;
+        });
+
+        final var isRepeated = new boolean[numElts][];
+        final Set<Long> collidingHashes = ConcurrentHashMap.newKeySet();
+        processWorkUnits(classpathIndices, /* log = */ null, (classpathIdx, workQueueIgnored, logIgnored) -> {
+            final var eltKeys = keys[classpathIdx];
+            final var eltKeyHashes = keyHashes[classpathIdx];
+            final var eltIsRepeated = new boolean[eltKeys.length];
+            for (var i = 0; i < eltKeys.length; i++) {
+                final var key = eltKeys[i];
+                if (key != null) {
+                    final var firstPosition = firstOccurrenceTable.getFirstPosition(eltKeyHashes[i]);
+                    if (firstPosition != (((long) classpathIdx << 32) | i)) {
+                        final var firstKey = keys[(int) (firstPosition >>> 32)][(int) firstPosition];
+                        if (key.equals(firstKey)) {
+                            eltIsRepeated[i] = true;
+                        } else {
+                            // Hash collision between two different keys
+                            collidingHashes.add(eltKeyHashes[i]);
+                        }
+                    }
+                }
+            }
+            isRepeated[classpathIdx] = eltIsRepeated;
+        });
+
+        if (!collidingHashes.isEmpty()) {
+            // Resolve the keys whose hash collides with the hash of a different key one at a time, in order
+            final Set<String> keysFound = new HashSet<>();
+            for (var classpathIdx = 0; classpathIdx < numElts; classpathIdx++) {
+                final var eltKeys = keys[classpathIdx];
+                for (var i = 0; i < eltKeys.length; i++) {
+                    final var key = eltKeys[i];
+                    if (key != null && collidingHashes.contains(keyHashes[classpathIdx][i])) {
+                        isRepeated[classpathIdx][i] = !keysFound.add(key);
+                    }
+                }
+            }
+        }
+        return isRepeated;
     }
 
     // -------------------------------------------------------------------------------------------------------------
@@ -1079,6 +1410,7 @@ class Scanner implements Callable<ScanResult> {
             throws InterruptedException, ExecutionException {
         // Mask duplicate resources (remove any resource that is the same file as a resource that was already found
         // in an earlier classpath element)
+        final var maskingStart = System.nanoTime();
         maskDuplicateResources(finalClasspathEltOrder,
                 topLevelLog == null ? null : topLevelLog.log("Masking duplicate resources"));
 
@@ -1088,12 +1420,7 @@ class Scanner implements Callable<ScanResult> {
             maskClassfiles(finalClasspathEltOrder,
                     topLevelLog == null ? null : topLevelLog.log("Masking classfiles"));
         }
-
-        // Merge the file-to-timestamp maps across all classpath elements
-        final Map<File, Long> fileToLastModified = new HashMap<>();
-        for (final ClasspathElement classpathElement : finalClasspathEltOrder) {
-            fileToLastModified.putAll(classpathElement.fileToLastModified);
-        }
+        scanMetrics.maskingNanos.add(System.nanoTime() - maskingStart);
 
         // Scan classfiles, if scanSpec.enableClassInfo is true. (classNameToClassInfo is a ConcurrentHashMap
         // because it can be modified by ArrayTypeSignature.getArrayClassInfo() after scanning is complete)
@@ -1107,6 +1434,33 @@ class Scanner implements Callable<ScanResult> {
             topLevelLog.log("Classfile scanning is disabled");
         }
 
+        return newScanResult(finalClasspathEltOrder, classNameToClassInfo, packageNameToPackageInfo,
+                moduleNameToModuleInfo);
+    }
+
+    /**
+     * Create the {@link ScanResult} for a completed scan, and set it in each classpath element.
+     *
+     * @param finalClasspathEltOrder
+     *            the final classpath element order
+     * @param classNameToClassInfo
+     *            the map from class name to {@link ClassInfo}
+     * @param packageNameToPackageInfo
+     *            the map from package name to {@link PackageInfo}
+     * @param moduleNameToModuleInfo
+     *            the map from module name to {@link ModuleInfo}
+     * @return the scan result
+     */
+    private ScanResult newScanResult(final List<ClasspathElement> finalClasspathEltOrder,
+            final Map<String, ClassInfo> classNameToClassInfo,
+            final Map<String, PackageInfo> packageNameToPackageInfo,
+            final Map<String, ModuleInfo> moduleNameToModuleInfo) {
+        // Merge the file-to-timestamp maps across all classpath elements
+        final Map<File, Long> fileToLastModified = new HashMap<>();
+        for (final ClasspathElement classpathElement : finalClasspathEltOrder) {
+            fileToLastModified.putAll(classpathElement.fileToLastModified);
+        }
+
         // Return a new ScanResult
         final var scanResult = new ScanResult(scanSpec, finalClasspathEltOrder, classNameToClassInfo,
                 packageNameToPackageInfo, moduleNameToModuleInfo, fileToLastModified, vfs, topLevelLog);
@@ -1122,6 +1476,12 @@ class Scanner implements Callable<ScanResult> {
             classpathElement.setScanResult(scanResult);
         }
 
+        // Keep what the next incremental scan can reuse, unless the virtual filesystem is about to be closed to
+        // remove temporary files, in which case the classpath elements cannot be read again
+        if (incrementalScanState != null && !(scanSpec.removeTemporaryFilesAfterScan && vfs.hasTempFiles())) {
+            scanResult.incrementalScanState = incrementalScanState;
+        }
+
         return scanResult;
     }
 
@@ -1151,35 +1511,76 @@ class Scanner implements Callable<ScanResult> {
         final Set<String> acceptedClassNamesFound = new HashSet<>();
         for (final ClasspathElement classpathElement : finalClasspathEltOrder) {
             // Get classfile scan order across all classpath elements
-            for (final Resource resource : classpathElement.acceptedClassfileResources) {
-                // Create a set of names of all accepted classes found in classpath element paths, and double-check
-                // that a class is not going to be scanned twice
-                final var className = ClassNames.classfilePathToClassName(resource.getPath());
-                if (!acceptedClassNamesFound.add(className) && !"module-info".equals(className)
-                        && !"package-info".equals(className) && !className.endsWith(".package-info")) {
-                    // The class should not be scheduled more than once for scanning, since classpath masking was
-                    // already applied
-                    throw new IllegalArgumentException("Class " + className
-                            + " should not have been scheduled more than once for scanning due to classpath"
-                            + " masking -- please report this bug at:"
-                            + " https://github.com/classgraph/classgraph/issues");
-                }
-                // Schedule class for scanning
-                classfileScanWorkItems
-                        .add(new ClassfileScanWorkUnit(classpathElement, resource, /* isExternal = */ false));
-            }
+            scheduleAcceptedClassfiles(classpathElement, acceptedClassNamesFound, classfileScanWorkItems);
         }
 
         // Scan classfiles in parallel
         final Queue<Classfile> scannedClassfiles = new ConcurrentLinkedQueue<>();
         final var classfileWorkUnitProcessor = new ClassfileScannerWorkUnitProcessor(scanSpec,
                 finalClasspathEltOrder, unscannedModules, Collections.unmodifiableSet(acceptedClassNamesFound),
-                scannedClassfiles);
+                scannedClassfiles, previousScanState == null ? null : previousScanState.parsedClassfiles(),
+                incrementalScanState == null ? null : incrementalScanState.parsedClassfiles(), scanMetrics);
+        final var classfileParseStart = System.nanoTime();
         processWorkUnits(classfileScanWorkItems,
                 topLevelLog == null ? null : topLevelLog.log("Scanning classfiles"), classfileWorkUnitProcessor);
+        scanMetrics.classfileParseNanos.add(System.nanoTime() - classfileParseStart);
+
+        linkClassfiles(scannedClassfiles, classNameToClassInfo, packageNameToPackageInfo, moduleNameToModuleInfo);
+    }
 
+    /**
+     * Schedule the accepted classfiles of a classpath element for scanning, once classpath masking has been applied
+     * to the classpath element.
+     *
+     * @param classpathElement
+     *            the classpath element
+     * @param acceptedClassNamesFound
+     *            the names of the accepted classes found so far, to add the names of the classes in this classpath
+     *            element to
+     * @param classfileScanWorkItems
+     *            the work units to add the accepted classfiles to
+     */
+    private static void scheduleAcceptedClassfiles(final ClasspathElement classpathElement,
+            final Set<String> acceptedClassNamesFound, final List<ClassfileScanWorkUnit> classfileScanWorkItems) {
+        for (final Resource resource : classpathElement.acceptedClassfileResources) {
+            // Create a set of names of all accepted classes found in classpath element paths, and double-check
+            // that a class is not going to be scanned twice
+            final var className = ClassNames.classfilePathToClassName(resource.getPath());
+            if (!acceptedClassNamesFound.add(className) && !"module-info".equals(className)
+                    && !"package-info".equals(className) && !className.endsWith(".package-info")) {
+                // The class should not be scheduled more than once for scanning, since classpath masking was
+                // already applied
+                throw new IllegalArgumentException("Class " + className
+                        + " should not have been scheduled more than once for scanning due to classpath"
+                        + " masking -- please report this bug at:"
+                        + " https://github.com/classgraph/classgraph/issues");
+            }
+            // Schedule class for scanning
+            classfileScanWorkItems
+                    .add(new ClassfileScanWorkUnit(classpathElement, resource, /* isExternal = */ false));
+        }
+    }
+
+    /**
+     * Link the {@link Classfile} objects produced by scanning classfiles into {@link ClassInfo},
+     * {@link PackageInfo} and {@link ModuleInfo} objects.
+     *
+     * @param scannedClassfiles
+     *            the {@link Classfile} objects to link
+     * @param classNameToClassInfo
+     *            the map from class name to {@link ClassInfo}, to add scanned classes to
+     * @param packageNameToPackageInfo
+     *            the map from package name to {@link PackageInfo}, to add scanned packages to
+     * @param moduleNameToModuleInfo
+     *            the map from module name to {@link ModuleInfo}, to add scanned modules to
+     */
+    private void linkClassfiles(final Queue<Classfile> scannedClassfiles,
+            final Map<String, ClassInfo> classNameToClassInfo,
+            final Map<String, PackageInfo> packageNameToPackageInfo,
+            final Map<String, ModuleInfo> moduleNameToModuleInfo) {
         // Link the Classfile objects to produce ClassInfo objects. This needs to be done from a single thread.
         final var linkLog = topLevelLog == null ? null : topLevelLog.log("Linking related classfiles");
+        final var linkStart = System.nanoTime();
         while (!scannedClassfiles.isEmpty()) {
             final var c = scannedClassfiles.remove();
             c.link(classNameToClassInfo, packageNameToPackageInfo, moduleNameToModuleInfo);
@@ -1194,6 +1595,7 @@ class Scanner implements Callable<ScanResult> {
         // for a class that was not scanned. Call ClassGraph#enableInterClassDependencies() to get the classes
         // referenced by a scanned class. (#902)
 
+        scanMetrics.linkNanos.add(System.nanoTime() - linkStart);
         if (linkLog != null) {
             linkLog.addElapsedTime();
         }
@@ -1201,6 +1603,289 @@ class Scanner implements Callable<ScanResult> {
 
     // -------------------------------------------------------------------------------------------------------------
 
+    /**
+     * Check whether a classpath element whose paths have been scanned is kept in the classpath order, given
+     * {@link ScanSpec#classpathElementResourcePathAcceptReject}.
+     *
+     * @param classpathElement
+     *            the classpath element
+     * @param acceptIsEmpty
+     *            true if no classpath element resource path is specifically accepted
+     * @return true if the classpath element does not contain a rejected classpath element resource path, and either
+     *         contains a specifically accepted classpath element resource path or none is required
+     */
+    private static boolean isClasspathElementIncluded(final ClasspathElement classpathElement,
+            final boolean acceptIsEmpty) {
+        return !classpathElement.containsRejectedClasspathElementResourcePath
+                && (acceptIsEmpty || classpathElement.containsSpecificallyAcceptedClasspathElementResourcePath);
+    }
+
+    /** A work unit of a pipelined scan (see {@link ClassGraph#enablePipelinedScanning()}). */
+    private sealed interface PipelinedScanWorkUnit permits PathScanWorkUnit, ClassfileParseWorkUnit {
+    }
+
+    /**
+     * Scan the paths within a classpath element.
+     *
+     * @param classpathIdx
+     *            the index of the classpath element in the classpath order
+     * @param classpathElement
+     *            the classpath element
+     */
+    private record PathScanWorkUnit(int classpathIdx,
+            ClasspathElement classpathElement) implements PipelinedScanWorkUnit {
+    }
+
+    /**
+     * Parse an accepted classfile, deferring extending scanning upwards to external classes.
+     *
+     * @param classfileScanWorkUnit
+     *            the classfile to parse
+     */
+    private record ClassfileParseWorkUnit(
+            ClassfileScanWorkUnit classfileScanWorkUnit) implements PipelinedScanWorkUnit {
+    }
+
+    /**
+     * WorkUnitProcessor for a pipelined scan. Classpath masking of classfiles only depends on the classpath
+     * elements earlier in the classpath order, so once the paths within a classpath element and within every
+     * earlier classpath element have been scanned, the classpath element can be masked, and its accepted classfiles
+     * can be parsed, while the paths within later classpath elements are still being scanned.
+     */
+    private static class PipelinedScanWorkUnitProcessor implements WorkUnitProcessor<PipelinedScanWorkUnit> {
+        /** The classpath order, before filtering by classpath element resource path. */
+        private final List<ClasspathElement> classpathOrder;
+
+        /** True for each classpath element in {@link #classpathOrder} whose paths have been scanned. */
+        private final boolean[] pathsScanned;
+
+        /** The index of the first classpath element that has not been added to the pipeline yet. */
+        private int frontierIdx;
+
+        /** Whether no classpath element resource path is specifically accepted. */
+        private final boolean acceptIsEmpty;
+
+        /** The filtered classpath order, built up as classpath elements are added to the pipeline. */
+        private final List<ClasspathElement> classpathOrderFiltered;
+
+        /** The classfile relative paths found so far, for masking. */
+        private final Set<String> acceptedClasspathRelativePathsFound = new HashSet<>();
+
+        /** The names of the accepted classes scheduled for parsing so far. */
+        private final Set<String> acceptedClassNamesFound;
+
+        /** The accepted classfile resources of each classpath element, before classpath masking. */
+        private final Map<ClasspathElement, List<Resource>> unmaskedClassfileResources = new IdentityHashMap<>();
+
+        /** The processor that parses classfiles. */
+        private final ClassfileScannerWorkUnitProcessor classfileScannerWorkUnitProcessor;
+
+        /** The mask log. */
+        private final @Nullable LogNode maskLog;
+
+        /**
+         * Constructor.
+         *
+         * @param scanSpec
+         *            the scan spec
+         * @param classpathOrder
+         *            the classpath order, before filtering by classpath element resource path
+         * @param classpathOrderFiltered
+         *            the list to add the classpath elements that are kept after filtering to, in order
+         * @param acceptedClassNamesFound
+         *            the set to add the names of the accepted classes scheduled for parsing to
+         * @param classfileScannerWorkUnitProcessor
+         *            the processor that parses classfiles
+         * @param maskLog
+         *            the mask log
+         */
+        PipelinedScanWorkUnitProcessor(final ScanSpec scanSpec, final List<ClasspathElement> classpathOrder,
+                final List<ClasspathElement> classpathOrderFiltered, final Set<String> acceptedClassNamesFound,
+                final ClassfileScannerWorkUnitProcessor classfileScannerWorkUnitProcessor,
+                final @Nullable LogNode maskLog) {
+            this.classpathOrder = classpathOrder;
+            this.pathsScanned = new boolean[classpathOrder.size()];
+            this.acceptIsEmpty = scanSpec.classpathElementResourcePathAcceptReject.acceptIsEmpty();
+            this.classpathOrderFiltered = classpathOrderFiltered;
+            this.acceptedClassNamesFound = acceptedClassNamesFound;
+            this.classfileScannerWorkUnitProcessor = classfileScannerWorkUnitProcessor;
+            this.maskLog = maskLog;
+        }
+
+        /**
+         * Process work unit.
+         *
+         * @param workUnit
+         *            the work unit
+         * @param workQueue
+         *            the work queue
+         * @param log
+         *            the log node, or null to skip logging
+         * @throws InterruptedException
+         *             the interrupted exception
+         */
+        @Override
+        public void processWorkUnit(final PipelinedScanWorkUnit workUnit,
+                final WorkQueue<PipelinedScanWorkUnit> workQueue, final @Nullable LogNode log)
+                throws InterruptedException {
+            if (workUnit instanceof ClassfileParseWorkUnit classfileParseWorkUnit) {
+                classfileScannerWorkUnitProcessor.scanClassfile(classfileParseWorkUnit.classfileScanWorkUnit(),
+                        /* workQueue = */ null);
+            } else if (workUnit instanceof PathScanWorkUnit pathScanWorkUnit) {
+                pathScanWorkUnit.classpathElement().scanPaths(log);
+                final List<ClassfileScanWorkUnit> classfileScanWorkItems = new ArrayList<>();
+                synchronized (this) {
+                    pathsScanned[pathScanWorkUnit.classpathIdx()] = true;
+                    // Mask and schedule the classpath elements whose paths, and the paths of every earlier
+                    // classpath element, have been scanned
+                    while (frontierIdx < pathsScanned.length && pathsScanned[frontierIdx]) {
+                        final var classpathElement = classpathOrder.get(frontierIdx++);
+                        if (isClasspathElementIncluded(classpathElement, acceptIsEmpty)) {
+                            final var classpathIdx = classpathOrderFiltered.size();
+                            classpathOrderFiltered.add(classpathElement);
+                            unmaskedClassfileResources.put(classpathElement,
+                                    classpathElement.acceptedClassfileResources);
+                            classpathElement.maskClassfiles(classpathIdx, acceptedClasspathRelativePathsFound,
+                                    maskLog);
+                            scheduleAcceptedClassfiles(classpathElement, acceptedClassNamesFound,
+                                    classfileScanWorkItems);
+                        }
+                    }
+                }
+                if (!classfileScanWorkItems.isEmpty()) {
+                    final List<PipelinedScanWorkUnit> classfileParseWorkUnits = new ArrayList<>(
+                            classfileScanWorkItems.size());
+                    for (final ClassfileScanWorkUnit classfileScanWorkItem : classfileScanWorkItems) {
+                        classfileParseWorkUnits.add(new ClassfileParseWorkUnit(classfileScanWorkItem));
+                    }
+                    workQueue.addWorkUnits(classfileParseWorkUnits);
+                }
+            }
+        }
+
+        /**
+         * Undo classpath masking of classfiles, leaving out the given resources.
+         *
+         * @param maskedResources
+         *            the resources to leave out
+         */
+        synchronized void restoreUnmaskedClassfileResources(final Set<Resource> maskedResources) {
+            for (final Map.Entry<ClasspathElement, List<Resource>> ent : unmaskedClassfileResources.entrySet()) {
+                final List<Resource> acceptedClassfileResources = new ArrayList<>(ent.getValue().size());
+                for (final Resource res : ent.getValue()) {
+                    if (!maskedResources.contains(res)) {
+                        acceptedClassfileResources.add(res);
+                    }
+                }
+                ent.getKey().acceptedClassfileResources = acceptedClassfileResources;
+            }
+        }
+    }
+
+    /**
+     * Scan the paths within classpath elements and the classfiles within them in a single pipeline, producing the
+     * same {@link ScanResult} as {@link #performScan(List)}.
+     *
+     * <p>
+     * Masking of duplicate resources (resources that are the same file as a resource found earlier) can only be
+     * done once the paths within all classpath elements have been scanned, since it only compares resources whose
+     * relative paths collide. It usually does not affect which classfiles are scanned, since a later classfile at
+     * the same relative path has already been removed by classfile masking. It does when the same file was reached
+     * earlier under a different relative path that collides with another resource (e.g. through a symbolic link):
+     * then the parsed classfiles are discarded, and classfile masking and scanning are repeated in phases.
+     *
+     * @param finalClasspathEltOrder
+     *            the final classpath element order, before filtering by classpath element resource path
+     * @return the scan result
+     * @throws InterruptedException
+     *             if the scan was interrupted
+     * @throws ExecutionException
+     *             if the scan threw an uncaught exception
+     */
+    private ScanResult performPipelinedScan(final List<ClasspathElement> finalClasspathEltOrder)
+            throws InterruptedException, ExecutionException {
+        final List<ClasspathElement> finalClasspathEltOrderFiltered = new ArrayList<>(
+                finalClasspathEltOrder.size());
+        final Set<String> acceptedClassNamesFound = new HashSet<>();
+        final Queue<Classfile> scannedClassfiles = new ConcurrentLinkedQueue<>();
+        final var classfileWorkUnitProcessor = new ClassfileScannerWorkUnitProcessor(scanSpec,
+                finalClasspathEltOrderFiltered, unscannedModules,
+                Collections.unmodifiableSet(acceptedClassNamesFound), scannedClassfiles,
+                /* previousParsedClassfiles = */ null, /* parsedClassfiles = */ null, scanMetrics);
+        final var pipelinedScanWorkUnitProcessor = new PipelinedScanWorkUnitProcessor(scanSpec,
+                finalClasspathEltOrder, finalClasspathEltOrderFiltered, acceptedClassNamesFound,
+                classfileWorkUnitProcessor, topLevelLog == null ? null : topLevelLog.log("Masking classfiles"));
+
+        // In parallel, scan paths within each classpath element, and parse the accepted classfiles of each
+        // classpath element as soon as it has been masked
+        final List<PipelinedScanWorkUnit> pathScanWorkUnits = new ArrayList<>(finalClasspathEltOrder.size());
+        for (var classpathIdx = 0; classpathIdx < finalClasspathEltOrder.size(); classpathIdx++) {
+            pathScanWorkUnits.add(new PathScanWorkUnit(classpathIdx, finalClasspathEltOrder.get(classpathIdx)));
+        }
+        final var pathScanStart = System.nanoTime();
+        processWorkUnits(pathScanWorkUnits,
+                topLevelLog == null ? null : topLevelLog.log("Scanning classpath elements and classfiles"),
+                pipelinedScanWorkUnitProcessor);
+        scanMetrics.pathScanNanos.add(System.nanoTime() - pathScanStart);
+
+        // Mask duplicate resources, and check whether any parsed classfile was masked
+        final var maskingStart = System.nanoTime();
+        final Map<ClasspathElement, List<Resource>> parsedClassfileResources = new IdentityHashMap<>();
+        for (final ClasspathElement classpathElement : finalClasspathEltOrderFiltered) {
+            parsedClassfileResources.put(classpathElement, classpathElement.acceptedClassfileResources);
+        }
+        final var maskedResources = maskDuplicateResources(finalClasspathEltOrderFiltered,
+                topLevelLog == null ? null : topLevelLog.log("Masking duplicate resources"));
+        var parsedClassfileWasMasked = false;
+        if (!maskedResources.isEmpty()) {
+            for (final List<Resource> resources : parsedClassfileResources.values()) {
+                for (final Resource res : resources) {
+                    if (maskedResources.contains(res)) {
+                        parsedClassfileWasMasked = true;
+                        break;
+                    }
+                }
+            }
+        }
+        scanMetrics.maskingNanos.add(System.nanoTime() - maskingStart);
+
+        final Map<String, ClassInfo> classNameToClassInfo = new ConcurrentHashMap<>();
+        final Map<String, PackageInfo> packageNameToPackageInfo = new HashMap<>();
+        final Map<String, ModuleInfo> moduleNameToModuleInfo = new HashMap<>();
+        if (parsedClassfileWasMasked) {
+            // Repeat classfile masking and scanning without the masked resources
+            if (topLevelLog != null) {
+                topLevelLog.log("A parsed classfile was masked as a duplicate resource -- rescanning classfiles");
+            }
+            pipelinedScanWorkUnitProcessor.restoreUnmaskedClassfileResources(maskedResources);
+            final var remaskingStart = System.nanoTime();
+            maskClassfiles(finalClasspathEltOrderFiltered,
+                    topLevelLog == null ? null : topLevelLog.log("Masking classfiles"));
+            scanMetrics.maskingNanos.add(System.nanoTime() - remaskingStart);
+            scanClassfiles(finalClasspathEltOrderFiltered, classNameToClassInfo, packageNameToPackageInfo,
+                    moduleNameToModuleInfo);
+        } else {
+            // Every accepted class is known now, so scanning can be extended upwards to external classes
+            final Queue<ClassfileScanWorkUnit> externalClassfileScanWorkItems = new ConcurrentLinkedQueue<>();
+            final var classfileParseStart = System.nanoTime();
+            processWorkUnits(new ArrayList<>(scannedClassfiles),
+                    topLevelLog == null ? null : topLevelLog.log("Finding external classes"),
+                    (classfile, workQueueIgnored, logIgnored) -> externalClassfileScanWorkItems
+                            .addAll(classfile.extendScanningUpwardsDeferred()));
+            processWorkUnits(externalClassfileScanWorkItems,
+                    topLevelLog == null ? null : topLevelLog.log("Scanning external classfiles"),
+                    classfileWorkUnitProcessor);
+            scanMetrics.classfileParseNanos.add(System.nanoTime() - classfileParseStart);
+            linkClassfiles(scannedClassfiles, classNameToClassInfo, packageNameToPackageInfo,
+                    moduleNameToModuleInfo);
+        }
+
+        return newScanResult(finalClasspathEltOrderFiltered, classNameToClassInfo, packageNameToPackageInfo,
+                moduleNameToModuleInfo);
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+
     /**
      * Open each of the classpath elements, looking for additional child classpath elements that need scanning (e.g.
      * {@code Class-Path} entries in jar manifest files), then perform the scan if {@link #performScan} is true, or
@@ -1218,6 +1903,19 @@ class Scanner implements Callable<ScanResult> {
         // for each (possibly nested) jarfile, then will read the manifest file and zip entries.
         final Set<ClasspathElement> allClasspathElts = Collections.newSetFromMap(new ConcurrentHashMap<>());
         final Set<ClasspathElement> toplevelClasspathElts = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        final var elementOpenStart = System.nanoTime();
+
+        // In parallel, open each module, and find the file it is packaged as, so that the file can be compared to
+        // the classpath elements below without canonicalizing each path one after another
+        final Map<String, String> canonicalPathCache = new ConcurrentHashMap<>();
+        if (!moduleOrder.isEmpty()) {
+            processWorkUnits(moduleOrder, topLevelLog == null ? null : topLevelLog.log("Opening modules"),
+                    (classpathElementModule, workQueueIgnored, moduleLog) -> {
+                        classpathElementModule.open(/* ignored */ null, moduleLog);
+                        classpathElementModule.getFileIdentityKey(canonicalPathCache);
+                    });
+        }
+
         processWorkUnits(rawClasspathEntryWorkUnits,
                 topLevelLog == null ? null : topLevelLog.log("Opening classpath elements"),
                 newClasspathEntryWorkUnitProcessor(allClasspathElts, toplevelClasspathElts));
@@ -1242,7 +1940,6 @@ class Scanner implements Callable<ScanResult> {
         final var numElts = moduleOrder.size() + classpathEltOrder.size();
         final List<ClasspathElement> finalClasspathEltOrder = new ArrayList<>(numElts);
         final Set<String> fileIdentityKeys = new HashSet<>();
-        final Map<String, String> canonicalPathCache = new HashMap<>();
         var classpathOrderIdx = 0;
         for (final ClasspathElementModule classpathElt : moduleOrder) {
             final var fileIdentityKey = classpathElt.getFileIdentityKey(canonicalPathCache);
@@ -1271,12 +1968,119 @@ class Scanner implements Callable<ScanResult> {
                 classpathOrderLog.log(classpathElt.toString());
             }
         }
+        scanMetrics.elementOpenNanos.add(System.nanoTime() - elementOpenStart);
+
+        if (performScan && scanSpec.enableClassInfo && scanSpec.enablePipelinedScanning
+                && !scanSpec.enableIncrementalRescanning) {
+            // Scan paths within classpath elements and classfiles in a single pipeline, producing a ScanResult
+            return performPipelinedScan(finalClasspathEltOrder);
+        }
 
         // In parallel, scan paths within each classpath element, comparing them against accept/reject
+        final var pathScanStart = System.nanoTime();
         processWorkUnits(finalClasspathEltOrder,
                 topLevelLog == null ? null : topLevelLog.log("Scanning classpath elements"),
                 // Scan the paths within the classpath element
                 (classpathElement, workQueueIgnored, pathScanLog) -> classpathElement.scanPaths(pathScanLog));
+        scanMetrics.pathScanNanos.add(System.nanoTime() - pathScanStart);
+
+        return filterClasspathElementsThenScan(finalClasspathEltOrder);
+    }
+
+    /**
+     * Perform an incremental scan (see {@link ClassGraph#scanIncremental(ScanResult)}): restore the resources found
+     * within each classpath element by the scan before this one, scan the paths within the modified classpath
+     * elements again, then perform the scan, reusing each classfile that has not changed.
+     *
+     * @param previousScanState
+     *            what is reused from the scan before this one
+     * @return the scan result
+     * @throws InterruptedException
+     *             if the scan was interrupted
+     * @throws ExecutionException
+     *             if a worker threw an uncaught exception
+     */
+    private ScanResult performIncrementalScan(final IncrementalScanState previousScanState)
+            throws InterruptedException, ExecutionException {
+        // Classpath masking removed resources from the classpath elements, and the elements now need to be masked
+        // against each other again, so put back the resources that were found before masking
+        for (final ClasspathElement classpathElement : previousScanState.classpathOrder()) {
+            final var unmaskedResources = previousScanState.unmaskedResources().get(classpathElement);
+            if (unmaskedResources != null) {
+                classpathElement.acceptedResources.clear();
+                classpathElement.acceptedResources.addAll(unmaskedResources.acceptedResources());
+                classpathElement.acceptedClassfileResources = new ArrayList<>(
+                        unmaskedResources.acceptedClassfileResources());
+            }
+        }
+
+        // In parallel, scan the paths within each modified classpath element again -- just the changed paths, if
+        // which paths have changed is known, otherwise all of them
+        final var pathScanStart = System.nanoTime();
+        processWorkUnits(modifiedClasspathElements,
+                topLevelLog == null ? null : topLevelLog.log("Rescanning modified classpath elements"),
+                (modifiedClasspathElement, workQueueIgnored, pathScanLog) -> {
+                    final var classpathElement = modifiedClasspathElement.classpathElement();
+                    final var changedPaths = modifiedClasspathElement.changedPaths();
+                    if (changedPaths == null) {
+                        classpathElement.clearScannedPaths();
+                        classpathElement.scanPaths(pathScanLog);
+                    } else {
+                        ((ClasspathElementDir) classpathElement).rescanPaths(changedPaths, pathScanLog);
+                        // A changed file is parsed again even if its last modified time and length are unchanged,
+                        // since the filesystem timestamp may be too coarse to show the change
+                        for (final String changedPath : changedPaths) {
+                            previousScanState.parsedClassfiles().remove(
+                                    new ClassfileKey(classpathElement, changedPath, /* isExternalClass = */ false));
+                            previousScanState.parsedClassfiles().remove(
+                                    new ClassfileKey(classpathElement, changedPath, /* isExternalClass = */ true));
+                        }
+                    }
+                });
+        scanMetrics.pathScanNanos.add(System.nanoTime() - pathScanStart);
+
+        return filterClasspathElementsThenScan(previousScanState.classpathOrder());
+    }
+
+    /**
+     * Record the resources found within each classpath element before classpath masking removes any of them, so
+     * that the next incremental scan can restore them, if {@link ScanSpec#enableIncrementalRescanning} is true.
+     *
+     * @param finalClasspathEltOrder
+     *            the final classpath element order, before filtering
+     */
+    private void recordUnmaskedResources(final List<ClasspathElement> finalClasspathEltOrder) {
+        if (!scanSpec.enableIncrementalRescanning) {
+            return;
+        }
+        final Map<ClasspathElement, UnmaskedResources> unmaskedResources = new IdentityHashMap<>();
+        for (final ClasspathElement classpathElement : finalClasspathEltOrder) {
+            unmaskedResources.put(classpathElement,
+                    new UnmaskedResources(List.copyOf(classpathElement.acceptedResources),
+                            List.copyOf(classpathElement.acceptedClassfileResources)));
+        }
+        incrementalScanState = new IncrementalScanState(scanSpec, vfs, unscannedModules, finalClasspathEltOrder,
+                unmaskedResources, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Once the paths within each classpath element have been scanned, filter out the classpath elements that are
+     * not included by {@link ScanSpec#classpathElementResourcePathAcceptReject}, then perform the scan if
+     * {@link #performScan} is true, or just return the classpath if {@link #performScan} is false.
+     *
+     * @param finalClasspathEltOrder
+     *            the final classpath element order, before filtering
+     * @return the scan result
+     * @throws InterruptedException
+     *             if the scan was interrupted
+     * @throws ExecutionException
+     *             if a worker threw an uncaught exception
+     */
+    private ScanResult filterClasspathElementsThenScan(final List<ClasspathElement> finalClasspathEltOrder)
+            throws InterruptedException, ExecutionException {
+        if (performScan) {
+            recordUnmaskedResources(finalClasspathEltOrder);
+        }
 
         // Filter out classpath elements that contain a rejected resource path, or that do not contain a required
         // accepted resource path
@@ -1285,8 +2089,7 @@ class Scanner implements Callable<ScanResult> {
             final var acceptIsEmpty = scanSpec.classpathElementResourcePathAcceptReject.acceptIsEmpty();
             finalClasspathEltOrderFiltered = new ArrayList<>(finalClasspathEltOrder.size());
             for (final ClasspathElement classpathElement : finalClasspathEltOrder) {
-                if (!classpathElement.containsRejectedClasspathElementResourcePath && (acceptIsEmpty
-                        || classpathElement.containsSpecificallyAcceptedClasspathElementResourcePath)) {
+                if (isClasspathElementIncluded(classpathElement, acceptIsEmpty)) {
                     finalClasspathEltOrderFiltered.add(classpathElement);
                 }
             }
@@ -1329,7 +2132,10 @@ class Scanner implements Callable<ScanResult> {
         final var removeTemporaryFilesAfterScan = scanSpec.removeTemporaryFilesAfterScan;
         try {
             // Perform the scan
-            scanResult = openClasspathElementsThenScan();
+            scanResult = previousScanState != null ? performIncrementalScan(previousScanState)
+                    : openClasspathElementsThenScan();
+            scanResult.scanMetrics = scanMetrics.snapshot(System.nanoTime() - scanStart,
+                    scanResult.classpathOrder(), unscannedModules.getClasspathElements(), vfs);
 
             // Log total time after scan completes, and flush log
             if (topLevelLog != null) {
@@ -38,6 +38,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import io.github.classgraph.base.LogNode;
 import io.github.classgraph.base.internal.concurrency.InterruptionChecker;
@@ -79,6 +80,9 @@ final class WorkQueue<T> implements AutoCloseable {
     /** The log node. */
     private final @Nullable LogNode log;
 
+    /** The counter to add the time that workers spend waiting for a work unit to, or null if it is not measured. */
+    private final @Nullable LongAdder waitNanos;
+
     /**
      * A wrapper for work units (needed to send a poison pill as a null value, since BlockingQueue does not accept
      * null values).
@@ -153,6 +157,40 @@ final class WorkQueue<T> implements AutoCloseable {
     public static <U> void runWorkQueue(final Collection<U> elements, final ExecutorService executorService,
             final InterruptionChecker interruptionChecker, final int numParallelTasks, final @Nullable LogNode log,
             final WorkUnitProcessor<U> workUnitProcessor) throws InterruptedException, ExecutionException {
+        runWorkQueue(elements, executorService, interruptionChecker, numParallelTasks, /* waitNanos = */ null, log,
+                workUnitProcessor);
+    }
+
+    /**
+     * Start a work queue on the elements in the provided collection, blocking until all work units have been
+     * completed, and add the time that the workers spent waiting for a work unit to a counter.
+     *
+     * @param <U>
+     *            The type of the work queue units.
+     * @param elements
+     *            The work queue units to process.
+     * @param executorService
+     *            The {@link ExecutorService}.
+     * @param interruptionChecker
+     *            the interruption checker
+     * @param numParallelTasks
+     *            The number of parallel tasks.
+     * @param waitNanos
+     *            The counter to add the time that the workers spent waiting for a work unit to, in nanoseconds, or
+     *            null if it is not measured.
+     * @param log
+     *            The log.
+     * @param workUnitProcessor
+     *            The {@link WorkUnitProcessor}.
+     * @throws InterruptedException
+     *             If the work was interrupted.
+     * @throws ExecutionException
+     *             If a worker throws an uncaught exception.
+     */
+    public static <U> void runWorkQueue(final Collection<U> elements, final ExecutorService executorService,
+            final InterruptionChecker interruptionChecker, final int numParallelTasks,
+            final @Nullable LongAdder waitNanos, final @Nullable LogNode log,
+            final WorkUnitProcessor<U> workUnitProcessor) throws InterruptedException, ExecutionException {
         if (elements.isEmpty()) {
             // Nothing to do
             return;
@@ -160,7 +198,7 @@ final class WorkQueue<T> implements AutoCloseable {
         // WorkQueue#close() is called when this try-with-resources block terminates, initiating a barrier wait
         // while all worker threads complete.
         try (WorkQueue<U> workQueue = new WorkQueue<>(elements, workUnitProcessor, numParallelTasks,
-                interruptionChecker, log)) {
+                interruptionChecker, waitNanos, log)) {
             // Start (numParallelTasks - 1) worker threads (may start zero threads if numParallelTasks == 1)
             workQueue.startWorkers(executorService, numParallelTasks - 1);
             // Use the current thread to do work too, in case there is only one thread available in the
@@ -181,14 +219,18 @@ final class WorkQueue<T> implements AutoCloseable {
      *            the number of workers
      * @param interruptionChecker
      *            the interruption checker
+     * @param waitNanos
+     *            the counter to add the time that workers spend waiting for a work unit to, or null
      * @param log
      *            the log node, or null to skip logging
      */
     private WorkQueue(final Collection<T> initialWorkUnits, final WorkUnitProcessor<T> workUnitProcessor,
-            final int numWorkers, final InterruptionChecker interruptionChecker, final @Nullable LogNode log) {
+            final int numWorkers, final InterruptionChecker interruptionChecker,
+            final @Nullable LongAdder waitNanos, final @Nullable LogNode log) {
         this.workUnitProcessor = workUnitProcessor;
         this.numWorkers = numWorkers;
         this.interruptionChecker = interruptionChecker;
+        this.waitNanos = waitNanos;
         this.log = log;
         addWorkUnits(initialWorkUnits);
     }
@@ -241,8 +283,12 @@ final class WorkQueue<T> implements AutoCloseable {
                 // Check for interruption
                 interruptionChecker.check();
 
-                // Get next work unit
+                // Get next work unit, measuring how long the worker waits for it
+                final var waitStart = waitNanos == null ? 0L : System.nanoTime();
                 final var workUnit = workUnits.take().workUnit();
+                if (waitNanos != null) {
+                    waitNanos.add(System.nanoTime() - waitStart);
+                }
 
                 if (workUnit == null) {
                     // Received poison pill
@@ -0,0 +1,163 @@
+package io.github.classgraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link ScanResult#getClassesWithAnnotationParameterValue(Class, String, Object)} and
+ * {@link ScanResult#getMethodsWithAnnotationParameterValue(Class, String, Object)} find the same classes and
+ * methods as filtering the annotated classes by parameter value one by one.
+ */
+public class AnnotationParameterValueIndexTest {
+    /** A test annotation with a parameter of each kind that needs converting before it can be compared. */
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Topic {
+        /** @return the topic name. */
+        String name();
+
+        /** @return the partitions. */
+        int[] partitions() default { 0 };
+
+        /** @return the time unit. */
+        TimeUnit unit() default TimeUnit.SECONDS;
+
+        /** @return the payload class. */
+        Class<?> payload() default Object.class;
+    }
+
+    /** A repeatable test annotation. */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Repeatable(Tags.class)
+    public @interface Tag {
+        /** @return the tag. */
+        String value();
+    }
+
+    /** The container of {@link Tag}. */
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Tags {
+        /** @return the tags. */
+        Tag[] value();
+    }
+
+    /** A class with a topic that only uses defaults besides the name. */
+    @Topic(name = "orders")
+    public static class Orders {
+    }
+
+    /** A second class with the same topic name, and non-default values for the other parameters. */
+    @Topic(name = "orders", partitions = { 1, 2 }, unit = TimeUnit.MINUTES, payload = String.class)
+    public static class OrdersAgain {
+    }
+
+    /** A class with a different topic name. */
+    @Topic(name = "payments")
+    @Tag("a")
+    @Tag("b")
+    public static class Payments {
+    }
+
+    /** A class with annotated methods. */
+    public static class Handlers {
+        /** A handler. */
+        @Topic(name = "orders")
+        public void onOrder() {
+        }
+
+        /** Another handler. */
+        @Topic(name = "payments")
+        public void onPayment() {
+        }
+    }
+
+    /** The scan result the queries are run against. */
+    private static ScanResult scanResult;
+
+    /** Scan the test classes. */
+    @BeforeAll
+    static void scan() {
+        scanResult = new ClassGraph().acceptClasses(Topic.class.getName(), Tag.class.getName(),
+                Tags.class.getName(), Orders.class.getName(), OrdersAgain.class.getName(), Payments.class.getName(),
+                Handlers.class.getName()).enableMethodInfo().enableAnnotationInfo().scan();
+    }
+
+    /** Close the scan result. */
+    @AfterAll
+    static void closeScanResult() {
+        scanResult.close();
+    }
+
+    /** A string parameter selects exactly the classes with that value. */
+    @Test
+    public void classesAreFoundByStringValue() {
+        assertThat(scanResult.getClassesWithAnnotationParameterValue(Topic.class, "name", "orders").getNames())
+                .containsExactly(Orders.class.getName(), OrdersAgain.class.getName());
+        assertThat(scanResult.getClassesWithAnnotationParameterValue(Topic.class, "name", "payments").getNames())
+                .containsExactly(Payments.class.getName());
+        assertThat(scanResult.getClassesWithAnnotationParameterValue(Topic.class, "name", "none")).isEmpty();
+        assertThat(scanResult.getClassesWithAnnotationParameterValue(Topic.class, "noSuchParam", "orders"))
+                .isEmpty();
+    }
+
+    /** Default values are indexed, and arrays, enums and classes are matched by the value they hold. */
+    @Test
+    public void convertedAndDefaultValuesAreMatched() {
+        assertThat(scanResult.getClassesWithAnnotationParameterValue(Topic.class, "partitions", new int[] { 0 })
+                .getNames()).containsExactly(Orders.class.getName(), Payments.class.getName());
+        assertThat(
+                scanResult.getClassesWithAnnotationParameterValue(Topic.class, "partitions", new Integer[] { 1, 2 })
+                        .getNames())
+                .containsExactly(OrdersAgain.class.getName());
+        assertThat(
+                scanResult.getClassesWithAnnotationParameterValue(Topic.class, "unit", TimeUnit.MINUTES).getNames())
+                .containsExactly(OrdersAgain.class.getName());
+        assertThat(
+                scanResult.getClassesWithAnnotationParameterValue(Topic.class, "payload", String.class).getNames())
+                .containsExactly(OrdersAgain.class.getName());
+    }
+
+    /** The index agrees with filtering the annotated classes by parameter value. */
+    @Test
+    public void indexAgreesWithFiltering() {
+        final var filtered = scanResult.getClassesWithAnnotation(Topic.class).filter(
+                ci -> "orders".equals(ci.getAllAnnotationInfo(Topic.class).getParameterValues().getValue("name")));
+        assertThat(scanResult.getClassesWithAnnotationParameterValue(Topic.class.getName(), "name", "orders"))
+                .isEqualTo(filtered);
+    }
+
+    /** Each instance of a repeatable annotation is indexed. */
+    @Test
+    public void repeatableAnnotationInstancesAreEachIndexed() {
+        assertThat(scanResult.getClassesWithAnnotationParameterValue(Tag.class, "value", "a").getNames())
+                .containsExactly(Payments.class.getName());
+        assertThat(scanResult.getClassesWithAnnotationParameterValue(Tag.class, "value", "b").getNames())
+                .containsExactly(Payments.class.getName());
+    }
+
+    /** Methods are found by parameter value too. */
+    @Test
+    public void methodsAreFoundByValue() {
+        final var methods = scanResult.getMethodsWithAnnotationParameterValue(Topic.class, "name", "orders");
+        assertThat(methods).hasSize(1);
+        assertThat(methods.get(0).getName()).isEqualTo("onOrder");
+        assertThat(methods.get(0).getClassName()).isEqualTo(Handlers.class.getName());
+    }
+
+    /** The returned lists are unmodifiable, like every other list the scan result returns. */
+    @Test
+    public void returnedListsAreUnmodifiable() {
+        final var classes = scanResult.getClassesWithAnnotationParameterValue(Topic.class, "name", "orders");
+        assertThatThrownBy(classes::clear).isInstanceOf(UnsupportedOperationException.class);
+        final var methods = scanResult.getMethodsWithAnnotationParameterValue(Topic.class, "name", "orders");
+        assertThatThrownBy(methods::clear).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
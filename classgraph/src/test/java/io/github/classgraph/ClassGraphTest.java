@@ -6,6 +6,7 @@ import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
@@ -354,6 +355,99 @@ public class ClassGraphTest {
         }
     }
 
+    /**
+     * A jarfile that does not contain an accepted resource path is filtered out without being opened, unless it
+     * declares child classpath elements, which are still scanned.
+     *
+     * @param tempDir
+     *            a temporary directory to write the jars into.
+     * @throws IOException
+     *             if the jars could not be written.
+     */
+    @Test
+    public void jarsWithoutAnAcceptedResourceAreNotOpened(@TempDir final Path tempDir) throws IOException {
+        final var unrelatedJarFile = tempDir.resolve("unrelated.jar");
+        try (var jarOut = new JarOutputStream(Files.newOutputStream(unrelatedJarFile))) {
+            jarOut.putNextEntry(new JarEntry("res/unrelated.txt"));
+            jarOut.write("unrelated".getBytes(StandardCharsets.UTF_8));
+            jarOut.closeEntry();
+        }
+        final var childJarFile = Files.copy(jarFile, tempDir.resolve("child.jar"));
+        final var pathingJarFile = tempDir.resolve("pathing.jar");
+        final var manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, "child.jar");
+        new JarOutputStream(Files.newOutputStream(pathingJarFile), manifest).close();
+
+        final var messages = captureLog(() -> {
+            try (var scanResult = new ClassGraph().verbose()
+                    .overrideClasspath(unrelatedJarFile.toString(), pathingJarFile.toString())
+                    .acceptClasspathElementsContainingResourcePath("res/injar.txt").scan()) {
+                assertThat(scanResult.getAllResources().getPaths()).containsExactlyInAnyOrder("res/injar.txt",
+                        "com/xyz/cgfixture/InJar.class");
+                assertThat(scanResult.getClasspathURIs()).containsExactly(childJarFile.toUri());
+            }
+        });
+        final var skipped = String.join("\n", messages).lines()
+                .filter(line -> line.contains("declares no child classpath elements")).toList();
+        assertThat(skipped).hasSize(1);
+        assertThat(skipped.get(0)).contains("unrelated.jar");
+    }
+
+    /**
+     * A jarfile whose filter rules out every accepted package does not have its entries scanned, but its resources
+     * can still be looked up by path, and with the archive summary cache enabled, a later scan probes the jarfile
+     * from its cached summary rather than reading its central directory.
+     *
+     * @param tempDir
+     *            a temporary directory to write the jar into.
+     * @throws IOException
+     *             if the jar could not be written.
+     */
+    @Test
+    public void jarsWithoutAnAcceptedPackageAreNotWalked(@TempDir final Path tempDir) throws IOException {
+        final var unrelatedJarFile = tempDir.resolve("unrelated.jar");
+        try (var jarOut = new JarOutputStream(Files.newOutputStream(unrelatedJarFile))) {
+            for (final var path : List.of("res/unrelated.txt", "other/other.txt")) {
+                jarOut.putNextEntry(new JarEntry(path));
+                jarOut.write(path.getBytes(StandardCharsets.UTF_8));
+                jarOut.closeEntry();
+            }
+        }
+
+        final var messages = captureLog(() -> {
+            try (var scanResult = new ClassGraph().verbose().enableArchiveSummaryCache()
+                    .overrideClasspath(jarFile.toString(), unrelatedJarFile.toString()).acceptPackages(PACKAGE_NAME)
+                    .rejectPaths("other").scan()) {
+                assertThat(scanResult.getAllResources().getPaths())
+                        .containsExactly("com/xyz/cgfixture/InJar.class");
+                final var unrelatedResources = scanResult.getResourcesWithPathIgnoringAccept("res/unrelated.txt");
+                assertThat(unrelatedResources).hasSize(1);
+                assertThat(unrelatedResources.get(0).loadAsString()).isEqualTo("res/unrelated.txt");
+                // A rejected path is not found, just as if the jarfile's entries had been scanned
+                assertThat(scanResult.getResourcesWithPathIgnoringAccept("other/other.txt")).isEmpty();
+                assertThat(scanResult.getResourcesWithPathIgnoringAccept("res/missing.txt")).isEmpty();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertThat(String.join("\n", messages).lines()
+                .filter(line -> line.contains("entries do not need to be scanned")).count()).isEqualTo(1);
+
+        final var probeMessages = captureLog(() -> {
+            try (var scanResult = new ClassGraph().verbose().enableArchiveSummaryCache()
+                    .overrideClasspath(jarFile.toString(), unrelatedJarFile.toString())
+                    .acceptClasspathElementsContainingResourcePath("res/injar.txt").scan()) {
+                assertThat(scanResult.getClasspathURIs()).containsExactly(jarFile.toUri());
+            }
+        });
+        final var probeLog = String.join("\n", probeMessages).lines().toList();
+        assertThat(probeLog).anyMatch(
+                line -> line.contains("Probed jarfile from its cached summary") && line.contains("unrelated.jar"));
+        assertThat(probeLog).anyMatch(
+                line -> line.contains("declares no child classpath elements") && line.contains("unrelated.jar"));
+    }
+
     /** Paths can be rejected, but rejecting the package root would leave nothing to scan. */
     @Test
     public void pathsCanBeRejected() {
@@ -0,0 +1,87 @@
+package io.github.classgraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the classes named in the type descriptors of the field and method refs in a class' constant pool, and
+ * in its array class refs, are found as dependencies of the class.
+ */
+public class DescriptorDependencyTest {
+    /** The element type of an array-typed field. */
+    public static class FieldElement {
+    }
+
+    /** A parameter type, whose name has several 'L' characters in it. */
+    public static class LabelList {
+    }
+
+    /** A return type. */
+    public static class ReturnedValue {
+    }
+
+    /** The element type of a multi-dimensional array that is created. */
+    public static class GridCell {
+    }
+
+    /** A class with members that are only used through field and method refs. */
+    public static class Holder {
+        /** An array-typed field. */
+        public static FieldElement[] elements;
+
+        /**
+         * A method with a parameter and a return value of other classes.
+         *
+         * @param labels
+         *            the labels
+         * @return the value
+         */
+        public static ReturnedValue convert(final LabelList labels) {
+            return null;
+        }
+    }
+
+    /** A class that only refers to the other classes through field refs, method refs and array creation. */
+    public static class User {
+        /**
+         * Use the other classes.
+         *
+         * @return the number of array elements
+         */
+        public int use() {
+            Holder.convert(null);
+            final var grid = new GridCell[2][2];
+            return Holder.elements.length + grid.length;
+        }
+    }
+
+    /** The scan result. */
+    private static ScanResult scanResult;
+
+    /** Scan the test classes with inter-class dependencies enabled. */
+    @BeforeAll
+    static void scan() {
+        scanResult = new ClassGraph().acceptClasses(FieldElement.class.getName(), LabelList.class.getName(),
+                ReturnedValue.class.getName(), GridCell.class.getName(), Holder.class.getName(),
+                User.class.getName()).enableInterClassDependencies().scan();
+    }
+
+    /** Close the scan result. */
+    @AfterAll
+    static void closeScanResult() {
+        scanResult.close();
+    }
+
+    /** Classes named only inside field descriptors, method descriptors and array class refs are dependencies. */
+    @Test
+    public void classesNamedInDescriptorsAreDependencies() {
+        final var user = scanResult.getClassInfo(User.class.getName());
+        assertThat(user).isNotNull();
+        assertThat(user.getClassDependencies().getNames()).contains(Holder.class.getName(),
+                FieldElement.class.getName(), LabelList.class.getName(), ReturnedValue.class.getName(),
+                GridCell.class.getName());
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.classgraph;
+
+import static io.github.classgraph.ScanResultTestUtils.copyFromJar;
+import static io.github.classgraph.ScanResultTestUtils.summarize;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that {@link ClassGraph#scanIncremental(ScanResult)} produces the same {@link ScanResult} as a full scan
+ * after the classpath has been modified.
+ */
+public class IncrementalScanTest {
+    /**
+     * Create a {@link ClassGraph} instance that scans the given classpath, with incremental rescanning enabled.
+     *
+     * @param classpath
+     *            the classpath elements.
+     * @return the {@link ClassGraph} instance.
+     */
+    private static ClassGraph newClassGraph(final Path... classpath) {
+        final List<String> classpathElements = new ArrayList<>();
+        for (final var classpathElement : classpath) {
+            classpathElements.add(classpathElement.toString());
+        }
+        return new ClassGraph().overrideClasspath(classpathElements).enableAllInfo().enableExternalClasses()
+                .ignoreClassVisibility().ignoreMethodVisibility().ignoreFieldVisibility()
+                .enableIncrementalRescanning();
+    }
+
+    /**
+     * Move the last modified time of a file forward, so that it is seen as modified even on a filesystem with a
+     * coarse timestamp resolution.
+     *
+     * @param file
+     *            the file.
+     * @throws IOException
+     *             if the last modified time could not be set.
+     */
+    private static void touch(final Path file) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10_000L));
+    }
+
+    /**
+     * A classfile that is replaced, added or deleted in a directory is seen by the incremental scan, and the
+     * classfiles that did not change are reused rather than parsed again.
+     *
+     * @param tempDir
+     *            a temporary directory for the classpath elements.
+     * @throws IOException
+     *             if the classpath elements could not be written.
+     * @throws URISyntaxException
+     *             if a test jar's URL is not a valid URI.
+     */
+    @Test
+    public void modifiedDirectoryIsRescanned(@TempDir final Path tempDir) throws IOException, URISyntaxException {
+        final var dirA = Files.createDirectories(tempDir.resolve("a"));
+        final var dirB = Files.createDirectories(tempDir.resolve("b"));
+        copyFromJar("/record.jar", "pkg/Record.class", dirA.resolve("pkg/Record.class"));
+        copyFromJar("/issue100-has-field-a.zip", "issue100/Test.class", dirA.resolve("issue100/Test.class"));
+
+        final var classGraph = newClassGraph(dirA, dirB);
+        final var previous = classGraph.scan();
+        assertThat(previous.getClassInfo("issue100.Test").getFieldInfo().getNames()).containsExactly("a");
+        final var recordMethod = previous.getClassInfo("pkg.Record").getDeclaredMethodInfo().get(0);
+
+        // Replace one classfile, and add a classfile to the other directory that masks nothing
+        touch(copyFromJar("/issue100-has-field-b.zip", "issue100/Test.class", dirA.resolve("issue100/Test.class")));
+        touch(Files.copy(dirA.resolve("pkg/Record.class"),
+                Files.createDirectories(dirB.resolve("pkg")).resolve("Record.class")));
+
+        try (var scanResult = classGraph.scanIncremental(previous);
+                var fullScanResult = newClassGraph(dirA, dirB).scan()) {
+            assertThat(previous.isClosed()).isTrue();
+            assertThat(summarize(scanResult)).containsExactlyElementsOf(summarize(fullScanResult));
+            assertThat(scanResult.getClassInfo("issue100.Test").getFieldInfo().getNames()).containsExactly("b");
+            // The unchanged classfile was reused, and its ClassInfo now belongs to the new scan result
+            final var recordClassInfo = scanResult.getClassInfo("pkg.Record");
+            assertThat(recordClassInfo.getDeclaredMethodInfo().get(0)).isSameAs(recordMethod);
+            assertThat(recordMethod.getClassInfo()).isSameAs(recordClassInfo);
+            assertThat(recordClassInfo.getResource().getURI().toString()).contains("/a/");
+
+            // Delete the replaced classfile, then rescan again
+            Files.delete(dirA.resolve("issue100/Test.class"));
+            touch(dirA.resolve("pkg/Record.class"));
+            try (var nextScanResult = classGraph.scanIncremental(scanResult);
+                    var nextFullScanResult = newClassGraph(dirA, dirB).scan()) {
+                assertThat(summarize(nextScanResult)).containsExactlyElementsOf(summarize(nextFullScanResult));
+                assertThat(nextScanResult.getClassInfo("issue100.Test")).isNull();
+            }
+        }
+    }
+
+    /**
+     * An incremental scan of an unmodified classpath gives the same result as the scan before it.
+     *
+     * @param tempDir
+     *            a temporary directory for the classpath elements.
+     * @throws IOException
+     *             if the classpath elements could not be written.
+     * @throws URISyntaxException
+     *             if a test jar's URL is not a valid URI.
+     */
+    @Test
+    public void unmodifiedClasspathGivesTheSameResult(@TempDir final Path tempDir)
+            throws IOException, URISyntaxException {
+        final var dir = Files.createDirectories(tempDir.resolve("classes"));
+        copyFromJar("/record.jar", "pkg/Record.class", dir.resolve("pkg/Record.class"));
+        final var jar = Path.of(getClass().getResource("/issue100-has-field-a.zip").toURI());
+        final var classGraph = newClassGraph(dir, jar);
+        final var previous = classGraph.scan();
+        final var summary = summarize(previous);
+        try (var scanResult = classGraph.scanIncremental(previous)) {
+            assertThat(summarize(scanResult)).containsExactlyElementsOf(summary);
+        }
+    }
+
+    /**
+     * A modified jarfile cannot be rescanned in place, so a full scan is performed instead.
+     *
+     * @param tempDir
+     *            a temporary directory for the classpath elements.
+     * @throws IOException
+     *             if the classpath elements could not be written.
+     * @throws URISyntaxException
+     *             if a test jar's URL is not a valid URI.
+     */
+    @Test
+    public void modifiedJarfileFallsBackToFullScan(@TempDir final Path tempDir)
+            throws IOException, URISyntaxException {
+        final var dir = Files.createDirectories(tempDir.resolve("classes"));
+        copyFromJar("/record.jar", "pkg/Record.class", dir.resolve("pkg/Record.class"));
+        final var jar = tempDir.resolve("lib.zip");
+        Files.copy(Path.of(getClass().getResource("/issue100-has-field-a.zip").toURI()), jar);
+        final var classGraph = newClassGraph(dir, jar);
+        final var previous = classGraph.scan();
+
+        Files.copy(Path.of(getClass().getResource("/issue100-has-field-b.zip").toURI()), jar,
+                StandardCopyOption.REPLACE_EXISTING);
+        touch(jar);
+        try (var scanResult = classGraph.scanIncremental(previous);
+                var fullScanResult = newClassGraph(dir, jar).scan()) {
+            assertThat(previous.isClosed()).isTrue();
+            assertThat(summarize(scanResult)).containsExactlyElementsOf(summarize(fullScanResult));
+            assertThat(scanResult.getClassInfo("issue100.Test").getFieldInfo().getNames()).containsExactly("b");
+        }
+    }
+
+    /**
+     * A scan result from a scan without {@link ClassGraph#enableIncrementalRescanning()} is replaced by a full
+     * scan.
+     *
+     * @param tempDir
+     *            a temporary directory for the classpath elements.
+     * @throws IOException
+     *             if the classpath elements could not be written.
+     * @throws URISyntaxException
+     *             if a test jar's URL is not a valid URI.
+     */
+    @Test
+    public void scanWithoutIncrementalRescanningFallsBackToFullScan(@TempDir final Path tempDir)
+            throws IOException, URISyntaxException {
+        copyFromJar("/record.jar", "pkg/Record.class", tempDir.resolve("pkg/Record.class"));
+        final var classGraph = new ClassGraph().overrideClasspath(tempDir.toString()).enableClassInfo();
+        final var previous = classGraph.scan();
+        try (var scanResult = classGraph.scanIncremental(previous)) {
+            assertThat(previous.isClosed()).isTrue();
+            assertThat(scanResult.getClassInfo("pkg.Record")).isNotNull();
+        }
+    }
+}
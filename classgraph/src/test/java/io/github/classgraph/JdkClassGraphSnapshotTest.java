@@ -0,0 +1,99 @@
+package io.github.classgraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.annotation.Retention;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link ClassGraph#enableJdkClassGraphSnapshot()}. */
+public class JdkClassGraphSnapshotTest {
+    /** A class whose superclasses, interfaces and annotations are JDK classes. */
+    @Deprecated(since = "test")
+    public abstract static class JdkSubclass extends AbstractList<String> implements RandomAccess, Runnable {
+    }
+
+    /**
+     * Scan the test class, extending the scan upwards into the JDK.
+     *
+     * @param enableJdkClassGraphSnapshot
+     *            whether to enable the JDK class graph snapshot.
+     * @return the scan result.
+     */
+    private static ScanResult scan(final boolean enableJdkClassGraphSnapshot) {
+        final var classGraph = new ClassGraph().enableClassInfo().enableAnnotationInfo().enableExternalClasses()
+                .acceptClasses(JdkSubclass.class.getName());
+        if (enableJdkClassGraphSnapshot) {
+            classGraph.enableJdkClassGraphSnapshot();
+        }
+        return classGraph.scan();
+    }
+
+    /**
+     * Summarize the classes of a scan result, so that two scan results can be compared.
+     *
+     * @param scanResult
+     *            the scan result.
+     * @return the summary.
+     */
+    private static List<String> summarize(final ScanResult scanResult) {
+        final List<String> summary = new ArrayList<>();
+        for (final var classInfo : scanResult.getAllClasses()) {
+            final var superclass = classInfo.getSuperclass();
+            summary.add("class " + classInfo.getName() + " modifiers " + classInfo.getModifiers() + " extends "
+                    + (superclass == null ? null : superclass.getName()) + " implements "
+                    + classInfo.getDirectSuperinterfaces().getNames() + " annotations "
+                    + classInfo.getAllAnnotationInfo() + " defaults "
+                    + (classInfo.isAnnotation() ? classInfo.getAnnotationDefaultParameterValues() : null)
+                    + (classInfo.isExternalClass() ? " (external)" : ""));
+        }
+        return summary;
+    }
+
+    /**
+     * Get the number of classfiles that a scan parsed from the java.base module.
+     *
+     * @param scanResult
+     *            the scan result.
+     * @return the number of classfiles parsed from java.base.
+     */
+    private static long numClassfilesParsedFromJavaBase(final ScanResult scanResult) {
+        return scanResult.getScanMetrics().classpathElementMetrics().stream()
+                .filter(metrics -> metrics.classpathElement().equals("java.base"))
+                .mapToLong(ScanMetrics.ClasspathElementMetrics::numClassfilesParsed).sum();
+    }
+
+    /**
+     * A scan that builds the JDK classes from the snapshot gives the same result as a scan that reads their
+     * classfiles, without reading them again.
+     */
+    @Test
+    public void snapshotGivesTheSameClassGraph() {
+        try (var withoutSnapshot = scan(false); var first = scan(true); var second = scan(true)) {
+            final var summary = summarize(withoutSnapshot);
+            assertThat(summary).anyMatch(line -> line.startsWith("class java.util.AbstractCollection "))
+                    .anyMatch(line -> line.startsWith("class java.lang.Deprecated "));
+            assertThat(summarize(first)).containsExactlyElementsOf(summary);
+            assertThat(summarize(second)).containsExactlyElementsOf(summary);
+
+            // The second scan reads no classfile from java.base
+            assertThat(numClassfilesParsedFromJavaBase(withoutSnapshot)).isGreaterThan(0);
+            assertThat(numClassfilesParsedFromJavaBase(second)).isZero();
+            assertThat(second.getScanMetrics().numClassfilesParsed())
+                    .isLessThan(withoutSnapshot.getScanMetrics().numClassfilesParsed());
+
+            // The annotations built from the snapshot belong to the scan result they were built for
+            final var firstRetention = first.getClassInfo(Deprecated.class.getName()).getAllAnnotationInfo()
+                    .get(Retention.class.getName());
+            final var secondRetention = second.getClassInfo(Deprecated.class.getName()).getAllAnnotationInfo()
+                    .get(Retention.class.getName());
+            assertThat(secondRetention).isNotSameAs(firstRetention);
+            assertThat(secondRetention.getClassInfo()).isSameAs(second.getClassInfo(Retention.class.getName()));
+            assertThat(firstRetention.getClassInfo()).isSameAs(first.getClassInfo(Retention.class.getName()));
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package io.github.classgraph;
+
+import static io.github.classgraph.ScanResultTestUtils.copyFromJar;
+import static io.github.classgraph.ScanResultTestUtils.summarize;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that a {@link LiveScanResult} follows the changes to the directories on the classpath, giving the same
+ * {@link ScanResult} as a full scan would.
+ */
+public class LiveScanResultTest {
+    /** How long to wait for the watch service to report a change, in milliseconds. */
+    private static final long TIMEOUT_MILLIS = 30_000L;
+
+    /**
+     * Get the scan result from a {@link LiveScanResult} until it shows a change, since the watch service reports
+     * changes asynchronously, then check that it is the same as the result of a full scan.
+     *
+     * @param liveScanResult
+     *            the live scan result.
+     * @param configure
+     *            configures a {@link ClassGraph} instance for the full scan.
+     * @param isChanged
+     *            tests whether the scan result shows the change.
+     * @return the summary of the scan result.
+     * @throws InterruptedException
+     *             if interrupted while waiting.
+     */
+    private static List<String> awaitChange(final LiveScanResult liveScanResult,
+            final UnaryOperator<ClassGraph> configure, final Predicate<ScanResult> isChanged)
+            throws InterruptedException {
+        final var deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        var scanResult = liveScanResult.getScanResult();
+        while (!isChanged.test(scanResult) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            scanResult = liveScanResult.getScanResult();
+        }
+        assertThat(isChanged.test(scanResult)).isTrue();
+        final var summary = summarize(scanResult);
+        try (var fullScanResult = configure.apply(new ClassGraph()).scan()) {
+            assertThat(summary).containsExactlyElementsOf(summarize(fullScanResult));
+        }
+        return summary;
+    }
+
+    /**
+     * Classfiles and resources that are added, modified and deleted, including in a directory that is created after
+     * the scan, are seen by the live scan result.
+     *
+     * @param tempDir
+     *            a temporary directory for the classpath element.
+     * @throws Exception
+     *             if the classpath element could not be written.
+     */
+    @Test
+    public void followsChangesToDirectory(@TempDir final Path tempDir) throws Exception {
+        final var dir = Files.createDirectories(tempDir.resolve("classes"));
+        copyFromJar("/record.jar", "pkg/Record.class", dir.resolve("pkg/Record.class"));
+        final UnaryOperator<ClassGraph> configure = classGraph -> classGraph.overrideClasspath(dir.toString())
+                .enableClassInfo().enableFieldInfo().ignoreClassVisibility().ignoreFieldVisibility();
+
+        try (var liveScanResult = configure.apply(new ClassGraph()).scanLive()) {
+            final var first = liveScanResult.getScanResult();
+            assertThat(first.getClassInfo("pkg.Record")).isNotNull();
+            assertThat(liveScanResult.getScanResult()).isSameAs(first);
+
+            // Add a classfile
+            copyFromJar("/issue100-has-field-a.zip", "issue100/Test.class", dir.resolve("issue100/Test.class"));
+            awaitChange(liveScanResult, configure, scanResult -> scanResult.getClassInfo("issue100.Test") != null);
+            assertThat(first.isClosed()).isTrue();
+
+            // Modify it -- the two versions of the classfile have the same length
+            copyFromJar("/issue100-has-field-b.zip", "issue100/Test.class", dir.resolve("issue100/Test.class"));
+            awaitChange(liveScanResult, configure, scanResult -> scanResult.getClassInfo("issue100.Test")
+                    .getDeclaredFieldInfo().getNames().contains("b"));
+
+            // Add a resource and a classfile in a new directory, and delete the directory that held a classfile
+            Files.writeString(Files.createDirectories(dir.resolve("a/b")).resolve("file.txt"), "text");
+            copyFromJar("/record.jar", "pkg/Record.class", dir.resolve("a/b/Record.class"));
+            Files.delete(dir.resolve("issue100/Test.class"));
+            Files.delete(dir.resolve("issue100"));
+            final var summary = awaitChange(liveScanResult, configure,
+                    scanResult -> scanResult.getClassInfo("issue100.Test") == null
+                            && scanResult.getResourcesWithPath("a/b/file.txt").size() == 1
+                            && scanResult.getResourcesWithPath("a/b/Record.class").size() == 1);
+            assertThat(summary).anyMatch(line -> line.endsWith("/a/b/file.txt"));
+        }
+    }
+
+    /**
+     * Once a deleted file and a deleted directory have been rescanned, the classpath is no longer reported as
+     * modified since the scan, since the new last modified time of the directory that held them is recorded.
+     *
+     * @param tempDir
+     *            a temporary directory for the classpath element.
+     * @throws Exception
+     *             if the classpath element could not be written.
+     */
+    @Test
+    public void deletionIsNotReportedAsModifiedOnceRescanned(@TempDir final Path tempDir) throws Exception {
+        final var dir = Files.createDirectories(tempDir.resolve("classes"));
+        copyFromJar("/record.jar", "pkg/Record.class", dir.resolve("pkg/Record.class"));
+        Files.writeString(dir.resolve("pkg/file.txt"), "text");
+        Files.writeString(Files.createDirectories(dir.resolve("pkg/a/b")).resolve("file.txt"), "text");
+        final UnaryOperator<ClassGraph> configure = classGraph -> classGraph.overrideClasspath(dir.toString())
+                .enableClassInfo().ignoreClassVisibility();
+
+        try (var liveScanResult = configure.apply(new ClassGraph()).scanLive()) {
+            Files.delete(dir.resolve("pkg/file.txt"));
+            Files.delete(dir.resolve("pkg/a/b/file.txt"));
+            Files.delete(dir.resolve("pkg/a/b"));
+            Files.delete(dir.resolve("pkg/a"));
+            awaitChange(liveScanResult, configure,
+                    scanResult -> scanResult.getResourcesWithPath("pkg/file.txt").isEmpty()
+                            && scanResult.getResourcesWithPath("pkg/a/b/file.txt").isEmpty());
+            assertThat(liveScanResult.getScanResult().isClasspathContentsModifiedSinceScan()).isFalse();
+        }
+    }
+
+    /**
+     * Files that are added outside the accepted packages are not added to the live scan result.
+     *
+     * @param tempDir
+     *            a temporary directory for the classpath element.
+     * @throws Exception
+     *             if the classpath element could not be written.
+     */
+    @Test
+    public void followsOnlyAcceptedPackages(@TempDir final Path tempDir) throws Exception {
+        final var dir = Files.createDirectories(tempDir.resolve("classes"));
+        copyFromJar("/record.jar", "pkg/Record.class", dir.resolve("pkg/Record.class"));
+        final UnaryOperator<ClassGraph> configure = classGraph -> classGraph.overrideClasspath(dir.toString())
+                .acceptPackages("pkg").enableClassInfo().enableFieldInfo().ignoreClassVisibility();
+
+        try (var liveScanResult = configure.apply(new ClassGraph()).scanLive()) {
+            copyFromJar("/issue100-has-field-a.zip", "issue100/Test.class", dir.resolve("issue100/Test.class"));
+            Files.writeString(dir.resolve("pkg/file.txt"), "text");
+            final var summary = awaitChange(liveScanResult, configure,
+                    scanResult -> scanResult.getResourcesWithPath("pkg/file.txt").size() == 1);
+            assertThat(summary).noneMatch(line -> line.contains("issue100"));
+        }
+    }
+
+    /**
+     * A rescan that fails after it has taken over the scan result does not leave the live scan result broken: the
+     * next call scans the classpath again, and sees the change that the failed rescan was to pick up.
+     *
+     * @param tempDir
+     *            a temporary directory for the classpath element.
+     * @throws Exception
+     *             if the classpath element could not be written.
+     */
+    @Test
+    public void recoversFromFailedRescan(@TempDir final Path tempDir) throws Exception {
+        final var dir = Files.createDirectories(tempDir.resolve("classes"));
+        copyFromJar("/record.jar", "pkg/Record.class", dir.resolve("pkg/Record.class"));
+        final UnaryOperator<ClassGraph> configure = classGraph -> classGraph.overrideClasspath(dir.toString())
+                .enableClassInfo().enableFieldInfo().ignoreClassVisibility().ignoreFieldVisibility();
+
+        try (var liveScanResult = configure.apply(new ClassGraph()).scanLive()) {
+            var current = liveScanResult.getScanResult();
+            copyFromJar("/issue100-has-field-a.zip", "issue100/Test.class", dir.resolve("issue100/Test.class"));
+
+            // Interrupt the rescan, once the watch service has reported the change (until then, there is nothing
+            // to rescan, so the interrupt is not noticed, and is cleared again)
+            final var deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            var failed = false;
+            var fieldB = true;
+            while (!failed && System.currentTimeMillis() < deadline) {
+                Thread.currentThread().interrupt();
+                try {
+                    final var scanResult = liveScanResult.getScanResult();
+                    Thread.interrupted();
+                    if (scanResult != current) {
+                        // The rescan completed before the interrupt was noticed (waiting for a scan that has
+                        // already completed does not check for interruption) -- change the classfile and try again
+                        assertThat(current.isClosed()).isTrue();
+                        current = scanResult;
+                        copyFromJar(fieldB ? "/issue100-has-field-b.zip" : "/issue100-has-field-a.zip",
+                                "issue100/Test.class", dir.resolve("issue100/Test.class"));
+                        fieldB = !fieldB;
+                    }
+                    Thread.sleep(20);
+                } catch (final ClassGraphException e) {
+                    Thread.interrupted();
+                    failed = true;
+                }
+            }
+            assertThat(failed).isTrue();
+            assertThat(current.isClosed()).isTrue();
+
+            awaitChange(liveScanResult, configure, scanResult -> scanResult.getClassInfo("issue100.Test") != null);
+
+            // The directories are watched again after the full scan
+            Files.delete(dir.resolve("issue100/Test.class"));
+            awaitChange(liveScanResult, configure, scanResult -> scanResult.getClassInfo("issue100.Test") == null);
+        }
+    }
+
+    /**
+     * Closing the live scan result closes its scan result.
+     *
+     * @param tempDir
+     *            a temporary directory for the classpath element.
+     * @throws Exception
+     *             if the classpath element could not be written.
+     */
+    @Test
+    public void closeClosesScanResult(@TempDir final Path tempDir) throws Exception {
+        copyFromJar("/record.jar", "pkg/Record.class", tempDir.resolve("pkg/Record.class"));
+        final var liveScanResult = new ClassGraph().overrideClasspath(tempDir.toString()).enableClassInfo()
+                .scanLive();
+        final var scanResult = liveScanResult.getScanResult();
+        liveScanResult.close();
+        assertThat(scanResult.isClosed()).isTrue();
+        assertThatThrownBy(liveScanResult::getScanResult).isInstanceOf(IllegalStateException.class);
+    }
+}
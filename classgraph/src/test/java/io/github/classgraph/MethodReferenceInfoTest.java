@@ -0,0 +1,196 @@
+package io.github.classgraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.classgraph.MemberReference.Kind;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link ClassGraph#enableMethodReferenceInfo()} finds the methods invoked, fields accessed and classes
+ * instantiated by each method body, and that {@link ScanResult#getMethodsInvoking(String, String)} etc. find the
+ * methods that reference them.
+ */
+public class MethodReferenceInfoTest {
+    /** A listener interface, invoked through {@code invokeinterface}. */
+    public interface Listener {
+        /**
+         * Called on a change.
+         *
+         * @param value
+         *            the new value.
+         */
+        void onChange(int value);
+    }
+
+    /** A class whose members are referenced. */
+    public static class Counter {
+        /** The count. */
+        public int count;
+
+        /** The number of instances. */
+        public static int instances;
+
+        /** Increment the count. */
+        public void increment() {
+            count++;
+        }
+    }
+
+    /** A class whose methods reference the members of {@link Counter}. */
+    public static class User {
+        /** A static field, initialized by a static initializer block. */
+        static final List<String> NAMES = new ArrayList<>();
+
+        /**
+         * Reference the members of a counter.
+         *
+         * @param counter
+         *            the counter.
+         * @param listener
+         *            the listener.
+         * @return a new counter.
+         */
+        public Counter run(final Counter counter, final Listener listener) {
+            counter.increment();
+            counter.increment();
+            listener.onChange(counter.count);
+            Counter.instances = 1;
+            return new Counter();
+        }
+
+        /**
+         * Switch over a value, so that the instruction walker has to step over a tableswitch and a lookupswitch,
+         * with their padding, before it reaches the call at the end.
+         *
+         * @param value
+         *            the value.
+         * @return a string.
+         */
+        public String switches(final int value) {
+            int result;
+            switch (value) {
+            case 0 -> result = 10;
+            case 1 -> result = 11;
+            case 2 -> result = 12;
+            case 3 -> result = 13;
+            default -> result = 0;
+            }
+            switch (value) {
+            case 1 -> result += 1;
+            case 1000 -> result += 2;
+            case 1000000 -> result += 3;
+            default -> result += 4;
+            }
+            return String.valueOf(result);
+        }
+    }
+
+    /** The scan result the queries are run against. */
+    private static ScanResult scanResult;
+
+    /** Scan the test classes. */
+    @BeforeAll
+    static void scan() {
+        scanResult = new ClassGraph()
+                .acceptClasses(Listener.class.getName(), Counter.class.getName(), User.class.getName())
+                .enableMethodReferenceInfo().ignoreMethodVisibility().scan();
+    }
+
+    /** Close the scan result. */
+    @AfterAll
+    static void closeScanResult() {
+        scanResult.close();
+    }
+
+    /**
+     * Get the single declared method or static initializer block of the given class with the given name.
+     *
+     * @param cls
+     *            the class.
+     * @param methodName
+     *            the method name.
+     * @return the method info.
+     */
+    private static MethodInfo method(final Class<?> cls, final String methodName) {
+        final var classInfo = scanResult.getClassInfo(cls.getName());
+        assertThat(classInfo).isNotNull();
+        final var methods = classInfo.getDeclaredMethodInfo(methodName);
+        assertThat(methods).hasSize(1);
+        return methods.get(0);
+    }
+
+    /** Each distinct invoked method is listed once, with the kind of instruction that invokes it. */
+    @Test
+    public void invokedMethodsAreFound() {
+        final var invoked = method(User.class, "run").getInvokedMethods();
+        assertThat(invoked).extracting(MemberReference::getClassName, MemberReference::getName,
+                MemberReference::getTypeDescriptorStr, MemberReference::getKind).containsExactly( //
+                        tuple(Counter.class.getName(), "<init>", "()V", Kind.INVOKESPECIAL),
+                        tuple(Counter.class.getName(), "increment", "()V", Kind.INVOKEVIRTUAL),
+                        tuple(Listener.class.getName(), "onChange", "(I)V", Kind.INVOKEINTERFACE));
+        assertThat(invoked.get(1).getClassInfo()).isEqualTo(scanResult.getClassInfo(Counter.class.getName()));
+    }
+
+    /** Field reads and writes are found, and instantiated classes are listed by name. */
+    @Test
+    public void fieldAccessesAndInstantiationsAreFound() {
+        final var run = method(User.class, "run");
+        assertThat(run.getFieldAccesses()).extracting(MemberReference::getName, MemberReference::getKind)
+                .containsExactly(tuple("count", Kind.GETFIELD), tuple("instances", Kind.PUTSTATIC));
+        assertThat(run.getInstantiatedClassNames()).containsExactly(Counter.class.getName());
+        assertThat(method(Counter.class, "increment").getFieldAccesses()).extracting(MemberReference::getKind)
+                .containsExactly(Kind.GETFIELD, Kind.PUTFIELD);
+    }
+
+    /** Instructions after a tableswitch and a lookupswitch are still found. */
+    @Test
+    public void switchesAreSteppedOver() {
+        assertThat(method(User.class, "switches").getInvokedMethods()).extracting(MemberReference::getName)
+                .containsExactly("valueOf");
+    }
+
+    /** The reverse lookups find the referencing methods, including static initializer blocks. */
+    @Test
+    public void reverseLookupsFindReferencingMethods() {
+        assertThat(scanResult.getMethodsInvoking(Counter.class.getName(), "increment"))
+                .containsExactly(method(User.class, "run"));
+        assertThat(scanResult.getMethodsAccessingField(Counter.class.getName(), "count"))
+                .containsExactly(method(Counter.class, "increment"), method(User.class, "run"));
+        assertThat(scanResult.getMethodsInstantiating(ArrayList.class.getName()))
+                .containsExactly(method(User.class, "<clinit>"));
+        assertThat(scanResult.getMethodsInvoking(Counter.class.getName(), "noSuchMethod")).isEmpty();
+    }
+
+    /** The reference queries throw if method reference info was not enabled. */
+    @Test
+    public void queriesThrowIfNotEnabled() {
+        try (var otherScanResult = new ClassGraph().acceptClasses(User.class.getName()).enableMethodInfo().scan()) {
+            final var run = otherScanResult.getClassInfo(User.class.getName()).getDeclaredMethodInfo("run").get(0);
+            assertThatThrownBy(run::getInvokedMethods).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> otherScanResult.getMethodsInstantiating(Counter.class.getName()))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(otherScanResult.isMethodReferenceInfoEnabled()).isFalse();
+        }
+    }
+
+    /** Real-world bytecode is walked without error. */
+    @Test
+    public void jdkMethodBodiesAreWalked() {
+        try (var jdkScanResult = new ClassGraph().enableSystemJarsAndModules()
+                .acceptPackagesNonRecursive("java.util").enableMethodReferenceInfo().ignoreMethodVisibility()
+                .scan()) {
+            final var hashMap = jdkScanResult.getClassInfo("java.util.HashMap");
+            assertThat(hashMap).isNotNull();
+            final var put = hashMap.getDeclaredMethodInfo("put").get(0);
+            assertThat(put.getInvokedMethods()).extracting(MemberReference::getName).contains("putVal");
+            assertThat(jdkScanResult.getMethodsInvoking("java.util.HashMap", "putVal")).contains(put);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.classgraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Classpath masking runs in parallel across classpath elements when there is more than one worker thread. The
+ * masking decisions must be the same as when the classpath elements are visited one at a time, in order.
+ */
+public class ParallelMaskingTest {
+    /**
+     * Scan the given classpath with the given number of threads, and list the classes found and the resources
+     * found.
+     *
+     * @param classpath
+     *            the classpath.
+     * @param numThreads
+     *            the number of worker threads (1 masks one classpath element at a time).
+     * @return the classes and the resources, as one line per class or resource.
+     */
+    private static List<String> scan(final List<Path> classpath, final int numThreads) {
+        final List<String> found = new ArrayList<>();
+        try (var scanResult = new ClassGraph().overrideClasspath(classpath).enableClassInfo().scan(numThreads)) {
+            for (final var classInfo : scanResult.getAllClasses()) {
+                found.add("class " + classInfo.getName() + " " + classInfo.getClasspathElementURI());
+            }
+            for (final var resource : scanResult.getAllResources()) {
+                found.add("resource " + resource.getURI());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Classfiles masked by relative path, and resources masked as the same file as an earlier resource, are the
+     * same whether or not masking runs in parallel.
+     *
+     * @param tempDir
+     *            a temporary directory for the classpath elements.
+     * @throws IOException
+     *             if the classpath elements could not be written.
+     * @throws URISyntaxException
+     *             if the test jar's URL is not a valid URI.
+     */
+    @Test
+    public void parallelMaskingMatchesSerialMasking(@TempDir final Path tempDir)
+            throws IOException, URISyntaxException {
+        final List<Path> classpath = new ArrayList<>();
+        for (var i = 0; i < 6; i++) {
+            classpath.add(Files.createDirectories(tempDir.resolve("dir" + i + "/pkg")).getParent());
+        }
+        try (var jarFs = FileSystems.newFileSystem(Path.of(getClass().getResource("/record.jar").toURI()))) {
+            final var classfile = jarFs.getPath("pkg/Record.class");
+            // The class is defined in dir1, dir2 and dir4; only the definition in dir1 is scanned
+            Files.copy(classfile, classpath.get(1).resolve("pkg/Record.class"));
+            Files.copy(classfile, classpath.get(2).resolve("pkg/Record.class"));
+            Files.copy(classfile, classpath.get(4).resolve("pkg/Record.class"));
+        }
+        // dir0/res.txt and dir3/res.txt are different files, but dir2/res.txt and dir5/res.txt are the same file as
+        // dir0/res.txt, so they are masked
+        Files.writeString(classpath.get(0).resolve("res.txt"), "0");
+        Files.writeString(classpath.get(3).resolve("res.txt"), "3");
+        Files.createSymbolicLink(classpath.get(2).resolve("res.txt"), classpath.get(0).resolve("res.txt"));
+        Files.createSymbolicLink(classpath.get(5).resolve("res.txt"), classpath.get(0).resolve("res.txt"));
+
+        final var serial = scan(classpath, 1);
+        assertThat(scan(classpath, 4)).containsExactlyElementsOf(serial);
+        assertThat(serial).filteredOn(line -> line.startsWith("class ")).singleElement().asString()
+                .contains("/dir1");
+        assertThat(serial).filteredOn(line -> line.endsWith("res.txt")).hasSize(2)
+                .anyMatch(line -> line.contains("/dir0/")).anyMatch(line -> line.contains("/dir3/"));
+        // Resources with the same relative path in different classpath elements are all kept, if they are
+        // different files
+        assertThat(serial).filteredOn(line -> line.endsWith("Record.class")).hasSize(3);
+    }
+
+    /** Masking the classes of the JDK's modules gives the same result in parallel as one at a time. */
+    @Test
+    public void systemModulesMaskTheSame() {
+        final List<String> serial;
+        try (var scanResult = new ClassGraph().enableSystemJarsAndModules().acceptPackages("java.util")
+                .enableClassInfo().scan(1)) {
+            serial = scanResult.getAllClasses().getNames();
+        }
+        try (var scanResult = new ClassGraph().enableSystemJarsAndModules().acceptPackages("java.util")
+                .enableClassInfo().scan(4)) {
+            assertThat(scanResult.getAllClasses().getNames()).containsExactlyElementsOf(serial);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.classgraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that {@link ClassGraph#enablePipelinedScanning()} produces the same {@link ScanResult} as a scan without
+ * pipelining.
+ */
+public class PipelinedScanningTest {
+    /**
+     * Summarize a scan result as a list of strings, one per class and one per resource, so that two scan results
+     * can be compared.
+     *
+     * @param scanResult
+     *            the scan result.
+     * @return the summary.
+     */
+    private static List<String> summarize(final ScanResult scanResult) {
+        final List<String> summary = new ArrayList<>();
+        for (final var classInfo : scanResult.getAllClasses()) {
+            final var superclass = classInfo.getSuperclass();
+            final var classfileResource = classInfo.getResource();
+            summary.add("class " + classInfo.getName() + " extends "
+                    + (superclass == null ? null : superclass.getName()) + " implements "
+                    + classInfo.getDirectSuperinterfaces().getNames() + " in "
+                    + (classfileResource == null ? null : classfileResource.getURI())
+                    + (classInfo.isExternalClass() ? " (external)" : ""));
+        }
+        for (final var resource : scanResult.getAllResources()) {
+            summary.add("resource " + resource.getURI());
+        }
+        summary.add("classpath " + scanResult.getClasspathURIs());
+        return summary;
+    }
+
+    /**
+     * Scan with and without pipelining, and check that the results are the same.
+     *
+     * @param configure
+     *            configures the {@link ClassGraph} instance for both scans.
+     * @return the summary of the scan results.
+     */
+    private static List<String> scanBothWays(final UnaryOperator<ClassGraph> configure) {
+        List<String> phased;
+        try (var scanResult = configure.apply(new ClassGraph()).scan()) {
+            phased = summarize(scanResult);
+        }
+        try (var scanResult = configure.apply(new ClassGraph()).enablePipelinedScanning().scan()) {
+            assertThat(summarize(scanResult)).containsExactlyElementsOf(phased);
+        }
+        return phased;
+    }
+
+    /** Scanning a package gives the same classes, external classes and resources with or without pipelining. */
+    @Test
+    public void packageScanIsTheSame() {
+        final var summary = scanBothWays(classGraph -> classGraph.acceptPackages("io.github.classgraph.issues")
+                .enableClassInfo().enableAnnotationInfo().enableExternalClasses().ignoreClassVisibility());
+        assertThat(summary).anyMatch(line -> line.endsWith("(external)"));
+    }
+
+    /** An earlier definition of a class masks a later definition, with or without pipelining. */
+    @Test
+    public void maskingIsTheSame() throws URISyntaxException {
+        final var a = Path.of(getClass().getResource("/issue100-has-field-a.zip").toURI()).toString();
+        final var b = Path.of(getClass().getResource("/issue100-has-field-b.zip").toURI()).toString();
+        scanBothWays(classGraph -> classGraph.overrideClasspath(a, b).enableAllInfo());
+        scanBothWays(classGraph -> classGraph.overrideClasspath(b, a).enableAllInfo());
+        try (var scanResult = new ClassGraph().overrideClasspath(b, a).enableAllInfo().enablePipelinedScanning()
+                .scan()) {
+            assertThat(scanResult.getClassInfo("issue100.Test").getFieldInfo().getNames()).containsExactly("b");
+        }
+    }
+
+    /**
+     * A classfile that is masked as a duplicate resource (the same file as a resource found earlier, reached
+     * through a different relative path) rather than by its relative path still gives the same result.
+     *
+     * @param tempDir
+     *            a temporary directory for the classpath elements.
+     * @throws IOException
+     *             if the classpath elements could not be written.
+     * @throws URISyntaxException
+     *             if the test jar's URL is not a valid URI.
+     */
+    @Test
+    public void classfileMaskedAsDuplicateResourceIsTheSame(@TempDir final Path tempDir)
+            throws IOException, URISyntaxException {
+        final var dirA = Files.createDirectories(tempDir.resolve("a/pkg")).getParent();
+        final var dirB = Files.createDirectories(tempDir.resolve("b"));
+        final var dirC = Files.createDirectories(tempDir.resolve("c/pkg")).getParent();
+        try (var jarFs = FileSystems.newFileSystem(Path.of(getClass().getResource("/record.jar").toURI()))) {
+            final var classfile = jarFs.getPath("pkg/Record.class");
+            Files.copy(classfile, dirA.resolve("pkg/Record.class"));
+            Files.copy(classfile, dirC.resolve("pkg/Record.class"));
+            Files.copy(classfile, dirC.resolve("Record.class"));
+        }
+        // b/Record.class is the same file as a/pkg/Record.class, and c/Record.class makes its path collide
+        Files.createSymbolicLink(dirB.resolve("Record.class"), dirA.resolve("pkg/Record.class"));
+
+        final var summary = scanBothWays(
+                classGraph -> classGraph.overrideClasspath(dirA.toString(), dirB.toString(), dirC.toString())
+                        .enableClassInfo().ignoreClassVisibility());
+        assertThat(summary).anyMatch(line -> line.startsWith("class pkg.Record ") && line.contains("/a/"));
+        assertThat(summary).noneMatch(line -> line.contains("/b/Record.class"));
+    }
+
+    /**
+     * A classfile that the pipeline has already parsed as the first definition of its class, but that duplicate
+     * resource masking then removes, gives way to the next definition of the class, as it does without pipelining.
+     * Duplicate resource masking only compares resources whose relative paths collide, and classfile masking has
+     * already removed every later classfile at the same relative path, so this needs the same file to also be
+     * reached earlier in the classpath under a different relative path, which itself collides with another
+     * resource.
+     *
+     * @param tempDir
+     *            a temporary directory for the classpath elements.
+     * @throws IOException
+     *             if the classpath elements could not be written.
+     * @throws URISyntaxException
+     *             if the test jar's URL is not a valid URI.
+     */
+    @Test
+    public void parsedClassfileMaskedAsDuplicateResourceGivesWay(@TempDir final Path tempDir)
+            throws IOException, URISyntaxException {
+        final var dirA = Files.createDirectories(tempDir.resolve("a"));
+        final var dirB = Files.createDirectories(tempDir.resolve("b/pkg")).getParent();
+        final var dirC = Files.createDirectories(tempDir.resolve("c/pkg")).getParent();
+        try (var jarFs = FileSystems.newFileSystem(Path.of(getClass().getResource("/record.jar").toURI()))) {
+            final var classfile = jarFs.getPath("pkg/Record.class");
+            Files.copy(classfile, dirB.resolve("pkg/Record.class"));
+            Files.copy(classfile, dirC.resolve("pkg/Record.class"));
+            Files.copy(classfile, dirC.resolve("Record.class"));
+        }
+        // a/Record.class is the same file as b/pkg/Record.class, and c/Record.class makes its path collide, so
+        // b/pkg/Record.class is masked as a duplicate resource once c has been scanned, after the pipeline parsed it
+        Files.createSymbolicLink(dirA.resolve("Record.class"), dirB.resolve("pkg/Record.class"));
+
+        final var summary = scanBothWays(
+                classGraph -> classGraph.overrideClasspath(dirA.toString(), dirB.toString(), dirC.toString())
+                        .enableClassInfo().ignoreClassVisibility());
+        assertThat(summary).anyMatch(line -> line.startsWith("class pkg.Record ") && line.contains("/c/"));
+    }
+}
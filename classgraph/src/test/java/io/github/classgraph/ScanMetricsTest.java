@@ -0,0 +1,99 @@
+package io.github.classgraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.classgraph.ScanMetrics.ClasspathElementMetrics;
+
+/**
+ * Tests {@link ScanResult#getScanMetrics()}.
+ */
+public class ScanMetricsTest {
+    /**
+     * Get the path of a test resource.
+     *
+     * @param resourceName
+     *            the name of the resource.
+     * @return the path.
+     * @throws URISyntaxException
+     *             if the resource's URL is not a valid URI.
+     */
+    private Path resourcePath(final String resourceName) throws URISyntaxException {
+        return Path.of(getClass().getResource(resourceName).toURI());
+    }
+
+    /**
+     * The classfiles parsed and the bytes read and inflated are counted for each classpath element, and the phase
+     * times add up to no more than the total time.
+     *
+     * @throws URISyntaxException
+     *             if the test jar's URL is not a valid URI.
+     */
+    @Test
+    public void countsClassfilesAndBytesPerClasspathElement() throws URISyntaxException {
+        final var jar = resourcePath("/record.jar");
+        final ScanMetrics metrics;
+        try (var scanResult = new ClassGraph().overrideClasspath(jar.toString()).enableClassInfo().scan()) {
+            assertThat(scanResult.getClassInfo("pkg.Record")).isNotNull();
+            metrics = scanResult.getScanMetrics();
+        }
+
+        final var jarMetrics = metrics.classpathElementMetrics().get(0);
+        assertThat(jarMetrics.classpathElement()).endsWith("record.jar");
+        // pkg/Record.class is 1074 bytes, deflated to 535 bytes
+        assertThat(jarMetrics.numClassfilesParsed()).isEqualTo(1L);
+        assertThat(jarMetrics.bytesRead()).isEqualTo(535L);
+        assertThat(jarMetrics.bytesInflated()).isEqualTo(1074L);
+        assertThat(metrics.numClassfilesParsed()).isEqualTo(metrics.classpathElementMetrics().stream()
+                .mapToLong(ClasspathElementMetrics::numClassfilesParsed).sum());
+        assertThat(metrics.peakBufferedArchiveBytes()).isZero();
+
+        assertThat(metrics.classpathDiscoveryNanos()).isPositive();
+        assertThat(metrics.elementOpenNanos()).isPositive();
+        assertThat(metrics.pathScanNanos()).isPositive();
+        assertThat(metrics.classfileParseNanos()).isPositive();
+        assertThat(metrics.linkNanos()).isPositive();
+        assertThat(metrics.classpathDiscoveryNanos() + metrics.elementOpenNanos() + metrics.pathScanNanos()
+                + metrics.maskingNanos() + metrics.classfileParseNanos() + metrics.linkNanos())
+                .isLessThanOrEqualTo(metrics.totalNanos());
+        assertThat(metrics.workQueueWaitNanos()).isNotNegative();
+    }
+
+    /**
+     * A deflated nested jarfile is inflated into RAM, and counted in the peak number of bytes buffered in RAM.
+     *
+     * @throws URISyntaxException
+     *             if the test jar's URL is not a valid URI.
+     */
+    @Test
+    public void countsNestedJarfilesBufferedInRAM() throws URISyntaxException {
+        final var nestedJar = resourcePath("/issue400-nested-deflated.jar") + "!/BOOT-INF/lib/nested-0001.jar";
+        try (var scanResult = new ClassGraph().overrideClasspath(nestedJar).enableClassInfo().scan()) {
+            // The nested jarfile is an empty zipfile of 22 bytes
+            assertThat(scanResult.getScanMetrics().peakBufferedArchiveBytes()).isEqualTo(22L);
+        }
+    }
+
+    /**
+     * An incremental scan only counts the classfiles that it parsed again.
+     *
+     * @throws URISyntaxException
+     *             if the test jar's URL is not a valid URI.
+     */
+    @Test
+    public void incrementalScanCountsOnlyReparsedClassfiles() throws URISyntaxException {
+        final var classGraph = new ClassGraph().overrideClasspath(resourcePath("/record.jar").toString())
+                .enableClassInfo().enableIncrementalRescanning();
+        final var previous = classGraph.scan();
+        assertThat(previous.getScanMetrics().numClassfilesParsed()).isPositive();
+        try (var scanResult = classGraph.scanIncremental(previous)) {
+            final var metrics = scanResult.getScanMetrics();
+            assertThat(metrics.numClassfilesParsed()).isZero();
+            assertThat(metrics.classpathElementMetrics().get(0).bytesRead()).isZero();
+        }
+    }
+}
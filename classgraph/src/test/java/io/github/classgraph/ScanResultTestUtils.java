@@ -0,0 +1,73 @@
+package io.github.classgraph;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Helpers for tests that compare a {@link ScanResult} with the result of a full scan of a changed classpath. */
+final class ScanResultTestUtils {
+    /** Constructor. */
+    private ScanResultTestUtils() {
+        // Cannot be constructed
+    }
+
+    /**
+     * Summarize a scan result as a list of strings, one per class and one per resource, so that two scan results
+     * can be compared. The fields and methods of each class are included if field and method info were enabled.
+     *
+     * @param scanResult
+     *            the scan result.
+     * @return the summary.
+     */
+    static List<String> summarize(final ScanResult scanResult) {
+        final List<String> summary = new ArrayList<>();
+        for (final var classInfo : scanResult.getAllClasses()) {
+            final var superclass = classInfo.getSuperclass();
+            final var classfileResource = classInfo.getResource();
+            summary.add("class " + classInfo.getName() + " extends "
+                    + (superclass == null ? null : superclass.getName())
+                    + (scanResult.scanSpec.enableFieldInfo
+                            ? " fields " + classInfo.getDeclaredFieldInfo().getNames()
+                            : "")
+                    + (scanResult.scanSpec.enableMethodInfo
+                            ? " methods " + classInfo.getDeclaredMethodInfo().getNames()
+                            : "")
+                    + " in " + (classfileResource == null ? null : classfileResource.getURI())
+                    + (classInfo.isExternalClass() ? " (external)" : ""));
+        }
+        for (final var resource : scanResult.getAllResources()) {
+            summary.add("resource " + resource.getURI());
+        }
+        summary.add("classpath " + scanResult.getClasspathURIs());
+        return summary;
+    }
+
+    /**
+     * Copy a file from a test jar.
+     *
+     * @param jarResourceName
+     *            the name of the test jar, as a classpath resource.
+     * @param path
+     *            the path of the file within the jar.
+     * @param target
+     *            the file to copy to, which is replaced if it exists.
+     * @return the copied file.
+     * @throws IOException
+     *             if the file could not be copied.
+     * @throws URISyntaxException
+     *             if the test jar's URL is not a valid URI.
+     */
+    static Path copyFromJar(final String jarResourceName, final String path, final Path target)
+            throws IOException, URISyntaxException {
+        try (var jarFs = FileSystems
+                .newFileSystem(Path.of(ScanResultTestUtils.class.getResource(jarResourceName).toURI()))) {
+            Files.createDirectories(target.getParent());
+            return Files.copy(jarFs.getPath(path), target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package io.github.classgraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ClassGraph#enableSoftReferencedMemberInfo()}: fields and methods that the garbage collector
+ * reclaimed are read from the classfile again, and are the same as the ones the scan read.
+ */
+public class SoftReferencedMemberInfoTest {
+    /** The container that holds the repeats of {@link Tag}. */
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Tags {
+        /**
+         * The repeats.
+         *
+         * @return the repeats.
+         */
+        Tag[] value();
+    }
+
+    /** A repeatable annotation, with a parameter that has a default value. */
+    @Repeatable(Tags.class)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Tag {
+        /**
+         * The name of the tag.
+         *
+         * @return the name of the tag.
+         */
+        String value();
+
+        /**
+         * The weight of the tag.
+         *
+         * @return the weight of the tag.
+         */
+        int weight() default 1;
+    }
+
+    /**
+     * A class with generic fields and methods, carrying annotations with parameters.
+     *
+     * @param <T>
+     *            a type parameter.
+     */
+    public static class Members<T extends Comparable<T>> {
+        /** A generic field. */
+        @Tag("field")
+        public Map<String, List<T>> index;
+
+        /** A constant. */
+        public static final int LIMIT = 42;
+
+        /**
+         * A generic method, carrying two repeats of the repeatable annotation.
+         *
+         * @param values
+         *            the values.
+         * @return the first value.
+         * @throws IllegalArgumentException
+         *             if there are no values.
+         */
+        @Tag(value = "method", weight = 2)
+        @Tag("twice")
+        public T first(@Tag("param") final List<? extends T> values) throws IllegalArgumentException {
+            return values.get(0);
+        }
+    }
+
+    /**
+     * Scan the test classes.
+     *
+     * @param softReferencedMemberInfo
+     *            whether to only softly reference fields and methods.
+     * @param incrementalRescanning
+     *            whether to keep the parsed classfiles for incremental rescanning.
+     * @return the scan result.
+     */
+    private static ScanResult scan(final boolean softReferencedMemberInfo, final boolean incrementalRescanning) {
+        final var classGraph = new ClassGraph().acceptClasses(SoftReferencedMemberInfoTest.class.getName() + "$*")
+                .enableAllInfo().ignoreFieldVisibility().ignoreMethodVisibility()
+                .enableStaticFinalFieldConstantInitializerValues();
+        if (softReferencedMemberInfo) {
+            classGraph.enableSoftReferencedMemberInfo();
+        }
+        if (incrementalRescanning) {
+            classGraph.enableIncrementalRescanning();
+        }
+        return classGraph.scan();
+    }
+
+    /**
+     * Describe the fields and methods of a class, including their type signatures, annotations and annotation
+     * parameter values, and the parameters of the methods.
+     *
+     * @param classInfo
+     *            the class.
+     * @return the description.
+     */
+    private static List<String> describeMembers(final ClassInfo classInfo) {
+        final List<String> description = new ArrayList<>();
+        for (final FieldInfo fieldInfo : classInfo.getDeclaredFieldInfo()) {
+            description.add(fieldInfo + " " + fieldInfo.getTypeSignatureOrTypeDescriptor() + " "
+                    + fieldInfo.getAllAnnotationInfo() + " " + fieldInfo.getConstantInitializerValue());
+        }
+        for (final MethodInfo methodInfo : classInfo.getDeclaredMethodAndConstructorInfo()) {
+            description.add(methodInfo + " " + methodInfo.getTypeSignatureOrTypeDescriptor() + " "
+                    + methodInfo.getAllAnnotationInfo() + " " + methodInfo.getThrownExceptionNames());
+            for (final MethodParameterInfo param : methodInfo.getParameterInfo()) {
+                description.add(param + " " + param.getAllAnnotationInfo());
+            }
+        }
+        return description;
+    }
+
+    /**
+     * Clear the soft reference to the fields and methods of a class, as the garbage collector would when memory
+     * runs short.
+     *
+     * @param classInfo
+     *            the class.
+     * @throws ReflectiveOperationException
+     *             if the soft reference could not be found.
+     */
+    private static void reclaimMembers(final ClassInfo classInfo) throws ReflectiveOperationException {
+        final var field = ClassInfo.class.getDeclaredField("softMemberInfo");
+        field.setAccessible(true);
+        final var softMemberInfo = (SoftReference<?>) field.get(classInfo);
+        assertThat(softMemberInfo).as("soft reference of " + classInfo.getName()).isNotNull();
+        softMemberInfo.clear();
+    }
+
+    /**
+     * Fields and methods that were reclaimed are read again, with the same type signatures, annotations (with
+     * repeatable annotations unwrapped) and annotation parameter values as the ones the scan read.
+     *
+     * @throws ReflectiveOperationException
+     *             if the soft reference could not be found.
+     */
+    @Test
+    public void reclaimedMembersAreReadAgain() throws ReflectiveOperationException {
+        final List<String> expected;
+        try (var scanResult = scan(false, false)) {
+            expected = describeMembers(scanResult.getClassInfo(Members.class.getName()));
+        }
+        assertThat(expected).anyMatch(line -> line.contains("twice") && line.contains("weight=2"));
+
+        try (var scanResult = scan(true, false)) {
+            final var classInfo = scanResult.getClassInfo(Members.class.getName());
+            final var methodBefore = classInfo.getDeclaredMethodInfo("first").get(0);
+            assertThat(describeMembers(classInfo)).isEqualTo(expected);
+
+            reclaimMembers(classInfo);
+            final var methodAfter = classInfo.getDeclaredMethodInfo("first").get(0);
+            assertThat(methodAfter).isNotSameAs(methodBefore).isEqualTo(methodBefore);
+            assertThat(describeMembers(classInfo)).isEqualTo(expected);
+            assertThat(methodAfter.getClassInfo()).isSameAs(classInfo);
+
+            // The class-level indexes built while scanning do not depend on the fields and methods being kept
+            assertThat(scanResult.getClassesWithMethodAnnotation(Tag.class).getNames())
+                    .containsExactly(Members.class.getName());
+            assertThat(scanResult.getClassesWithFieldAnnotation(Tag.class).getNames())
+                    .containsExactly(Members.class.getName());
+        }
+    }
+
+    /**
+     * A method read again after it was reclaimed is a different object from the one held by an index built before
+     * it was reclaimed, but is equal to it.
+     *
+     * @throws ReflectiveOperationException
+     *             if the soft reference could not be found.
+     */
+    @Test
+    public void methodsReadAgainMatchTheIndexedMethods() throws ReflectiveOperationException {
+        try (var scanResult = new ClassGraph().acceptClasses(SoftReferencedMemberInfoTest.class.getName() + "$*")
+                .enableAllInfo().enableMethodReferenceInfo().enableSoftReferencedMemberInfo().scan()) {
+            final var classInfo = scanResult.getClassInfo(Members.class.getName());
+            final var annotated = scanResult.getMethodsWithAnnotationParameterValue(Tag.class.getName(), "weight",
+                    2);
+            final var invoking = scanResult.getMethodsInvoking(List.class.getName(), "get");
+            assertThat(annotated).hasSize(1);
+            assertThat(invoking).hasSize(1);
+
+            reclaimMembers(classInfo);
+            final var methodAfter = classInfo.getDeclaredMethodInfo("first").get(0);
+            assertThat(methodAfter).isNotSameAs(annotated.get(0)).isEqualTo(annotated.get(0));
+            assertThat(methodAfter).isNotSameAs(invoking.get(0)).isEqualTo(invoking.get(0));
+            assertThat(scanResult.getMethodsWithAnnotationParameterValue(Tag.class.getName(), "weight", 2))
+                    .containsExactly(methodAfter);
+            assertThat(scanResult.getMethodsInvoking(List.class.getName(), "get")).containsExactly(methodAfter);
+        }
+    }
+
+    /**
+     * The methods of annotation classes are always kept, since they hold the default values of annotation
+     * parameters; and nothing is softly referenced without the option, or when the parsed classfiles are kept for
+     * incremental rescanning.
+     */
+    @Test
+    public void onlyTheMembersOfOtherClassesAreSoftlyReferenced() {
+        try (var scanResult = scan(true, false)) {
+            assertThat(scanResult.getClassInfo(Tag.class.getName()).methodInfo).isNotNull();
+            assertThat(scanResult.getClassInfo(Members.class.getName()).methodInfo).isNull();
+        }
+        try (var scanResult = scan(false, false)) {
+            assertThat(scanResult.getClassInfo(Members.class.getName()).methodInfo).isNotNull();
+        }
+        try (var scanResult = scan(true, true)) {
+            assertThat(scanResult.getClassInfo(Members.class.getName()).methodInfo).isNotNull();
+        }
+    }
+
+    /**
+     * Fields and methods that have not been reclaimed when the scan result is closed are kept, and those that have
+     * cannot be read again.
+     *
+     * @throws ReflectiveOperationException
+     *             if the soft reference could not be found.
+     */
+    @Test
+    public void closingKeepsTheMembersThatWereNotReclaimed() throws ReflectiveOperationException {
+        final ClassInfo kept;
+        final List<String> expected;
+        try (var scanResult = scan(true, false)) {
+            kept = scanResult.getClassInfo(Members.class.getName());
+            expected = describeMembers(kept);
+        }
+        assertThat(describeMembers(kept)).isEqualTo(expected);
+
+        final ClassInfo reclaimed;
+        try (var scanResult = scan(true, false)) {
+            reclaimed = scanResult.getClassInfo(Members.class.getName());
+            reclaimMembers(reclaimed);
+        }
+        assertThatThrownBy(reclaimed::getDeclaredFieldInfo).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("closed");
+    }
+}
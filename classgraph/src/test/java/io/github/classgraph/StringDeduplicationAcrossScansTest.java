@@ -0,0 +1,69 @@
+package io.github.classgraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link ClassGraph#deduplicateStringsAcrossScans()}. */
+public class StringDeduplicationAcrossScansTest {
+    /** A superclass. */
+    public static class Base {
+    }
+
+    /** A subclass. */
+    public static class Derived extends Base {
+        /**
+         * A method.
+         *
+         * @return a value
+         */
+        public String describe() {
+            return "derived";
+        }
+    }
+
+    /**
+     * Scan the test classes.
+     *
+     * @param deduplicateStringsAcrossScans
+     *            whether to deduplicate strings across scans.
+     * @return the scan result.
+     */
+    private static ScanResult scan(final boolean deduplicateStringsAcrossScans) {
+        final var classGraph = new ClassGraph().enableMethodInfo().acceptClasses(Base.class.getName(),
+                Derived.class.getName());
+        if (deduplicateStringsAcrossScans) {
+            classGraph.deduplicateStringsAcrossScans();
+        }
+        return classGraph.scan();
+    }
+
+    /** Two scans that deduplicate strings across scans read the same string objects. */
+    @Test
+    public void stringsAreSharedAcrossScans() {
+        try (var first = scan(true); var second = scan(true)) {
+            final var firstDerived = first.getClassInfo(Derived.class.getName());
+            final var secondDerived = second.getClassInfo(Derived.class.getName());
+            assertThat(firstDerived).isNotNull();
+            assertThat(secondDerived).isNotNull();
+            assertThat(secondDerived.getName()).isEqualTo(Derived.class.getName()).isSameAs(firstDerived.getName());
+            assertThat(secondDerived.getSuperclass().getName()).isSameAs(firstDerived.getSuperclass().getName());
+            final var firstMethod = firstDerived.getMethodInfo("describe").get(0);
+            final var secondMethod = secondDerived.getMethodInfo("describe").get(0);
+            assertThat(secondMethod.getTypeDescriptorString()).isEqualTo("()Ljava/lang/String;")
+                    .isSameAs(firstMethod.getTypeDescriptorString());
+        }
+    }
+
+    /** Scans that do not deduplicate strings across scans read the same class graph. */
+    @Test
+    public void scansReadTheSameClassGraphEitherWay() {
+        try (var shared = scan(true); var notShared = scan(false)) {
+            assertThat(shared.getAllSubclasses(Base.class.getName()).getNames())
+                    .isEqualTo(notShared.getAllSubclasses(Base.class.getName()).getNames())
+                    .containsExactly(Derived.class.getName());
+            assertThat(shared.getClassInfo(Derived.class.getName()).getMethodInfo().getNames())
+                    .isEqualTo(notShared.getClassInfo(Derived.class.getName()).getMethodInfo().getNames());
+        }
+    }
+}
@@ -4,7 +4,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
 
@@ -123,4 +129,43 @@ public class AnnotationParamWithPrimitiveTypedArrayTest {
             assertThat(nestedParams.getValue("intArray")).isEqualTo(new int[] { 9 });
         }
     }
+
+    /**
+     * Parameter values read by several threads at once are all converted to primitive arrays.
+     *
+     * @throws Exception
+     *             if a thread fails
+     */
+    @Test
+    public void primitiveArrayParamsReadConcurrently() throws Exception {
+        final var numThreads = 8;
+        try (var scanResult = new ClassGraph().enableAllInfo()
+                .acceptPackages(AnnotationParamWithPrimitiveTypedArrayTest.class.getPackage().getName()).scan()) {
+            final var annotationInfo = scanResult.getClassInfo(AnnotatedClass.class.getName())
+                    .getAllAnnotationInfo().get(0);
+            final var start = new CountDownLatch(1);
+            final var executor = Executors.newFixedThreadPool(numThreads);
+            try {
+                final List<Future<List<Object>>> futures = new ArrayList<>();
+                for (var i = 0; i < numThreads; i++) {
+                    futures.add(executor.submit((Callable<List<Object>>) () -> {
+                        start.await();
+                        final var annotationParams = annotationInfo.getParameterValues();
+                        final var nestedAnnotationInfo = (AnnotationInfo) ((Object[]) annotationParams
+                                .getValue("v4"))[0];
+                        return List.of(annotationParams.getValue("v0"), annotationParams.getValue("v3"),
+                                annotationInfo.getDefaultParameterValues().getValue("v0"),
+                                nestedAnnotationInfo.getParameterValues().getValue("intArray"));
+                    }));
+                }
+                start.countDown();
+                for (final var future : futures) {
+                    assertThat(future.get()).containsExactly(new int[] { 1, 2 }, new int[] {}, new int[] { 1, 2 },
+                            new int[] { 9 });
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * This file is part of ClassGraph.
+ *
+ * Author: Luke Hutchison
+ *
+ * Hosted at: https://github.com/classgraph/classgraph
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Luke Hutchison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.classgraph;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import io.github.classgraph.base.internal.utils.StringDeduplicationTable;
+import io.github.classgraph.base.internal.utils.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Decoding the class names in the constant pools of a large corpus of classfiles (the classfiles of the JDK's
+ * {@code java.base} module), by reading each name and then replacing '/' with '.', by reading and replacing in one
+ * pass, and by looking each name up in a {@link StringDeduplicationTable}.
+ */
+@State(Scope.Benchmark)
+public class ConstantPoolDecodingBenchmark {
+    /** The maximum number of classfiles to read the constant pools of. */
+    @Param({ "1000", "100000" })
+    public int maxClassfiles;
+
+    /** The classfile bytes, with all class name strings packed one after another. */
+    private byte[] names;
+
+    /** The offset of each class name in {@link #names}. */
+    private int[] offsets;
+
+    /** The length in bytes of each class name in {@link #names}. */
+    private int[] lengths;
+
+    /** A table that every name has already been added to. */
+    private StringDeduplicationTable warmTable;
+
+    /**
+     * Read the class names out of the constant pools of the classfiles of {@code java.base}.
+     *
+     * @throws IOException
+     *             if a classfile could not be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        final var packed = ByteBuffer.allocate(64 * 1024 * 1024);
+        final var offsetList = new ArrayList<Integer>();
+        final var lengthList = new ArrayList<Integer>();
+        final var jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+        final List<Path> classfiles;
+        try (Stream<Path> paths = Files.walk(jrt.getPath("/modules/java.base"))) {
+            classfiles = paths.filter(path -> path.toString().endsWith(".class")).limit(maxClassfiles).toList();
+        }
+        for (final Path classfile : classfiles) {
+            final var buf = ByteBuffer.wrap(Files.readAllBytes(classfile));
+            addClassNames(buf, packed, offsetList, lengthList);
+        }
+        names = new byte[packed.position()];
+        packed.flip().get(names);
+        offsets = offsetList.stream().mapToInt(Integer::intValue).toArray();
+        lengths = lengthList.stream().mapToInt(Integer::intValue).toArray();
+        warmTable = new StringDeduplicationTable();
+        for (var i = 0; i < offsets.length; i++) {
+            warmTable.get(names, offsets[i], lengths[i], true, false);
+        }
+    }
+
+    /**
+     * Walk the constant pool of a classfile, and copy the modified UTF8 bytes of each string referred to by a
+     * CONSTANT_Class entry into the packed buffer.
+     *
+     * @param buf
+     *            the classfile.
+     * @param packed
+     *            the buffer to copy the names into.
+     * @param offsetList
+     *            the offsets of the names in the packed buffer.
+     * @param lengthList
+     *            the lengths of the names in the packed buffer.
+     */
+    private static void addClassNames(final ByteBuffer buf, final ByteBuffer packed, final List<Integer> offsetList,
+            final List<Integer> lengthList) {
+        buf.position(8);
+        final var cpCount = buf.getShort() & 0xffff;
+        final var utf8Offsets = new int[cpCount];
+        final var classNameIdxs = new ArrayList<Integer>();
+        for (var i = 1; i < cpCount; i++) {
+            final var tag = buf.get();
+            switch (tag) {
+            case 1 -> {
+                utf8Offsets[i] = buf.position();
+                buf.position(buf.position() + 2 + (buf.getShort(buf.position()) & 0xffff));
+            }
+            case 7 -> classNameIdxs.add(buf.getShort() & 0xffff);
+            case 8, 16, 19, 20 -> buf.position(buf.position() + 2);
+            case 15 -> buf.position(buf.position() + 3);
+            case 3, 4, 9, 10, 11, 12, 17, 18 -> buf.position(buf.position() + 4);
+            case 5, 6 -> {
+                buf.position(buf.position() + 8);
+                // Longs and doubles take up two constant pool slots
+                i++;
+            }
+            default -> throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+            }
+        }
+        for (final int idx : classNameIdxs) {
+            final var offset = utf8Offsets[idx];
+            final var len = buf.getShort(offset) & 0xffff;
+            offsetList.add(packed.position());
+            lengthList.add(len);
+            packed.put(buf.array(), offset + 2, len);
+        }
+    }
+
+    /**
+     * Decode each class name, then replace '/' with '.' in it.
+     *
+     * @param blackhole
+     *            the blackhole
+     */
+    @Benchmark
+    public void decodeThenReplace(final Blackhole blackhole) {
+        for (var i = 0; i < offsets.length; i++) {
+            blackhole.consume(StringUtils.normalizeTypeDescriptor(
+                    StringUtils.readStringModifiedUtf8(names, offsets[i], lengths[i]), true, false));
+        }
+    }
+
+    /**
+     * Decode each class name and replace '/' with '.' in one pass.
+     *
+     * @param blackhole
+     *            the blackhole
+     */
+    @Benchmark
+    public void decodeAndReplaceInOnePass(final Blackhole blackhole) {
+        for (var i = 0; i < offsets.length; i++) {
+            blackhole.consume(StringUtils.readStringModifiedUtf8(names, offsets[i], lengths[i], true, false));
+        }
+    }
+
+    /**
+     * Look each class name up in a table that already holds every name.
+     *
+     * @param blackhole
+     *            the blackhole
+     */
+    @Benchmark
+    public void lookUpInWarmDeduplicationTable(final Blackhole blackhole) {
+        for (var i = 0; i < offsets.length; i++) {
+            blackhole.consume(warmTable.get(names, offsets[i], lengths[i], true, false));
+        }
+    }
+}